@@ -4,6 +4,8 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
@@ -11,95 +13,223 @@ import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
-import org.springframework.data.redis.serializer.RedisSerializer;
-import org.springframework.data.redis.serializer.SerializationException;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.bentork.ev_system.config.cache.CacheCodec;
+import com.bentork.ev_system.config.cache.CacheInvalidationBus;
+import com.bentork.ev_system.config.cache.CacheLoadLock;
+import com.bentork.ev_system.config.cache.CacheTier;
+import com.bentork.ev_system.config.cache.CodecRedisSerializer;
+import com.bentork.ev_system.config.cache.EntityCacheInvalidation;
+import com.bentork.ev_system.config.cache.MultiGetRedisCache;
+import com.bentork.ev_system.config.cache.RedisAvailability;
+import com.bentork.ev_system.config.cache.SmileCacheCodec;
+import com.bentork.ev_system.config.cache.StampedePolicy;
+import com.bentork.ev_system.config.cache.TwoLevelCacheManager;
+import com.bentork.ev_system.service.charger.ChargerIndex;
+import com.bentork.ev_system.service.maintenance.ActiveMaintenanceIndex;
+import com.bentork.ev_system.service.plan.EffectivePlanIndex;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Redis Cache Configuration.
  *
- * Defines per-cache TTL settings aligned with the tiered caching strategy:
- *   T1 (Master Data)  — 30 min: plans, stations, chargers, locations, cafes
- *   T2 (Dashboard)    — 5 min:  dashboard-stats
- *   T3 (User Data)    — 10 min: user-data
- *   T4 (Reviews)      — 15 min: reviews
- *   T5 (Slots)        — 5 min:  slots
- *   RFID              — 10 min: rfid-stats
+ * Two cache levels: a bounded Caffeine cache per node (L1) in front of Redis (L2).
+ * Per-cache TTLs follow the tiered caching strategy (L2 / L1):
+ *   T1 (Master Data)  — 30 min / 5 min:  plans, stations, chargers, locations, cafes
+ *   T2 (Dashboard)    — 5 min / 1 min:   dashboard-stats
+ *   T3 (User Data)    — 10 min / —:      user-data (entities, Redis only)
+ *   T4 (Reviews)      — 15 min / 5 min:  reviews
+ *   T5 (Slots)        — 5 min / 30 s:    slots
+ *   RFID              — 10 min / —:      rfid-stats (entities, Redis only)
+ *   Charger index     — 1 h / 30 min:    charger-index (ocppId lookups, see ChargerIndex)
+ *   Maintenance       — 5 min / 1 min:   maintenance (active targets, see ActiveMaintenanceIndex)
+ *   Effective plans   — 30 min / 5 min:  effective-plans (per charger, see EffectivePlanIndex)
  *
- * Graceful degradation: If Redis is down, the app falls back to DB queries.
+ * Values are encoded by a pluggable CacheCodec (app.cache.codec, default compact binary Smile);
+ * the codec version is part of every Redis key, see CacheCodec.
+ *
+ * Writes publish an invalidation on Redis pub/sub so other nodes drop their L1 copy.
+ * The Hibernate second-level cache uses the same channel (EntityCacheInvalidation).
+ *
+ * Listings read per-id entries in bulk (CacheBulkReader): one MGET, one batch load for the misses.
+ *
+ * Stampede protection (StampedePolicy) for the hot listings and dashboard caches: single-flight
+ * loads per key across nodes, stale-while-revalidate and early refresh. Only applies to
+ * {@code @Cacheable(sync = true)} methods. Stale windows: stations, chargers 5 min; dashboard-stats 1 min.
+ *
+ * Metrics: hits/misses per level, evictions, Redis errors, load latency and L1 size per cache
+ * (see CacheLevelStats); keys and entry sizes can be sampled at /api/admin/caches (CacheInspector).
+ *
+ * Graceful degradation: If Redis is down, caches serve from L1 and fall back to DB queries.
  */
 @Slf4j
 @Configuration
 @EnableCaching
 public class RedisConfig implements CachingConfigurer {
 
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RedisConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public RedisAvailability redisAvailability() {
+        return new RedisAvailability();
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationBus(stringRedisTemplate);
+    }
+
+    /**
+     * Carries Hibernate second-level cache invalidations to the other nodes.
+     */
+    @Bean
+    public EntityCacheInvalidation entityCacheInvalidation(EntityManagerFactory entityManagerFactory,
+            CacheInvalidationBus cacheInvalidationBus, RedisAvailability redisAvailability) {
+        return new EntityCacheInvalidation(entityManagerFactory, cacheInvalidationBus, redisAvailability);
+    }
+
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+            CacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+        // Keep retrying in the background if Redis is down at startup instead of failing the context
+        container.setRecoveryInterval(30_000L);
+        return container;
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+            RedisAvailability redisAvailability,
+            CacheInvalidationBus cacheInvalidationBus,
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${app.cache.codec:smile}") String codecName,
+            @Value("${app.cache.previous-codec:}") String previousCodecName) {
+
+        CacheCodec codec = codec(codecName);
+        RedisCacheConfiguration defaultConfig = redisCacheConfiguration(codec);
+
+        Map<String, CacheTier> tiers = new HashMap<>();
+
+        // T1 — Static Master Data
+        CacheTier t1 = CacheTier.twoLevel(Duration.ofMinutes(30), Duration.ofMinutes(5), 2_000);
+        // Station/charger listings are read on every app open: single-flight loads, and serve
+        // up to 5 minutes stale while one node refreshes
+        CacheTier t1Listings = t1.withStampede(StampedePolicy.of(Duration.ofMinutes(5)));
+        tiers.put("plans", t1);
+        tiers.put("stations", t1Listings);
+        tiers.put("chargers", t1Listings);
+        tiers.put("locations", t1);
+        tiers.put("cafes", t1);
+
+        // T2 — Dashboard Aggregations
+        tiers.put("dashboard-stats", CacheTier.twoLevel(Duration.ofMinutes(5), Duration.ofMinutes(1), 200)
+                .withStampede(StampedePolicy.of(Duration.ofMinutes(1))));
+
+        // T3 — User-Scoped Data (cached User entities)
+        tiers.put("user-data", CacheTier.redisOnly(Duration.ofMinutes(10)));
+
+        // T4 — Review Data
+        tiers.put("reviews", CacheTier.twoLevel(Duration.ofMinutes(15), Duration.ofMinutes(5), 2_000));
+
+        // T5 — Slot Data (changes often, keep the local copy short)
+        tiers.put("slots", CacheTier.twoLevel(Duration.ofMinutes(5), Duration.ofSeconds(30), 1_000));
+
+        // RFID Stats (cached RFIDCard entities)
+        tiers.put("rfid-stats", CacheTier.redisOnly(Duration.ofMinutes(10)));
 
+        // ocppId -> charger snapshot for the OCPP path, kept current by write-through (ChargerIndex);
+        // the TTL only bounds a missed write. Sized for every charger on one node.
+        tiers.put(ChargerIndex.CACHE, CacheTier.twoLevel(Duration.ofHours(1), Duration.ofMinutes(30), 20_000));
+
+        // charger id -> effective plans, rebuilt on every assignment change (EffectivePlanIndex);
+        // stays within the tag TTL so charger/station/plan edits can still evict it
+        tiers.put(EffectivePlanIndex.CACHE, CacheTier.twoLevel(Duration.ofMinutes(30), Duration.ofMinutes(5), 20_000));
+
+        // Active maintenance targets (one entry), evicted on every schedule change
+        tiers.put(ActiveMaintenanceIndex.CACHE, CacheTier.twoLevel(Duration.ofMinutes(5), Duration.ofMinutes(1), 10));
+
+        CacheTier defaultTier = CacheTier.twoLevel(Duration.ofMinutes(10), Duration.ofMinutes(1), 500);
+
+        // Transaction awareness is applied by the two-level manager around the composite cache
+        RedisCacheManager redisCacheManager = redisCacheManager(connectionFactory, defaultConfig, tiers);
+
+        // During a codec rollout, also evict from the key space the previous version still reads
+        RedisCacheManager previousCacheManager = null;
+        if (!previousCodecName.isBlank()) {
+            CacheCodec previousCodec = codec(previousCodecName);
+            if (!previousCodec.version().equals(codec.version())) {
+                previousCacheManager = redisCacheManager(connectionFactory,
+                        redisCacheConfiguration(previousCodec), tiers);
+            }
+        }
+        log.info("Cache codec: {} (previous: {})", codecName,
+                previousCacheManager != null ? previousCodecName : "none");
+
+        return new TwoLevelCacheManager(redisCacheManager, previousCacheManager, tiers, defaultTier,
+                redisAvailability, cacheInvalidationBus,
+                new CacheLoadLock(stringRedisTemplate, redisAvailability), meterRegistry.getIfAvailable());
+    }
+
+    static CacheCodec codec(String name) {
+        return switch (name.trim().toLowerCase()) {
+            case "smile" -> new SmileCacheCodec();
+            case "json" -> new TypedJsonCacheCodec();
+            default -> throw new IllegalArgumentException("Unknown app.cache.codec: " + name);
+        };
+    }
+
+    private static RedisCacheConfiguration redisCacheConfiguration(CacheCodec codec) {
         // Default cache config — fallback TTL of 10 minutes
-        RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
+        return RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
+                .computePrefixWith(codec::keyPrefix)
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(new WrapperSerializer()))
+                        RedisSerializationContext.SerializationPair.fromSerializer(new CodecRedisSerializer(codec)))
                 .disableCachingNullValues();
+    }
 
-        // Per-cache TTL overrides
+    private static RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+            RedisCacheConfiguration defaultConfig, Map<String, CacheTier> tiers) {
         Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
+        tiers.forEach((name, tier) -> cacheConfigs.put(name, defaultConfig.entryTtl(tier.redisHardTtl())));
 
-        // T1 — Static Master Data (30 min)
-        RedisCacheConfiguration t1Config = defaultConfig.entryTtl(Duration.ofMinutes(30));
-        cacheConfigs.put("plans", t1Config);
-        cacheConfigs.put("stations", t1Config);
-        cacheConfigs.put("chargers", t1Config);
-        cacheConfigs.put("locations", t1Config);
-        cacheConfigs.put("cafes", t1Config);
-
-        // T2 — Dashboard Aggregations (5 min)
-        RedisCacheConfiguration t2Config = defaultConfig.entryTtl(Duration.ofMinutes(5));
-        cacheConfigs.put("dashboard-stats", t2Config);
-
-        // T3 — User-Scoped Data (10 min)
-        RedisCacheConfiguration t3Config = defaultConfig.entryTtl(Duration.ofMinutes(10));
-        cacheConfigs.put("user-data", t3Config);
-
-        // T4 — Review Data (15 min)
-        RedisCacheConfiguration t4Config = defaultConfig.entryTtl(Duration.ofMinutes(15));
-        cacheConfigs.put("reviews", t4Config);
-
-        // T5 — Slot Data (5 min)
-        RedisCacheConfiguration t5Config = defaultConfig.entryTtl(Duration.ofMinutes(5));
-        cacheConfigs.put("slots", t5Config);
-
-        // RFID Stats (10 min)
-        RedisCacheConfiguration rfidConfig = defaultConfig.entryTtl(Duration.ofMinutes(10));
-        cacheConfigs.put("rfid-stats", rfidConfig);
-
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(cacheConfigs)
-                .transactionAware()
-                .build();
+        // clear() (allEntries evictions) walks keys with SCAN rather than a blocking KEYS
+        RedisCacheWriter writer = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory,
+                BatchStrategies.scan(500));
+        // Bulk reads (TwoLevelCache.getAll) use MGET and a pipelined write-back
+        RedisCacheManager manager = new MultiGetRedisCache.Manager(writer, connectionFactory, defaultConfig,
+                cacheConfigs);
+        manager.afterPropertiesSet();
+        return manager;
     }
 
     /**
      * Custom error handler for graceful degradation.
      * When Redis is unavailable, cache operations silently fail
      * and the app falls back to direct DB queries.
+     * Each failure is counted as cache.errors{cache, operation}. Redis failures inside the
+     * two-level caches never get here; they are cache.level.errors (see CacheLevelStats).
      */
     @Override
     public CacheErrorHandler errorHandler() {
@@ -107,6 +237,7 @@ public class RedisConfig implements CachingConfigurer {
             @Override
             public void handleCacheGetError(RuntimeException exception,
                     org.springframework.cache.Cache cache, Object key) {
+                countError(cache, "get");
                 log.warn("Redis cache GET error for cache '{}', key '{}': {}. Falling back to DB.",
                         cache.getName(), key, exception.getMessage());
             }
@@ -114,6 +245,7 @@ public class RedisConfig implements CachingConfigurer {
             @Override
             public void handleCachePutError(RuntimeException exception,
                     org.springframework.cache.Cache cache, Object key, Object value) {
+                countError(cache, "put");
                 log.warn("Redis cache PUT error for cache '{}', key '{}': {}",
                         cache.getName(), key, exception.getMessage());
             }
@@ -121,6 +253,7 @@ public class RedisConfig implements CachingConfigurer {
             @Override
             public void handleCacheEvictError(RuntimeException exception,
                     org.springframework.cache.Cache cache, Object key) {
+                countError(cache, "evict");
                 log.warn("Redis cache EVICT error for cache '{}', key '{}': {}",
                         cache.getName(), key, exception.getMessage());
             }
@@ -128,11 +261,19 @@ public class RedisConfig implements CachingConfigurer {
             @Override
             public void handleCacheClearError(RuntimeException exception,
                     org.springframework.cache.Cache cache) {
+                countError(cache, "clear");
                 log.warn("Redis cache CLEAR error for cache '{}': {}",
                         cache.getName(), exception.getMessage());
             }
         };
     }
+
+    private void countError(org.springframework.cache.Cache cache, String operation) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter("cache.errors", "cache", cache.getName(), "operation", operation).increment();
+        }
+    }
 }
 
 class CacheValueWrapper {
@@ -152,40 +293,3 @@ class CacheValueWrapper {
         this.value = value;
     }
 }
-
-class WrapperSerializer implements RedisSerializer<Object> {
-    private final GenericJackson2JsonRedisSerializer delegate;
-
-    public WrapperSerializer() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        mapper.activateDefaultTyping(
-                LaissezFaireSubTypeValidator.instance,
-                ObjectMapper.DefaultTyping.NON_FINAL,
-                JsonTypeInfo.As.PROPERTY
-        );
-        this.delegate = new GenericJackson2JsonRedisSerializer(mapper);
-    }
-
-    @Override
-    public byte[] serialize(Object t) throws SerializationException {
-        if (t == null) {
-            return new byte[0];
-        }
-        return delegate.serialize(new CacheValueWrapper(t));
-    }
-
-    @Override
-    public Object deserialize(byte[] bytes) throws SerializationException {
-        if (bytes == null || bytes.length == 0) {
-            return null;
-        }
-        Object deserialized = delegate.deserialize(bytes);
-        if (deserialized instanceof CacheValueWrapper) {
-            return ((CacheValueWrapper) deserialized).getValue();
-        }
-        return deserialized;
-    }
-}
-
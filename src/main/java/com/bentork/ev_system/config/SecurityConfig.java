@@ -75,7 +75,9 @@ public class SecurityConfig {
                                                                 "/api/user/google-login-success",
                                                                 "/api/user/byemail/**",
                                                                 "/error",
-                                                                "/favicon.ico")
+                                                                "/favicon.ico",
+                                                                "/actuator/health/liveness",
+                                                                "/actuator/health/readiness")
                                                 .permitAll()
 
                                                 // ===== GUEST MODE: Read-only public endpoints =====
@@ -144,6 +146,11 @@ public class SecurityConfig {
                                                 // ===== PROTECTED: Login required =====
                                                 // Admin-only endpoints
                                                 .requestMatchers("/api/revenue/**").hasAuthority("ADMIN")
+                                                .requestMatchers("/api/dashboard/**").hasAuthority("ADMIN")
+                                                .requestMatchers("/api/admin/caches/**").hasAuthority("ADMIN")
+
+                                                // CSV / XLSX exports (dealers: sessions and revenue of their stations)
+                                                .requestMatchers("/api/export/**").hasAnyAuthority("ADMIN", "DEALER")
 
                                                 // Dealer station management (Admin only)
                                                 .requestMatchers("/api/dealer-stations/**").hasAuthority("ADMIN")
@@ -0,0 +1,52 @@
+package com.bentork.ev_system.config;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import com.bentork.ev_system.config.cache.CacheCodec;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * The original cache format: polymorphic JSON (class names embedded via default typing)
+ * inside a CacheValueWrapper. Kept for rollback and as the baseline in the codec benchmarks.
+ * Uses the original unversioned keys; CacheValueWrapper stays in this package because its
+ * class name is embedded in every stored value.
+ */
+public class TypedJsonCacheCodec implements CacheCodec {
+
+    private final GenericJackson2JsonRedisSerializer delegate;
+
+    public TypedJsonCacheCodec() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.activateDefaultTyping(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY
+        );
+        this.delegate = new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
+    @Override
+    public String version() {
+        return "";
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        return delegate.serialize(new CacheValueWrapper(value));
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        Object deserialized = delegate.deserialize(bytes);
+        if (deserialized instanceof CacheValueWrapper wrapper) {
+            return wrapper.getValue();
+        }
+        return deserialized;
+    }
+}
@@ -0,0 +1,14 @@
+package com.bentork.ev_system.config.cache;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the values for several cache keys at once, typically with one IN-query.
+ * Keys without a value are left out of the result and are not cached.
+ */
+@FunctionalInterface
+public interface BatchLoader<K, V> {
+
+    Map<K, V> load(Set<K> keys);
+}
@@ -0,0 +1,78 @@
+package com.bentork.ev_system.config.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bulk reads of per-id cache entries for listings, instead of one cache call (and one
+ * Redis round-trip) per row: see TwoLevelCache.getAll. The entries are the same ones the
+ * single-id {@code @Cacheable} methods use, so both paths share them.
+ *
+ * The write-back is not deferred to after commit like the transaction-aware cache;
+ * call it from read-only code paths.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheBulkReader {
+
+    private final CacheManager cacheManager;
+
+    /**
+     * @return the values in key order; keys the loader has no value for are left out
+     */
+    public <K, V> Map<K, V> getAll(String cacheName, Collection<K> keys, BatchLoader<K, V> loader) {
+        if (keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        if (cache instanceof TwoLevelCache twoLevel) {
+            return twoLevel.getAll(keys, loader);
+        }
+        return getAllOneByOne(cache, keys, loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Map<K, V> getAllOneByOne(Cache cache, Collection<K> keys, BatchLoader<K, V> loader) {
+        Map<K, V> found = new LinkedHashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            Cache.ValueWrapper wrapper = cache != null ? cache.get(key) : null;
+            if (wrapper != null && wrapper.get() != null) {
+                found.put(key, (V) wrapper.get());
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<K, V> loaded = loader.load(missing);
+            loaded.forEach((key, value) -> {
+                if (cache != null && value != null) {
+                    cache.put(key, value);
+                }
+            });
+            found.putAll(loaded);
+        }
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = found.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+}
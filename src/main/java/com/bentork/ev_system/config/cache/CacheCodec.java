@@ -0,0 +1,30 @@
+package com.bentork.ev_system.config.cache;
+
+/**
+ * Encoding of cache values stored in Redis.
+ *
+ * The version is part of every Redis key (see keyPrefix), so two codecs never read
+ * each other's bytes: during a rolling deploy old and new nodes use separate key spaces,
+ * and switching back is just a config change. Bump the version whenever the encoding of
+ * an existing value changes incompatibly.
+ */
+public interface CacheCodec {
+
+    /**
+     * Key-space version, e.g. "smile2". Empty for the original unversioned keys.
+     */
+    String version();
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes);
+
+    /**
+     * Redis key prefix for a cache name: "version:name::", or Spring's default "name::"
+     * for the unversioned codec.
+     */
+    default String keyPrefix(String cacheName) {
+        String version = version();
+        return version.isEmpty() ? cacheName + "::" : version + ":" + cacheName + "::";
+    }
+}
@@ -0,0 +1,24 @@
+package com.bentork.ev_system.config.cache;
+
+/**
+ * A cached value plus the metadata stampede protection needs. Stored in both levels for
+ * caches with a StampedePolicy; the Redis TTL is the fresh TTL plus the stale window.
+ *
+ * @param value         the cached value
+ * @param freshUntil    epoch millis after which the entry is stale
+ * @param computeMillis how long the value took to load, scales the early-refresh probability
+ */
+public record CacheEnvelope(Object value, long freshUntil, int computeMillis) {
+
+    public boolean isStale(long now) {
+        return now >= freshUntil;
+    }
+
+    /**
+     * XFetch: refresh early when now - computeMillis * beta * ln(rand) reaches the expiry.
+     */
+    public boolean shouldRefreshEarly(long now, double beta, double random) {
+        return beta > 0 && computeMillis > 0
+                && now - computeMillis * beta * Math.log(random) >= freshUntil;
+    }
+}
@@ -0,0 +1,123 @@
+package com.bentork.ev_system.config.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.dto.response.CacheInspectionResponse;
+import com.bentork.ev_system.dto.response.CacheStatsResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-only view of the two-level caches for the admin cache endpoints: this node's counters,
+ * and on request a sample of keys with their sizes on both levels.
+ *
+ * The Redis side is read with SCAN (bounded by SCAN_LIMIT keys) and a pipelined STRLEN/PTTL
+ * per sampled key; it is meant for occasional TTL and size tuning, not for dashboards —
+ * those use the Micrometer meters (see CacheLevelStats).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheInspector {
+
+    static final int SCAN_LIMIT = 10_000;
+    static final int MAX_SAMPLE = 200;
+
+    private final CacheManager cacheManager;
+
+    public List<CacheStatsResponse> getStats() {
+        List<CacheStatsResponse> stats = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            TwoLevelCache cache = twoLevel(cacheManager.getCache(name));
+            if (cache != null) {
+                stats.add(toStats(cache));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * @return null if there is no such two-level cache
+     */
+    public CacheInspectionResponse inspect(String name, int sampleSize) {
+        if (!cacheManager.getCacheNames().contains(name)) {
+            return null; // getCache would create it
+        }
+        TwoLevelCache cache = twoLevel(cacheManager.getCache(name));
+        if (cache == null) {
+            return null;
+        }
+        int limit = Math.max(0, Math.min(sampleSize, MAX_SAMPLE));
+
+        List<CacheInspectionResponse.Entry> localSample = cache.sampleLocal(limit).stream()
+                .map(sample -> new CacheInspectionResponse.Entry(sample.key(), sample.bytes(), sample.millis(), -1))
+                .toList();
+        CacheInspectionResponse response = CacheInspectionResponse.builder()
+                .stats(toStats(cache))
+                .localSample(localSample)
+                .redisSample(List.of())
+                .build();
+
+        if (cache.remote() instanceof MultiGetRedisCache redis) {
+            try {
+                MultiGetRedisCache.RemoteSample sample = redis.sample(limit, SCAN_LIMIT);
+                response.setRedisKeys(sample.keys());
+                response.setRedisKeysTruncated(sample.truncated());
+                response.setRedisSample(sample.entries().stream()
+                        .map(entry -> new CacheInspectionResponse.Entry(entry.key(), entry.bytes(), -1,
+                                entry.millis()))
+                        .toList());
+            } catch (RuntimeException e) {
+                log.warn("Could not sample Redis keys of cache '{}': {}", name, e.getMessage());
+            }
+        }
+        return response;
+    }
+
+    private static CacheStatsResponse toStats(TwoLevelCache cache) {
+        CacheTier tier = cache.getTier();
+        CacheLevelStats stats = cache.getStats();
+        return CacheStatsResponse.builder()
+                .name(cache.getName())
+                .local(cache.hasLocal())
+                .redisTtlSeconds(seconds(tier.redisTtl()))
+                .localTtlSeconds(seconds(tier.localTtl()))
+                .localMaxWeight(tier.localMaxWeight())
+                .localEntries(cache.localSize())
+                .localEstimatedBytes(cache.estimatedLocalBytes())
+                .l1Hits(stats.l1Hits())
+                .l1Misses(stats.l1Misses())
+                .l1HitRatio(stats.l1HitRatio())
+                .l2Hits(stats.l2Hits())
+                .l2Misses(stats.l2Misses())
+                .l2HitRatio(stats.l2HitRatio())
+                .l2Errors(stats.l2Errors())
+                .sizeEvictions(stats.sizeEvictions())
+                .expiredEvictions(stats.expiredEvictions())
+                .explicitEvictions(stats.explicitEvictions())
+                .remoteEvictions(stats.remoteEvictions())
+                .loads(stats.loads())
+                .loadFailures(stats.loadFailures())
+                .averageLoadMillis(stats.averageLoadMillis())
+                .build();
+    }
+
+    private static long seconds(Duration duration) {
+        return duration != null ? duration.toSeconds() : 0;
+    }
+
+    private static TwoLevelCache twoLevel(Cache cache) {
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return cache instanceof TwoLevelCache twoLevel ? twoLevel : null;
+    }
+}
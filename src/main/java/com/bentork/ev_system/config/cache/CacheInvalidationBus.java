@@ -0,0 +1,76 @@
+package com.bentork.ev_system.config.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cross-node L1 invalidation over Redis pub/sub.
+ *
+ * Every put/evict/clear on a two-level cache is published on CHANNEL; other nodes
+ * drop the matching L1 entry so their next read goes to Redis. Messages from this
+ * node are ignored (its own L1 is already up to date). The Hibernate second-level
+ * cache rides on the same channel with "jpa:"-prefixed names (see EntityCacheInvalidation).
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "cache:l1-invalidate";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<BiConsumer<String, String>> handlers = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * @param handler receives (cacheName, key); key is null for a full clear
+     */
+    public void addHandler(BiConsumer<String, String> handler) {
+        handlers.add(handler);
+    }
+
+    /**
+     * Publish an invalidation. Failures propagate so the caller can trip the Redis breaker.
+     */
+    public void publish(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL,
+                    objectMapper.writeValueAsString(new Invalidation(nodeId, cacheName, key)));
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode cache invalidation", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Invalidation invalidation = objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), Invalidation.class);
+            if (nodeId.equals(invalidation.node())) {
+                return;
+            }
+            for (BiConsumer<String, String> handler : handlers) {
+                handler.accept(invalidation.cache(), invalidation.key());
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring malformed cache invalidation message: {}", e.getMessage());
+        }
+    }
+
+    record Invalidation(String node, String cache, String key) {
+    }
+}
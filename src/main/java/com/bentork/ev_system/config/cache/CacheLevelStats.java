@@ -0,0 +1,207 @@
+package com.bentork.ev_system.config.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Counters for one two-level cache, exported to Micrometer as:
+ *   cache.level.gets{cache, level, result}      hits and misses per level
+ *   cache.level.hit.ratio{cache, level}
+ *   cache.level.evictions{cache, cause}         size and expired (L1), explicit (evict/clear calls,
+ *                                               one per call), remote (L1 drops sent by other nodes)
+ *   cache.level.errors{cache, level}            failed Redis calls (the cache then works on L1)
+ *   cache.load{cache, mode, result}             loader latency, a percentile histogram; mode is
+ *                                               single (one key) or batch (getAll)
+ * Entry counts and estimated sizes are gauges of the cache itself, see TwoLevelCache.bindTo.
+ */
+public class CacheLevelStats {
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l1Misses = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expiredEvictions = new LongAdder();
+    private final LongAdder explicitEvictions = new LongAdder();
+    private final LongAdder remoteEvictions = new LongAdder();
+    private final LongAdder l2Errors = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    // Set once bound; loads before that are only in the adders
+    private volatile LoadTimers timers;
+
+    public void l1Hit() {
+        l1Hits.increment();
+    }
+
+    public void l1Miss() {
+        l1Misses.increment();
+    }
+
+    public void l2Hit() {
+        l2Hits.increment();
+    }
+
+    public void l2Miss() {
+        l2Misses.increment();
+    }
+
+    public void sizeEviction() {
+        sizeEvictions.increment();
+    }
+
+    public void expiredEviction() {
+        expiredEvictions.increment();
+    }
+
+    public void explicitEviction() {
+        explicitEvictions.increment();
+    }
+
+    public void remoteEviction() {
+        remoteEvictions.increment();
+    }
+
+    public void l2Error() {
+        l2Errors.increment();
+    }
+
+    /**
+     * @param batch whether this was a getAll batch load rather than a single key
+     */
+    public void load(long nanos, boolean success, boolean batch) {
+        loads.increment();
+        loadNanos.add(nanos);
+        if (!success) {
+            loadFailures.increment();
+        }
+        LoadTimers bound = timers;
+        if (bound != null) {
+            bound.timer(success, batch).record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public long l1Hits() {
+        return l1Hits.sum();
+    }
+
+    public long l1Misses() {
+        return l1Misses.sum();
+    }
+
+    public long l2Hits() {
+        return l2Hits.sum();
+    }
+
+    public long l2Misses() {
+        return l2Misses.sum();
+    }
+
+    public long sizeEvictions() {
+        return sizeEvictions.sum();
+    }
+
+    public long expiredEvictions() {
+        return expiredEvictions.sum();
+    }
+
+    public long explicitEvictions() {
+        return explicitEvictions.sum();
+    }
+
+    public long remoteEvictions() {
+        return remoteEvictions.sum();
+    }
+
+    public long l2Errors() {
+        return l2Errors.sum();
+    }
+
+    public long loads() {
+        return loads.sum();
+    }
+
+    public long loadFailures() {
+        return loadFailures.sum();
+    }
+
+    public double averageLoadMillis() {
+        long count = loads.sum();
+        return count == 0 ? 0.0 : loadNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double l1HitRatio() {
+        return ratio(l1Hits.sum(), l1Misses.sum());
+    }
+
+    public double l2HitRatio() {
+        return ratio(l2Hits.sum(), l2Misses.sum());
+    }
+
+    void bindTo(MeterRegistry registry, String cacheName) {
+        counter(registry, cacheName, "l1", "hit", l1Hits);
+        counter(registry, cacheName, "l1", "miss", l1Misses);
+        counter(registry, cacheName, "l2", "hit", l2Hits);
+        counter(registry, cacheName, "l2", "miss", l2Misses);
+        Gauge.builder("cache.level.hit.ratio", this, CacheLevelStats::l1HitRatio)
+                .tags("cache", cacheName, "level", "l1")
+                .register(registry);
+        Gauge.builder("cache.level.hit.ratio", this, CacheLevelStats::l2HitRatio)
+                .tags("cache", cacheName, "level", "l2")
+                .register(registry);
+        eviction(registry, cacheName, "size", sizeEvictions);
+        eviction(registry, cacheName, "expired", expiredEvictions);
+        eviction(registry, cacheName, "explicit", explicitEvictions);
+        eviction(registry, cacheName, "remote", remoteEvictions);
+        FunctionCounter.builder("cache.level.errors", l2Errors, LongAdder::sum)
+                .tags("cache", cacheName, "level", "l2")
+                .register(registry);
+        timers = new LoadTimers(registry, cacheName);
+    }
+
+    private static void counter(MeterRegistry registry, String cacheName, String level, String result, LongAdder adder) {
+        FunctionCounter.builder("cache.level.gets", adder, LongAdder::sum)
+                .tags("cache", cacheName, "level", level, "result", result)
+                .register(registry);
+    }
+
+    private static void eviction(MeterRegistry registry, String cacheName, String cause, LongAdder adder) {
+        FunctionCounter.builder("cache.level.evictions", adder, LongAdder::sum)
+                .tags("cache", cacheName, "cause", cause)
+                .register(registry);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private record LoadTimers(Timer single, Timer singleFailed, Timer batch, Timer batchFailed) {
+
+        LoadTimers(MeterRegistry registry, String cacheName) {
+            this(timer(registry, cacheName, "single", "success"), timer(registry, cacheName, "single", "failure"),
+                    timer(registry, cacheName, "batch", "success"), timer(registry, cacheName, "batch", "failure"));
+        }
+
+        Timer timer(boolean success, boolean isBatch) {
+            if (isBatch) {
+                return success ? batch : batchFailed;
+            }
+            return success ? single : singleFailed;
+        }
+
+        private static Timer timer(MeterRegistry registry, String cacheName, String mode, String result) {
+            return Timer.builder("cache.load")
+                    .tags("cache", cacheName, "mode", mode, "result", result)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.bentork.ev_system.config.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Cross-node lock around loading one cache key, so only one node runs the query.
+ * While Redis is unavailable every node loads on its own (local single-flight still applies).
+ */
+public class CacheLoadLock {
+
+    /** Returned by tryLock when Redis is unavailable: proceed, nothing to release. */
+    static final String LOCAL_ONLY = "local";
+
+    private static final String KEY_PREFIX = "cache:lock:";
+    private static final RedisScript<Long> RELEASE = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisAvailability availability;
+
+    public CacheLoadLock(StringRedisTemplate redisTemplate, RedisAvailability availability) {
+        this.redisTemplate = redisTemplate;
+        this.availability = availability;
+    }
+
+    /**
+     * @return a token to pass to unlock, or null if another node holds the lock
+     */
+    public String tryLock(String cacheName, String key, Duration ttl) {
+        if (!availability.isUp()) {
+            return LOCAL_ONLY;
+        }
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(lockKey(cacheName, key), token, ttl);
+            availability.success();
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (DataAccessException e) {
+            availability.failure(e);
+            return LOCAL_ONLY;
+        }
+    }
+
+    public void unlock(String cacheName, String key, String token) {
+        if (LOCAL_ONLY.equals(token) || !availability.isUp()) {
+            return; // the lock expires by itself
+        }
+        try {
+            redisTemplate.execute(RELEASE, List.of(lockKey(cacheName, key)), token);
+            availability.success();
+        } catch (DataAccessException e) {
+            availability.failure(e);
+        }
+    }
+
+    private static String lockKey(String cacheName, String key) {
+        return KEY_PREFIX + cacheName + "::" + key;
+    }
+}
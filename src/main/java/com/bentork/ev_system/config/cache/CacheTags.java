@@ -0,0 +1,218 @@
+package com.bentork.ev_system.config.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dependency tags for cache entries, so a write evicts only the entries that depend on
+ * what it changed instead of wiping whole caches.
+ *
+ * Each tag is a Redis set (cache:tag:{tag}) of "cacheName|key" members. tag() is called
+ * from the @Cacheable method body, i.e. only on a miss, right before the entry is stored;
+ * evict() drains the set and evicts those keys — O(affected keys).
+ *
+ * Tags are entity ("station:42"), dependency ("charger-slots:7") or listing ("stations")
+ * scoped. Inside a transaction, eviction runs after commit, like the transaction-aware
+ * cache it replaces. If the tag sets cannot be read (Redis down), the caches that have
+ * been tagged with that tag family are cleared instead.
+ */
+@Slf4j
+@Component
+public class CacheTags {
+
+    /** Listing and aggregate entries over all users / stations / chargers. */
+    public static final String USERS = "users";
+    public static final String STATIONS = "stations";
+    public static final String CHARGERS = "chargers";
+
+    private static final String KEY_PREFIX = "cache:tag:";
+    private static final char SEPARATOR = '|';
+    // Longest Redis TTL (T1 plus the listings' stale window); a tag set never needs to
+    // outlive the entries it points to
+    private static final Duration TAG_TTL = Duration.ofMinutes(35);
+    private static final long POP_BATCH = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final CacheManager cacheManager;
+    private final RedisAvailability availability;
+
+    // Tag family -> caches it has been applied to, for the fallback when Redis is down
+    private final Map<String, Set<String>> familyCaches = new ConcurrentHashMap<>();
+
+    public CacheTags(StringRedisTemplate redisTemplate, CacheManager cacheManager, RedisAvailability availability) {
+        this.redisTemplate = redisTemplate;
+        this.cacheManager = cacheManager;
+        this.availability = availability;
+    }
+
+    public static String user(Long userId) {
+        return "user:" + userId;
+    }
+
+    public static String station(Long stationId) {
+        return "station:" + stationId;
+    }
+
+    public static String charger(Long chargerId) {
+        return "charger:" + chargerId;
+    }
+
+    public static String plan(Long planId) {
+        return "plan:" + planId;
+    }
+
+    /** Slot listings of one charger. */
+    public static String chargerSlots(Long chargerId) {
+        return "charger-slots:" + chargerId;
+    }
+
+    /** Review listings and rating summary of one station. */
+    public static String stationReviews(Long stationId) {
+        return "station-reviews:" + stationId;
+    }
+
+    /** Review listing of one user. */
+    public static String userReviews(Long userId) {
+        return "user-reviews:" + userId;
+    }
+
+    /**
+     * Record that the entry cacheName/key depends on the given tags.
+     */
+    public void tag(String cacheName, Object key, String... tags) {
+        tagAll(cacheName, Map.of(key, tags));
+    }
+
+    /**
+     * tag() for several entries of one cache in a single pipelined round-trip (bulk loads).
+     */
+    public void tagAll(String cacheName, Map<?, String[]> tagsByKey) {
+        for (String[] tags : tagsByKey.values()) {
+            for (String tag : tags) {
+                familyCaches.computeIfAbsent(family(tag), f -> ConcurrentHashMap.newKeySet()).add(cacheName);
+            }
+        }
+        if (tagsByKey.isEmpty() || !availability.isUp()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                tagsByKey.forEach((key, tags) -> {
+                    byte[] member = (cacheName + SEPARATOR + key).getBytes(StandardCharsets.UTF_8);
+                    for (String tag : tags) {
+                        byte[] setKey = setKey(tag);
+                        connection.setCommands().sAdd(setKey, member);
+                        connection.keyCommands().expire(setKey, TAG_TTL.toSeconds());
+                    }
+                });
+                return null;
+            });
+            availability.success();
+        } catch (DataAccessException e) {
+            availability.failure(e);
+        }
+    }
+
+    /**
+     * Evict every entry tagged with any of the given tags (after commit when in a transaction).
+     */
+    public void evict(String... tags) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(tags);
+                }
+            });
+        } else {
+            evictNow(tags);
+        }
+    }
+
+    private void evictNow(String[] tags) {
+        for (String tag : tags) {
+            List<String> members = availability.isUp() ? popMembers(tag) : null;
+            if (members == null) {
+                clearFamily(tag);
+                continue;
+            }
+            for (String member : members) {
+                int separator = member.indexOf(SEPARATOR);
+                Cache cache = targetCache(member.substring(0, separator));
+                if (cache != null) {
+                    cache.evict(member.substring(separator + 1));
+                }
+            }
+            log.debug("Evicted {} cache entries tagged '{}'", members.size(), tag);
+        }
+    }
+
+    /**
+     * Drain a tag set with SPOP, so a key tagged concurrently is either returned here
+     * or stays in the set; null if Redis could not be reached.
+     */
+    private List<String> popMembers(String tag) {
+        String setKey = KEY_PREFIX + tag;
+        List<String> members = new ArrayList<>();
+        try {
+            List<String> batch;
+            do {
+                batch = redisTemplate.opsForSet().pop(setKey, POP_BATCH);
+                if (batch != null) {
+                    members.addAll(batch);
+                }
+            } while (batch != null && batch.size() == POP_BATCH);
+            availability.success();
+            return members;
+        } catch (DataAccessException e) {
+            availability.failure(e);
+            return null;
+        }
+    }
+
+    private void clearFamily(String tag) {
+        Set<String> cacheNames = familyCaches.getOrDefault(family(tag), Set.of());
+        log.warn("Cache tag index unavailable, clearing caches {} for tag '{}'", cacheNames, tag);
+        for (String cacheName : cacheNames) {
+            Cache cache = targetCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * The undecorated cache: eviction here is already deferred to after commit, and a
+     * transaction-aware cache would try to defer it again from within afterCommit.
+     */
+    private Cache targetCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+
+    private static String family(String tag) {
+        int colon = tag.indexOf(':');
+        return colon < 0 ? tag : tag.substring(0, colon);
+    }
+
+    private static byte[] setKey(String tag) {
+        return (KEY_PREFIX + tag).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bentork.ev_system.config.cache;
+
+import java.time.Duration;
+
+/**
+ * Per-cache settings for both levels.
+ *
+ * @param redisTtl       L2 (Redis) entry TTL; with a stampede policy this is the fresh TTL
+ * @param localTtl       L1 (Caffeine) TTL, or null to keep the cache L2-only
+ * @param localMaxWeight L1 bound — one unit per entry plus one per element of collection/map values
+ * @param stampede       single-flight / stale-while-revalidate / early refresh, or null
+ */
+public record CacheTier(Duration redisTtl, Duration localTtl, long localMaxWeight, StampedePolicy stampede) {
+
+    public static CacheTier twoLevel(Duration redisTtl, Duration localTtl, long localMaxWeight) {
+        return new CacheTier(redisTtl, localTtl, localMaxWeight, null);
+    }
+
+    /**
+     * Redis only. Used for caches whose values are JPA entities: L1 would hand the same
+     * mutable instance to every caller, whereas Redis returns a fresh copy per read.
+     */
+    public static CacheTier redisOnly(Duration redisTtl) {
+        return new CacheTier(redisTtl, null, 0, null);
+    }
+
+    public CacheTier withStampede(StampedePolicy policy) {
+        return new CacheTier(redisTtl, localTtl, localMaxWeight, policy);
+    }
+
+    public boolean hasLocal() {
+        return localTtl != null;
+    }
+
+    /**
+     * TTL to set in Redis: stale entries must outlive the fresh TTL to be served while refreshing.
+     */
+    public Duration redisHardTtl() {
+        return stampede != null ? redisTtl.plus(stampede.staleWindow()) : redisTtl;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bentork.ev_system.config.cache;
+
+import java.nio.ByteBuffer;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Adapts a CacheCodec to Spring Data Redis.
+ *
+ * A CacheEnvelope is stored as {@code [0x7E][freshUntil: 8][computeMillis: 4][codec bytes]};
+ * anything else is the codec's bytes as-is. The marker is not a valid first byte for the
+ * JSON codec (a '{' or '[') nor for the Smile codec (shape ids 0-5).
+ */
+public class CodecRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte ENVELOPE = 0x7E;
+    private static final int ENVELOPE_HEADER = 1 + Long.BYTES + Integer.BYTES;
+
+    private final CacheCodec codec;
+
+    public CodecRedisSerializer(CacheCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (value instanceof CacheEnvelope envelope) {
+            byte[] payload = codec.encode(envelope.value());
+            return ByteBuffer.allocate(ENVELOPE_HEADER + payload.length)
+                    .put(ENVELOPE)
+                    .putLong(envelope.freshUntil())
+                    .putInt(envelope.computeMillis())
+                    .put(payload)
+                    .array();
+        }
+        return codec.encode(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == ENVELOPE && bytes.length >= ENVELOPE_HEADER) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            buffer.get();
+            long freshUntil = buffer.getLong();
+            int computeMillis = buffer.getInt();
+            byte[] payload = new byte[buffer.remaining()];
+            buffer.get(payload);
+            return new CacheEnvelope(codec.decode(payload), freshUntil, computeMillis);
+        }
+        return codec.decode(bytes);
+    }
+}
@@ -0,0 +1,132 @@
+package com.bentork.ev_system.config.cache;
+
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cross-node invalidation for the Hibernate second-level cache.
+ *
+ * Hibernate keeps its entity and query caches correct on the node that made a change,
+ * but other nodes keep their copy until it expires. After each committed insert, update
+ * or delete of a cached entity this publishes ("jpa:" + entity name, id) on the
+ * CacheInvalidationBus; receiving nodes evict that entity and its query region
+ * (entity region + "-query", see the repositories' QUERY_REGION).
+ *
+ * If Redis is down the message is lost: the region TTLs in hibernate-jcache.conf bound
+ * the staleness, and the Redis recovery hook evicts all second-level cache data.
+ */
+@Slf4j
+public class EntityCacheInvalidation implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    static final String PREFIX = "jpa:";
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheInvalidationBus invalidationBus;
+    private final RedisAvailability availability;
+
+    public EntityCacheInvalidation(EntityManagerFactory entityManagerFactory, CacheInvalidationBus invalidationBus,
+            RedisAvailability availability) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.invalidationBus = invalidationBus;
+        this.availability = availability;
+
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        invalidationBus.addHandler(this::onRemoteInvalidation);
+        availability.addRecoveryHook(this::evictAll);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        // New rows are not in any entity cache, but other nodes' cached listings miss them
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    /**
+     * Runs after commit: never throws, the transaction outcome is already decided.
+     */
+    private void publish(EntityPersister persister, Object id) {
+        if (!availability.isUp()) {
+            return;
+        }
+        try {
+            invalidationBus.publish(PREFIX + persister.getEntityName(), String.valueOf(id));
+            availability.success();
+        } catch (RuntimeException e) {
+            try {
+                availability.failure(e);
+            } catch (RuntimeException unexpected) {
+                log.warn("Failed to publish second-level cache invalidation for {}#{}: {}",
+                        persister.getEntityName(), id, unexpected.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Apply an invalidation received from another node. All cached entities use Long ids.
+     */
+    void onRemoteInvalidation(String cacheName, String key) {
+        if (cacheName == null || !cacheName.startsWith(PREFIX)) {
+            return;
+        }
+        String entityName = cacheName.substring(PREFIX.length());
+        CacheImplementor cache = sessionFactory.getCache();
+        if (key == null) {
+            cache.evictEntityData(entityName);
+        } else {
+            cache.evictEntityData(entityName, Long.valueOf(key));
+        }
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityName);
+        String queryRegion = persister.getCacheAccessStrategy().getRegion().getName() + "-query";
+        if (cache.getQueryResultsCacheStrictly(queryRegion) != null) {
+            cache.evictQueryRegion(queryRegion);
+        }
+    }
+
+    private void evictAll() {
+        log.info("Clearing the Hibernate second-level cache after a Redis outage");
+        sessionFactory.getCache().evictAllRegions();
+    }
+}
@@ -0,0 +1,21 @@
+package com.bentork.ev_system.config.cache;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A remote cache that reads and writes many keys in one round-trip (see MultiGetRedisCache).
+ * Values are as stored, i.e. CacheEnvelopes for caches with a stampede policy.
+ */
+public interface MultiGetCache {
+
+    /**
+     * @return the stored values in key order, null for a miss
+     */
+    List<Object> getAll(List<?> keys);
+
+    /**
+     * Store all entries with the cache's TTL.
+     */
+    void putAll(Map<?, ?> entries);
+}
@@ -0,0 +1,147 @@
+package com.bentork.ev_system.config.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+
+/**
+ * RedisCache with bulk access: getAll is a single MGET, putAll a pipelined batch of SETs
+ * with the entry TTL. Keys and values go through the same prefix and serializers as
+ * get/put, so entries are shared with the single-key path.
+ */
+public class MultiGetRedisCache extends RedisCache implements MultiGetCache {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    protected MultiGetRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfig,
+            RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfig);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public List<Object> getAll(List<?> keys) {
+        byte[][] rawKeys = new byte[keys.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = serializeCacheKey(createCacheKey(keys.get(i)));
+        }
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+        List<Object> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] raw = rawValues != null ? rawValues.get(i) : null;
+            values.add(raw != null ? deserializeCacheValue(raw) : null);
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                entries.forEach((key, value) -> connection.stringCommands().set(
+                        serializeCacheKey(createCacheKey(key)), serializeCacheValue(value),
+                        expiration(getCacheConfiguration().getTtlFunction().getTimeToLive(key, value)),
+                        SetOption.upsert()));
+            } finally {
+                connection.closePipeline();
+            }
+        }
+    }
+
+    /**
+     * Walk this cache's keys with SCAN, counting up to scanLimit of them, and return the
+     * first sampleSize with their value size (STRLEN) and remaining TTL (PTTL). For the
+     * cache inspector only: the SCAN is O(keys scanned).
+     */
+    RemoteSample sample(int sampleSize, int scanLimit) {
+        String prefix = createCacheKey("");
+        ScanOptions options = ScanOptions.scanOptions().match(prefix + "*").count(500).build();
+        List<byte[]> sampled = new ArrayList<>();
+        long scanned = 0;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            try (Cursor<byte[]> cursor = connection.keyCommands().scan(options)) {
+                while (cursor.hasNext() && scanned < scanLimit) {
+                    byte[] key = cursor.next();
+                    scanned++;
+                    if (sampled.size() < sampleSize) {
+                        sampled.add(key);
+                    }
+                }
+            }
+            boolean truncated = scanned == scanLimit;
+
+            List<TwoLevelCache.EntrySample> entries = new ArrayList<>(sampled.size());
+            if (!sampled.isEmpty()) {
+                connection.openPipeline();
+                for (byte[] key : sampled) {
+                    connection.stringCommands().strLen(key);
+                    connection.keyCommands().pTtl(key);
+                }
+                List<Object> replies = connection.closePipeline();
+                for (int i = 0; i < sampled.size(); i++) {
+                    String key = new String(sampled.get(i), StandardCharsets.UTF_8).substring(prefix.length());
+                    entries.add(new TwoLevelCache.EntrySample(key, number(replies.get(2 * i)),
+                            number(replies.get(2 * i + 1))));
+                }
+            }
+            return new RemoteSample(scanned, truncated, entries);
+        }
+    }
+
+    private static long number(Object reply) {
+        return reply instanceof Number number ? number.longValue() : -1;
+    }
+
+    /**
+     * @param keys      keys counted, at most the scan limit
+     * @param truncated whether the scan stopped at the limit (the cache may hold more)
+     */
+    record RemoteSample(long keys, boolean truncated, List<TwoLevelCache.EntrySample> entries) {
+    }
+
+    private static Expiration expiration(Duration ttl) {
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? Expiration.persistent() : Expiration.from(ttl);
+    }
+
+    /**
+     * RedisCacheManager that creates MultiGetRedisCaches.
+     */
+    public static class Manager extends RedisCacheManager {
+
+        private final RedisConnectionFactory connectionFactory;
+
+        public Manager(RedisCacheWriter cacheWriter, RedisConnectionFactory connectionFactory,
+                RedisCacheConfiguration defaultCacheConfiguration,
+                Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+            super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations);
+            this.connectionFactory = connectionFactory;
+        }
+
+        @Override
+        protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+            return new MultiGetRedisCache(name, getCacheWriter(),
+                    cacheConfiguration != null ? cacheConfiguration : getDefaultCacheConfiguration(),
+                    connectionFactory);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.bentork.ev_system.config.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.dao.DataAccessException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker for the Redis cache level.
+ *
+ * Without it, every cache call during an outage would wait for the 2s Redis timeout.
+ * After a connection-level failure, L2 is skipped for RETRY_AFTER and the caches run
+ * on L1 only. The first successful call afterwards triggers the recovery hooks, which
+ * clears L1 (invalidation messages published during the outage were lost).
+ */
+@Slf4j
+public class RedisAvailability {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+
+    private volatile long downUntil = 0L;
+    private final AtomicBoolean down = new AtomicBoolean(false);
+    private final List<Runnable> recoveryHooks = new CopyOnWriteArrayList<>();
+
+    public boolean isUp() {
+        return System.currentTimeMillis() >= downUntil;
+    }
+
+    public boolean isDegraded() {
+        return down.get();
+    }
+
+    public void addRecoveryHook(Runnable hook) {
+        recoveryHooks.add(hook);
+    }
+
+    /**
+     * Record a successful L2 call.
+     */
+    public void success() {
+        if (down.get() && down.compareAndSet(true, false)) {
+            log.info("Redis cache level is reachable again, clearing local caches");
+            recoveryHooks.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * Record a failed L2 call. Connection/timeout failures open the breaker;
+     * anything else (e.g. a serialization problem) is rethrown to the CacheErrorHandler.
+     */
+    public void failure(RuntimeException e) {
+        if (!(e instanceof DataAccessException)) {
+            throw e;
+        }
+        downUntil = System.currentTimeMillis() + RETRY_AFTER.toMillis();
+        if (down.compareAndSet(false, true)) {
+            log.warn("Redis cache level unavailable ({}), serving from local caches for {}s",
+                    e.getMessage(), RETRY_AFTER.toSeconds());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.bentork.ev_system.config.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import com.bentork.ev_system.dto.request.ChargerDTO;
+import com.bentork.ev_system.dto.request.PlanDTO;
+import com.bentork.ev_system.dto.request.SlotDTO;
+import com.bentork.ev_system.dto.request.StationDTO;
+import com.bentork.ev_system.dto.response.StationRatingSummary;
+import com.bentork.ev_system.dto.response.StationReviewResponse;
+import com.bentork.ev_system.service.charger.ChargerSnapshot;
+import com.bentork.ev_system.service.maintenance.ActiveMaintenance;
+import com.bentork.ev_system.service.plan.EffectivePlans;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Compact binary cache format.
+ *
+ * Layout: [shape][type id]?[payload]
+ *   - OBJECT / LIST: a registered DTO (or a list of one) as plain Smile, no class names;
+ *     the type id selects the class on read.
+ *   - LONG / DOUBLE / STRING: the dashboard scalars, stored raw.
+ *   - TYPED: anything else, as Smile with default typing (the JSON format, in binary).
+ *
+ * Type ids are part of the format: never reuse or renumber one, only append. Unknown
+ * properties are ignored on read, so adding a DTO field needs no version bump.
+ */
+public class SmileCacheCodec implements CacheCodec {
+
+    private static final byte SHAPE_TYPED = 0;
+    private static final byte SHAPE_OBJECT = 1;
+    private static final byte SHAPE_LIST = 2;
+    private static final byte SHAPE_LONG = 3;
+    private static final byte SHAPE_DOUBLE = 4;
+    private static final byte SHAPE_STRING = 5;
+
+    private static final Map<Class<?>, Byte> TYPE_IDS = new HashMap<>();
+    private static final Class<?>[] TYPES = new Class<?>[16];
+
+    static {
+        register(1, StationDTO.class);
+        register(2, ChargerDTO.class);
+        register(3, PlanDTO.class);
+        register(4, SlotDTO.class);
+        register(5, StationReviewResponse.class);
+        register(6, StationRatingSummary.class);
+        register(7, ChargerSnapshot.class);
+        register(8, ActiveMaintenance.class);
+        register(9, EffectivePlans.class);
+    }
+
+    private final ObjectMapper plainMapper;
+    private final ObjectMapper typedMapper;
+
+    public SmileCacheCodec() {
+        this.plainMapper = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        this.typedMapper = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .activateDefaultTyping(LaissezFaireSubTypeValidator.instance,
+                        ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY)
+                .build();
+    }
+
+    @Override
+    public String version() {
+        return "smile2";
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            if (value instanceof Long l) {
+                return ByteBuffer.allocate(9).put(SHAPE_LONG).putLong(l).array();
+            }
+            if (value instanceof Double d) {
+                return ByteBuffer.allocate(9).put(SHAPE_DOUBLE).putDouble(d).array();
+            }
+            if (value instanceof String s) {
+                return withHeader(s.getBytes(StandardCharsets.UTF_8), SHAPE_STRING);
+            }
+            Byte typeId = TYPE_IDS.get(value.getClass());
+            if (typeId != null) {
+                return withHeader(plainMapper.writeValueAsBytes(value), SHAPE_OBJECT, typeId);
+            }
+            Byte elementTypeId = listElementTypeId(value);
+            if (elementTypeId != null) {
+                return withHeader(plainMapper.writeValueAsBytes(value), SHAPE_LIST, elementTypeId);
+            }
+            return withHeader(typedMapper.writeValueAsBytes(new Object[] { value }), SHAPE_TYPED);
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode cache value of " + value.getClass(), e);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        try {
+            switch (bytes[0]) {
+                case SHAPE_LONG:
+                    return ByteBuffer.wrap(bytes, 1, 8).getLong();
+                case SHAPE_DOUBLE:
+                    return ByteBuffer.wrap(bytes, 1, 8).getDouble();
+                case SHAPE_STRING:
+                    return new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+                case SHAPE_OBJECT:
+                    return plainMapper.readValue(bytes, 2, bytes.length - 2, type(bytes[1]));
+                case SHAPE_LIST:
+                    JavaType listType = plainMapper.getTypeFactory()
+                            .constructCollectionType(ArrayList.class, type(bytes[1]));
+                    return plainMapper.readValue(bytes, 2, bytes.length - 2, listType);
+                case SHAPE_TYPED:
+                    return typedMapper.readValue(bytes, 1, bytes.length - 1, Object[].class)[0];
+                default:
+                    throw new SerializationException("Unknown cache value shape " + bytes[0]);
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Could not decode cache value", e);
+        }
+    }
+
+    /**
+     * Type id shared by every element of a non-empty list, or null if the list is empty,
+     * mixed or holds unregistered types.
+     */
+    private static Byte listElementTypeId(Object value) {
+        if (!(value instanceof List<?> list) || list.isEmpty() || list.get(0) == null) {
+            return null;
+        }
+        Class<?> elementType = list.get(0).getClass();
+        Byte typeId = TYPE_IDS.get(elementType);
+        if (typeId == null) {
+            return null;
+        }
+        for (Object element : list) {
+            if (element == null || element.getClass() != elementType) {
+                return null;
+            }
+        }
+        return typeId;
+    }
+
+    private static Class<?> type(byte typeId) {
+        Class<?> type = typeId > 0 && typeId < TYPES.length ? TYPES[typeId] : null;
+        if (type == null) {
+            throw new SerializationException("Unknown cache type id " + typeId);
+        }
+        return type;
+    }
+
+    private static byte[] withHeader(byte[] payload, byte... header) {
+        byte[] bytes = Arrays.copyOf(header, header.length + payload.length);
+        System.arraycopy(payload, 0, bytes, header.length, payload.length);
+        return bytes;
+    }
+
+    private static void register(int id, Class<?> type) {
+        TYPE_IDS.put(type, (byte) id);
+        TYPES[id] = type;
+    }
+}
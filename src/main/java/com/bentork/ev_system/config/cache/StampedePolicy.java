@@ -0,0 +1,21 @@
+package com.bentork.ev_system.config.cache;
+
+import java.time.Duration;
+
+/**
+ * Stampede protection for one cache (used by @Cacheable(sync = true) reads).
+ *
+ * @param staleWindow how long after the fresh TTL an entry may still be served while one
+ *                    caller refreshes it in the background (stale-while-revalidate)
+ * @param beta        early-refresh eagerness: an entry is refreshed before its TTL with a
+ *                    probability that grows as expiry nears and with how long the value took
+ *                    to compute (XFetch); 0 disables early refresh
+ * @param lockTtl     how long one node may hold the cross-node load lock, and the longest
+ *                    other nodes wait for its result before loading themselves
+ */
+public record StampedePolicy(Duration staleWindow, double beta, Duration lockTtl) {
+
+    public static StampedePolicy of(Duration staleWindow) {
+        return new StampedePolicy(staleWindow, 1.0, Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,729 @@
+package com.bentork.ev_system.config.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.cache.RedisCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Caffeine (L1, per node) in front of a Redis cache (L2, shared).
+ *
+ * Reads: L1 -> L2 -> caller. Writes go to L2, then L1, then an invalidation is published
+ * so other nodes drop their L1 copy. While Redis is unavailable (see RedisAvailability)
+ * L2 and the publish are skipped and the cache works on L1 alone.
+ *
+ * The Redis key space is versioned by the cache codec (see CacheCodec).
+ *
+ * With a StampedePolicy, values are stored in a CacheEnvelope and get(key, loader) —
+ * i.e. @Cacheable(sync = true) — adds:
+ *   - single-flight loading: one load per key per node, and one node at a time via CacheLoadLock
+ *     (the others wait for its result in Redis);
+ *   - stale-while-revalidate: within the stale window the old value is returned while one
+ *     background refresh runs;
+ *   - probabilistic early refresh before the fresh TTL ends (see CacheEnvelope).
+ * Plain get(key) readers never see a stale value.
+ *
+ * getAll(keys, loader) reads many keys at once: L1, then one MGET (MultiGetCache) for the
+ * L1 misses, then one batch load for the rest.
+ *
+ * L1 keys use the same string form Redis uses, so a key evicted by another node
+ * (received as a string) matches the local entry.
+ *
+ * Metrics: see CacheLevelStats; bindTo adds the L1 entry count and an estimated L1 size in
+ * bytes, sampled from the Redis encoding of up to SIZE_SAMPLE entries.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private static final long AWAIT_POLL_MILLIS = 50;
+    static final int SIZE_SAMPLE = 32;
+
+    private final String name;
+    private final CacheTier tier;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local; // null when L2-only
+    private final Cache remote;
+    private final Cache previousRemote; // nullable: same cache in the previous codec's key space
+    private final RedisAvailability availability;
+    private final CacheInvalidationBus invalidationBus;
+    private final CacheLevelStats stats = new CacheLevelStats();
+
+    private final Duration freshTtl;
+    private final StampedePolicy policy; // nullable
+    private final CacheLoadLock loadLock;
+    private final Executor refreshExecutor;
+    private final Map<String, CompletableFuture<CacheEnvelope>> inFlight = new ConcurrentHashMap<>();
+
+    public TwoLevelCache(String name, CacheTier tier, Cache remote,
+                         RedisAvailability availability, CacheInvalidationBus invalidationBus) {
+        this(name, tier, remote, null, availability, invalidationBus, null, null);
+    }
+
+    /**
+     * @param previousRemote  while a codec change rolls out, writes here also evict the entry
+     *                        from the previous key space so nodes still on the old version
+     *                        do not keep serving it until its TTL
+     * @param loadLock        cross-node load lock, required when the tier has a stampede policy
+     * @param refreshExecutor runs stale-while-revalidate and early refreshes
+     */
+    public TwoLevelCache(String name, CacheTier tier, Cache remote, Cache previousRemote,
+                         RedisAvailability availability, CacheInvalidationBus invalidationBus,
+                         CacheLoadLock loadLock, Executor refreshExecutor) {
+        super(false); // same as the Redis config: null values are not cached
+        this.name = name;
+        this.tier = tier;
+        this.remote = remote;
+        this.previousRemote = previousRemote;
+        this.availability = availability;
+        this.invalidationBus = invalidationBus;
+        this.freshTtl = tier.redisTtl();
+        this.policy = tier.stampede();
+        this.loadLock = loadLock;
+        this.refreshExecutor = refreshExecutor;
+        this.local = tier.hasLocal()
+                ? Caffeine.newBuilder()
+                        .expireAfterWrite(tier.localTtl())
+                        .maximumWeight(tier.localMaxWeight())
+                        .weigher((String key, Object value) -> weigh(value))
+                        .evictionListener((String key, Object value, RemovalCause cause) -> {
+                            if (cause == RemovalCause.SIZE) {
+                                stats.sizeEviction();
+                            } else if (cause == RemovalCause.EXPIRED) {
+                                stats.expiredEviction();
+                            }
+                        })
+                        .build()
+                : null;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local != null ? local : remote.getNativeCache();
+    }
+
+    public CacheTier getTier() {
+        return tier;
+    }
+
+    public CacheLevelStats getStats() {
+        return stats;
+    }
+
+    public boolean hasLocal() {
+        return local != null;
+    }
+
+    public long localSize() {
+        return local != null ? local.estimatedSize() : 0;
+    }
+
+    /**
+     * Register the stats and the L1 gauges cache.level.size and cache.level.estimated.bytes.
+     */
+    public void bindTo(MeterRegistry registry) {
+        stats.bindTo(registry, name);
+        if (local != null) {
+            Gauge.builder("cache.level.size", this, TwoLevelCache::localSize)
+                    .tags("cache", name, "level", "l1")
+                    .register(registry);
+            Gauge.builder("cache.level.estimated.bytes", this, TwoLevelCache::estimatedLocalBytes)
+                    .tags("cache", name, "level", "l1")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * L1 entry count times the average encoded size of a sample of entries. This is the size
+     * the entries take in Redis, a lower bound for their heap footprint; -1 when it cannot be
+     * measured (not Redis-backed).
+     */
+    public long estimatedLocalBytes() {
+        if (local == null) {
+            return 0;
+        }
+        long sampled = 0;
+        int count = 0;
+        for (Object stored : local.asMap().values()) {
+            int size = encodedSize(stored);
+            if (size < 0) {
+                return -1;
+            }
+            sampled += size;
+            if (++count == SIZE_SAMPLE) {
+                break;
+            }
+        }
+        return count == 0 ? 0 : sampled * local.estimatedSize() / count;
+    }
+
+    /**
+     * Up to limit L1 entries with their encoded size and age, for the cache inspector.
+     */
+    List<EntrySample> sampleLocal(int limit) {
+        if (local == null) {
+            return List.of();
+        }
+        var expiry = local.policy().expireAfterWrite();
+        List<EntrySample> samples = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : local.asMap().entrySet()) {
+            if (samples.size() == limit) {
+                break;
+            }
+            long ageMillis = expiry.flatMap(policy -> policy.ageOf(entry.getKey()))
+                    .map(Duration::toMillis).orElse(-1L);
+            samples.add(new EntrySample(entry.getKey(), encodedSize(entry.getValue()), ageMillis));
+        }
+        return samples;
+    }
+
+    Cache remote() {
+        return remote;
+    }
+
+    /**
+     * A sampled entry: key, encoded size in bytes (-1 if unknown) and age (L1) or remaining
+     * TTL (L2) in milliseconds (-1 if unknown).
+     */
+    record EntrySample(String key, long bytes, long millis) {
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object stored = lookupStored(key);
+        if (stored instanceof CacheEnvelope envelope) {
+            return envelope.isStale(System.currentTimeMillis()) ? null : envelope.value();
+        }
+        return stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (policy == null) {
+            ValueWrapper cached = get(key);
+            if (cached != null) {
+                return (T) cached.get();
+            }
+            T value = call(key, valueLoader);
+            if (value != null) {
+                put(key, value);
+            }
+            return value;
+        }
+
+        Object stored = lookupStored(key);
+        if (stored instanceof CacheEnvelope envelope) {
+            long now = System.currentTimeMillis();
+            if (!envelope.isStale(now)) {
+                if (envelope.shouldRefreshEarly(now, policy.beta(), ThreadLocalRandom.current().nextDouble())) {
+                    refreshAsync(key, valueLoader);
+                }
+                return (T) envelope.value();
+            }
+            if (now < envelope.freshUntil() + policy.staleWindow().toMillis()) {
+                refreshAsync(key, valueLoader);
+                return (T) envelope.value();
+            }
+        } else if (stored != null) {
+            return (T) stored; // written before the policy was enabled
+        }
+        CacheEnvelope loaded = loadSingleFlight(key, valueLoader);
+        return loaded != null ? (T) loaded.value() : null;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        if (policy != null) {
+            storeValue = new CacheEnvelope(storeValue, System.currentTimeMillis() + freshTtl.toMillis(), 0);
+        }
+        putStored(key, storeValue);
+    }
+
+    /**
+     * Store only if Redis has no entry, keeping what another node already stored; L1 takes
+     * whichever value won. Nothing is published: other nodes hold either nothing or the same
+     * entry. Used by cache warm-up.
+     */
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        if (policy != null) {
+            storeValue = new CacheEnvelope(storeValue, System.currentTimeMillis() + freshTtl.toMillis(), 0);
+        }
+        Object existing = null;
+        if (availability.isUp()) {
+            try {
+                ValueWrapper previous = remote.putIfAbsent(key, storeValue);
+                existing = previous != null ? previous.get() : null;
+                availability.success();
+            } catch (RuntimeException e) {
+                remoteFailure(e);
+            }
+        }
+        if (local != null) {
+            local.put(localKey(key), existing != null ? existing : storeValue);
+        }
+        if (existing instanceof CacheEnvelope envelope) {
+            existing = envelope.value();
+        }
+        return existing != null ? toValueWrapper(existing) : null;
+    }
+
+    /**
+     * Bulk read-through. Loaded entries go to Redis in one pipelined write and are not
+     * published: a key missing from Redis has no L1 copy elsewhere that outlives it (L1 TTLs
+     * are shorter and Redis writes are published). Stale envelopes count as misses; there is
+     * no stale-while-revalidate here.
+     *
+     * @return the values in key order; keys the loader has no value for are left out
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getAll(Collection<K> keys, BatchLoader<K, V> loader) {
+        Set<K> requested = new LinkedHashSet<>(keys);
+        Map<K, V> found = new LinkedHashMap<>();
+        List<K> remoteKeys = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (K key : requested) {
+            Object value = local != null ? usable(local.getIfPresent(localKey(key)), now) : null;
+            if (value != null) {
+                stats.l1Hit();
+                found.put(key, (V) value);
+            } else {
+                if (local != null) {
+                    stats.l1Miss();
+                }
+                remoteKeys.add(key);
+            }
+        }
+
+        Set<K> missing = new LinkedHashSet<>(remoteKeys);
+        if (!remoteKeys.isEmpty() && availability.isUp()) {
+            try {
+                List<Object> stored = remoteGetAll(remoteKeys);
+                availability.success();
+                for (int i = 0; i < remoteKeys.size(); i++) {
+                    Object value = usable(stored.get(i), now);
+                    if (value == null) {
+                        stats.l2Miss();
+                        continue;
+                    }
+                    stats.l2Hit();
+                    K key = remoteKeys.get(i);
+                    if (local != null) {
+                        local.put(localKey(key), stored.get(i));
+                    }
+                    found.put(key, (V) value);
+                    missing.remove(key);
+                }
+            } catch (RuntimeException e) {
+                remoteFailure(e);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<K, V> loaded = loadBatch(loader, missing);
+            Map<Object, Object> toStore = new LinkedHashMap<>();
+            loaded.forEach((key, value) -> {
+                if (value != null && missing.contains(key)) {
+                    found.put(key, value);
+                    Object storeValue = toStoreValue(value);
+                    toStore.put(key, policy != null
+                            ? new CacheEnvelope(storeValue, System.currentTimeMillis() + freshTtl.toMillis(), 0)
+                            : storeValue);
+                }
+            });
+            storeAll(toStore);
+        }
+
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : requested) {
+            V value = found.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        stats.explicitEviction();
+        if (local != null) {
+            local.invalidate(localKey);
+        }
+        if (availability.isUp()) {
+            try {
+                remote.evict(key);
+                if (previousRemote != null) {
+                    previousRemote.evict(key);
+                }
+                if (local != null) {
+                    invalidationBus.publish(name, localKey);
+                }
+                availability.success();
+            } catch (RuntimeException e) {
+                remoteFailure(e);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        stats.explicitEviction();
+        if (local != null) {
+            local.invalidateAll();
+        }
+        if (availability.isUp()) {
+            try {
+                remote.clear();
+                if (previousRemote != null) {
+                    previousRemote.clear();
+                }
+                if (local != null) {
+                    invalidationBus.publish(name, null);
+                }
+                availability.success();
+            } catch (RuntimeException e) {
+                remoteFailure(e);
+            }
+        }
+    }
+
+    /**
+     * Apply an invalidation received from another node (L1 only).
+     */
+    void invalidateLocal(String localKey) {
+        if (local == null) {
+            return;
+        }
+        stats.remoteEviction();
+        if (localKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(localKey);
+        }
+    }
+
+    void clearLocal() {
+        if (local != null) {
+            local.invalidateAll();
+        }
+    }
+
+    /**
+     * L1 then L2, as stored (an envelope for caches with a stampede policy).
+     */
+    private Object lookupStored(Object key) {
+        String localKey = localKey(key);
+        if (local != null) {
+            Object value = local.getIfPresent(localKey);
+            if (value != null) {
+                stats.l1Hit();
+                return value;
+            }
+            stats.l1Miss();
+        }
+
+        if (!availability.isUp()) {
+            return null;
+        }
+        try {
+            ValueWrapper wrapper = remote.get(key);
+            availability.success();
+            if (wrapper == null || wrapper.get() == null) {
+                stats.l2Miss();
+                return null;
+            }
+            stats.l2Hit();
+            if (local != null) {
+                local.put(localKey, wrapper.get());
+            }
+            return wrapper.get();
+        } catch (RuntimeException e) {
+            remoteFailure(e);
+            return null;
+        }
+    }
+
+    private void putStored(Object key, Object storeValue) {
+        String localKey = localKey(key);
+        if (availability.isUp()) {
+            try {
+                remote.put(key, storeValue);
+                if (previousRemote != null) {
+                    previousRemote.evict(key);
+                }
+                if (local != null) {
+                    invalidationBus.publish(name, localKey);
+                }
+                availability.success();
+            } catch (RuntimeException e) {
+                remoteFailure(e);
+            }
+        }
+        if (local != null) {
+            local.put(localKey, storeValue);
+        }
+    }
+
+    private List<Object> remoteGetAll(List<?> keys) {
+        if (remote instanceof MultiGetCache bulk) {
+            return bulk.getAll(keys);
+        }
+        List<Object> values = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            ValueWrapper wrapper = remote.get(key);
+            values.add(wrapper != null ? wrapper.get() : null);
+        }
+        return values;
+    }
+
+    private void storeAll(Map<Object, Object> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (availability.isUp()) {
+            try {
+                if (remote instanceof MultiGetCache bulk) {
+                    bulk.putAll(entries);
+                } else {
+                    entries.forEach(remote::put);
+                }
+                availability.success();
+            } catch (RuntimeException e) {
+                remoteFailure(e);
+            }
+        }
+        if (local != null) {
+            entries.forEach((key, storeValue) -> local.put(localKey(key), storeValue));
+        }
+    }
+
+    /**
+     * The cached value of a stored entry, or null if there is none or it is stale.
+     */
+    private Object usable(Object stored, long now) {
+        if (stored instanceof CacheEnvelope envelope) {
+            return envelope.isStale(now) ? null : fromStoreValue(envelope.value());
+        }
+        return stored != null ? fromStoreValue(stored) : null;
+    }
+
+    /**
+     * Load a missing entry once per node; concurrent callers for the same key share the result.
+     */
+    private CacheEnvelope loadSingleFlight(Object key, Callable<?> valueLoader) {
+        String localKey = localKey(key);
+        CompletableFuture<CacheEnvelope> mine = new CompletableFuture<>();
+        CompletableFuture<CacheEnvelope> running = inFlight.putIfAbsent(localKey, mine);
+        if (running != null) {
+            CacheEnvelope shared = join(running);
+            // A background refresh that yielded to another node completes empty
+            return shared != null ? shared : loadAcrossNodes(key, localKey, valueLoader);
+        }
+        try {
+            CacheEnvelope loaded = loadAcrossNodes(key, localKey, valueLoader);
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, mine);
+        }
+    }
+
+    /**
+     * Take the cross-node lock and load, or wait for the node holding it to store the value.
+     */
+    private CacheEnvelope loadAcrossNodes(Object key, String localKey, Callable<?> valueLoader) {
+        String token = loadLock.tryLock(name, localKey, policy.lockTtl());
+        if (token == null) {
+            CacheEnvelope loadedElsewhere = awaitRemote(key);
+            if (loadedElsewhere != null) {
+                return loadedElsewhere;
+            }
+            log.debug("Timed out waiting for another node to load {}::{}, loading locally", name, localKey);
+        }
+        try {
+            return loadAndStore(key, valueLoader);
+        } finally {
+            if (token != null) {
+                loadLock.unlock(name, localKey, token);
+            }
+        }
+    }
+
+    private CacheEnvelope awaitRemote(Object key) {
+        long deadline = System.currentTimeMillis() + policy.lockTtl().toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(AWAIT_POLL_MILLIS);
+                ValueWrapper wrapper = remote.get(key);
+                if (wrapper != null && wrapper.get() instanceof CacheEnvelope envelope
+                        && !envelope.isStale(System.currentTimeMillis())) {
+                    return envelope;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (RuntimeException e) {
+                remoteFailure(e);
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private CacheEnvelope loadAndStore(Object key, Callable<?> valueLoader) {
+        long started = System.nanoTime();
+        Object value = call(key, valueLoader);
+        if (value == null) {
+            return null;
+        }
+        int computeMillis = (int) Math.min(Integer.MAX_VALUE, (System.nanoTime() - started) / 1_000_000);
+        CacheEnvelope envelope = new CacheEnvelope(value, System.currentTimeMillis() + freshTtl.toMillis(),
+                computeMillis);
+        putStored(key, envelope);
+        return envelope;
+    }
+
+    /**
+     * Refresh in the background unless a load for this key is already running here.
+     */
+    private void refreshAsync(Object key, Callable<?> valueLoader) {
+        String localKey = localKey(key);
+        CompletableFuture<CacheEnvelope> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(localKey, mine) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    String token = loadLock.tryLock(name, localKey, policy.lockTtl());
+                    if (token == null) {
+                        mine.complete(null); // another node is refreshing it
+                        return;
+                    }
+                    try {
+                        mine.complete(loadAndStore(key, valueLoader));
+                    } finally {
+                        loadLock.unlock(name, localKey, token);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of {}::{} failed: {}", name, localKey, e.getMessage());
+                    mine.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(localKey, mine);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(localKey, mine);
+            mine.complete(null);
+        }
+    }
+
+    private static CacheEnvelope join(CompletableFuture<CacheEnvelope> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private <T> T call(Object key, Callable<T> valueLoader) {
+        long started = System.nanoTime();
+        boolean success = false;
+        try {
+            T value = valueLoader.call();
+            success = true;
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            stats.load(System.nanoTime() - started, success, false);
+        }
+    }
+
+    private <K, V> Map<K, V> loadBatch(BatchLoader<K, V> loader, Set<K> keys) {
+        long started = System.nanoTime();
+        boolean success = false;
+        try {
+            Map<K, V> loaded = loader.load(Collections.unmodifiableSet(keys));
+            success = true;
+            return loaded;
+        } finally {
+            stats.load(System.nanoTime() - started, success, true);
+        }
+    }
+
+    private void remoteFailure(RuntimeException e) {
+        stats.l2Error();
+        availability.failure(e);
+    }
+
+    /**
+     * Size of a stored value in the Redis encoding, -1 if not Redis-backed or not encodable.
+     */
+    private int encodedSize(Object stored) {
+        if (!(remote instanceof RedisCache redisCache)) {
+            return -1;
+        }
+        try {
+            return redisCache.getCacheConfiguration().getValueSerializationPair().write(stored).remaining();
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    static String localKey(Object key) {
+        return key instanceof String s ? s : String.valueOf(key);
+    }
+
+    private static int weigh(Object value) {
+        if (value instanceof CacheEnvelope envelope) {
+            value = envelope.value();
+        }
+        if (value instanceof Collection<?> collection) {
+            return 1 + collection.size();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return 1 + map.size();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,121 @@
+package com.bentork.ev_system.config.cache;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Composite CacheManager: one TwoLevelCache per cache name, each combining a bounded
+ * Caffeine L1 with the matching cache of the wrapped (Redis) manager.
+ *
+ * Caches are returned wrapped in TransactionAwareCacheDecorator, so puts and evicts
+ * inside a transaction still apply after commit as they did with the transaction-aware
+ * RedisCacheManager.
+ *
+ * Background refreshes for caches with a StampedePolicy share one small bounded pool; when
+ * it is saturated the refresh is skipped and the stale value keeps being served.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remoteManager;
+    private final CacheManager previousRemoteManager; // nullable
+    private final Map<String, CacheTier> tiers;
+    private final CacheTier defaultTier;
+    private final RedisAvailability availability;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry; // nullable
+    private final CacheLoadLock loadLock;
+    private final ThreadPoolExecutor refreshExecutor = newRefreshExecutor();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final Map<String, Cache> decorated = new ConcurrentHashMap<>();
+
+    /**
+     * @param previousRemoteManager the same caches under the previous codec's key space, evicted
+     *                              alongside writes during a codec rollout; null otherwise
+     * @param loadLock              cross-node load lock for caches with a stampede policy
+     */
+    public TwoLevelCacheManager(CacheManager remoteManager, CacheManager previousRemoteManager,
+                                Map<String, CacheTier> tiers, CacheTier defaultTier,
+                                RedisAvailability availability, CacheInvalidationBus invalidationBus,
+                                CacheLoadLock loadLock, MeterRegistry meterRegistry) {
+        this.remoteManager = remoteManager;
+        this.previousRemoteManager = previousRemoteManager;
+        this.tiers = Map.copyOf(tiers);
+        this.defaultTier = defaultTier;
+        this.availability = availability;
+        this.invalidationBus = invalidationBus;
+        this.loadLock = loadLock;
+        this.meterRegistry = meterRegistry;
+
+        availability.addRecoveryHook(this::clearLocal);
+        invalidationBus.addHandler(this::onRemoteInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return decorated.computeIfAbsent(name, n -> {
+            Cache remote = remoteManager.getCache(n);
+            if (remote == null) {
+                return null;
+            }
+            Cache previousRemote = previousRemoteManager != null ? previousRemoteManager.getCache(n) : null;
+            TwoLevelCache cache = new TwoLevelCache(n, tiers.getOrDefault(n, defaultTier), remote, previousRemote,
+                    availability, invalidationBus, loadLock, refreshExecutor);
+            if (meterRegistry != null) {
+                cache.bindTo(meterRegistry);
+            }
+            caches.put(n, cache);
+            return new TransactionAwareCacheDecorator(cache);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(tiers.keySet());
+        names.addAll(caches.keySet());
+        return names;
+    }
+
+    /**
+     * The undecorated two-level caches created so far, for stats and inspection.
+     */
+    public Collection<TwoLevelCache> getTwoLevelCaches() {
+        return caches.values();
+    }
+
+    public RedisAvailability getAvailability() {
+        return availability;
+    }
+
+    private void onRemoteInvalidation(String cacheName, String key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.invalidateLocal(key);
+        }
+    }
+
+    private void clearLocal() {
+        caches.values().forEach(TwoLevelCache::clearLocal);
+    }
+
+    private static ThreadPoolExecutor newRefreshExecutor() {
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(1, 2, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(64), r -> {
+            Thread thread = new Thread(r, "cache-refresh-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
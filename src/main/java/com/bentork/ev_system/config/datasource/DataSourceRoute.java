@@ -0,0 +1,13 @@
+package com.bentork.ev_system.config.datasource;
+
+/**
+ * Connection pools a statement can be routed to by {@link ReadWriteRoutingDataSource}.
+ */
+public enum DataSourceRoute {
+
+    /** Read-write pool: OCPP handlers, payments, every write. */
+    PRIMARY,
+
+    /** Reporting pool: a replica, or a separately sized pool on the primary. */
+    REPORTING
+}
@@ -0,0 +1,109 @@
+package com.bentork.ev_system.config.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Two connection pools behind one DataSource, so dashboards, dealer views and revenue
+ * reports cannot take the connections of the OCPP write path.
+ *
+ *   primary   — spring.datasource.* / spring.datasource.hikari.*
+ *   reporting — app.datasource.reporting.url/username/password (default: the primary
+ *               database) and app.datasource.reporting.hikari.*
+ *
+ * Routing rules are in {@link ReadWriteRoutingDataSource}. Both pools are HikariCP pools
+ * with their own pool name, so their hikaricp.connections.* meters are tagged
+ * pool=primary / pool=reporting. Off with app.datasource.reporting.enabled=false, which
+ * leaves Spring Boot's single pool.
+ *
+ * The route is picked when a connection is acquired. Open-in-view keeps one Hibernate
+ * session for the whole request, and Hibernate's default for Spring-managed sessions holds
+ * the first connection until the session closes — a write after a report in the same
+ * request would run on the read-only reporting pool. The session therefore hands its
+ * connection back after every transaction, so each transaction gets a connection for its
+ * own route.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.datasource.reporting.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.reporting.hikari")
+    public HikariDataSource reportingDataSource(DataSourceProperties properties,
+            @Value("${app.datasource.reporting.url:}") String url,
+            @Value("${app.datasource.reporting.username:}") String username,
+            @Value("${app.datasource.reporting.password:}") String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        if (!url.isBlank()) {
+            dataSource.setJdbcUrl(url);
+            if (!username.isBlank()) {
+                dataSource.setUsername(username);
+                dataSource.setPassword(password);
+            }
+        }
+        dataSource.setPoolName("reporting");
+        log.info("Reporting pool on {}", url.isBlank() ? "the primary database" : url);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("reportingDataSource") DataSource reporting) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, reporting));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor useDataSourceAdvisor() {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(UseDataSource.class, true))
+                .union(new AnnotationMatchingPointcut(null, UseDataSource.class, true));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, new UseDataSourceInterceptor());
+        // Before the transaction interceptor (LOWEST_PRECEDENCE)
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,86 @@
+package com.bentork.ev_system.config.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routes each new connection to the primary or the reporting pool:
+ * <ol>
+ * <li>a route pinned with {@link UseDataSource} on the current call stack wins;</li>
+ * <li>a read-only transaction started by application code goes to REPORTING;</li>
+ * <li>everything else, including the read-only defaults of Spring Data repository
+ * methods called outside a service transaction, goes to PRIMARY.</li>
+ * </ol>
+ * The decision is taken when a connection is acquired, so this must sit behind a
+ * LazyConnectionDataSourceProxy: the transaction managers ask for a connection before the
+ * read-only flag of the new transaction is visible here.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    // Spring Data marks its repository finders readOnly; on their own they are point
+    // lookups of the write path (OCPP handlers, payments) and stay on the primary
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    private static final ThreadLocal<DataSourceRoute> PINNED = new ThreadLocal<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource reporting) {
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPORTING, reporting));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Pins the route of the current thread.
+     *
+     * @return the route pinned before, to hand back to {@link #restore}
+     */
+    static DataSourceRoute pin(DataSourceRoute route) {
+        DataSourceRoute outer = PINNED.get();
+        PINNED.set(route);
+        return outer;
+    }
+
+    static void restore(DataSourceRoute outer) {
+        if (outer != null) {
+            PINNED.set(outer);
+        } else {
+            PINNED.remove();
+        }
+    }
+
+    /**
+     * The route a connection acquired now would take.
+     */
+    public static DataSourceRoute currentRoute() {
+        DataSourceRoute pinned = PINNED.get();
+        if (pinned != null) {
+            return pinned;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            String name = TransactionSynchronizationManager.getCurrentTransactionName();
+            if (name == null || !name.startsWith(REPOSITORY_TRANSACTION_PREFIX)) {
+                return DataSourceRoute.REPORTING;
+            }
+        }
+        return DataSourceRoute.PRIMARY;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRoute route = currentRoute();
+        if (log.isDebugEnabled()) {
+            log.debug("Connection for {} from the {} pool",
+                    TransactionSynchronizationManager.getCurrentTransactionName(), route);
+        }
+        return route;
+    }
+}
@@ -0,0 +1,24 @@
+package com.bentork.ev_system.config.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pins the connections opened by a bean or method to one pool, whatever the transaction
+ * flags say. A method annotation wins over the class annotation, and the innermost
+ * annotated call wins over its callers.
+ *
+ * REPORTING is for read paths only: on a replica a write fails. PRIMARY is for read-only
+ * work that must see its own writes, e.g. loaders that fill a cache right after an
+ * eviction.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UseDataSource {
+
+    DataSourceRoute value();
+}
@@ -0,0 +1,46 @@
+package com.bentork.ev_system.config.datasource;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * Applies {@link UseDataSource} around calls to annotated beans. Runs outside the
+ * transaction interceptor, so the route is pinned before the transaction opens its
+ * connection.
+ */
+public class UseDataSourceInterceptor implements MethodInterceptor {
+
+    private final Map<Method, Optional<DataSourceRoute>> routes = new ConcurrentHashMap<>();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Optional<DataSourceRoute> route = routes.computeIfAbsent(invocation.getMethod(),
+                method -> resolve(method, invocation.getThis()));
+        if (route.isEmpty()) {
+            return invocation.proceed();
+        }
+        DataSourceRoute outer = ReadWriteRoutingDataSource.pin(route.get());
+        try {
+            return invocation.proceed();
+        } finally {
+            ReadWriteRoutingDataSource.restore(outer);
+        }
+    }
+
+    private static Optional<DataSourceRoute> resolve(Method method, Object target) {
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        UseDataSource annotation = AnnotatedElementUtils.findMergedAnnotation(specific, UseDataSource.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, UseDataSource.class);
+        }
+        return Optional.ofNullable(annotation).map(UseDataSource::value);
+    }
+}
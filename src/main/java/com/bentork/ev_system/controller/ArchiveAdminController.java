@@ -0,0 +1,43 @@
+package com.bentork.ev_system.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bentork.ev_system.dto.response.ArchiveReportResponse;
+import com.bentork.ev_system.service.archive.TableArchiver;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports of the history archiver. Reports are per node (the one serving the request).
+ * Requires ADMIN authority.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/archive")
+public class ArchiveAdminController {
+
+    private final TableArchiver tableArchiver;
+
+    /**
+     * Last run per table: rows moved, active/archive sizes and probe latency before and after.
+     */
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping
+    public ResponseEntity<List<ArchiveReportResponse>> getReports() {
+        log.debug("GET /api/admin/archive - Request received");
+        try {
+            return ResponseEntity.ok(tableArchiver.getLastReports());
+        } catch (Exception e) {
+            log.error("GET /api/admin/archive - Failed: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
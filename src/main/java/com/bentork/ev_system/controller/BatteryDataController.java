@@ -1,6 +1,7 @@
 package com.bentork.ev_system.controller;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import jakarta.validation.Valid;
 
@@ -21,7 +22,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.bentork.ev_system.dto.request.BatteryDataDTO;
 import com.bentork.ev_system.dto.response.BatteryDataResponse;
-import com.bentork.ev_system.dto.response.BatteryExcelUploadResponse;
+import com.bentork.ev_system.dto.response.BatteryImportJobResponse;
 import com.bentork.ev_system.service.BatteryDataService;
 import com.bentork.ev_system.service.BatteryExcelService;
 
@@ -57,7 +58,8 @@ public class BatteryDataController {
     }
 
     /**
-     * Register batteries from uploaded Excel file.
+     * Register batteries from uploaded Excel file, as a background import job.
+     * Returns 202 with the job; poll GET /admin/register/upload/{jobId} for progress.
      * Accessible by ADMIN and ADMIN_STAFF.
      *
      * Expected Excel columns: customerName, productDetails, invoiceNumber,
@@ -66,13 +68,28 @@ public class BatteryDataController {
      */
     @PostMapping(value = "/admin/register/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasAnyAuthority('ADMIN', 'ADMIN_STAFF')")
-    public ResponseEntity<BatteryExcelUploadResponse> registerBatteriesFromExcel(
-            @RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> registerBatteriesFromExcel(@RequestParam("file") MultipartFile file) {
         String adminEmail = getCurrentUserEmail();
         log.info("Admin/Staff {} uploading Excel file for battery registration: {}",
                 adminEmail, file.getOriginalFilename());
-        BatteryExcelUploadResponse response = batteryExcelService.registerBatteriesFromExcel(file, adminEmail);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        try {
+            BatteryImportJobResponse job = batteryExcelService.startImport(file, adminEmail);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (RejectedExecutionException e) {
+            log.warn("Battery import queue full, upload by {} rejected", adminEmail);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body("Too many imports in progress. Please retry in a few minutes.");
+        }
+    }
+
+    /**
+     * Progress of an Excel import: rows processed, registered and skipped so far, and the
+     * row errors once found. Accessible by ADMIN and ADMIN_STAFF.
+     */
+    @GetMapping("/admin/register/upload/{jobId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'ADMIN_STAFF')")
+    public ResponseEntity<BatteryImportJobResponse> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(batteryExcelService.getImportJob(jobId));
     }
 
     /**
@@ -0,0 +1,63 @@
+package com.bentork.ev_system.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bentork.ev_system.config.cache.CacheInspector;
+import com.bentork.ev_system.dto.response.CacheInspectionResponse;
+import com.bentork.ev_system.dto.response.CacheStatsResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache inspector for TTL and size tuning. Counters are per node (the one serving the
+ * request); the Redis key sample is shared by all nodes. All endpoints require ADMIN authority.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/caches")
+public class CacheAdminController {
+
+    private final CacheInspector cacheInspector;
+
+    /**
+     * Hit/miss, eviction, load-time and size figures of every cache.
+     */
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping
+    public ResponseEntity<List<CacheStatsResponse>> getStats() {
+        log.debug("GET /api/admin/caches - Request received");
+        try {
+            return ResponseEntity.ok(cacheInspector.getStats());
+        } catch (Exception e) {
+            log.error("GET /api/admin/caches - Failed: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * One cache's figures plus a sample of keys with their sizes (and age in L1, TTL in Redis).
+     */
+    @PreAuthorize("hasAuthority('ADMIN')")
+    @GetMapping("/{name}")
+    public ResponseEntity<CacheInspectionResponse> inspect(@PathVariable String name,
+            @RequestParam(defaultValue = "20") int sample) {
+        log.info("GET /api/admin/caches/{} - sample={}", name, sample);
+        try {
+            CacheInspectionResponse response = cacheInspector.inspect(name, sample);
+            return response != null ? ResponseEntity.ok(response) : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("GET /api/admin/caches/{} - Failed: {}", name, e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.bentork.ev_system.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bentork.ev_system.dto.response.DashboardStatsResponse;
+import com.bentork.ev_system.service.DashboardService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * All admin dashboard figures in one call (replaces the per-metric
+     * /api/sessions, /api/revenue, /api/chargers and /api/stations counters).
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<DashboardStatsResponse> getStats() {
+        log.debug("GET /api/dashboard/stats - Request received");
+        try {
+            return ResponseEntity.ok(dashboardService.getStats());
+        } catch (Exception e) {
+            log.error("GET /api/dashboard/stats - Failed: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.bentork.ev_system.controller;
 
 import java.util.List;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -10,11 +11,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.bentork.ev_system.dto.request.AssignStationRequest;
 import com.bentork.ev_system.dto.request.DealerStationDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.service.DealerStationService;
+import com.bentork.ev_system.service.paging.NdjsonStreams;
 
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +35,7 @@ import lombok.RequiredArgsConstructor;
 @Slf4j
 public class DealerStationController {
     private final DealerStationService dealerStationService;
+    private final NdjsonStreams ndjsonStreams;
 
     /**
      * Assign stations to a dealer
@@ -86,6 +92,7 @@ public class DealerStationController {
     /**
      * Get all dealer-station assignments
      * GET /api/dealer-stations
+     * Loads every assignment; kept for existing clients, use /page or /stream instead.
      */
     @GetMapping
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -94,4 +101,35 @@ public class DealerStationController {
         List<DealerStationDTO> assignments = dealerStationService.getAllAssignments();
         return ResponseEntity.ok(assignments);
     }
+
+    /**
+     * Get dealer-station assignments one page at a time, newest first
+     * GET /api/dealer-stations/page?dealerId=&stationId=&cursor=&limit=
+     */
+    @GetMapping("/page")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<CursorPage<DealerStationDTO>> getAssignmentPage(
+            @RequestParam(required = false) Long dealerId,
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("Getting a page of dealer-station assignments");
+        return ResponseEntity.ok(dealerStationService.getAssignmentPage(dealerId, stationId, cursor, limit));
+    }
+
+    /**
+     * Stream all matching dealer-station assignments as NDJSON
+     * GET /api/dealer-stations/stream?dealerId=&stationId=
+     */
+    @GetMapping("/stream")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAssignments(
+            @RequestParam(required = false) Long dealerId,
+            @RequestParam(required = false) Long stationId) {
+        log.debug("Streaming dealer-station assignments");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonStreams.<DealerStationDTO>of(sink ->
+                        dealerStationService.forEachAssignment(dealerId, stationId, sink)));
+    }
 }
@@ -0,0 +1,144 @@
+package com.bentork.ev_system.controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.bentork.ev_system.service.DealerDataService;
+import com.bentork.ev_system.service.export.ExportDataset;
+import com.bentork.ev_system.service.export.ExportFilter;
+import com.bentork.ev_system.service.export.ExportFormat;
+import com.bentork.ev_system.service.export.ExportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CSV / XLSX downloads of sessions, revenue, wallet transactions, orders and warranty
+ * claims. The file is streamed while it is read from the database, so exports of any
+ * size are safe to request.
+ *
+ * Common parameters: format=csv|xlsx (default csv), from/to (ISO date-time, created_at
+ * range, to exclusive) and status (matched against the table's status column: payment
+ * status for revenue, order status for orders).
+ *
+ * Sessions and revenue can be exported by ADMIN and DEALER; a dealer only gets the rows
+ * of their assigned stations. The other exports require ADMIN.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private final ExportService exportService;
+    private final DealerDataService dealerDataService;
+
+    @GetMapping("/sessions")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'DEALER')")
+    public ResponseEntity<?> exportSessions(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) String status,
+            Authentication authentication) {
+        return exportByStation(ExportDataset.SESSIONS, format, from, to, stationId, status, authentication);
+    }
+
+    @GetMapping("/revenue")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'DEALER')")
+    public ResponseEntity<?> exportRevenue(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) String status,
+            Authentication authentication) {
+        return exportByStation(ExportDataset.REVENUE, format, from, to, stationId, status, authentication);
+    }
+
+    @GetMapping("/wallet-transactions")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> exportWalletTransactions(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String status) {
+        return export(ExportDataset.WALLET_TRANSACTIONS, format, new ExportFilter(from, to, null, status));
+    }
+
+    @GetMapping("/orders")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> exportOrders(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String status) {
+        return export(ExportDataset.ORDERS, format, new ExportFilter(from, to, null, status));
+    }
+
+    @GetMapping("/warranty-claims")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<?> exportWarrantyClaims(
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String status) {
+        return export(ExportDataset.WARRANTY_CLAIMS, format, new ExportFilter(from, to, null, status));
+    }
+
+    /**
+     * Exports of station-bound data: a dealer is limited to their own stations.
+     */
+    private ResponseEntity<?> exportByStation(ExportDataset dataset, String format, LocalDateTime from,
+                                              LocalDateTime to, Long stationId, String status,
+                                              Authentication authentication) {
+        Collection<Long> stationIds = stationId != null ? List.of(stationId) : null;
+        if (!hasAuthority(authentication, "ADMIN")) {
+            String email = authentication.getName();
+            if (stationId == null) {
+                stationIds = dealerDataService.getDealerStationIds(email);
+            } else if (!dealerDataService.hasAccessToStation(email, stationId)) {
+                log.warn("Dealer {} attempted to export {} of unauthorized station {}",
+                        email, dataset.fileName(), stationId);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body("You do not have access to this station");
+            }
+        }
+        return export(dataset, format, new ExportFilter(from, to, stationIds, status));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(ExportDataset dataset, String format, ExportFilter filter) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        // Bad filters fail here as a 400; once the body is streaming they can only cut the file short
+        exportService.validate(dataset, filter);
+        log.info("GET /api/export/{} - format={}, from={}, to={}, stations={}, status={}", dataset.fileName(),
+                exportFormat, filter.from(), filter.to(), filter.stationIds(), filter.status());
+
+        String fileName = dataset.fileName() + "-" + LocalDate.now() + "." + exportFormat.extension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(out -> exportService.export(dataset, filter, exportFormat, out));
+    }
+
+    private static boolean hasAuthority(Authentication authentication, String authority) {
+        return authentication.getAuthorities().stream().anyMatch(a -> authority.equals(a.getAuthority()));
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -16,15 +17,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.bentork.ev_system.dto.request.LocationDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.mapper.LocationMapper;
 import com.bentork.ev_system.model.Admin;
 import com.bentork.ev_system.model.Location;
 import com.bentork.ev_system.repository.AdminRepository;
 import com.bentork.ev_system.repository.LocationRepository;
 import com.bentork.ev_system.service.LocationService;
+import com.bentork.ev_system.service.paging.NdjsonStreams;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
@@ -37,6 +42,7 @@ public class LocationController {
     private final LocationRepository locationRepository;
     private final AdminRepository adminRepository;
     private final LocationService locationService;
+    private final NdjsonStreams ndjsonStreams;
 
     @PreAuthorize("hasAuthority('ADMIN')")
     @PostMapping("/add")
@@ -161,6 +167,7 @@ public class LocationController {
         }
     }
 
+    // loads every location; kept for existing clients, see /all/name/page and /all/name/stream
     @GetMapping("/all/name")
     public ResponseEntity<?> getAllLocationNames() {
         try {
@@ -172,4 +179,22 @@ public class LocationController {
             return ResponseEntity.internalServerError().body("Error Fetching location info");
         }
     }
+
+    // id and name of the locations one page at a time, highest id first
+    @GetMapping("/all/name/page")
+    public ResponseEntity<CursorPage<Map<String, Object>>> getLocationNamePage(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Calling Location service to get a page of location name and id.");
+        return ResponseEntity.ok(locationService.getLocationNamePage(city, cursor, limit));
+    }
+
+    @GetMapping("/all/name/stream")
+    public ResponseEntity<StreamingResponseBody> streamLocationNames(@RequestParam(required = false) String city) {
+        log.info("Streaming location name and id.");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonStreams.<Map<String, Object>>of(sink -> locationService.forEachLocationName(city, sink)));
+    }
 }
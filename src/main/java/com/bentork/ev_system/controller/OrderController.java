@@ -1,8 +1,11 @@
 package com.bentork.ev_system.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -13,14 +16,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.bentork.ev_system.dto.request.CreateOrderDTO;
 import com.bentork.ev_system.dto.request.RecordPaymentDTO;
 import com.bentork.ev_system.dto.request.UpdateProductionStatusDTO;
 import com.bentork.ev_system.dto.request.UpdateScmDetailsDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.dto.response.OrderResponse;
 import com.bentork.ev_system.service.OrderService;
+import com.bentork.ev_system.service.paging.NdjsonStreams;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderController {
 
     private final OrderService orderService;
+    private final NdjsonStreams ndjsonStreams;
 
     // ==================== SALES ADMIN ENDPOINTS ====================
 
@@ -206,6 +214,7 @@ public class OrderController {
 
     /**
      * Get all orders (Super Admin view).
+     * Loads every order; kept for existing clients, use /admin/all/page or /admin/all/stream instead.
      */
     @GetMapping("/admin/all")
     @PreAuthorize("hasAuthority('ADMIN')")
@@ -214,6 +223,36 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getAllOrders());
     }
 
+    /**
+     * Get all orders one page at a time, newest first (Super Admin view).
+     * Optional filters: orderStatus, createdAt range [from, to).
+     */
+    @GetMapping("/admin/all/page")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<CursorPage<OrderResponse>> getOrderPage(
+            @RequestParam(required = false) String orderStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getOrderPage(orderStatus, from, to, cursor, limit));
+    }
+
+    /**
+     * Stream all matching orders as NDJSON (Super Admin view).
+     */
+    @GetMapping("/admin/all/stream")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamOrders(
+            @RequestParam(required = false) String orderStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Admin streaming all orders");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonStreams.<OrderResponse>of(sink -> orderService.forEachOrder(orderStatus, from, to, sink)));
+    }
+
     /**
      * Get a specific order detail (Super Admin view).
      */
@@ -4,10 +4,12 @@ import com.bentork.ev_system.dto.request.PlanAssignmentDTO;
 import com.bentork.ev_system.model.Admin;
 import com.bentork.ev_system.repository.AdminRepository;
 import com.bentork.ev_system.service.PlanAssignmentService;
+import com.bentork.ev_system.service.plan.EffectivePlans;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -150,14 +152,20 @@ public class PlanAssignmentController {
 	/**
 	 * Get the effective (resolved) plans for a charger.
 	 * Charger-level assignments take precedence; falls back to station-level.
+	 *
+	 * Served with the precomputed ETag and "no-cache", so the app revalidates on every open;
+	 * Spring answers a matching If-None-Match with 304 and no body.
 	 */
 	@GetMapping("/charger/{chargerId}/effective")
 	public ResponseEntity<?> getEffective(@PathVariable Long chargerId) {
 		log.info("GET /api/plan-assignments/charger/{}/effective - Request received", chargerId);
 
 		try {
-			List<PlanAssignmentDTO> effectivePlans = planAssignmentService.getEffectivePlansForCharger(chargerId);
-			return ResponseEntity.ok(effectivePlans);
+			EffectivePlans effectivePlans = planAssignmentService.getEffectivePlans(chargerId);
+			return ResponseEntity.ok()
+					.eTag(effectivePlans.etag())
+					.cacheControl(CacheControl.noCache())
+					.body(effectivePlans.plans());
 		} catch (EntityNotFoundException e) {
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
 		} catch (Exception e) {
@@ -2,15 +2,21 @@ package com.bentork.ev_system.controller;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 
 import com.bentork.ev_system.dto.request.RevenueDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.model.Admin;
 import com.bentork.ev_system.repository.AdminRepository;
 import com.bentork.ev_system.service.interfaces.IRevenueService;
+import com.bentork.ev_system.service.paging.NdjsonStreams;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -20,10 +26,13 @@ public class RevenueController {
 
     private final IRevenueService revenueService;
     private final AdminRepository adminRepository;
+    private final NdjsonStreams ndjsonStreams;
 
-    public RevenueController(IRevenueService revenueService, AdminRepository adminRepository) {
+    public RevenueController(IRevenueService revenueService, AdminRepository adminRepository,
+            NdjsonStreams ndjsonStreams) {
         this.revenueService = revenueService;
         this.adminRepository = adminRepository;
+        this.ndjsonStreams = ndjsonStreams;
     }
 
     private void ensureAdmin(org.springframework.security.core.userdetails.UserDetails userDetails) {
@@ -43,6 +52,9 @@ public class RevenueController {
         }
     }
 
+    /**
+     * Loads every record; kept for existing clients, use /all/page or /all/stream instead.
+     */
     @GetMapping("/all")
     public ResponseEntity<List<RevenueDTO>> all(@AuthenticationPrincipal org.springframework.security.core.userdetails.UserDetails userDetails) {
         log.info("GET /api/revenue/all - Request received");
@@ -61,6 +73,51 @@ public class RevenueController {
         }
     }
 
+    /**
+     * Keyset-paginated replacement for /all: newest first, filtered by payment status,
+     * station and a createdAt range [from, to).
+     */
+    @GetMapping("/all/page")
+    public ResponseEntity<CursorPage<RevenueDTO>> page(
+            @RequestParam(required = false) String paymentStatus,
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.UserDetails userDetails) {
+        try {
+            ensureAdmin(userDetails);
+        } catch (RuntimeException e) {
+            log.error("GET /api/revenue/all/page - Failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(revenueService.getRevenuePage(paymentStatus, stationId, from, to, cursor, limit));
+    }
+
+    /**
+     * All matching revenue records as NDJSON, streamed from a database cursor.
+     */
+    @GetMapping("/all/stream")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(required = false) String paymentStatus,
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.UserDetails userDetails) {
+        try {
+            ensureAdmin(userDetails);
+        } catch (RuntimeException e) {
+            log.error("GET /api/revenue/all/stream - Failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        log.info("GET /api/revenue/all/stream - Streaming revenue records");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonStreams.<RevenueDTO>of(sink ->
+                        revenueService.forEachRevenue(paymentStatus, stationId, from, to, sink)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RevenueDTO> byId(@PathVariable Long id,
             @AuthenticationPrincipal org.springframework.security.core.userdetails.UserDetails userDetails) {
@@ -1,23 +1,43 @@
 package com.bentork.ev_system.controller;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.bentork.ev_system.dto.request.SessionDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
+import com.bentork.ev_system.exception.ChargerBusyException;
+import com.bentork.ev_system.exception.domain.ChargerNotFoundException;
+import com.bentork.ev_system.exception.domain.ChargerOfflineException;
+import com.bentork.ev_system.exception.domain.InsufficientBalanceException;
+import com.bentork.ev_system.exception.domain.InvalidReceiptStateException;
+import com.bentork.ev_system.exception.domain.ReceiptNotFoundException;
+import com.bentork.ev_system.exception.domain.SessionNotFoundException;
+import com.bentork.ev_system.exception.domain.SlotReservedException;
+import com.bentork.ev_system.exception.domain.StationUnderMaintenanceException;
+import com.bentork.ev_system.exception.domain.UnauthorizedSessionAccessException;
+import com.bentork.ev_system.exception.domain.UserNotFoundException;
 import com.bentork.ev_system.model.Session;
+import com.bentork.ev_system.service.idempotency.IdempotencyService;
 import com.bentork.ev_system.service.interfaces.ISessionService;
+import com.bentork.ev_system.service.paging.NdjsonStreams;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
@@ -28,41 +48,47 @@ import lombok.RequiredArgsConstructor;
 @RequestMapping("/api/sessions")
 public class SessionController {
     private final ISessionService sessionService;
+    private final IdempotencyService idempotencyService;
+    private final NdjsonStreams ndjsonStreams;
                     
 	@PostMapping("/start")
 	public ResponseEntity<Map<String, Object>> startSession(
 			@RequestBody SessionDTO request,
+			@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
 			@AuthenticationPrincipal org.springframework.security.core.userdetails.UserDetails userDetails) {
 		log.info("POST /api/sessions/start - chargerId={}", request.getChargerId());
-		try {
-			Map<String, Object> result = sessionService.startSession(userDetails.getUsername(), request);
-			return ResponseEntity.ok(result);
-		} catch (RuntimeException e) {
-			log.error("POST /api/sessions/start - Failed: {}", e.getMessage());
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
-		} catch (Exception e) {
-			log.error("POST /api/sessions/start - Failed: {}", e.getMessage(), e);
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-					.body(Map.of("error", "Failed to start session"));
-		}
+		return idempotencyService.execute(userDetails.getUsername() + ":sessions/start", idempotencyKey, request, () -> {
+			try {
+				Map<String, Object> result = sessionService.startSession(userDetails.getUsername(), request);
+				return ResponseEntity.ok(result);
+			} catch (ChargerNotFoundException | ChargerOfflineException | ChargerBusyException
+					| StationUnderMaintenanceException | SlotReservedException | InsufficientBalanceException
+					| InvalidReceiptStateException | ReceiptNotFoundException | UserNotFoundException
+					| IllegalArgumentException e) {
+				// Domain rejections only: anything else (database, lock, transaction failures)
+				// propagates so the Idempotency-Key is released and the retry runs again
+				log.error("POST /api/sessions/start - Failed: {}", e.getMessage());
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+			}
+		});
 	}
 
 	@PostMapping("/stop")
 	public ResponseEntity<Map<String, Object>> stopSession(
 			@RequestBody SessionDTO request,
+			@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
 			@AuthenticationPrincipal org.springframework.security.core.userdetails.UserDetails userDetails) {
 		log.info("POST /api/sessions/stop - sessionId={}", request.getSessionId());
-		try {
-			Map<String, Object> result = sessionService.stopSession(userDetails.getUsername(), request);
-			return ResponseEntity.ok(result);
-		} catch (RuntimeException e) {
-			log.error("POST /api/sessions/stop - Failed, sessionId={}: {}", request.getSessionId(), e.getMessage());
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
-		} catch (Exception e) {
-			log.error("POST /api/sessions/stop - Failed: {}", e.getMessage(), e);
-			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-					.body(Map.of("error", "Failed to stop session"));
-		}
+		return idempotencyService.execute(userDetails.getUsername() + ":sessions/stop", idempotencyKey, request, () -> {
+			try {
+				Map<String, Object> result = sessionService.stopSession(userDetails.getUsername(), request);
+				return ResponseEntity.ok(result);
+			} catch (SessionNotFoundException | UnauthorizedSessionAccessException | UserNotFoundException
+					| IllegalArgumentException e) {
+				log.error("POST /api/sessions/stop - Failed, sessionId={}: {}", request.getSessionId(), e.getMessage());
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+			}
+		});
 	}
 
 	@GetMapping("/total")
@@ -213,7 +239,7 @@ public class SessionController {
 		}
 	}
 
-	// list of session
+	// list of session; loads every record, kept for existing clients (use /all/records/page or /stream)
 	@GetMapping("/all/records")
 	public ResponseEntity<List<Session>> getAllSessionRecords() {
 		try {
@@ -228,4 +254,35 @@ public class SessionController {
 			return ResponseEntity.internalServerError().build();
 		}
 	}
-}
\ No newline at end of file
+
+	// sessions one page at a time, newest first
+	@GetMapping("/all/records/page")
+	@PreAuthorize("hasAuthority('ADMIN')")
+	public ResponseEntity<CursorPage<com.bentork.ev_system.dto.response.SessionDTO>> getSessionRecordPage(
+			@RequestParam(required = false) String status,
+			@RequestParam(required = false) Long userId,
+			@RequestParam(required = false) Long chargerId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer limit) {
+		log.debug("Calling session service to get a page of session records");
+		return ResponseEntity.ok(sessionService.getSessionPage(status, userId, chargerId, from, to, cursor, limit));
+	}
+
+	// all matching sessions as NDJSON, streamed from a database cursor
+	@GetMapping("/all/records/stream")
+	@PreAuthorize("hasAuthority('ADMIN')")
+	public ResponseEntity<StreamingResponseBody> streamSessionRecords(
+			@RequestParam(required = false) String status,
+			@RequestParam(required = false) Long userId,
+			@RequestParam(required = false) Long chargerId,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+		log.info("GET /api/sessions/all/records/stream - Streaming session records");
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(ndjsonStreams.<com.bentork.ev_system.dto.response.SessionDTO>of(sink ->
+						sessionService.forEachSession(status, userId, chargerId, from, to, sink)));
+	}
+}
@@ -4,7 +4,9 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -17,13 +19,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.bentork.ev_system.dto.request.ClaimRejectDTO;
 import com.bentork.ev_system.dto.request.DispatchDetailsDTO;
 import com.bentork.ev_system.dto.request.WarrantyClaimDTO;
 import com.bentork.ev_system.dto.response.AverageProcessingTimeResponse;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.dto.response.WarrantyClaimResponse;
 import com.bentork.ev_system.service.WarrantyClaimService;
+import com.bentork.ev_system.service.paging.NdjsonStreams;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +40,7 @@ import lombok.extern.slf4j.Slf4j;
 public class WarrantyClaimController {
 
     private final WarrantyClaimService warrantyClaimService;
+    private final NdjsonStreams ndjsonStreams;
 
     // ==================== USER (MOBILE APP) ENDPOINTS ====================
 
@@ -98,6 +104,7 @@ public class WarrantyClaimController {
 
     /**
      * Get all warranty claims. Accessible by ADMIN and ADMIN_STAFF.
+     * Loads every claim; kept for existing clients, use /admin/all/page or /admin/all/stream instead.
      */
     @GetMapping("/admin/all")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'ADMIN_STAFF')")
@@ -106,6 +113,37 @@ public class WarrantyClaimController {
         return ResponseEntity.ok(warrantyClaimService.getAllClaims());
     }
 
+    /**
+     * Get warranty claims one page at a time, newest first. Accessible by ADMIN and ADMIN_STAFF.
+     * Optional filters: status, createdAt range [from, to) (ISO format: yyyy-MM-dd'T'HH:mm:ss).
+     */
+    @GetMapping("/admin/all/page")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'ADMIN_STAFF')")
+    public ResponseEntity<CursorPage<WarrantyClaimResponse>> getClaimPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(warrantyClaimService.getClaimPage(status, from, to, cursor, limit));
+    }
+
+    /**
+     * Stream all matching warranty claims as NDJSON. Accessible by ADMIN and ADMIN_STAFF.
+     */
+    @GetMapping("/admin/all/stream")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'ADMIN_STAFF')")
+    public ResponseEntity<StreamingResponseBody> streamClaims(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Admin/Staff streaming all warranty claims");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(ndjsonStreams.<WarrantyClaimResponse>of(sink ->
+                        warrantyClaimService.forEachClaim(status, from, to, sink)));
+    }
+
     /**
      * Get average processing time across completed warranty claims.
      * Supports optional date-range filtering via 'from' and 'to' query params (ISO format: yyyy-MM-dd'T'HH:mm:ss).
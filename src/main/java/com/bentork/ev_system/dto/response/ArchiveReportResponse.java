@@ -0,0 +1,36 @@
+package com.bentork.ev_system.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One archiver run over one table, for the admin archive endpoint: table sizes and the
+ * latency of the table's probe query before and after the move.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchiveReportResponse {
+
+    private String table;
+    private LocalDateTime startedAt;
+    private LocalDateTime cutoff; // rows created before this were eligible
+    private long durationMillis;
+
+    private long movedRows;
+    private int batches;
+    private boolean complete; // false if the run stopped at MAX_BATCHES_PER_RUN
+
+    private long activeRowsBefore;
+    private long activeRowsAfter;
+    private long archivedRowsBefore;
+    private long archivedRowsAfter;
+
+    private double probeMillisBefore;
+    private double probeMillisAfter;
+}
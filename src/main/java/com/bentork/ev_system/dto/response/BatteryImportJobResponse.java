@@ -1,5 +1,6 @@
 package com.bentork.ev_system.dto.response;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
@@ -7,17 +8,30 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Progress and outcome of a battery Excel import, for polling by the uploader.
+ * Counts cover every row; only the first errors are listed (errorsTruncated).
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class BatteryExcelUploadResponse {
+public class BatteryImportJobResponse {
+
+    private String jobId;
+    private String status; // QUEUED, RUNNING, COMPLETED or FAILED
+    private String fileName;
+    private String failureReason; // set when FAILED
+
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
 
     private int totalRowsProcessed;
     private int successCount;
     private int skippedCount;
-    private List<BatteryDataResponse> registeredBatteries;
     private List<RowError> errors;
+    private boolean errorsTruncated;
 
     @Data
     @Builder
@@ -0,0 +1,37 @@
+package com.bentork.ev_system.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One cache's counters plus a sample of its keys and entry sizes on both levels,
+ * for tuning TTLs and L1 sizes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInspectionResponse {
+
+    private CacheStatsResponse stats;
+
+    private List<Entry> localSample;
+
+    private Long redisKeys; // null when Redis is unavailable
+    private boolean redisKeysTruncated; // the count stopped at the scan limit
+    private List<Entry> redisSample;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String key;
+        private long bytes; // encoded value size, -1 if unknown
+        private long ageMillis; // L1 only, -1 if unknown
+        private long ttlMillis; // L2 only, -1 if none or unknown
+    }
+}
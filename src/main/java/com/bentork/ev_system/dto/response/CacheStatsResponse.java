@@ -0,0 +1,46 @@
+package com.bentork.ev_system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of one cache on this node since startup, for the admin cache inspector.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    private String name;
+    private boolean local; // has an L1 (Caffeine) level
+    private long redisTtlSeconds;
+    private long localTtlSeconds;
+    private long localMaxWeight;
+
+    // L1
+    private long localEntries;
+    private long localEstimatedBytes; // -1 if it cannot be measured
+    private long l1Hits;
+    private long l1Misses;
+    private double l1HitRatio;
+
+    // L2
+    private long l2Hits;
+    private long l2Misses;
+    private double l2HitRatio;
+    private long l2Errors;
+
+    // Evictions by cause
+    private long sizeEvictions;
+    private long expiredEvictions;
+    private long explicitEvictions;
+    private long remoteEvictions;
+
+    // Loader calls
+    private long loads;
+    private long loadFailures;
+    private double averageLoadMillis;
+}
@@ -0,0 +1,43 @@
+package com.bentork.ev_system.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * All admin dashboard figures in one response.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStatsResponse {
+
+    // Sessions
+    private long totalSessions; // completed
+    private long activeSessions;
+    private double totalEnergyKwh;
+    private double sessionUptime; // completed / all sessions, %
+    private long todaysSessionErrors;
+
+    // Revenue
+    private BigDecimal totalRevenue;
+    private BigDecimal pendingRevenue;
+    private long totalTransactions;
+    private double successRate;
+
+    // Fleet
+    private long totalChargers;
+    private long availableChargers;
+    private long acChargers;
+    private long dcChargers;
+    private long totalStations;
+    private long activeStations;
+    private double stationUptime; // average available-charger share per active station, %
+
+    private LocalDate day;
+}
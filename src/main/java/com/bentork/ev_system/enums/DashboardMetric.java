@@ -0,0 +1,42 @@
+package com.bentork.ev_system.enums;
+
+/**
+ * Counters kept in the dashboard_counters table.
+ *
+ * Each counter has an all-time bucket ("all"); counters shown as "today" figures
+ * also get one bucket per day (ISO date). Money is stored in paise and energy in
+ * milli-Wh so increments stay exact.
+ */
+public enum DashboardMetric {
+
+    SESSIONS_CREATED("sessions.created"), // Every session ever created (uptime denominator)
+    SESSIONS_ACTIVE("sessions.active"), // Gauge: +1 on activation, -1 when leaving ACTIVE
+    SESSIONS_COMPLETED("sessions.completed"),
+    SESSIONS_FAILED("sessions.failed"), // Also bucketed by the session's creation day
+    ENERGY_COMPLETED_MILLI_WH("energy.completed.mwh"),
+    REVENUE_TRANSACTIONS("revenue.transactions"),
+    REVENUE_SUCCESS_COUNT("revenue.success.count"),
+    REVENUE_SUCCESS_PAISE("revenue.success.paise"),
+    REVENUE_PENDING_PAISE("revenue.pending.paise");
+
+    public static final String ALL_TIME = "all";
+
+    private final String key;
+
+    DashboardMetric(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static DashboardMetric fromKey(String key) {
+        for (DashboardMetric metric : values()) {
+            if (metric.key.equals(key)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+}
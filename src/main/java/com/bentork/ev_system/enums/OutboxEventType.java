@@ -0,0 +1,17 @@
+package com.bentork.ev_system.enums;
+
+/**
+ * Side effects that are recorded in the transactional outbox and applied
+ * asynchronously by the OutboxRelay. Each type has exactly one OutboxEventHandler.
+ */
+public enum OutboxEventType {
+
+    WALLET_REFUND, // Credit unused prepaid amount back to the wallet
+    WALLET_DEBIT, // Debit usage that exceeded the prepaid amount
+    REVENUE_RECORD, // Record revenue for a completed session
+    SESSION_REWARDS, // Award charging coins and process first-session referral
+    USER_NOTIFICATION, // In-app notification (+ FCM push) for the session owner
+    ADMIN_NOTIFICATION, // System notification fan-out to all admins
+    SESSION_COMPLETED_PUSH, // Data-only FCM push that dismisses the charging progress bar
+    SLOT_BOOKINGS_EXPIRED // In-app notifications for a batch of expired slot bookings
+}
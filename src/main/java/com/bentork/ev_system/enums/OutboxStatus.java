@@ -0,0 +1,39 @@
+package com.bentork.ev_system.enums;
+
+/**
+ * Enum representing the delivery status of a transactional outbox event.
+ *
+ * Status flow:
+ * pending -> dispatched (handler committed)
+ * pending -> failed (retries exhausted, needs manual attention)
+ *
+ * All values are stored in LOWERCASE for consistency.
+ */
+public enum OutboxStatus {
+
+    PENDING("pending"), // Waiting for the relay (or leased by a relay worker)
+    DISPATCHED("dispatched"), // Side effect applied exactly once
+    FAILED("failed"); // Gave up after the maximum number of attempts
+
+    private final String value;
+
+    OutboxStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public boolean matches(String status) {
+        if (status == null) {
+            return false;
+        }
+        return this.value.equalsIgnoreCase(status.trim());
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
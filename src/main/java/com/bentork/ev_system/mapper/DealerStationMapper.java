@@ -1,7 +1,9 @@
 package com.bentork.ev_system.mapper;
 
 import com.bentork.ev_system.dto.request.DealerStationDTO;
+import com.bentork.ev_system.dto.request.StationDTO;
 import com.bentork.ev_system.model.DealerStation;
+import com.bentork.ev_system.repository.DealerStationRepository;
 
 /**
  * Mapper for converting between DealerStation entity and DTO
@@ -38,4 +40,24 @@ public class DealerStationMapper {
 
         return dto;
     }
+
+    /**
+     * Convert an assignment row to DTO, with the station details from its cached DTO
+     */
+    public static DealerStationDTO toDTO(DealerStationRepository.AssignmentRow row, StationDTO station) {
+        DealerStationDTO dto = new DealerStationDTO();
+        dto.setId(row.getId());
+        dto.setAssignedAt(row.getAssignedAt());
+        dto.setDealerId(row.getDealerId());
+        dto.setDealerName(row.getDealerName());
+        dto.setDealerEmail(row.getDealerEmail());
+        dto.setStationId(row.getStationId());
+
+        if (station != null) {
+            dto.setStationName(station.getName());
+            dto.setStationStatus(station.getStatus());
+        }
+
+        return dto;
+    }
 }
@@ -1,6 +1,9 @@
 package com.bentork.ev_system.mapper;
 
+import com.bentork.ev_system.dto.request.ChargerDTO;
 import com.bentork.ev_system.dto.request.PlanAssignmentDTO;
+import com.bentork.ev_system.dto.request.PlanDTO;
+import com.bentork.ev_system.dto.request.StationDTO;
 import com.bentork.ev_system.model.PlanAssignment;
 
 public class PlanAssignmentMapper {
@@ -36,4 +39,38 @@ public class PlanAssignmentMapper {
 
 		return dto;
 	}
+
+	/**
+	 * Same as toDTO(entity), with the plan name, station name and charger ocppId taken from
+	 * their cached DTOs (bulk-read by the listing) instead of the lazy associations. Only the
+	 * association ids are read from the entity, which does not initialize them.
+	 */
+	public static PlanAssignmentDTO toDTO(PlanAssignment entity, PlanDTO plan, StationDTO station,
+			ChargerDTO charger) {
+		PlanAssignmentDTO dto = new PlanAssignmentDTO();
+		dto.setId(entity.getId());
+		dto.setIsActive(entity.getIsActive());
+		dto.setAssignedAt(entity.getAssignedAt());
+
+		if (entity.getPlan() != null) {
+			dto.setPlanId(entity.getPlan().getId());
+			dto.setPlanName(plan != null ? plan.getPlanName() : null);
+		}
+
+		if (entity.getStation() != null) {
+			dto.setStationId(entity.getStation().getId());
+			dto.setStationName(station != null ? station.getName() : null);
+		}
+
+		if (entity.getCharger() != null) {
+			dto.setChargerId(entity.getCharger().getId());
+			dto.setChargerOcppId(charger != null ? charger.getOcppId() : null);
+		}
+
+		if (entity.getAssignedBy() != null) {
+			dto.setAssignedBy(entity.getAssignedBy().getId());
+		}
+
+		return dto;
+	}
 }
@@ -4,6 +4,7 @@ import com.bentork.ev_system.dto.request.SessionDTO;
 import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.model.Session;
 import com.bentork.ev_system.model.User;
+import com.bentork.ev_system.repository.SessionRepository.ArchivedSessionRow;
 
 public class SessionMapper {
 
@@ -19,6 +20,63 @@ public class SessionMapper {
         return dto;
     }
 
+    /**
+     * Listing row with the user, charger and station ids and display names
+     */
+    public static com.bentork.ev_system.dto.response.SessionDTO toSummary(Session session) {
+        com.bentork.ev_system.dto.response.SessionDTO.SessionDTOBuilder builder =
+                com.bentork.ev_system.dto.response.SessionDTO.builder()
+                        .id(session.getId())
+                        .startTime(session.getStartTime())
+                        .endTime(session.getEndTime())
+                        .energyKwh(session.getEnergyKwh())
+                        .cost(session.getCost())
+                        .status(session.getStatus())
+                        .sourceType(session.getSourceType())
+                        .chargingDurationSeconds(session.getChargingDurationSeconds())
+                        .createdAt(session.getCreatedAt());
+
+        if (session.getUser() != null) {
+            builder.userId(session.getUser().getId());
+            builder.userName(session.getUser().getName());
+        }
+
+        if (session.getCharger() != null) {
+            builder.chargerId(session.getCharger().getId());
+            builder.chargerName(session.getCharger().getOcppId());
+
+            if (session.getCharger().getStation() != null) {
+                builder.stationId(session.getCharger().getStation().getId());
+                builder.stationName(session.getCharger().getStation().getName());
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Same listing row for a session read from the archive
+     */
+    public static com.bentork.ev_system.dto.response.SessionDTO toSummary(ArchivedSessionRow row) {
+        return com.bentork.ev_system.dto.response.SessionDTO.builder()
+                .id(row.getId())
+                .startTime(row.getStartTime())
+                .endTime(row.getEndTime())
+                .energyKwh(row.getEnergyKwh())
+                .cost(row.getCost())
+                .status(row.getStatus())
+                .sourceType(row.getSourceType())
+                .chargingDurationSeconds(row.getChargingDurationSeconds())
+                .createdAt(row.getCreatedAt())
+                .userId(row.getUserId())
+                .userName(row.getUserName())
+                .chargerId(row.getChargerId())
+                .chargerName(row.getChargerName())
+                .stationId(row.getStationId())
+                .stationName(row.getStationName())
+                .build();
+    }
+
     public static Session toEntity(SessionDTO dto, User user, Charger charger) {
         Session session = new Session();
         session.setUser(user);
@@ -5,11 +5,14 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "admin_notifications")
+@Table(name = "admin_notifications", indexes = {
+        @Index(name = "idx_admin_notification_created", columnList = "created_at")
+})
 public class AdminNotification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admin_notifications_seq")
+    @SequenceGenerator(name = "admin_notifications_seq", sequenceName = "admin_notifications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
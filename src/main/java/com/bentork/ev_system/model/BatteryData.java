@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
@@ -22,7 +23,8 @@ import jakarta.persistence.Table;
 public class BatteryData {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "battery_data_seq")
+    @SequenceGenerator(name = "battery_data_seq", sequenceName = "battery_data_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
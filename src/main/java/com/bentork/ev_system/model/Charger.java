@@ -5,8 +5,15 @@ import java.time.LocalDateTime;
 
 import com.bentork.ev_system.enums.ChargerStatus;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -16,8 +23,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "charger")
+// OCPP status writes load the charger from this node's second-level cache: only the
+// changed columns are written, so a stale copy cannot revert another node's admin edit.
+// (Unversioned + dynamic update: Hibernate evicts the cache entry on update.)
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,8 +43,12 @@ public class Charger implements Serializable {
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
-	@ManyToOne
+	// Lazy: usually resolved from the second-level cache; excluded from toString so
+	// logging a detached charger does not initialize it
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "station_id", nullable = false)
+	@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+	@ToString.Exclude
 	private Station station;
 
 	@Column(nullable = false, unique = true)
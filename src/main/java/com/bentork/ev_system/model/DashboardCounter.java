@@ -0,0 +1,42 @@
+package com.bentork.ev_system.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One dashboard counter value for one bucket ("all" or an ISO day).
+ * Written only through the atomic upserts in DashboardCounterRepository.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "dashboard_counters", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_dashboard_counter_bucket", columnNames = { "counter_key", "bucket" })
+})
+public class DashboardCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "counter_key", nullable = false, length = 64)
+    private String counterKey;
+
+    @Column(nullable = false, length = 10)
+    private String bucket;
+
+    @Column(name = "counter_value", nullable = false)
+    private long counterValue;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
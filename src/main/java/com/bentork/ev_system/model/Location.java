@@ -2,11 +2,15 @@ package com.bentork.ev_system.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import java.io.Serializable;
 
 @Entity
 @Table(name = "locations")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "location")
 public class Location implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -9,6 +9,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
@@ -27,7 +28,9 @@ import jakarta.persistence.Table;
  * Maintains a lifecycle: SCHEDULED → ACTIVE → COMPLETED (or CANCELLED).
  */
 @Entity
-@Table(name = "maintenance_schedules")
+@Table(name = "maintenance_schedules", indexes = {
+        @Index(name = "idx_maintenance_status_start", columnList = "status, scheduledStart")
+})
 public class MaintenanceSchedule {
 
     @Id
@@ -23,7 +23,8 @@ import jakarta.persistence.Table;
         @Index(name = "idx_order_status", columnList = "orderStatus"),
         @Index(name = "idx_order_production_status", columnList = "productionStatus"),
         @Index(name = "idx_order_created_by", columnList = "createdByAdminEmail"),
-        @Index(name = "idx_order_assigned_user", columnList = "assigned_user_id")
+        @Index(name = "idx_order_assigned_user", columnList = "assigned_user_id"),
+        @Index(name = "idx_order_created", columnList = "createdAt")
 })
 public class Order {
 
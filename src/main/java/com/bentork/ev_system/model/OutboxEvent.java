@@ -0,0 +1,73 @@
+package com.bentork.ev_system.model;
+
+import java.time.LocalDateTime;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.enums.OutboxStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A side effect recorded in the same transaction as the business rows that caused it.
+ *
+ * The OutboxRelay leases pending rows by pushing {@code availableAt} into the future,
+ * applies the handler and flips the row to DISPATCHED in one transaction, so database
+ * side effects happen exactly once. {@code dedupeKey} is unique and stops the same
+ * effect from being queued twice for one aggregate.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_status_available", columnList = "status, availableAt"),
+        @Index(name = "idx_outbox_aggregate", columnList = "aggregateType, aggregateId")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String aggregateType; // e.g. "SESSION"
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private OutboxEventType eventType;
+
+    @Column(nullable = false, unique = true, length = 191)
+    private String dedupeKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload; // JSON
+
+    @Column(nullable = false, length = 16)
+    private String status = OutboxStatus.PENDING.getValue();
+
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt = LocalDateTime.now();
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    private LocalDateTime dispatchedAt;
+}
@@ -4,8 +4,12 @@ import jakarta.persistence.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Entity
 @Table(name = "plans")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "plan")
 public class Plan implements Serializable {
 
 	private static final long serialVersionUID = 1L;
@@ -2,6 +2,9 @@ package com.bentork.ev_system.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -15,6 +18,7 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "plan_assignments")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "plan-assignment")
 public class PlanAssignment {
 
 	@Id
@@ -6,7 +6,9 @@ import java.time.LocalDateTime;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "receipts")
+@Table(name = "receipts", indexes = {
+		@Index(name = "idx_receipt_charger_status_created", columnList = "charger_id, status, createdAt")
+})
 public class Receipt {
 
 	@Id
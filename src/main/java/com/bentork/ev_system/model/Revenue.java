@@ -5,16 +5,20 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "revenue")
+@Table(name = "revenue", indexes = {
+        @Index(name = "idx_revenue_station_created", columnList = "station_id, createdAt"),
+        @Index(name = "idx_revenue_created", columnList = "createdAt")
+})
 public class Revenue {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    // FK → sessions.id (optional to handle orphan data)
+    // sessions.id, no FK: the session may have moved to sessions_archive (TableArchiver),
+    // so only its id is safe to read through this reference
     @ManyToOne(optional = true, fetch = FetchType.LAZY)
-    @JoinColumn(name = "session_id")
+    @JoinColumn(name = "session_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Session session;
 
     // FK → users.id (optional to handle orphan data)
@@ -1,23 +1,35 @@
 package com.bentork.ev_system.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+        @Index(name = "idx_session_charger_status_created", columnList = "charger_id, status, createdAt"),
+        @Index(name = "idx_session_status_created", columnList = "status, createdAt"),
+        @Index(name = "idx_session_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_session_created", columnList = "createdAt")
+})
 public class Session {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled ids (a sessions_seq table on MySQL, see V2__align_pooled_id_tables.sql) so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sessions_seq")
+    @SequenceGenerator(name = "sessions_seq", sequenceName = "sessions_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    // Lazy: listings fetch what they map (SessionRepository entity graphs and projections)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "charger_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Charger charger;
 
     private String boxId;
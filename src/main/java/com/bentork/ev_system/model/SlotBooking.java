@@ -9,13 +9,19 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "slot_bookings")
+@Table(name = "slot_bookings", indexes = {
+        @Index(name = "idx_slot_booking_status_slot", columnList = "status, slot_id"),
+        @Index(name = "idx_slot_booking_status_id", columnList = "status, id"),
+        @Index(name = "idx_slot_booking_charger_status", columnList = "charger_id, status"),
+        @Index(name = "idx_slot_booking_user_status", columnList = "user_id, status")
+})
 public class SlotBooking {
 
     @Id
@@ -3,8 +3,14 @@ package com.bentork.ev_system.model;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -15,6 +21,7 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "stations")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "station")
 public class Station implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -23,8 +30,9 @@ public class Station implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "location_id", nullable = false)
+    @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Location location;
 
     private String name;
@@ -7,16 +7,21 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "user_notifications")
+@Table(name = "user_notifications", indexes = {
+        @Index(name = "idx_user_notification_created", columnList = "created_at")
+})
 public class UserNotification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_notifications_seq")
+    @SequenceGenerator(name = "user_notifications_seq", sequenceName = "user_notifications_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -10,13 +10,16 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "warranty_claims")
+@Table(name = "warranty_claims", indexes = {
+        @Index(name = "idx_warranty_claim_created", columnList = "createdAt")
+})
 public class WarrantyClaim {
 
     @Id
@@ -1,10 +1,23 @@
 package com.bentork.ev_system.repository;
 
 import com.bentork.ev_system.model.AdminNotification;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface AdminNotificationRepository extends JpaRepository<AdminNotification, Long> {
     List<AdminNotification> findByAdminId(Long adminId);
+
+    // Archived (read) notifications of an admin, newest first — read-only, see TableArchiver
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM admin_notifications_archive WHERE admin_id = :adminId " +
+            "ORDER BY created_at DESC, id DESC", nativeQuery = true)
+    List<AdminNotification> findArchivedByAdminId(@Param("adminId") Long adminId);
 }
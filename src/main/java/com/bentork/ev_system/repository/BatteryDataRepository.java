@@ -1,9 +1,13 @@
 package com.bentork.ev_system.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.bentork.ev_system.model.BatteryData;
@@ -18,4 +22,8 @@ public interface BatteryDataRepository extends JpaRepository<BatteryData, Long>
     List<BatteryData> findAllByOrderByCreatedAtDesc();
 
     boolean existsByBarcode(String barcode);
+
+    // Which of these barcodes are already registered (Excel import, one query per chunk)
+    @Query("SELECT b.barcode FROM BatteryData b WHERE b.barcode IN :barcodes")
+    Set<String> findExistingBarcodes(@Param("barcodes") Collection<String> barcodes);
 }
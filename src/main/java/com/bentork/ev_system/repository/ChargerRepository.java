@@ -3,19 +3,36 @@ package com.bentork.ev_system.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.bentork.ev_system.model.Charger;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 public interface ChargerRepository extends JpaRepository<Charger, Long> {
 
+    /**
+     * Hibernate query cache region for the station listings below. Results are dropped
+     * whenever any charger row changes (including OCPP status writes), so they mostly
+     * help between status bursts; ocppId lookups are served by ChargerIndex instead.
+     */
+    String QUERY_REGION = "charger-query";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION) })
     List<Charger> findByStationId(Long stationId);
 
+    // Station is lazy; the OCPP lookups map it (ChargerSnapshot) outside a transaction
+    @EntityGraph(attributePaths = "station")
     Optional<Charger> findByOcppId(String ocppId);
 
     /**
@@ -38,6 +55,37 @@ public interface ChargerRepository extends JpaRepository<Charger, Long> {
     @Query("SELECT c FROM Charger c WHERE c.ocppId = :ocppId")
     Optional<Charger> findByOcppIdForUpdate(@Param("ocppId") String ocppId);
 
+    /**
+     * Status writes from the OCPP path, by id (resolved through ChargerIndex). Callers
+     * also update ChargerIndex.
+     *
+     * These go through the entity rather than a bulk UPDATE: Hibernate drops the whole
+     * Charger second-level cache region on a bulk JPQL write, while an entity update
+     * touches only this charger's entry. Charger is @DynamicUpdate, so the UPDATE sets only
+     * the status columns even when the cached copy is stale; Hibernate then evicts the entry
+     * instead of rewriting it, and the next read of this charger reloads it by id.
+     */
+    @Transactional
+    default int updateState(Long id, String status, boolean availability, boolean occupied) {
+        return findById(id).map(charger -> {
+            charger.setStatus(status);
+            charger.setAvailability(availability);
+            charger.setOccupied(occupied);
+            save(charger);
+            return 1;
+        }).orElse(0);
+    }
+
+    @Transactional
+    default int updateStatus(Long id, String status, boolean availability) {
+        return findById(id).map(charger -> {
+            charger.setStatus(status);
+            charger.setAvailability(availability);
+            save(charger);
+            return 1;
+        }).orElse(0);
+    }
+
     // Efficient count queries — replace findAll().stream().filter()
     long countByChargerTypeIgnoreCase(String chargerType);
 
@@ -45,8 +93,16 @@ public interface ChargerRepository extends JpaRepository<Charger, Long> {
     long countByAvailabilityTrueAndOccupiedFalse();
 
     // Active-aware queries for soft-delete support
+    @EntityGraph(attributePaths = "station")
     List<Charger> findByActiveTrue();
 
+    @Override
+    @EntityGraph(attributePaths = "station")
+    List<Charger> findAllById(Iterable<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION) })
     List<Charger> findByStationIdAndActiveTrue(Long stationId);
 
     long countByActiveTrue();
@@ -55,4 +111,36 @@ public interface ChargerRepository extends JpaRepository<Charger, Long> {
 
     @Query("SELECT COUNT(c) FROM Charger c WHERE c.availability = true AND c.isOccupied = false AND c.active = true")
     long countByAvailabilityTrueAndOccupiedFalseAndActiveTrue();
+
+    // Dashboard: all active-charger counts in one pass
+    @Query("SELECT COUNT(c) AS totalChargers, " +
+            "COALESCE(SUM(CASE WHEN c.availability = true AND c.isOccupied = false THEN 1 ELSE 0 END), 0) AS availableChargers, " +
+            "COALESCE(SUM(CASE WHEN UPPER(c.chargerType) = 'AC' THEN 1 ELSE 0 END), 0) AS acChargers, " +
+            "COALESCE(SUM(CASE WHEN UPPER(c.chargerType) = 'DC' THEN 1 ELSE 0 END), 0) AS dcChargers " +
+            "FROM Charger c WHERE c.active = true")
+    ChargerTotals sumActiveChargers();
+
+    // Per-station availability of active chargers on active stations (station uptime)
+    @Query("SELECT c.station.id AS stationId, COUNT(c) AS chargers, " +
+            "SUM(CASE WHEN c.availability = true THEN 1 ELSE 0 END) AS availableChargers " +
+            "FROM Charger c WHERE c.active = true AND c.station.active = true GROUP BY c.station.id")
+    List<StationAvailability> countAvailabilityByActiveStation();
+
+    interface ChargerTotals {
+        Long getTotalChargers();
+
+        Long getAvailableChargers();
+
+        Long getAcChargers();
+
+        Long getDcChargers();
+    }
+
+    interface StationAvailability {
+        Long getStationId();
+
+        Long getChargers();
+
+        Long getAvailableChargers();
+    }
 }
@@ -0,0 +1,87 @@
+package com.bentork.ev_system.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.bentork.ev_system.model.DashboardCounter;
+
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, Long> {
+
+    // Atomic add — a single row-level upsert, safe under concurrent writers
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_counters (counter_key, bucket, counter_value, updated_at) " +
+            "VALUES (:key, :bucket, :delta, NOW()) " +
+            "ON DUPLICATE KEY UPDATE counter_value = counter_value + :delta, updated_at = NOW()", nativeQuery = true)
+    int increment(@Param("key") String key, @Param("bucket") String bucket, @Param("delta") long delta);
+
+    // Absolute write, used by the reconciliation rebuild
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_counters (counter_key, bucket, counter_value, updated_at) " +
+            "VALUES (:key, :bucket, :value, NOW()) " +
+            "ON DUPLICATE KEY UPDATE counter_value = :value, updated_at = NOW()", nativeQuery = true)
+    int set(@Param("key") String key, @Param("bucket") String bucket, @Param("value") long value);
+
+    List<DashboardCounter> findByBucketIn(Collection<String> buckets);
+
+    @Query("SELECT c.counterValue FROM DashboardCounter c WHERE c.counterKey = :key AND c.bucket = :bucket")
+    Long findValue(@Param("key") String key, @Param("bucket") String bucket);
+
+    // Day buckets older than the retention window are never read
+    @Modifying
+    @Query("DELETE FROM DashboardCounter c WHERE c.bucket <> 'all' AND c.bucket < :oldestBucket")
+    int deleteDayBucketsBefore(@Param("oldestBucket") String oldestBucket);
+
+    // ===== Reconciliation: recompute counters from the source tables =====
+    // Sessions are read from both tiers: TableArchiver moves old closed sessions to
+    // sessions_archive, and they still count towards the all-time totals
+
+    @Query(value = "SELECT status AS status, COUNT(*) AS sessions, " +
+            "COALESCE(SUM(ROUND(energy_kwh * 1000000)), 0) AS energyMilliWh " +
+            "FROM (SELECT status, energy_kwh FROM sessions " +
+            "UNION ALL SELECT status, energy_kwh FROM sessions_archive) s " +
+            "GROUP BY status", nativeQuery = true)
+    List<SessionTotals> sumSessionsByStatus();
+
+    @Query(value = "SELECT DATE_FORMAT(created_at, '%Y-%m-%d') AS bucket, COUNT(*) AS sessions " +
+            "FROM (SELECT created_at FROM sessions WHERE status = :status AND created_at >= :since " +
+            "UNION ALL SELECT created_at FROM sessions_archive WHERE status = :status AND created_at >= :since) s " +
+            "GROUP BY DATE_FORMAT(created_at, '%Y-%m-%d')", nativeQuery = true)
+    List<DayTotals> countSessionsByStatusPerDay(@Param("status") String status, @Param("since") LocalDateTime since);
+
+    @Query(value = "SELECT COUNT(*) AS transactions, " +
+            "COALESCE(SUM(CASE WHEN UPPER(payment_status) = 'SUCCESS' THEN 1 ELSE 0 END), 0) AS successCount, " +
+            "COALESCE(SUM(CASE WHEN UPPER(payment_status) = 'SUCCESS' THEN ROUND(amount * 100) ELSE 0 END), 0) AS successPaise, " +
+            "COALESCE(SUM(CASE WHEN UPPER(payment_status) = 'PENDING' THEN ROUND(amount * 100) ELSE 0 END), 0) AS pendingPaise " +
+            "FROM revenue", nativeQuery = true)
+    RevenueTotals sumRevenue();
+
+    interface SessionTotals {
+        String getStatus();
+
+        Long getSessions();
+
+        Long getEnergyMilliWh();
+    }
+
+    interface DayTotals {
+        String getBucket();
+
+        Long getSessions();
+    }
+
+    interface RevenueTotals {
+        Long getTransactions();
+
+        Long getSuccessCount();
+
+        Long getSuccessPaise();
+
+        Long getPendingPaise();
+    }
+}
@@ -1,5 +1,6 @@
 package com.bentork.ev_system.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,6 +14,10 @@ import com.bentork.ev_system.model.Station;
 @Repository
 public interface DealerStationRepository extends JpaRepository<DealerStation, Long> {
 
+    String ASSIGNMENT_ROWS = "SELECT ds.id AS id, ds.assignedAt AS assignedAt, d.id AS dealerId, " +
+            "d.name AS dealerName, d.email AS dealerEmail, ds.station.id AS stationId " +
+            "FROM DealerStation ds JOIN ds.dealer d ";
+
     /**
      * Find all dealer-station mappings for a specific dealer
      */
@@ -61,4 +66,31 @@ public interface DealerStationRepository extends JpaRepository<DealerStation, Lo
      */
     @Query("SELECT ds.station FROM DealerStation ds WHERE ds.dealer.email = :email")
     List<Station> findStationsByDealerEmail(@Param("email") String email);
+
+    /**
+     * Assignment rows for the listings, without loading the stations: their details come
+     * from the station cache in bulk (StationService.getStationsByIds)
+     */
+    @Query(ASSIGNMENT_ROWS + "WHERE d.id = :dealerId")
+    List<AssignmentRow> findRowsByDealerId(@Param("dealerId") Long dealerId);
+
+    @Query(ASSIGNMENT_ROWS + "WHERE ds.station.id = :stationId")
+    List<AssignmentRow> findRowsByStationId(@Param("stationId") Long stationId);
+
+    @Query(ASSIGNMENT_ROWS)
+    List<AssignmentRow> findAllRows();
+
+    interface AssignmentRow {
+        Long getId();
+
+        LocalDateTime getAssignedAt();
+
+        Long getDealerId();
+
+        String getDealerName();
+
+        String getDealerEmail();
+
+        Long getStationId();
+    }
 }
@@ -25,6 +25,15 @@ public interface MaintenanceScheduleRepository extends JpaRepository<Maintenance
     boolean isChargerUnderMaintenance(@Param("chargerId") Long chargerId,
                                       @Param("stationId") Long stationId);
 
+    /**
+     * Targets of all ACTIVE schedules (one of the two ids is null per row).
+     * Backs ActiveMaintenanceIndex.
+     */
+    @Query("SELECT c.id AS chargerId, s.id AS stationId FROM MaintenanceSchedule m " +
+           "LEFT JOIN m.charger c LEFT JOIN m.station s " +
+           "WHERE m.status = 'active'")
+    List<MaintenanceTarget> findActiveTargets();
+
     /**
      * Check if a slot booking's time window overlaps any ACTIVE or SCHEDULED
      * maintenance schedule for a given charger (or its parent station).
@@ -79,4 +88,10 @@ public interface MaintenanceScheduleRepository extends JpaRepository<Maintenance
      * Find maintenance schedules filtered by status, ordered by creation date descending.
      */
     List<MaintenanceSchedule> findByStatusOrderByCreatedAtDesc(String status);
+
+    interface MaintenanceTarget {
+        Long getChargerId();
+
+        Long getStationId();
+    }
 }
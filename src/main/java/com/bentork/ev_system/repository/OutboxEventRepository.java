@@ -0,0 +1,46 @@
+package com.bentork.ev_system.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bentork.ev_system.model.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * IDs of pending events whose lease/backoff has elapsed, oldest first.
+     */
+    @Query("SELECT e.id FROM OutboxEvent e " +
+           "WHERE e.status = 'pending' AND e.availableAt <= :now " +
+           "ORDER BY e.id")
+    List<Long> findDispatchableIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Atomically leases a pending event until {@code leaseUntil}.
+     * Returns 1 if this caller now owns the event, 0 if another worker got there first
+     * or the event is no longer pending.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.availableAt = :leaseUntil, e.attempts = e.attempts + 1 " +
+           "WHERE e.id = :id AND e.status = 'pending' AND e.availableAt <= :now")
+    int claim(@Param("id") Long id,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Purge delivered events older than the retention cutoff.
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'dispatched' AND e.dispatchedAt < :cutoff")
+    int deleteDispatchedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(String status);
+}
@@ -14,6 +14,9 @@ public interface PlanAssignmentRepository extends JpaRepository<PlanAssignment,
 	// Charger-level assignments
 	List<PlanAssignment> findByChargerIdAndIsActiveTrue(Long chargerId);
 
+	// Charger-level assignments of every charger in a station
+	List<PlanAssignment> findByChargerStationIdAndIsActiveTrue(Long stationId);
+
 	// Duplicate checks
 	Optional<PlanAssignment> findByPlanIdAndStationIdAndIsActiveTrue(Long planId, Long stationId);
 
@@ -1,8 +1,12 @@
 package com.bentork.ev_system.repository;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.model.Receipt;
@@ -13,4 +17,13 @@ public interface ReceiptRepository extends JpaRepository<Receipt, Long> {
 
 	Optional<Receipt> findBySession(Session session);
 
+	// Bulk lookup of paid amounts for a batch of sessions (one query instead of one per session)
+	@Query("SELECT r.session.id AS sessionId, r.amount AS amount FROM Receipt r WHERE r.session.id IN :sessionIds")
+	List<SessionAmount> findAmountsBySessionIdIn(@Param("sessionIds") List<Long> sessionIds);
+
+	interface SessionAmount {
+		Long getSessionId();
+
+		BigDecimal getAmount();
+	}
 }
@@ -2,7 +2,10 @@ package com.bentork.ev_system.repository;
 
 import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.model.Session;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -11,6 +14,18 @@ import java.util.List;
 import java.util.Optional;
 
 public interface SessionRepository extends JpaRepository<Session, Long> {
+        // User, charger and station are lazy: each finder fetches what its callers map.
+        // By id: OCPP handlers and reminders read the user, charger rate/ocppId and station
+        // name, often outside a transaction
+        @Override
+        @EntityGraph(attributePaths = { "user", "charger.station" })
+        Optional<Session> findById(Long id);
+
+        // Admin record dump serializes the whole graph
+        @Override
+        @EntityGraph(attributePaths = { "user", "charger.station.location" })
+        List<Session> findAll();
+
         // Efficient count/sum queries — replace findAll().stream().filter()
         @Query("SELECT COUNT(s) FROM Session s WHERE s.status = :status")
         long countByStatus(@Param("status") String status);
@@ -21,6 +36,7 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
         @Query("SELECT COUNT(s) FROM Session s WHERE s.status = :status AND s.createdAt BETWEEN :start AND :end")
         long countByStatusAndCreatedAtBetween(@Param("status") String status, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
+        @EntityGraph(attributePaths = { "user", "charger.station" })
         Optional<Session> findFirstByStatusOrderByStartTimeDesc(String status);
 
         Optional<Session> findFirstByChargerAndStatusOrderByCreatedAtDesc(Charger charger, String status);
@@ -33,26 +49,84 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
         // Find sessions by charger ID
         List<Session> findByChargerId(Long chargerId);
 
-        // Find stale sessions stuck in a given status created before the cutoff time
-        @Query("SELECT s FROM Session s WHERE s.status = :status AND s.createdAt < :cutoff")
-        List<Session> findByStatusAndCreatedAtBefore(
+        // Keyset page of stale session ids — no entity loading, bounded by the Pageable size
+        @Query("SELECT s.id FROM Session s WHERE s.status = :status AND s.createdAt < :cutoff " +
+                "AND s.id > :afterId ORDER BY s.id")
+        List<Long> findIdsByStatusAndCreatedAtBefore(
+                        @Param("status") String status,
+                        @Param("cutoff") LocalDateTime cutoff,
+                        @Param("afterId") Long afterId,
+                        Pageable pageable);
+
+        // Row-lock the sessions still in the given status (MySQL has no UPDATE ... RETURNING,
+        // so the locked set is exactly what a following update in the same transaction flips)
+        @Query(value = "SELECT id AS id, user_id AS userId, charger_id AS chargerId, refund_status AS refundStatus, " +
+                "DATE_FORMAT(created_at, '%Y-%m-%d') AS createdDay " +
+                "FROM sessions WHERE id IN (:ids) AND status = :status FOR UPDATE", nativeQuery = true)
+        List<SessionClaim> lockByIdInAndStatus(
+                        @Param("ids") List<Long> ids,
+                        @Param("status") String status);
+
+        @Modifying
+        @Query("UPDATE Session s SET s.status = :status, s.endTime = :endTime WHERE s.id IN :ids")
+        int updateStatusAndEndTime(
+                        @Param("ids") List<Long> ids,
                         @Param("status") String status,
-                        @Param("cutoff") LocalDateTime cutoff);
+                        @Param("endTime") LocalDateTime endTime);
+
+        // Compare-and-set on the status: 0 means another stop (app or OCPP) got there first
+        @Modifying
+        @Query("UPDATE Session s SET s.status = :status, s.endTime = :endTime " +
+                "WHERE s.id = :id AND s.status = :expectedStatus")
+        int updateStatusIfCurrent(
+                        @Param("id") Long id,
+                        @Param("expectedStatus") String expectedStatus,
+                        @Param("status") String status,
+                        @Param("endTime") LocalDateTime endTime);
+
+        @Modifying
+        @Query("UPDATE Session s SET s.refundStatus = :refundStatus WHERE s.id IN :ids")
+        int updateRefundStatus(
+                        @Param("ids") List<Long> ids,
+                        @Param("refundStatus") String refundStatus);
 
-        // Find sessions by station ID (through charger)
+        // Find sessions by station ID (through charger), with what SessionMapper.toSummary reads
+        @EntityGraph(attributePaths = { "user", "charger.station" })
         @Query("SELECT s FROM Session s WHERE s.charger.station.id = :stationId")
         List<Session> findByStationId(@Param("stationId") Long stationId);
 
         // Find sessions by multiple station IDs
+        @EntityGraph(attributePaths = { "user", "charger.station" })
         @Query("SELECT s FROM Session s WHERE s.charger.station.id IN :stationIds")
         List<Session> findByStationIdIn(@Param("stationIds") List<Long> stationIds);
 
+        @Query("SELECT COUNT(s) FROM Session s WHERE s.charger.station.id IN :stationIds")
+        long countByStationIdIn(@Param("stationIds") List<Long> stationIds);
+
+        // Archived sessions of the given stations (see TableArchiver) as listing rows: the
+        // archive keeps ids only, names come from the live user, charger and station rows
+        @Query(value = "SELECT s.id AS id, s.start_time AS startTime, s.end_time AS endTime, " +
+                "s.energy_kwh AS energyKwh, s.cost AS cost, s.status AS status, s.source_type AS sourceType, " +
+                "s.charging_duration_seconds AS chargingDurationSeconds, s.created_at AS createdAt, " +
+                "s.user_id AS userId, u.name AS userName, c.id AS chargerId, c.ocpp_id AS chargerName, " +
+                "st.id AS stationId, st.name AS stationName " +
+                "FROM sessions_archive s JOIN charger c ON c.id = s.charger_id " +
+                "JOIN stations st ON st.id = c.station_id LEFT JOIN user u ON u.id = s.user_id " +
+                "WHERE c.station_id IN (:stationIds)", nativeQuery = true)
+        List<ArchivedSessionRow> findArchivedByStationIdIn(@Param("stationIds") List<Long> stationIds);
+
+        @Query(value = "SELECT COUNT(*) FROM sessions_archive s JOIN charger c ON c.id = s.charger_id " +
+                "WHERE c.station_id IN (:stationIds)", nativeQuery = true)
+        long countArchivedByStationIdIn(@Param("stationIds") List<Long> stationIds);
+
         // Count sessions by station ID
         @Query("SELECT COUNT(s) FROM Session s WHERE s.charger.station.id = :stationId")
         Long countByStationId(@Param("stationId") Long stationId);
 
-        // Find all sessions with given statuses, ordered by most recent first
-        List<Session> findByStatusInOrderByCreatedAtDesc(List<String> statuses);
+        // Sessions with given statuses, most recent first — only the columns the live view shows
+        @Query("SELECT s.id AS id, s.user.id AS userId, s.status AS status FROM Session s " +
+                "WHERE s.status IN :statuses ORDER BY s.createdAt DESC")
+        List<SessionStatusRow> findStatusRowsByStatusIn(@Param("statuses") List<String> statuses);
 
         // Check if user has an active or initiated session on a specific charger
         @Query("SELECT COUNT(s) > 0 FROM Session s " +
@@ -62,4 +136,59 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
                 @Param("userId") Long userId,
                 @Param("chargerId") Long chargerId,
                 @Param("statuses") List<String> statuses);
+
+        /**
+         * Columns needed to fail a session without loading it (and its user/charger).
+         */
+        interface SessionClaim {
+                Long getId();
+
+                Long getUserId();
+
+                Long getChargerId();
+
+                String getRefundStatus();
+
+                String getCreatedDay();
+        }
+
+        interface ArchivedSessionRow {
+                Long getId();
+
+                LocalDateTime getStartTime();
+
+                LocalDateTime getEndTime();
+
+                Double getEnergyKwh();
+
+                Double getCost();
+
+                String getStatus();
+
+                String getSourceType();
+
+                Long getChargingDurationSeconds();
+
+                LocalDateTime getCreatedAt();
+
+                Long getUserId();
+
+                String getUserName();
+
+                Long getChargerId();
+
+                String getChargerName();
+
+                Long getStationId();
+
+                String getStationName();
+        }
+
+        interface SessionStatusRow {
+                Long getId();
+
+                Long getUserId();
+
+                String getStatus();
+        }
 }
@@ -5,7 +5,9 @@ import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -35,16 +37,22 @@ public interface SlotBookingRepository extends JpaRepository<SlotBooking, Long>
         boolean hasActiveBooking(@Param("userId") Long userId,
                         @Param("chargerId") Long chargerId);
 
-        // Find expired date-specific bookings (slots with endTime set)
-        @Query("SELECT sb FROM SlotBooking sb " +
-                        "WHERE sb.status = 'booked' AND sb.slot.endTime < :now")
-        List<SlotBooking> findExpiredBookings(@Param("now") LocalDateTime now);
+        // Keyset page of expired date-specific booking ids (slots with endTime set)
+        @Query("SELECT sb.id FROM SlotBooking sb " +
+                        "WHERE sb.status = 'booked' AND sb.slot.endTime < :now " +
+                        "AND sb.id > :afterId ORDER BY sb.id")
+        List<Long> findExpiredIds(@Param("now") LocalDateTime now,
+                        @Param("afterId") Long afterId,
+                        Pageable pageable);
 
-        // Find expired all-day (recurring) bookings where endTimeOnly has passed today
-        @Query("SELECT sb FROM SlotBooking sb " +
+        // Keyset page of expired all-day (recurring) booking ids where endTimeOnly has passed today
+        @Query("SELECT sb.id FROM SlotBooking sb " +
                         "WHERE sb.status = 'booked' AND sb.slot.allDay = true " +
-                        "AND sb.slot.endTimeOnly < :currentTime")
-        List<SlotBooking> findExpiredAllDayBookings(@Param("currentTime") LocalTime currentTime);
+                        "AND sb.slot.endTimeOnly < :currentTime " +
+                        "AND sb.id > :afterId ORDER BY sb.id")
+        List<Long> findExpiredAllDayIds(@Param("currentTime") LocalTime currentTime,
+                        @Param("afterId") Long afterId,
+                        Pageable pageable);
 
         // Find active booking for a user on a specific charger at a given time
         @Query("SELECT sb FROM SlotBooking sb " +
@@ -99,23 +107,90 @@ public interface SlotBookingRepository extends JpaRepository<SlotBooking, Long>
                         @Param("currentTime") LocalTime currentTime);
 
         /**
-         * Find no-show date-specific bookings: slot start time + buffer has passed,
-         * booking is still "booked". The cutoff = now - NO_SHOW_TIMEOUT_MINUTES.
+         * Keyset page of no-show date-specific booking ids: slot start time + buffer has
+         * passed, booking is still "booked" and the user has no active or initiated session
+         * on the charger. The cutoff = now - NO_SHOW_TIMEOUT_MINUTES.
          */
-        @Query("SELECT sb FROM SlotBooking sb " +
+        @Query("SELECT sb.id FROM SlotBooking sb " +
                         "WHERE sb.status = 'booked' " +
                         "AND sb.slot.allDay = false " +
                         "AND sb.slot.startTime IS NOT NULL " +
-                        "AND sb.slot.startTime <= :cutoff")
-        List<SlotBooking> findNoShowDateSpecificBookings(@Param("cutoff") LocalDateTime cutoff);
+                        "AND sb.slot.startTime <= :cutoff " +
+                        "AND NOT EXISTS (SELECT 1 FROM Session s WHERE s.user.id = sb.user.id " +
+                        "AND s.charger.id = sb.charger.id AND s.status IN ('active', 'initiated')) " +
+                        "AND sb.id > :afterId ORDER BY sb.id")
+        List<Long> findNoShowIds(@Param("cutoff") LocalDateTime cutoff,
+                        @Param("afterId") Long afterId,
+                        Pageable pageable);
 
         /**
-         * Find no-show all-day bookings: slot start time + buffer has passed today,
-         * booking is still "booked". The cutoffTime = now - NO_SHOW_TIMEOUT_MINUTES.
+         * Keyset page of no-show all-day booking ids: slot start time + buffer has passed
+         * today, same conditions otherwise. The cutoffTime = now - NO_SHOW_TIMEOUT_MINUTES.
          */
-        @Query("SELECT sb FROM SlotBooking sb " +
+        @Query("SELECT sb.id FROM SlotBooking sb " +
                         "WHERE sb.status = 'booked' " +
                         "AND sb.slot.allDay = true " +
-                        "AND sb.slot.startTimeOnly <= :cutoffTime")
-        List<SlotBooking> findNoShowAllDayBookings(@Param("cutoffTime") LocalTime cutoffTime);
+                        "AND sb.slot.startTimeOnly <= :cutoffTime " +
+                        "AND NOT EXISTS (SELECT 1 FROM Session s WHERE s.user.id = sb.user.id " +
+                        "AND s.charger.id = sb.charger.id AND s.status IN ('active', 'initiated')) " +
+                        "AND sb.id > :afterId ORDER BY sb.id")
+        List<Long> findNoShowAllDayIds(@Param("cutoffTime") LocalTime cutoffTime,
+                        @Param("afterId") Long afterId,
+                        Pageable pageable);
+
+        // Row-lock the bookings still booked, in id order (MySQL has no UPDATE ... RETURNING,
+        // so the locked set is exactly what a following update in the same transaction flips).
+        // firstId..lastId is the span of ids: with it the (status, id) index reads only that
+        // range, whichever index the planner picks.
+        @Query(value = "SELECT id AS id, slot_id AS slotId, charger_id AS chargerId FROM slot_bookings " +
+                        "WHERE status = 'booked' AND id BETWEEN :firstId AND :lastId AND id IN (:ids) " +
+                        "ORDER BY id FOR UPDATE", nativeQuery = true)
+        List<BookingClaim> lockBookedByIdIn(@Param("ids") List<Long> ids,
+                        @Param("firstId") Long firstId,
+                        @Param("lastId") Long lastId);
+
+        @Modifying
+        @Query("UPDATE SlotBooking sb SET sb.status = :status " +
+                        "WHERE sb.status = 'booked' AND sb.id BETWEEN :firstId AND :lastId AND sb.id IN :ids")
+        int updateBookedStatus(@Param("ids") List<Long> ids,
+                        @Param("firstId") Long firstId,
+                        @Param("lastId") Long lastId,
+                        @Param("status") String status);
+
+        // What an expiry notification needs, without loading bookings, slots and users
+        @Query("SELECT sb.id AS id, sb.user.id AS userId, s.allDay AS allDay, " +
+                        "s.startTime AS startTime, s.endTime AS endTime, " +
+                        "s.startTimeOnly AS startTimeOnly, s.endTimeOnly AS endTimeOnly " +
+                        "FROM SlotBooking sb JOIN sb.slot s WHERE sb.id IN :ids")
+        List<ExpiredBooking> findExpiredBookingsByIdIn(@Param("ids") List<Long> ids);
+
+        /**
+         * Columns needed to expire a booking and release its slot.
+         */
+        interface BookingClaim {
+                Long getId();
+
+                Long getSlotId();
+
+                Long getChargerId();
+        }
+
+        /**
+         * An expired booking as the expiry notification describes it.
+         */
+        interface ExpiredBooking {
+                Long getId();
+
+                Long getUserId();
+
+                boolean isAllDay();
+
+                LocalDateTime getStartTime();
+
+                LocalDateTime getEndTime();
+
+                LocalTime getStartTimeOnly();
+
+                LocalTime getEndTimeOnly();
+        }
 }
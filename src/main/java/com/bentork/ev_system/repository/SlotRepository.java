@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -40,4 +41,9 @@ public interface SlotRepository extends JpaRepository<Slot, Long> {
 
         // Find unbooked all-day (recurring everyday) slots for a charger
         List<Slot> findByChargerIdAndAllDayTrueAndBookedFalse(Long chargerId);
+
+        // Release a set of slots in one statement (sets the legacy is_booked column too, like Slot.setBooked)
+        @Modifying
+        @Query("UPDATE Slot s SET s.booked = false, s.legacyIsBooked = false WHERE s.id IN :ids")
+        int releaseByIdIn(@Param("ids") List<Long> ids);
 }
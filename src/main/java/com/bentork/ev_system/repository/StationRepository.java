@@ -1,21 +1,58 @@
 package com.bentork.ev_system.repository;
 
 import com.bentork.ev_system.model.Station;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface StationRepository extends JpaRepository<Station, Long> {
-    
+
+    // Hibernate query cache region for the listing finders (see EntityCacheInvalidation)
+    String QUERY_REGION = "station-query";
+
     // Custom query to fetch stations by location
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION) })
     List<Station> findByLocationId(Long locationId);
 
     // Active-aware queries for soft-delete support
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION) })
+    @EntityGraph(attributePaths = "location")
     List<Station> findByActiveTrue();
 
+    // Location is lazy; the station listings map its name
+    @Override
+    @EntityGraph(attributePaths = "location")
+    List<Station> findAllById(Iterable<Long> ids);
+
     long countByActiveTrue();
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_REGION) })
     List<Station> findByLocationIdAndActiveTrue(Long locationId);
+
+    // Dashboard: total and ACTIVE-status counts of non-deleted stations in one pass
+    @Query("SELECT COUNT(s) AS totalStations, " +
+            "COALESCE(SUM(CASE WHEN UPPER(s.status) = 'ACTIVE' THEN 1 ELSE 0 END), 0) AS activeStations " +
+            "FROM Station s WHERE s.active = true")
+    StationTotals sumActiveStations();
+
+    interface StationTotals {
+        Long getTotalStations();
+
+        Long getActiveStations();
+    }
 }
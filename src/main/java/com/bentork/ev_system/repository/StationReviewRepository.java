@@ -1,5 +1,6 @@
 package com.bentork.ev_system.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +30,19 @@ public interface StationReviewRepository extends JpaRepository<StationReview, Lo
     // Total review count for a station
     Long countByStationId(Long stationId);
 
+    // Average rating and review count for several stations in one pass (stations without reviews are absent)
+    @Query("SELECT r.station.id AS stationId, AVG(r.rating) AS averageRating, COUNT(r) AS totalReviews " +
+            "FROM StationReview r WHERE r.station.id IN :stationIds GROUP BY r.station.id")
+    List<StationRating> findRatingsByStationIds(@Param("stationIds") Collection<Long> stationIds);
+
     // All reviews by a specific user
     List<StationReview> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    interface StationRating {
+        Long getStationId();
+
+        Double getAverageRating();
+
+        Long getTotalReviews();
+    }
 }
@@ -2,11 +2,17 @@ package com.bentork.ev_system.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.bentork.ev_system.model.User;
 import com.bentork.ev_system.model.UserNotification;
 
+import jakarta.persistence.QueryHint;
+
 public interface UserNotificationRepository extends JpaRepository<UserNotification, Long> {
 
     // Find all notifications for a given user
@@ -15,4 +21,10 @@ public interface UserNotificationRepository extends JpaRepository<UserNotificati
     // Find unread notifications
     List<UserNotification> findByUserAndIsReadFalse(User user);
 
+    // Archived (read) notifications of a user, newest first — read-only, see TableArchiver
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM user_notifications_archive WHERE user_id = :userId " +
+            "ORDER BY created_at DESC, id DESC", nativeQuery = true)
+    List<UserNotification> findArchivedByUserId(@Param("userId") Long userId);
+
 }
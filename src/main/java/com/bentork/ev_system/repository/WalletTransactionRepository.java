@@ -4,11 +4,17 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import com.bentork.ev_system.model.WalletTransaction;
 
+import jakarta.persistence.QueryHint;
+
 public interface WalletTransactionRepository extends JpaRepository<WalletTransaction, Long> {
     List<WalletTransaction> findByUserId(Long userId);
 
@@ -21,4 +27,12 @@ public interface WalletTransactionRepository extends JpaRepository<WalletTransac
 
     // Fetch specific type (credit/debit) for a user
     Page<WalletTransaction> findByUserIdAndType(Long userId, String type, Pageable pageable);
+
+    // Archived transactions of a user (see TableArchiver), newest first, optionally of one type.
+    // Read-only: the rows are no longer in wallet_transactions
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT * FROM wallet_transactions_archive WHERE user_id = :userId " +
+            "AND (:type IS NULL OR type = :type) ORDER BY created_at DESC, id DESC", nativeQuery = true)
+    List<WalletTransaction> findArchivedByUserId(@Param("userId") Long userId, @Param("type") String type,
+            Pageable pageable);
 }
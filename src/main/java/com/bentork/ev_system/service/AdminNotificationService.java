@@ -11,8 +11,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.bentork.ev_system.service.interfaces.IAdminNotificationService;
 
@@ -37,6 +39,7 @@ public class AdminNotificationService implements IAdminNotificationService {
     // 🔔 CREATE notification for new user registration
     public void notifyNewUserRegistration(String userName) {
         List<Admin> admins = adminRepository.findAll();
+        List<AdminNotification> notifications = new ArrayList<>(admins.size());
 
         for (Admin admin : admins) {
             AdminNotification notification = new AdminNotification();
@@ -45,18 +48,21 @@ public class AdminNotificationService implements IAdminNotificationService {
             notification.setMessage("New user registered: " + userName);
             notification.setRead(false);
             notification.setCreatedAt(LocalDateTime.now()); // Ensure timestamp is set
+            notifications.add(notification);
+        }
+        // One transaction, inserted in JDBC batches
+        notificationRepository.saveAll(notifications);
 
-            notificationRepository.save(notification);
-
-            // Trigger Push Notification
+        // Trigger Push Notifications
+        for (Admin admin : admins) {
             sendPushSafely(admin, "New Registration", "New user registered: " + userName);
         }
     }
 
-    // 📥 Get notifications by adminId
+    // 📥 Get notifications by adminId, archived (read) ones after the active ones
     public List<AdminNotificationDTO> getNotificationsByAdminId(Long adminId) {
-        return notificationRepository.findByAdminId(adminId)
-                .stream()
+        return Stream.concat(notificationRepository.findByAdminId(adminId).stream(),
+                        notificationRepository.findArchivedByAdminId(adminId).stream())
                 .map(AdminNotificationMapper::toDTO)
                 .collect(Collectors.toList());
     }
@@ -72,6 +78,7 @@ public class AdminNotificationService implements IAdminNotificationService {
 
     public void createSystemNotification(String message, String type) {
         List<Admin> admins = adminRepository.findAll();
+        List<AdminNotification> notifications = new ArrayList<>(admins.size());
 
         for (Admin admin : admins) {
             AdminNotification notification = new AdminNotification();
@@ -80,11 +87,14 @@ public class AdminNotificationService implements IAdminNotificationService {
             notification.setType(type);
             notification.setCreatedAt(LocalDateTime.now());
             notification.setRead(false);
+            notifications.add(notification);
+        }
+        // One transaction, inserted in JDBC batches
+        notificationRepository.saveAll(notifications);
 
-            notificationRepository.save(notification);
-
-            // Trigger Push Notification
-            String title = "System Alert: " + type;
+        // Trigger Push Notifications
+        String title = "System Alert: " + type;
+        for (Admin admin : admins) {
             sendPushSafely(admin, title, message);
         }
     }
@@ -1,113 +1,222 @@
 package com.bentork.ev_system.service;
 
-import java.io.InputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.ss.usermodel.WorkbookFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import com.bentork.ev_system.dto.response.BatteryDataResponse;
-import com.bentork.ev_system.dto.response.BatteryExcelUploadResponse;
-import com.bentork.ev_system.dto.response.BatteryExcelUploadResponse.RowError;
+import com.bentork.ev_system.dto.response.BatteryImportJobResponse;
+import com.bentork.ev_system.dto.response.BatteryImportJobResponse.RowError;
 import com.bentork.ev_system.exception.domain.InvalidExcelFileException;
 import com.bentork.ev_system.model.BatteryData;
 import com.bentork.ev_system.repository.BatteryDataRepository;
+import com.bentork.ev_system.service.battery.BatteryExcelReader;
+import com.bentork.ev_system.service.battery.BatteryImportJob;
+import com.bentork.ev_system.service.battery.BatteryImportJobStore;
 
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Registers batteries from uploaded Excel files as background import jobs.
+ *
+ * The upload is spooled to a temp file and queued; the caller polls the job for progress.
+ * The sheet is streamed (BatteryExcelReader) and validated row by row; valid rows are
+ * checked for duplicate barcodes with one query per chunk of CHUNK_SIZE rows and inserted
+ * with one JDBC-batched saveAll. Jobs run one at a time per node, on the node that took
+ * the upload; their progress (at most every PROGRESS_INTERVAL) and result are kept in
+ * BatteryImportJobStore for JOB_RETENTION, so any node can answer a poll. The node running
+ * a job keeps it in memory until its final state is stored.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BatteryExcelService {
 
     private final BatteryDataRepository batteryDataRepository;
+    private final BatteryImportJobStore jobStore;
+
+    // Rows checked for duplicates with one query and inserted with one JDBC-batched saveAll
+    private static final int CHUNK_SIZE = 500;
+    private static final int COLUMNS = 8;
+    static final int MAX_REPORTED_ERRORS = 1_000;
+    private static final int MAX_QUEUED_JOBS = 4;
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(1);
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private static final String GSTIN_REGEX = "^\\d{2}[A-Z]{5}\\d{4}[A-Z]{1}[A-Z\\d]{1}[Z]{1}[A-Z\\d]{1}$";
+    private static final Pattern GSTIN = Pattern.compile(
+            "^\\d{2}[A-Z]{5}\\d{4}[A-Z]{1}[A-Z\\d]{1}[Z]{1}[A-Z\\d]{1}$");
+
+    // Jobs queued or running on this node, and finished ones whose result could not be stored
+    private final Map<String, BatteryImportJob> jobs = new ConcurrentHashMap<>();
+
+    // One import at a time: parallel imports would only contend for the same table and index
+    private final ExecutorService executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(MAX_QUEUED_JOBS), runnable -> {
+                Thread thread = new Thread(runnable, "battery-import");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     /**
-     * Parses an uploaded Excel file and registers each row as a BatteryData entity.
-     * Row 1 is treated as the header and is skipped.
+     * Queues an uploaded Excel file for import. Row 1 is treated as the header and is skipped.
      *
      * Expected columns:
      *   A: customerName, B: productDetails, C: invoiceNumber,
-     *   D: barcode, E: warrantyStartDate, F: warrantyEndDate
+     *   D: barcode, E: warrantyStartDate, F: warrantyEndDate,
+     *   G: gstNumber (optional), H: address (optional)
      *
      * @param file       the uploaded Excel file (.xlsx or .xls)
      * @param adminEmail the email of the admin performing the upload
-     * @return summary of the upload operation
+     * @return the queued job, to poll with {@link #getImportJob}
+     * @throws RejectedExecutionException when MAX_QUEUED_JOBS imports are already waiting
      */
-    public BatteryExcelUploadResponse registerBatteriesFromExcel(MultipartFile file, String adminEmail) {
+    public BatteryImportJobResponse startImport(MultipartFile file, String adminEmail) {
         validateFile(file);
+        pruneFinishedJobs();
+
+        BatteryImportJob job = new BatteryImportJob(file.getOriginalFilename(), adminEmail, MAX_REPORTED_ERRORS);
+        Path spooled = spool(file);
+        jobs.put(job.getId(), job);
+        // Before the worker can pick it up, so the QUEUED snapshot never overwrites a later one
+        publish(job);
+        try {
+            executor.execute(() -> run(job, spooled));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            deleteQuietly(spooled);
+            throw e;
+        }
+        log.info("Battery import {} queued by admin {}: {}", job.getId(), adminEmail, job.getFileName());
+        return job.toResponse();
+    }
 
-        List<BatteryDataResponse> registeredBatteries = new ArrayList<>();
-        List<RowError> errors = new ArrayList<>();
-        int totalRowsProcessed = 0;
-
-        try (InputStream inputStream = file.getInputStream();
-             Workbook workbook = WorkbookFactory.create(inputStream)) {
-
-            Sheet sheet = workbook.getSheetAt(0);
-            int lastRowNum = sheet.getLastRowNum();
-
-            if (lastRowNum < 1) {
-                throw new InvalidExcelFileException("Excel file contains no data rows. Row 1 must be the header.");
-            }
-
-            // Start from row 1 (skip header at row 0)
-            for (int rowIndex = 1; rowIndex <= lastRowNum; rowIndex++) {
-                Row row = sheet.getRow(rowIndex);
-
-                // Skip completely empty rows
-                if (row == null || isRowEmpty(row)) {
-                    continue;
-                }
+    /**
+     * The job as seen by the node running it, or else its last stored snapshot.
+     */
+    public BatteryImportJobResponse getImportJob(String jobId) {
+        BatteryImportJob job = jobs.get(jobId);
+        if (job != null) {
+            return job.toResponse();
+        }
+        return jobStore.get(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Import job not found: " + jobId));
+    }
 
-                totalRowsProcessed++;
+    /**
+     * Imports on the calling thread and returns the finished job.
+     */
+    BatteryImportJobResponse importNow(MultipartFile file, String adminEmail) {
+        validateFile(file);
+        BatteryImportJob job = new BatteryImportJob(file.getOriginalFilename(), adminEmail, MAX_REPORTED_ERRORS);
+        run(job, spool(file));
+        return job.toResponse();
+    }
 
-                try {
-                    processRow(row, rowIndex, adminEmail, registeredBatteries);
-                } catch (Exception e) {
-                    String barcode = getCellStringValue(row.getCell(3));
-                    errors.add(RowError.builder()
-                            .rowNumber(rowIndex + 1) // 1-based for user display
-                            .barcode(barcode != null ? barcode : "N/A")
-                            .errorMessage(e.getMessage())
-                            .build());
-                    log.warn("Error processing row {}: {}", rowIndex + 1, e.getMessage());
-                }
+    /**
+     * Jobs still queued or running here will not finish: record them as failed so pollers
+     * on other nodes do not wait for them.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        for (BatteryImportJob job : jobs.values()) {
+            if (!job.isFinished()) {
+                job.fail("Import interrupted: the server shut down. Upload the file again.");
+                publish(job);
             }
+        }
+    }
 
+    // ==================== IMPORT ====================
+
+    private void run(BatteryImportJob job, Path spooled) {
+        job.start();
+        publish(job);
+        long started = System.nanoTime();
+        try {
+            importRows(job, spooled.toFile());
+            job.complete();
+            BatteryImportJobResponse result = job.toResponse();
+            log.info("Battery import {} by admin {} complete in {} ms: {} rows processed, {} registered, {} errors",
+                    job.getId(), job.getAdminEmail(), (System.nanoTime() - started) / 1_000_000,
+                    result.getTotalRowsProcessed(), result.getSuccessCount(), result.getSkippedCount());
         } catch (InvalidExcelFileException e) {
-            throw e; // Re-throw our custom exception
+            log.warn("Battery import {} rejected: {}", job.getId(), e.getMessage());
+            job.fail(e.getMessage());
         } catch (Exception e) {
-            throw new InvalidExcelFileException("Failed to read Excel file: " + e.getMessage(), e);
+            // Chunks saved before the failure stay registered
+            log.error("Battery import {} failed: {}", job.getId(), e.getMessage(), e);
+            job.fail("Import failed: " + e.getMessage());
+        } finally {
+            deleteQuietly(spooled);
+            // Once stored, other nodes and this one read the result from the store
+            if (publish(job)) {
+                jobs.remove(job.getId());
+            }
         }
+    }
 
-        log.info("Excel upload complete by admin {}: {} rows processed, {} registered, {} errors",
-                adminEmail, totalRowsProcessed, registeredBatteries.size(), errors.size());
+    private void importRows(BatteryImportJob job, File file) {
+        List<PendingRow> pending = new ArrayList<>(CHUNK_SIZE);
+        Set<String> seenBarcodes = new HashSet<>();
+        AtomicBoolean dataRows = new AtomicBoolean();
+        AtomicLong nextProgress = new AtomicLong(System.nanoTime() + PROGRESS_INTERVAL.toNanos());
 
-        return BatteryExcelUploadResponse.builder()
-                .totalRowsProcessed(totalRowsProcessed)
-                .successCount(registeredBatteries.size())
-                .skippedCount(errors.size())
-                .registeredBatteries(registeredBatteries)
-                .errors(errors)
-                .build();
+        BatteryExcelReader.read(file, job.getFileName(), COLUMNS, (rowIndex, cells) -> {
+            // Skip the header at row 0 and completely empty rows
+            if (rowIndex == 0) {
+                return;
+            }
+            dataRows.set(true);
+            if (isRowEmpty(cells)) {
+                return;
+            }
+            job.rowsProcessed(1);
+            try {
+                pending.add(new PendingRow(rowIndex, processRow(cells, rowIndex, job.getAdminEmail())));
+            } catch (IllegalArgumentException e) {
+                job.skipped(rowError(rowIndex, cells[3], e.getMessage()));
+            }
+            if (pending.size() == CHUNK_SIZE) {
+                saveChunk(pending, seenBarcodes, job);
+                pending.clear();
+                if (System.nanoTime() - nextProgress.get() >= 0) {
+                    publish(job);
+                    nextProgress.set(System.nanoTime() + PROGRESS_INTERVAL.toNanos());
+                }
+            }
+        });
+        if (!dataRows.get()) {
+            throw new InvalidExcelFileException("Excel file contains no data rows. Row 1 must be the header.");
+        }
+        saveChunk(pending, seenBarcodes, job);
     }
 
     // ==================== PRIVATE HELPERS ====================
@@ -130,37 +239,31 @@ public class BatteryExcelService {
     }
 
     /**
-     * Processes a single row: validates fields, checks for duplicates, saves the entity.
+     * Processes a single row: validates fields and builds the entity. Duplicate barcodes
+     * are checked per chunk in saveChunk.
      */
-    private void processRow(Row row, int rowIndex, String adminEmail,
-                            List<BatteryDataResponse> registeredBatteries) {
-
-        String customerName = getCellStringValue(row.getCell(0));
-        String productDetails = getCellStringValue(row.getCell(1));
-        String invoiceNumber = getCellStringValue(row.getCell(2));
-        String barcode = getCellStringValue(row.getCell(3));
-        LocalDate warrantyStartDate = getCellDateValue(row.getCell(4));
-        LocalDate warrantyEndDate = getCellDateValue(row.getCell(5));
-        String gstNumber = getCellStringValue(row.getCell(6));
-        String address = getCellStringValue(row.getCell(7));
+    private BatteryData processRow(String[] cells, int rowIndex, String adminEmail) {
+
+        String customerName = cells[0];
+        String productDetails = cells[1];
+        String invoiceNumber = cells[2];
+        String barcode = cells[3];
+        LocalDate warrantyStartDate = parseDate(cells[4]);
+        LocalDate warrantyEndDate = parseDate(cells[5]);
+        String gstNumber = cells[6];
+        String address = cells[7];
 
         // Validate required fields
         validateRequiredFields(rowIndex, customerName, productDetails, invoiceNumber,
                 barcode, warrantyStartDate, warrantyEndDate);
 
         // Validate GST number format if provided
-        if (gstNumber != null && !gstNumber.isEmpty() && !gstNumber.matches(GSTIN_REGEX)) {
+        if (gstNumber != null && !gstNumber.isEmpty() && !GSTIN.matcher(gstNumber).matches()) {
             throw new IllegalArgumentException(
                     "Invalid GST number format: '" + gstNumber + "'. Expected 15-character GSTIN (e.g., 22AAAAA0000A1Z5)");
         }
 
-        // Check for duplicate barcode
-        if (batteryDataRepository.existsByBarcode(barcode)) {
-            throw new IllegalArgumentException(
-                    "Battery with barcode '" + barcode + "' already exists. Skipping duplicate.");
-        }
-
-        // Create and save battery entity
+        // Create battery entity
         BatteryData battery = new BatteryData();
         battery.setCustomerName(customerName);
         battery.setProductDetails(productDetails);
@@ -171,11 +274,67 @@ public class BatteryExcelService {
         battery.setWarrantyStartDate(warrantyStartDate);
         battery.setWarrantyEndDate(warrantyEndDate);
         battery.setCreatedByAdminEmail(adminEmail);
+        return battery;
+    }
+
+    /**
+     * Skips the chunk's barcodes that are already registered or repeat an earlier row, found
+     * with one query, and inserts the rest with one saveAll. If the batch still hits the
+     * unique barcode index (a concurrent upload), the chunk is retried row by row so only
+     * the clashing rows fail.
+     */
+    private void saveChunk(List<PendingRow> chunk, Set<String> seenBarcodes, BatteryImportJob job) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> existing = batteryDataRepository.findExistingBarcodes(
+                chunk.stream().map(pending -> pending.battery().getBarcode()).toList());
+
+        List<PendingRow> accepted = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            String barcode = pending.battery().getBarcode();
+            if (existing.contains(barcode) || !seenBarcodes.add(barcode)) {
+                job.skipped(rowError(pending.rowIndex(), barcode, duplicateMessage(barcode)));
+            } else {
+                accepted.add(pending);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
 
-        BatteryData saved = batteryDataRepository.save(battery);
-        registeredBatteries.add(mapToResponse(saved));
+        try {
+            batteryDataRepository.saveAll(accepted.stream().map(PendingRow::battery).toList());
+            job.registered(accepted.size());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch insert of {} batteries failed, retrying row by row: {}", accepted.size(), e.getMessage());
+            for (PendingRow pending : accepted) {
+                // The failed batch already assigned an id; without it save() inserts again
+                pending.battery().setId(null);
+                try {
+                    batteryDataRepository.save(pending.battery());
+                    job.registered(1);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    job.skipped(rowError(pending.rowIndex(), pending.battery().getBarcode(),
+                            duplicateMessage(pending.battery().getBarcode())));
+                }
+            }
+        }
+    }
 
-        log.debug("Row {}: Registered battery with barcode {}", rowIndex + 1, barcode);
+    private static String duplicateMessage(String barcode) {
+        return "Battery with barcode '" + barcode + "' already exists. Skipping duplicate.";
+    }
+
+    private RowError rowError(int rowIndex, String barcode, String message) {
+        if (log.isDebugEnabled()) {
+            log.debug("Error processing row {}: {}", rowIndex + 1, message);
+        }
+        return RowError.builder()
+                .rowNumber(rowIndex + 1) // 1-based for user display
+                .barcode(barcode != null ? barcode : "N/A")
+                .errorMessage(message)
+                .build();
     }
 
     /**
@@ -206,112 +365,72 @@ public class BatteryExcelService {
     }
 
     /**
-     * Extracts a String value from a cell, handling NUMERIC, STRING, BOOLEAN, and FORMULA types.
-     * Returns null if the cell is null or blank.
+     * Parses a date column: the reader renders date-formatted cells as yyyy-MM-dd, and text
+     * cells must use the same format.
      */
-    private String getCellStringValue(Cell cell) {
-        if (cell == null) {
+    private LocalDate parseDate(String value) {
+        if (value == null) {
             return null;
         }
-
-        switch (cell.getCellType()) {
-            case STRING:
-                String value = cell.getStringCellValue();
-                return (value != null && !value.trim().isEmpty()) ? value.trim() : null;
-            case NUMERIC:
-                // If it looks like an integer, return without decimal point
-                double numValue = cell.getNumericCellValue();
-                if (numValue == Math.floor(numValue) && !Double.isInfinite(numValue)) {
-                    return String.valueOf((long) numValue);
-                }
-                return String.valueOf(numValue);
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                try {
-                    return cell.getStringCellValue();
-                } catch (Exception e) {
-                    return String.valueOf(cell.getNumericCellValue());
-                }
-            case BLANK:
-            default:
-                return null;
+        try {
+            return LocalDate.parse(value, DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(
+                    "Invalid date format: '" + value + "'. Expected a date cell or 'yyyy-MM-dd' text");
         }
     }
 
     /**
-     * Extracts a LocalDate from a cell.
-     * Handles Excel date-formatted cells and string cells with yyyy-MM-dd format.
+     * Checks if a row is completely empty (all cells are blank).
      */
-    private LocalDate getCellDateValue(Cell cell) {
-        if (cell == null) {
-            return null;
+    private boolean isRowEmpty(String[] cells) {
+        for (String cell : cells) {
+            if (cell != null) {
+                return false;
+            }
         }
+        return true;
+    }
 
-        switch (cell.getCellType()) {
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue()
-                            .toInstant()
-                            .atZone(ZoneId.systemDefault())
-                            .toLocalDate();
-                }
-                throw new IllegalArgumentException(
-                        "Numeric cell in date column is not date-formatted. Use a date format or 'yyyy-MM-dd' string.");
-            case STRING:
-                String dateStr = cell.getStringCellValue().trim();
-                if (dateStr.isEmpty()) {
-                    return null;
-                }
-                try {
-                    return LocalDate.parse(dateStr, DATE_FORMATTER);
-                } catch (DateTimeParseException e) {
-                    throw new IllegalArgumentException(
-                            "Invalid date format: '" + dateStr + "'. Expected format: yyyy-MM-dd");
-                }
-            default:
-                return null;
-        }
+    private boolean publish(BatteryImportJob job) {
+        return jobStore.save(job.toResponse(), JOB_RETENTION);
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime horizon = LocalDateTime.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinishedBefore(horizon));
     }
 
     /**
-     * Checks if a row is completely empty (all cells are blank or null).
+     * Copies the upload to a temp file: the multipart file is gone once the request ends,
+     * and the event reader opens the package from a file without loading it.
      */
-    private boolean isRowEmpty(Row row) {
-        for (int cellIndex = 0; cellIndex < 8; cellIndex++) {
-            Cell cell = row.getCell(cellIndex);
-            if (cell != null && cell.getCellType() != CellType.BLANK) {
-                String value = getCellStringValue(cell);
-                if (value != null && !value.isEmpty()) {
-                    return false;
-                }
-            }
+    private Path spool(MultipartFile file) {
+        String name = file.getOriginalFilename().toLowerCase();
+        try {
+            Path path = Files.createTempFile("battery-import-", name.substring(name.lastIndexOf('.')));
+            file.transferTo(path);
+            return path;
+        } catch (IOException e) {
+            throw new InvalidExcelFileException("Failed to store uploaded file: " + e.getMessage(), e);
         }
-        return true;
     }
 
-    /**
-     * Maps a BatteryData entity to a BatteryDataResponse DTO.
-     * Mirrors the mapping in BatteryDataService.
-     */
-    private BatteryDataResponse mapToResponse(BatteryData battery) {
-        BatteryDataResponse response = new BatteryDataResponse();
-        response.setId(battery.getId());
-        response.setCustomerName(battery.getCustomerName());
-        response.setProductDetails(battery.getProductDetails());
-        response.setInvoiceNumber(battery.getInvoiceNumber());
-        response.setBarcode(battery.getBarcode());
-        response.setGstNumber(battery.getGstNumber());
-        response.setAddress(battery.getAddress());
-        response.setWarrantyStartDate(battery.getWarrantyStartDate());
-        response.setWarrantyEndDate(battery.getWarrantyEndDate());
-        response.setWarrantyActive(!LocalDate.now().isAfter(battery.getWarrantyEndDate()));
-        response.setCreatedByAdminEmail(battery.getCreatedByAdminEmail());
-        response.setCreatedAt(battery.getCreatedAt());
-        return response;
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", path, e.getMessage());
+        }
     }
 
     private boolean isBlank(String value) {
         return value == null || value.trim().isEmpty();
     }
+
+    /**
+     * A validated row waiting for its chunk to be saved.
+     */
+    private record PendingRow(int rowIndex, BatteryData battery) {
+    }
 }
@@ -1,19 +1,27 @@
 package com.bentork.ev_system.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.bentork.ev_system.config.cache.CacheBulkReader;
+import com.bentork.ev_system.config.cache.CacheTags;
+import com.bentork.ev_system.config.datasource.DataSourceRoute;
+import com.bentork.ev_system.config.datasource.UseDataSource;
 import com.bentork.ev_system.dto.request.ChargerDTO;
 import com.bentork.ev_system.mapper.ChargerMapper;
 import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.model.Station;
 import com.bentork.ev_system.repository.ChargerRepository;
 import com.bentork.ev_system.repository.StationRepository;
+import com.bentork.ev_system.service.charger.ChargerIndex;
+import com.bentork.ev_system.service.charger.ChargerSnapshot;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
@@ -30,10 +38,12 @@ public class ChargerService implements IChargerService {
 
     private final StationRepository stationRepository;
 
-    @Caching(evict = {
-        @CacheEvict(value = "chargers", allEntries = true),
-        @CacheEvict(value = "dashboard-stats", allEntries = true)
-    })
+    private final CacheTags cacheTags;
+
+    private final ChargerIndex chargerIndex;
+
+    private final CacheBulkReader cacheBulkReader;
+
     public String createCharger(ChargerDTO dto) {
         try {
             Station station = stationRepository.findById(dto.getStationId())
@@ -42,6 +52,8 @@ public class ChargerService implements IChargerService {
         Charger charger = ChargerMapper.toEntity(dto);
         charger.setStation(station);
         chargerRepository.save(charger);
+        cacheTags.evict(CacheTags.CHARGERS);
+        chargerIndex.put(charger);
 
         log.info("Charger created: id={}, ocppId={}", charger.getId(), charger.getOcppId(), station.getId());
         return "Charger Created";
@@ -54,9 +66,10 @@ public class ChargerService implements IChargerService {
          } 
     }
 
-    @Cacheable(value = "chargers", key = "'all-chargers'")
+    @Cacheable(value = "chargers", key = "'all-chargers'", sync = true)
     public List<ChargerDTO> getAllChargers() {
         try {
+            cacheTags.tag("chargers", "all-chargers", CacheTags.CHARGERS);
             List<ChargerDTO> chargers = chargerRepository.findByActiveTrue()
                 .stream()
                 .map(ChargerMapper::toDto)
@@ -70,11 +83,16 @@ public class ChargerService implements IChargerService {
         }   
     }
 
-    @Cacheable(value = "chargers", key = "#id")
+    // Read-only transaction: the station of a second-level-cached charger is a lazy proxy.
+    // Primary pool: the cache is refilled right after the write that evicted it
+    @Cacheable(value = "chargers", key = "#id", sync = true)
+    @Transactional(readOnly = true)
+    @UseDataSource(DataSourceRoute.PRIMARY)
     public ChargerDTO getChargerById(Long id) {
         try {
             Charger charger = chargerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Charger not found with ID: " + id));
+            cacheTags.tag("chargers", id, CacheTags.charger(id), CacheTags.station(charger.getStation().getId()));
 
             log.info("Retrived charger: id={}, ocppId={}", charger.getId(), charger.getOcppId());
             return ChargerMapper.toDto(charger);
@@ -87,10 +105,24 @@ public class ChargerService implements IChargerService {
         }
     }
 
-    @Caching(evict = {
-        @CacheEvict(value = "chargers", allEntries = true),
-        @CacheEvict(value = "dashboard-stats", allEntries = true)
-    })
+    /**
+     * Chargers by id through the same per-id entries as getChargerById: one MGET, one
+     * IN-query for the misses.
+     *
+     * @return keyed by id in the given order; unknown ids are left out
+     */
+    public Map<Long, ChargerDTO> getChargersByIds(Collection<Long> ids) {
+        return cacheBulkReader.getAll("chargers", ids, this::loadChargers);
+    }
+
+    private Map<Long, ChargerDTO> loadChargers(Set<Long> ids) {
+        List<Charger> chargers = chargerRepository.findAllById(ids);
+        cacheTags.tagAll("chargers", chargers.stream().collect(Collectors.toMap(Charger::getId,
+                charger -> new String[] { CacheTags.charger(charger.getId()),
+                        CacheTags.station(charger.getStation().getId()) })));
+        return chargers.stream().collect(Collectors.toMap(Charger::getId, ChargerMapper::toDto));
+    }
+
     public String updateCharger(Long id, ChargerDTO dto) {
         try {
             Charger charger = chargerRepository.findById(id)
@@ -100,6 +132,7 @@ public class ChargerService implements IChargerService {
                 .orElseThrow(() -> new EntityNotFoundException("Station not found with ID: " + dto.getStationId()));
 
             String oldType = charger.getChargerType();
+            String oldOcppId = charger.getOcppId();
             charger.setStation(station);
             charger.setOcppId(dto.getOcppId());
             charger.setConnectorType(dto.getConnectorType());
@@ -112,6 +145,11 @@ public class ChargerService implements IChargerService {
             
 
             chargerRepository.save(charger);
+            cacheTags.evict(CacheTags.charger(id), CacheTags.CHARGERS);
+            if (!oldOcppId.equals(charger.getOcppId())) {
+                chargerIndex.evict(oldOcppId);
+            }
+            chargerIndex.put(charger);
 
             log.info("Charger updated: id={}, ocppId={}, type changed from {} to {}", id, charger.getOcppId(), oldType, charger.getChargerType());
             return "Charger Updated";
@@ -124,16 +162,15 @@ public class ChargerService implements IChargerService {
         }
     }
 
-    @Caching(evict = {
-        @CacheEvict(value = "chargers", allEntries = true),
-        @CacheEvict(value = "dashboard-stats", allEntries = true)
-    })
+    @Transactional
     public String deleteCharger(Long id) {
        try {
             Charger charger = chargerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Charger not found with ID: " + id));
             charger.setActive(false);
             chargerRepository.save(charger);
+            cacheTags.evict(CacheTags.charger(id), CacheTags.CHARGERS);
+            chargerIndex.put(charger);
             log.info("Charger soft-deleted (deactivated): id={}", id);
             return "Charger Deactivated";
         } catch (EntityNotFoundException e) {
@@ -146,9 +183,10 @@ public class ChargerService implements IChargerService {
     }
 
     // Total Chargers
-    @Cacheable(value = "dashboard-stats", key = "'total-chargers'")
+    @Cacheable(value = "dashboard-stats", key = "'total-chargers'", sync = true)
     public Long getTotalChargers() {
        try {
+            cacheTags.tag("dashboard-stats", "total-chargers", CacheTags.CHARGERS);
             Long total = chargerRepository.countByActiveTrue();
             log.debug("Total active chargers: {}", total);
             return total;
@@ -157,9 +195,10 @@ public class ChargerService implements IChargerService {
             throw e;
         }
     }
-    @Cacheable(value = "dashboard-stats", key = "'available-chargers'")
+    @Cacheable(value = "dashboard-stats", key = "'available-chargers'", sync = true)
     public Long getAvailableChargers() {
         try {
+            cacheTags.tag("dashboard-stats", "available-chargers", CacheTags.CHARGERS);
             Long available = chargerRepository.countByAvailabilityTrueAndOccupiedFalseAndActiveTrue();
             log.debug("Available active chargers: {}", available);
             return available;
@@ -170,9 +209,10 @@ public class ChargerService implements IChargerService {
     }
 
     // AC Chargers
-    @Cacheable(value = "dashboard-stats", key = "'ac-chargers'")
+    @Cacheable(value = "dashboard-stats", key = "'ac-chargers'", sync = true)
     public Long getACChargers() {
         try {
+            cacheTags.tag("dashboard-stats", "ac-chargers", CacheTags.CHARGERS);
             Long acCount = chargerRepository.countByChargerTypeIgnoreCaseAndActiveTrue("AC");
             log.debug("Total active AC chargers: {}", acCount);
             return acCount;
@@ -183,9 +223,10 @@ public class ChargerService implements IChargerService {
     }
 
     // DC Chargers
-    @Cacheable(value = "dashboard-stats", key = "'dc-chargers'")
+    @Cacheable(value = "dashboard-stats", key = "'dc-chargers'", sync = true)
     public Long getDCChargers() {
         try {
+            cacheTags.tag("dashboard-stats", "dc-chargers", CacheTags.CHARGERS);
             Long dcCount = chargerRepository.countByChargerTypeIgnoreCaseAndActiveTrue("DC");
             log.debug("Total active DC chargers: {}", dcCount);
             return dcCount;
@@ -198,25 +239,24 @@ public class ChargerService implements IChargerService {
     // Get Charger by ocppid
     public ChargerDTO getChargerByOcppId(String ocppId) {
         try {
-            Charger charger = chargerRepository.findByOcppId(ocppId).orElseThrow();
+            ChargerSnapshot charger = chargerIndex.find(ocppId).orElseThrow();
             log.debug("Chargers: {}", charger);
-            return ChargerMapper.toDto(charger);
+            return charger.toDto();
         } catch (Exception e) {
             log.error("Failed to get chargers: {}", e.getMessage(), e);
             throw e;
         }
     }
 
-    @Caching(evict = {
-        @CacheEvict(value = "chargers", allEntries = true),
-        @CacheEvict(value = "dashboard-stats", allEntries = true)
-    })
+    @Transactional
     public String deactivateCharger(Long id) {
         try {
             Charger charger = chargerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Charger not found with ID: " + id));
             charger.setActive(false);
             chargerRepository.save(charger);
+            cacheTags.evict(CacheTags.charger(id), CacheTags.CHARGERS);
+            chargerIndex.put(charger);
             log.info("Charger deactivated: id={}", id);
             return "Charger Deactivated";
         } catch (EntityNotFoundException e) {
@@ -228,16 +268,15 @@ public class ChargerService implements IChargerService {
         }
     }
 
-    @Caching(evict = {
-        @CacheEvict(value = "chargers", allEntries = true),
-        @CacheEvict(value = "dashboard-stats", allEntries = true)
-    })
+    @Transactional
     public String reactivateCharger(Long id) {
         try {
             Charger charger = chargerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Charger not found with ID: " + id));
             charger.setActive(true);
             chargerRepository.save(charger);
+            cacheTags.evict(CacheTags.charger(id), CacheTags.CHARGERS);
+            chargerIndex.put(charger);
             log.info("Charger reactivated: id={}", id);
             return "Charger Reactivated";
         } catch (EntityNotFoundException e) {
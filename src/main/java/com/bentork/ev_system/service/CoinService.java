@@ -5,11 +5,11 @@ import com.bentork.ev_system.service.interfaces.IWalletTransactionService;
 import java.math.BigDecimal;
 import java.util.List;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.bentork.ev_system.config.cache.CacheTags;
 import com.bentork.ev_system.dto.response.CoinBalanceResponse;
 import com.bentork.ev_system.model.CoinTransaction;
 import com.bentork.ev_system.model.User;
@@ -40,12 +40,13 @@ public class CoinService implements ICoinService {
 
     private final IWalletTransactionService walletTransactionService;
 
+    private final CacheTags cacheTags;
+
     /**
      * Award coins for charging session completion.
      * Formula: floor(energyKwh) * COINS_PER_KWH
      */
     @Transactional
-    @CacheEvict(value = "user-data", allEntries = true)
     public void awardChargingCoins(Long userId, double energyKwh, Long sessionId) {
         int kwhFloor = (int) Math.floor(energyKwh);
         if (kwhFloor <= 0) {
@@ -60,6 +61,7 @@ public class CoinService implements ICoinService {
 
         user.setCoinBalance(user.getCoinBalance() + coins);
         userRepo.save(user);
+        cacheTags.evict(CacheTags.user(user.getId()), CacheTags.USERS);
 
         CoinTransaction tx = new CoinTransaction();
         tx.setUserId(userId);
@@ -77,13 +79,13 @@ public class CoinService implements ICoinService {
      * Award referral bonus to the referrer (250 coins).
      */
     @Transactional
-    @CacheEvict(value = "user-data", allEntries = true)
     public void awardReferralBonus(Long referrerId, Long sessionId) {
         User user = userRepo.findByIdWithLock(referrerId)
                 .orElseThrow(() -> new UserNotFoundException(referrerId));
 
         user.setCoinBalance(user.getCoinBalance() + REFERRAL_BONUS);
         userRepo.save(user);
+        cacheTags.evict(CacheTags.user(user.getId()), CacheTags.USERS);
 
         CoinTransaction tx = new CoinTransaction();
         tx.setUserId(referrerId);
@@ -100,13 +102,13 @@ public class CoinService implements ICoinService {
      * Award referred friend bonus (50 coins).
      */
     @Transactional
-    @CacheEvict(value = "user-data", allEntries = true)
     public void awardReferredBonus(Long referredUserId, Long sessionId) {
         User user = userRepo.findByIdWithLock(referredUserId)
                 .orElseThrow(() -> new UserNotFoundException(referredUserId));
 
         user.setCoinBalance(user.getCoinBalance() + REFERRED_BONUS);
         userRepo.save(user);
+        cacheTags.evict(CacheTags.user(user.getId()), CacheTags.USERS);
 
         CoinTransaction tx = new CoinTransaction();
         tx.setUserId(referredUserId);
@@ -131,7 +133,6 @@ public class CoinService implements ICoinService {
      * @return The kWh value redeemed
      */
     @Transactional
-    @CacheEvict(value = "user-data", allEntries = true)
     public double redeemCoins(Long userId, int coins, double ratePerKwh) {
         if (coins <= 0 || coins % COINS_TO_REDEEM_1_KWH != 0) {
             throw new RuntimeException("Coins must be a positive multiple of " + COINS_TO_REDEEM_1_KWH);
@@ -153,6 +154,7 @@ public class CoinService implements ICoinService {
         // Deduct coins
         user.setCoinBalance(user.getCoinBalance() - coins);
         userRepo.save(user);
+        cacheTags.evict(CacheTags.user(user.getId()), CacheTags.USERS);
 
         // Log coin transaction
         CoinTransaction tx = new CoinTransaction();
@@ -178,6 +180,7 @@ public class CoinService implements ICoinService {
     public CoinBalanceResponse getCoinBalance(Long userId) {
         User user = userRepo.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
+        cacheTags.tag("user-data", "coin-balance-" + userId, CacheTags.user(userId));
 
         int balance = user.getCoinBalance();
         double redeemableKwh = (double) balance / COINS_TO_REDEEM_1_KWH;
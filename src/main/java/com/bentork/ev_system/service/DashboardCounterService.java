@@ -0,0 +1,235 @@
+package com.bentork.ev_system.service;
+
+import com.bentork.ev_system.enums.DashboardMetric;
+import com.bentork.ev_system.enums.SessionStatus;
+import com.bentork.ev_system.model.DashboardCounter;
+import com.bentork.ev_system.model.Session;
+import com.bentork.ev_system.repository.DashboardCounterRepository;
+import com.bentork.ev_system.service.billing.money.Energy;
+import com.bentork.ev_system.service.billing.money.Money;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incrementally maintained dashboard counters.
+ *
+ * Session lifecycle and revenue writes call the record* methods in the same transaction
+ * as the state change, so a counter moves exactly when the row it describes commits.
+ * Each update is a single atomic upsert (no read-modify-write), and reads are one
+ * indexed query — no cache is needed for correctness.
+ *
+ * A reconciliation pass recomputes everything from the source tables at startup (when
+ * the table is empty) and nightly, which also repairs drift from any write path that
+ * bypasses these hooks (manual SQL fixes, imports).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardCounterService {
+
+    private static final int DAY_BUCKET_RETENTION_DAYS = 30;
+
+    private final DashboardCounterRepository counterRepository;
+    private final Clock clock;
+
+    // ===================== SESSION LIFECYCLE =====================
+
+    /**
+     * A new session row was inserted (with its initial status already set).
+     */
+    @Transactional
+    public void recordSessionCreated(Session session) {
+        increment(DashboardMetric.SESSIONS_CREATED, 1);
+        recordStatusChange(session, null);
+    }
+
+    /**
+     * A session moved from {@code previousStatus} to its current status.
+     */
+    @Transactional
+    public void recordSessionTransition(Session session, String previousStatus) {
+        if (previousStatus != null && previousStatus.equalsIgnoreCase(session.getStatus())) {
+            return;
+        }
+        recordStatusChange(session, previousStatus);
+    }
+
+    /**
+     * Bulk INITIATED -> FAILED transition (stale session cleanup).
+     * @param failed       number of sessions failed
+     * @param failedPerDay the same sessions grouped by creation-day bucket
+     */
+    @Transactional
+    public void recordSessionsFailed(int failed, Map<String, Long> failedPerDay) {
+        increment(DashboardMetric.SESSIONS_FAILED, failed);
+        failedPerDay.forEach((day, count) ->
+                counterRepository.increment(DashboardMetric.SESSIONS_FAILED.getKey(), day, count));
+    }
+
+    private void recordStatusChange(Session session, String previousStatus) {
+        if (SessionStatus.ACTIVE.matches(previousStatus)) {
+            increment(DashboardMetric.SESSIONS_ACTIVE, -1);
+        }
+
+        String status = session.getStatus();
+        if (SessionStatus.ACTIVE.matches(status)) {
+            increment(DashboardMetric.SESSIONS_ACTIVE, 1);
+        } else if (SessionStatus.COMPLETED.matches(status)) {
+            increment(DashboardMetric.SESSIONS_COMPLETED, 1);
+            increment(DashboardMetric.ENERGY_COMPLETED_MILLI_WH, Energy.ofKwh(session.getEnergyKwh()).milliWh());
+        } else if (SessionStatus.FAILED.matches(status)) {
+            increment(DashboardMetric.SESSIONS_FAILED, 1);
+            if (session.getCreatedAt() != null) {
+                counterRepository.increment(DashboardMetric.SESSIONS_FAILED.getKey(),
+                        session.getCreatedAt().toLocalDate().toString(), 1);
+            }
+        }
+    }
+
+    // ===================== REVENUE =====================
+
+    @Transactional
+    public void recordRevenue(double amount, String paymentStatus, int sign) {
+        long paise = Money.ofRupees(amount, RoundingMode.HALF_UP).paise() * sign;
+        increment(DashboardMetric.REVENUE_TRANSACTIONS, sign);
+        if ("SUCCESS".equalsIgnoreCase(paymentStatus)) {
+            increment(DashboardMetric.REVENUE_SUCCESS_COUNT, sign);
+            increment(DashboardMetric.REVENUE_SUCCESS_PAISE, paise);
+        } else if ("PENDING".equalsIgnoreCase(paymentStatus)) {
+            increment(DashboardMetric.REVENUE_PENDING_PAISE, paise);
+        }
+    }
+
+    // ===================== READS =====================
+
+    /**
+     * All-time values plus today's bucket, in one query.
+     */
+    @Transactional(readOnly = true)
+    public Snapshot snapshot() {
+        String today = LocalDate.now(clock).toString();
+        Map<DashboardMetric, Long> allTime = new EnumMap<>(DashboardMetric.class);
+        Map<DashboardMetric, Long> todayValues = new EnumMap<>(DashboardMetric.class);
+
+        for (DashboardCounter counter : counterRepository.findByBucketIn(List.of(DashboardMetric.ALL_TIME, today))) {
+            DashboardMetric metric = DashboardMetric.fromKey(counter.getCounterKey());
+            if (metric != null) {
+                (DashboardMetric.ALL_TIME.equals(counter.getBucket()) ? allTime : todayValues)
+                        .put(metric, counter.getCounterValue());
+            }
+        }
+        return new Snapshot(allTime, todayValues);
+    }
+
+    @Transactional(readOnly = true)
+    public long get(DashboardMetric metric) {
+        Long value = counterRepository.findValue(metric.getKey(), DashboardMetric.ALL_TIME);
+        return value != null ? value : 0L;
+    }
+
+    @Transactional(readOnly = true)
+    public long getToday(DashboardMetric metric) {
+        Long value = counterRepository.findValue(metric.getKey(), LocalDate.now(clock).toString());
+        return value != null ? value : 0L;
+    }
+
+    // ===================== RECONCILIATION =====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        try {
+            if (counterRepository.count() == 0) {
+                log.info("Dashboard counters are empty, building them from source tables");
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("Initial dashboard counter build failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Nightly at 03:15: recompute all counters from source data and drop old day buckets.
+     */
+    @Scheduled(cron = "0 15 3 * * *")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Dashboard counter reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Transactional
+    public void rebuild() {
+        Map<DashboardMetric, Long> totals = new EnumMap<>(DashboardMetric.class);
+        for (DashboardMetric metric : DashboardMetric.values()) {
+            totals.put(metric, 0L);
+        }
+
+        long created = 0;
+        for (DashboardCounterRepository.SessionTotals row : counterRepository.sumSessionsByStatus()) {
+            created += row.getSessions();
+            if (SessionStatus.ACTIVE.matches(row.getStatus())) {
+                totals.put(DashboardMetric.SESSIONS_ACTIVE, row.getSessions());
+            } else if (SessionStatus.COMPLETED.matches(row.getStatus())) {
+                totals.put(DashboardMetric.SESSIONS_COMPLETED, row.getSessions());
+                totals.put(DashboardMetric.ENERGY_COMPLETED_MILLI_WH, row.getEnergyMilliWh());
+            } else if (SessionStatus.FAILED.matches(row.getStatus())) {
+                totals.put(DashboardMetric.SESSIONS_FAILED, row.getSessions());
+            }
+        }
+        totals.put(DashboardMetric.SESSIONS_CREATED, created);
+
+        DashboardCounterRepository.RevenueTotals revenue = counterRepository.sumRevenue();
+        totals.put(DashboardMetric.REVENUE_TRANSACTIONS, revenue.getTransactions());
+        totals.put(DashboardMetric.REVENUE_SUCCESS_COUNT, revenue.getSuccessCount());
+        totals.put(DashboardMetric.REVENUE_SUCCESS_PAISE, revenue.getSuccessPaise());
+        totals.put(DashboardMetric.REVENUE_PENDING_PAISE, revenue.getPendingPaise());
+
+        totals.forEach((metric, value) -> counterRepository.set(metric.getKey(), DashboardMetric.ALL_TIME, value));
+
+        LocalDate oldestDay = LocalDate.now(clock).minusDays(DAY_BUCKET_RETENTION_DAYS);
+        for (DashboardCounterRepository.DayTotals day : counterRepository.countSessionsByStatusPerDay(
+                SessionStatus.FAILED.getValue(), oldestDay.atStartOfDay())) {
+            counterRepository.set(DashboardMetric.SESSIONS_FAILED.getKey(), day.getBucket(), day.getSessions());
+        }
+        int purged = counterRepository.deleteDayBucketsBefore(oldestDay.toString());
+
+        log.info("Dashboard counters rebuilt: {} (purged {} old day buckets)", totals, purged);
+    }
+
+    private void increment(DashboardMetric metric, long delta) {
+        if (delta != 0) {
+            counterRepository.increment(metric.getKey(), DashboardMetric.ALL_TIME, delta);
+        }
+    }
+
+    /**
+     * Point-in-time counter values.
+     */
+    public record Snapshot(Map<DashboardMetric, Long> allTime, Map<DashboardMetric, Long> today) {
+
+        public long get(DashboardMetric metric) {
+            return allTime.getOrDefault(metric, 0L);
+        }
+
+        public long getToday(DashboardMetric metric) {
+            return today.getOrDefault(metric, 0L);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.bentork.ev_system.service;
+
+import com.bentork.ev_system.config.datasource.DataSourceRoute;
+import com.bentork.ev_system.config.datasource.UseDataSource;
+import com.bentork.ev_system.dto.response.DashboardStatsResponse;
+import com.bentork.ev_system.enums.DashboardMetric;
+import com.bentork.ev_system.repository.ChargerRepository;
+import com.bentork.ev_system.repository.StationRepository;
+import com.bentork.ev_system.service.billing.money.Energy;
+import com.bentork.ev_system.service.billing.money.Money;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Builds the admin dashboard from the incrementally maintained counters
+ * (one query) plus fleet aggregates over the small charger/station tables.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@UseDataSource(DataSourceRoute.REPORTING)
+public class DashboardService {
+
+    private final DashboardCounterService dashboardCounterService;
+    private final ChargerRepository chargerRepository;
+    private final StationRepository stationRepository;
+    private final Clock clock;
+
+    @Transactional(readOnly = true)
+    public DashboardStatsResponse getStats() {
+        DashboardCounterService.Snapshot counters = dashboardCounterService.snapshot();
+        ChargerRepository.ChargerTotals chargers = chargerRepository.sumActiveChargers();
+        StationRepository.StationTotals stations = stationRepository.sumActiveStations();
+
+        long createdSessions = counters.get(DashboardMetric.SESSIONS_CREATED);
+        long completedSessions = counters.get(DashboardMetric.SESSIONS_COMPLETED);
+        long transactions = counters.get(DashboardMetric.REVENUE_TRANSACTIONS);
+
+        DashboardStatsResponse stats = DashboardStatsResponse.builder()
+                .totalSessions(completedSessions)
+                .activeSessions(counters.get(DashboardMetric.SESSIONS_ACTIVE))
+                .totalEnergyKwh(Energy.ofMilliWh(counters.get(DashboardMetric.ENERGY_COMPLETED_MILLI_WH)).toKwh())
+                .sessionUptime(percent(completedSessions, createdSessions))
+                .todaysSessionErrors(counters.getToday(DashboardMetric.SESSIONS_FAILED))
+                .totalRevenue(Money.ofPaise(counters.get(DashboardMetric.REVENUE_SUCCESS_PAISE)).toBigDecimal())
+                .pendingRevenue(Money.ofPaise(counters.get(DashboardMetric.REVENUE_PENDING_PAISE)).toBigDecimal())
+                .totalTransactions(transactions)
+                .successRate(percent(counters.get(DashboardMetric.REVENUE_SUCCESS_COUNT), transactions))
+                .totalChargers(chargers.getTotalChargers())
+                .availableChargers(chargers.getAvailableChargers())
+                .acChargers(chargers.getAcChargers())
+                .dcChargers(chargers.getDcChargers())
+                .totalStations(stations.getTotalStations())
+                .activeStations(stations.getActiveStations())
+                .stationUptime(averageStationUptime(chargerRepository.countAvailabilityByActiveStation()))
+                .day(LocalDate.now(clock))
+                .build();
+
+        if (log.isDebugEnabled()) {
+            log.debug("Dashboard stats built: {}", stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Mean of per-station available-charger percentages, rounded to 2 decimals.
+     */
+    static double averageStationUptime(List<ChargerRepository.StationAvailability> stations) {
+        if (stations.isEmpty()) {
+            return 0.0;
+        }
+        double total = 0.0;
+        for (ChargerRepository.StationAvailability station : stations) {
+            total += (station.getAvailableChargers() * 100.0) / station.getChargers();
+        }
+        return Math.round(total / stations.size() * 100.0) / 100.0;
+    }
+
+    private static double percent(long part, long whole) {
+        if (whole == 0) {
+            return 0.0;
+        }
+        return Math.round(part * 100.0 / whole * 100.0) / 100.0;
+    }
+}
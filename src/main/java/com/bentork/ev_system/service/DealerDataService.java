@@ -6,8 +6,11 @@ import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
+import com.bentork.ev_system.config.datasource.DataSourceRoute;
+import com.bentork.ev_system.config.datasource.UseDataSource;
 import com.bentork.ev_system.dto.response.RevenueDTO;
 import com.bentork.ev_system.dto.response.SessionDTO;
+import com.bentork.ev_system.mapper.SessionMapper;
 import com.bentork.ev_system.model.Admin;
 import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.model.Revenue;
@@ -26,8 +29,10 @@ import lombok.RequiredArgsConstructor;
 /**
  * Service for dealers to access data from their assigned stations only.
  * Returns DTOs to avoid Hibernate proxy serialization issues.
+ * Read-only: runs on the reporting pool.
  */
 @Service
+@UseDataSource(DataSourceRoute.REPORTING)
 @Slf4j
 @RequiredArgsConstructor
 public class DealerDataService {
@@ -63,37 +68,7 @@ public class DealerDataService {
     // ==================== DTO MAPPERS ====================
 
     private SessionDTO toSessionDTO(Session session) {
-        if (session == null)
-            return null;
-
-        SessionDTO.SessionDTOBuilder builder = SessionDTO.builder()
-                .id(session.getId())
-                .startTime(session.getStartTime())
-                .endTime(session.getEndTime())
-                .energyKwh(session.getEnergyKwh())
-                .cost(session.getCost())
-                .status(session.getStatus())
-                .sourceType(session.getSourceType())
-                .chargingDurationSeconds(session.getChargingDurationSeconds())
-                .createdAt(session.getCreatedAt());
-
-        // Safely extract IDs and names
-        if (session.getUser() != null) {
-            builder.userId(session.getUser().getId());
-            builder.userName(session.getUser().getName());
-        }
-
-        if (session.getCharger() != null) {
-            builder.chargerId(session.getCharger().getId());
-            builder.chargerName(session.getCharger().getOcppId());
-
-            if (session.getCharger().getStation() != null) {
-                builder.stationId(session.getCharger().getStation().getId());
-                builder.stationName(session.getCharger().getStation().getName());
-            }
-        }
-
-        return builder.build();
+        return session == null ? null : SessionMapper.toSummary(session);
     }
 
     private RevenueDTO toRevenueDTO(Revenue revenue) {
@@ -156,9 +131,13 @@ public class DealerDataService {
         }
 
         log.info("Dealer {} fetching sessions for stations: {}", dealerEmail, stationIds);
-        return sessionRepository.findByStationIdIn(stationIds).stream()
+        // Whole history: active sessions, then the archived ones
+        List<SessionDTO> sessions = sessionRepository.findByStationIdIn(stationIds).stream()
                 .map(this::toSessionDTO)
                 .collect(Collectors.toList());
+        sessionRepository.findArchivedByStationIdIn(stationIds)
+                .forEach(row -> sessions.add(SessionMapper.toSummary(row)));
+        return sessions;
     }
 
     public List<SessionDTO> getSessionsByStation(String dealerEmail, Long stationId) {
@@ -167,16 +146,20 @@ public class DealerDataService {
         }
 
         log.info("Dealer {} fetching sessions for station {}", dealerEmail, stationId);
-        return sessionRepository.findByStationId(stationId).stream()
+        List<SessionDTO> sessions = sessionRepository.findByStationId(stationId).stream()
                 .map(this::toSessionDTO)
                 .collect(Collectors.toList());
+        sessionRepository.findArchivedByStationIdIn(List.of(stationId))
+                .forEach(row -> sessions.add(SessionMapper.toSummary(row)));
+        return sessions;
     }
 
     public Long getTotalSessionCount(String dealerEmail) {
         List<Long> stationIds = getDealerStationIds(dealerEmail);
         if (stationIds.isEmpty())
             return 0L;
-        return (long) sessionRepository.findByStationIdIn(stationIds).size();
+        return sessionRepository.countByStationIdIn(stationIds)
+                + sessionRepository.countArchivedByStationIdIn(stationIds);
     }
 
     // ==================== REVENUE METHODS ====================
@@ -2,12 +2,17 @@ package com.bentork.ev_system.service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.bentork.ev_system.dto.request.DealerStationDTO;
+import com.bentork.ev_system.dto.request.StationDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.mapper.DealerStationMapper;
 import com.bentork.ev_system.model.Admin;
 import com.bentork.ev_system.model.DealerStation;
@@ -15,6 +20,9 @@ import com.bentork.ev_system.model.Station;
 import com.bentork.ev_system.repository.AdminRepository;
 import com.bentork.ev_system.repository.DealerStationRepository;
 import com.bentork.ev_system.repository.StationRepository;
+import com.bentork.ev_system.service.paging.Keyset;
+import com.bentork.ev_system.service.paging.KeysetFilters;
+import com.bentork.ev_system.service.paging.KeysetPager;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
@@ -29,12 +37,19 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class DealerStationService {
 
+    private static final Keyset<DealerStation> KEYSET = Keyset.by(DealerStation.class, "assignedAt",
+            DealerStation::getAssignedAt, DealerStation::getId).fetching("dealer", "station.location");
+
     private final DealerStationRepository dealerStationRepository;
 
     private final AdminRepository adminRepository;
 
     private final StationRepository stationRepository;
 
+    private final StationService stationService;
+
+    private final KeysetPager keysetPager;
+
     /**
      * Assign multiple stations to a dealer (Admin only)
      * 
@@ -104,9 +119,7 @@ public class DealerStationService {
             throw new EntityNotFoundException("Dealer not found with ID: " + dealerId);
         }
 
-        return dealerStationRepository.findByDealerId(dealerId).stream()
-                .map(DealerStationMapper::toDTO)
-                .collect(Collectors.toList());
+        return toDTOs(dealerStationRepository.findRowsByDealerId(dealerId));
     }
 
     /**
@@ -120,9 +133,7 @@ public class DealerStationService {
             throw new EntityNotFoundException("Station not found with ID: " + stationId);
         }
 
-        return dealerStationRepository.findByStationId(stationId).stream()
-                .map(DealerStationMapper::toDTO)
-                .collect(Collectors.toList());
+        return toDTOs(dealerStationRepository.findRowsByStationId(stationId));
     }
 
     /**
@@ -131,9 +142,39 @@ public class DealerStationService {
      * @return List of all assignments
      */
     public List<DealerStationDTO> getAllAssignments() {
-        return dealerStationRepository.findAll().stream()
-                .map(DealerStationMapper::toDTO)
-                .collect(Collectors.toList());
+        return toDTOs(dealerStationRepository.findAllRows());
+    }
+
+    /**
+     * Get dealer-station assignments one page at a time, newest first
+     * 
+     * @param dealerId  optional dealer filter
+     * @param stationId optional station filter
+     * @param cursor    nextCursor of the previous page, null for the first page
+     * @param limit     page size (default 50, max 500)
+     * @return One page of assignments
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DealerStationDTO> getAssignmentPage(Long dealerId, Long stationId, String cursor,
+            Integer limit) {
+        return keysetPager.page(KEYSET, assignmentFilter(dealerId, stationId), cursor, limit,
+                DealerStationMapper::toDTO);
+    }
+
+    /**
+     * Pass every matching assignment to the action; must run in a transaction (NdjsonStreams)
+     * 
+     * @return Number of assignments
+     */
+    public long forEachAssignment(Long dealerId, Long stationId, Consumer<DealerStationDTO> action) {
+        return keysetPager.forEach(KEYSET, assignmentFilter(dealerId, stationId),
+                assignment -> action.accept(DealerStationMapper.toDTO(assignment)));
+    }
+
+    private static Specification<DealerStation> assignmentFilter(Long dealerId, Long stationId) {
+        return Specification.allOf(
+                KeysetFilters.equal("dealer.id", dealerId),
+                KeysetFilters.equal("station.id", stationId));
     }
 
     /**
@@ -159,4 +200,17 @@ public class DealerStationService {
     public Long getDealerStationCount(Long dealerId) {
         return dealerStationRepository.countByDealerId(dealerId);
     }
+
+    /**
+     * Map assignment rows with the station details bulk-read from the station cache
+     * (one MGET) instead of loading each station.
+     */
+    private List<DealerStationDTO> toDTOs(List<DealerStationRepository.AssignmentRow> rows) {
+        Map<Long, StationDTO> stations = stationService.getStationsByIds(rows.stream()
+                .map(DealerStationRepository.AssignmentRow::getStationId)
+                .collect(Collectors.toSet()));
+        return rows.stream()
+                .map(row -> DealerStationMapper.toDTO(row, stations.get(row.getStationId())))
+                .collect(Collectors.toList());
+    }
 }
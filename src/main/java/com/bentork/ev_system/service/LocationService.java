@@ -1,30 +1,41 @@
 package com.bentork.ev_system.service;
 
 import com.bentork.ev_system.dto.request.LocationDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.mapper.LocationMapper;
 import com.bentork.ev_system.model.Admin;
 import com.bentork.ev_system.model.Location;
 import com.bentork.ev_system.repository.AdminRepository;
 import com.bentork.ev_system.repository.LocationRepository;
+import com.bentork.ev_system.service.paging.Keyset;
+import com.bentork.ev_system.service.paging.KeysetFilters;
+import com.bentork.ev_system.service.paging.KeysetPager;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class LocationService {
 
+    // Locations have no timestamp: page by id
+    private static final Keyset<Location> KEYSET = Keyset.byId(Location.class, Location::getId);
+
     private final LocationRepository locationRepo;
 
     private final AdminRepository adminRepo;
 
+    private final KeysetPager keysetPager;
+
     @CacheEvict(value = "locations", allEntries = true)
     public Location addLocation(LocationDTO dto, Admin admin) {
         Location location = LocationMapper.toEntity(dto, admin);
@@ -34,15 +45,28 @@ public class LocationService {
     @Cacheable(value = "locations", key = "'all-location-names'")
     public List<Map<String, Object>> getAllLocationNames() {
         return locationRepo.findAll().stream()
-                .map(location -> {
-                    Map<String, Object> map = new HashMap<>();
-                    map.put("id", location.getId());
-                    map.put("name", location.getName());
-                    return map;
-                })
+                .map(LocationService::toNameEntry)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getLocationNamePage(String city, String cursor, Integer limit) {
+        return keysetPager.page(KEYSET, KeysetFilters.equal("city", city), cursor, limit,
+                LocationService::toNameEntry);
+    }
+
+    public long forEachLocationName(String city, Consumer<Map<String, Object>> action) {
+        return keysetPager.forEach(KEYSET, KeysetFilters.equal("city", city),
+                location -> action.accept(toNameEntry(location)));
+    }
+
+    private static Map<String, Object> toNameEntry(Location location) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", location.getId());
+        map.put("name", location.getName());
+        return map;
+    }
+
 }
 
 
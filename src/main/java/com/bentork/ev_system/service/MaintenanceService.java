@@ -9,6 +9,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.bentork.ev_system.config.cache.CacheTags;
 import com.bentork.ev_system.dto.request.MaintenanceRequest;
 import com.bentork.ev_system.dto.response.MaintenanceResponse;
 import com.bentork.ev_system.enums.BookingStatus;
@@ -27,6 +28,9 @@ import com.bentork.ev_system.repository.MaintenanceScheduleRepository;
 import com.bentork.ev_system.repository.SlotBookingRepository;
 import com.bentork.ev_system.repository.SlotRepository;
 import com.bentork.ev_system.repository.StationRepository;
+import com.bentork.ev_system.service.charger.ChargerIndex;
+import com.bentork.ev_system.service.maintenance.ActiveMaintenance;
+import com.bentork.ev_system.service.maintenance.ActiveMaintenanceIndex;
 import com.bentork.ev_system.service.interfaces.IAdminNotificationService;
 import com.bentork.ev_system.service.interfaces.IMaintenanceService;
 import com.bentork.ev_system.service.interfaces.IUserNotificationService;
@@ -57,6 +61,9 @@ public class MaintenanceService implements IMaintenanceService {
     private final AdminRepository adminRepository;
     private final IAdminNotificationService adminNotificationService;
     private final IUserNotificationService userNotificationService;
+    private final CacheTags cacheTags;
+    private final ChargerIndex chargerIndex;
+    private final ActiveMaintenanceIndex activeMaintenanceIndex;
 
     // ==================== SCHEDULING ====================
 
@@ -87,6 +94,7 @@ public class MaintenanceService implements IMaintenanceService {
         schedule.setStatus(initialStatus);
         schedule.setCreatedByAdmin(resolveCurrentAdmin());
         scheduleRepository.save(schedule);
+        activeMaintenanceIndex.invalidate();
 
         // Cancel overlapping bookings on ALL chargers of this station
         List<Charger> chargers = chargerRepository.findByStationId(stationId);
@@ -145,6 +153,7 @@ public class MaintenanceService implements IMaintenanceService {
         schedule.setStatus(initialStatus);
         schedule.setCreatedByAdmin(resolveCurrentAdmin());
         scheduleRepository.save(schedule);
+        activeMaintenanceIndex.invalidate();
 
         // Cancel overlapping bookings on this charger only
         int cancelledCount = cancelOverlappingBookings(
@@ -202,6 +211,7 @@ public class MaintenanceService implements IMaintenanceService {
         }
 
         scheduleRepository.save(schedule);
+        activeMaintenanceIndex.invalidate();
 
         // Notify admins
         adminNotificationService.createSystemNotification(
@@ -222,6 +232,7 @@ public class MaintenanceService implements IMaintenanceService {
 
         schedule.setStatus(MaintenanceStatus.ACTIVE.getValue());
         scheduleRepository.save(schedule);
+        activeMaintenanceIndex.invalidate();
 
         // Mark chargers offline
         if ("STATION".equals(schedule.getTargetType()) && schedule.getStation() != null) {
@@ -245,6 +256,7 @@ public class MaintenanceService implements IMaintenanceService {
 
         schedule.setStatus(MaintenanceStatus.COMPLETED.getValue());
         scheduleRepository.save(schedule);
+        activeMaintenanceIndex.invalidate();
 
         // NOTE: Do NOT manually set chargers to available here.
         // The next OCPP StatusNotification from the charger hardware will
@@ -261,12 +273,15 @@ public class MaintenanceService implements IMaintenanceService {
 
     @Override
     public boolean isChargerUnderMaintenance(Long chargerId) {
-        Charger charger = chargerRepository.findById(chargerId).orElse(null);
-        if (charger == null) {
+        ActiveMaintenance active = activeMaintenanceIndex.current();
+        if (active.chargerIds().contains(chargerId)) {
+            return true;
+        }
+        if (active.stationIds().isEmpty()) {
             return false;
         }
-        Long stationId = charger.getStation().getId();
-        return scheduleRepository.isChargerUnderMaintenance(chargerId, stationId);
+        Charger charger = chargerRepository.findById(chargerId).orElse(null);
+        return charger != null && active.stationIds().contains(charger.getStation().getId());
     }
 
     @Override
@@ -382,6 +397,9 @@ public class MaintenanceService implements IMaintenanceService {
                     booking.getId(), booking.getUser().getId(), slot.getId());
         }
 
+        if (!overlapping.isEmpty()) {
+            cacheTags.evict(CacheTags.chargerSlots(chargerId));
+        }
         return overlapping.size();
     }
 
@@ -393,6 +411,7 @@ public class MaintenanceService implements IMaintenanceService {
             charger.setStatus(ChargerStatus.OFFLINE.getValue());
             charger.setAvailability(false);
             chargerRepository.save(charger);
+            chargerIndex.put(charger);
             log.debug("Charger {} marked offline for maintenance", charger.getOcppId());
         }
     }
@@ -1,6 +1,11 @@
 package com.bentork.ev_system.service;
 
 import org.springframework.stereotype.Service;
+
+import com.bentork.ev_system.service.billing.money.Money;
+import com.bentork.ev_system.service.billing.money.Percentage;
+import com.bentork.ev_system.service.billing.money.Tariff;
+
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
@@ -12,8 +17,6 @@ import java.math.RoundingMode;
 @Service
 public class MoneyCalculationService {
 
-    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
-
     public static class MoneyCalculationResult {
         private final BigDecimal amountEntered;
         private final BigDecimal effectiveRate;
@@ -51,27 +54,30 @@ public class MoneyCalculationService {
         }
 
         // effectiveRate = baseRate * (1 + pstPercent / 100) + platformFeePerKwh
-        BigDecimal onePlusPst = BigDecimal.ONE.add(pstPercent.divide(HUNDRED, 10, RoundingMode.HALF_UP));
-        BigDecimal rateWithPst = baseRate.multiply(onePlusPst);
-        BigDecimal effectiveRate = rateWithPst.add(platformFeePerKwh).setScale(2, RoundingMode.HALF_UP);
+        Money effectiveRate = Tariff.ofRupeesPerKwh(baseRate, RoundingMode.HALF_UP).withPercentAndSurcharge(
+                Percentage.ofPercent(pstPercent, RoundingMode.HALF_UP),
+                Tariff.ofRupeesPerKwh(platformFeePerKwh, RoundingMode.HALF_UP),
+                RoundingMode.HALF_UP);
 
-        if (effectiveRate.compareTo(BigDecimal.ZERO) <= 0) {
+        if (!effectiveRate.isPositive()) {
             throw new IllegalArgumentException("Effective rate must be positive");
         }
 
         // allocatedKwh = floor(amountEntered / effectiveRate)
-        BigDecimal allocatedKwh = amountEntered.divideToIntegralValue(effectiveRate);
+        // effectiveRate is whole paise, so flooring the amount to paise first cannot change the quotient
+        long allocatedKwh = Money.ofRupees(amountEntered, RoundingMode.FLOOR).paise() / effectiveRate.paise();
 
-        if (allocatedKwh.compareTo(BigDecimal.ONE) < 0) {
+        if (allocatedKwh < 1) {
             throw new IllegalArgumentException("Amount entered is too low. Minimum required for 1 kWh is ₹" + effectiveRate);
         }
 
         // chargeableAmount = allocatedKwh * effectiveRate
-        BigDecimal chargeableAmount = allocatedKwh.multiply(effectiveRate).setScale(2, RoundingMode.HALF_UP);
+        Money chargeableAmount = effectiveRate.times(allocatedKwh);
 
         // refundAmount = amountEntered - chargeableAmount
-        BigDecimal refundAmount = amountEntered.subtract(chargeableAmount).setScale(2, RoundingMode.HALF_UP);
+        Money refundAmount = Money.ofRupees(amountEntered, RoundingMode.HALF_UP).minus(chargeableAmount);
 
-        return new MoneyCalculationResult(amountEntered, effectiveRate, allocatedKwh, chargeableAmount, refundAmount);
+        return new MoneyCalculationResult(amountEntered, effectiveRate.toBigDecimal(), BigDecimal.valueOf(allocatedKwh),
+                chargeableAmount.toBigDecimal(), refundAmount.toBigDecimal());
     }
 }
@@ -1,19 +1,30 @@
 package com.bentork.ev_system.service;
 
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import com.bentork.ev_system.service.warmup.CacheWarmer;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OcppServerService {
 
     private final OcppWebSocketServer ocppWebSocketServer;
+    private final CacheWarmer cacheWarmer;
 
-    @PostConstruct
+    /**
+     * Runs once the context is up: warm the caches first, so the reconnect burst after a
+     * deploy (BootNotification/StatusNotification from every charger) hits warm caches.
+     * Readiness stays down until this returns.
+     */
+    @EventListener(ApplicationReadyEvent.class)
     public void init() {
+        cacheWarmer.warm();
         try {
             ocppWebSocketServer.start();
             log.info("🚀 OCPP 1.6 WebSocket Server initialized and listening on port {}", ocppWebSocketServer.getPort());
@@ -2,10 +2,11 @@ package com.bentork.ev_system.service;
 
 import com.bentork.ev_system.enums.ChargerStatus;
 import com.bentork.ev_system.enums.SessionStatus;
-import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.model.Session;
 import com.bentork.ev_system.repository.ChargerRepository;
 import com.bentork.ev_system.repository.SessionRepository;
+import com.bentork.ev_system.service.charger.ChargerIndex;
+import com.bentork.ev_system.service.charger.ChargerSnapshot;
 import com.bentork.ev_system.service.interfaces.IRFIDChargingService;
 import com.bentork.ev_system.service.interfaces.ISessionService;
 import com.bentork.ev_system.service.interfaces.IUserNotificationService;
@@ -52,6 +53,8 @@ public class OcppWebSocketServer extends WebSocketServer {
     private final ChargerRepository chargerRepository;
     private final SessionRepository sessionRepository;
     private final com.bentork.ev_system.repository.ReceiptRepository receiptRepository;
+    private final DashboardCounterService dashboardCounterService;
+    private final ChargerIndex chargerIndex;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public OcppWebSocketServer(
@@ -66,7 +69,9 @@ public class OcppWebSocketServer extends WebSocketServer {
             IWalletTransactionService walletTransactionService,
             ChargerRepository chargerRepository,
             SessionRepository sessionRepository,
-            com.bentork.ev_system.repository.ReceiptRepository receiptRepository) {
+            com.bentork.ev_system.repository.ReceiptRepository receiptRepository,
+            DashboardCounterService dashboardCounterService,
+            ChargerIndex chargerIndex) {
         super(new InetSocketAddress(port));
         this.connectionManager = connectionManager;
         this.messageRouter = messageRouter;
@@ -77,6 +82,8 @@ public class OcppWebSocketServer extends WebSocketServer {
         this.chargerRepository = chargerRepository;
         this.sessionRepository = sessionRepository;
         this.receiptRepository = receiptRepository;
+        this.dashboardCounterService = dashboardCounterService;
+        this.chargerIndex = chargerIndex;
 
         // ★ FIX: Completely disable automatic WebSocket pings.
         // The charger firmware corrupts messages if a Ping frame and Text frame 
@@ -167,16 +174,14 @@ public class OcppWebSocketServer extends WebSocketServer {
             log.warn("Charger {} disconnected [{}]. Code: {}, Remote: {}, Reason: {}. Checking for active sessions...",
                     ocppId, disconnectType, code, remote, reason);
             try {
-                Charger charger = chargerRepository.findByOcppId(ocppId).orElse(null);
+                ChargerSnapshot charger = chargerIndex.find(ocppId).orElse(null);
                 if (charger != null) {
-                    charger.setAvailability(false);
-                    charger.setOccupied(false);
-                    charger.setStatus(ChargerStatus.OFFLINE.getValue());
-                    chargerRepository.save(charger);
+                    chargerRepository.updateState(charger.id(), ChargerStatus.OFFLINE.getValue(), false, false);
+                    chargerIndex.updateState(charger, ChargerStatus.OFFLINE.getValue(), false, false);
                     log.info("Charger {} status set to OFFLINE", ocppId);
 
                     Session session = sessionRepository.findFirstByChargerAndStatusInOrderByCreatedAtDesc(
-                            charger,
+                            chargerRepository.getReferenceById(charger.id()),
                             java.util.Arrays.asList(SessionStatus.ACTIVE.getValue(),
                                     SessionStatus.INITIATED.getValue()))
                             .orElse(null);
@@ -378,6 +383,7 @@ public class OcppWebSocketServer extends WebSocketServer {
             session.setStatus(SessionStatus.FAILED.getValue());
             session.setEndTime(java.time.LocalDateTime.now());
             sessionRepository.save(session);
+            dashboardCounterService.recordSessionTransition(session, SessionStatus.INITIATED.getValue());
 
             // Refund the user
             com.bentork.ev_system.model.Receipt receipt = receiptRepository.findBySession(session).orElse(null);
@@ -7,8 +7,10 @@ import java.time.format.DateTimeParseException;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +18,7 @@ import com.bentork.ev_system.dto.request.CreateOrderDTO;
 import com.bentork.ev_system.dto.request.RecordPaymentDTO;
 import com.bentork.ev_system.dto.request.UpdateProductionStatusDTO;
 import com.bentork.ev_system.dto.request.UpdateScmDetailsDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.dto.response.OrderResponse;
 import com.bentork.ev_system.enums.OrderStatus;
 import com.bentork.ev_system.enums.PaymentStatus;
@@ -27,6 +30,9 @@ import com.bentork.ev_system.repository.BatteryDataRepository;
 import com.bentork.ev_system.repository.OrderRepository;
 import com.bentork.ev_system.repository.UserRepository;
 import com.bentork.ev_system.service.interfaces.IUserNotificationService;
+import com.bentork.ev_system.service.paging.Keyset;
+import com.bentork.ev_system.service.paging.KeysetFilters;
+import com.bentork.ev_system.service.paging.KeysetPager;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,10 +42,13 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class OrderService {
 
+    private static final Keyset<Order> KEYSET = Keyset.by(Order.class, "createdAt", Order::getCreatedAt, Order::getId);
+
     private final OrderRepository orderRepository;
     private final BatteryDataRepository batteryDataRepository;
     private final UserRepository userRepository;
     private final IUserNotificationService userNotificationService;
+    private final KeysetPager keysetPager;
 
     // ==================== SALES ADMIN METHODS ====================
 
@@ -438,6 +447,25 @@ public class OrderService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * All orders, newest first, one page at a time; optionally filtered by order status
+     * and a createdAt range [from, to).
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrderPage(String orderStatus, LocalDateTime from, LocalDateTime to,
+            String cursor, Integer limit) {
+        return keysetPager.page(KEYSET, orderFilter(orderStatus, from, to), cursor, limit, this::mapToResponse);
+    }
+
+    /**
+     * Same rows as getOrderPage, without paging; must run in a transaction (NdjsonStreams).
+     */
+    public long forEachOrder(String orderStatus, LocalDateTime from, LocalDateTime to,
+            Consumer<OrderResponse> action) {
+        return keysetPager.forEach(KEYSET, orderFilter(orderStatus, from, to),
+                order -> action.accept(mapToResponse(order)));
+    }
+
     /**
      * Get a specific order detail (any authorized admin).
      */
@@ -479,6 +507,12 @@ public class OrderService {
         }
     }
 
+    private static Specification<Order> orderFilter(String orderStatus, LocalDateTime from, LocalDateTime to) {
+        return Specification.allOf(
+                KeysetFilters.equal("orderStatus", orderStatus),
+                KeysetFilters.between("createdAt", from, to));
+    }
+
     private OrderResponse mapToResponse(Order order) {
         OrderResponse response = new OrderResponse();
         response.setId(order.getId());
@@ -1,6 +1,9 @@
 package com.bentork.ev_system.service;
 
+import com.bentork.ev_system.dto.request.ChargerDTO;
 import com.bentork.ev_system.dto.request.PlanAssignmentDTO;
+import com.bentork.ev_system.dto.request.PlanDTO;
+import com.bentork.ev_system.dto.request.StationDTO;
 import com.bentork.ev_system.mapper.PlanAssignmentMapper;
 import com.bentork.ev_system.model.Admin;
 import com.bentork.ev_system.model.Charger;
@@ -12,13 +15,22 @@ import com.bentork.ev_system.repository.ChargerRepository;
 import com.bentork.ev_system.repository.PlanAssignmentRepository;
 import com.bentork.ev_system.repository.PlanRepository;
 import com.bentork.ev_system.repository.StationRepository;
+import com.bentork.ev_system.service.interfaces.IChargerService;
+import com.bentork.ev_system.service.plan.EffectivePlanIndex;
+import com.bentork.ev_system.service.plan.EffectivePlans;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -31,6 +43,10 @@ public class PlanAssignmentService {
 	private final StationRepository stationRepository;
 	private final ChargerRepository chargerRepository;
 	private final AdminRepository adminRepository;
+	private final PlanService planService;
+	private final StationService stationService;
+	private final IChargerService chargerService;
+	private final EffectivePlanIndex effectivePlanIndex;
 
 	/**
 	 * Assign a plan to a station (applies to all chargers in that station).
@@ -59,6 +75,7 @@ public class PlanAssignmentService {
 			PlanAssignment saved = planAssignmentRepository.save(assignment);
 			log.info("Plan assigned to station: planId={}, stationId={}, assignmentId={}, adminId={}",
 					planId, stationId, saved.getId(), adminId);
+			rebuildEffectivePlansForStation(stationId);
 
 			return PlanAssignmentMapper.toDTO(saved);
 		} catch (EntityNotFoundException | IllegalStateException e) {
@@ -99,6 +116,7 @@ public class PlanAssignmentService {
 			PlanAssignment saved = planAssignmentRepository.save(assignment);
 			log.info("Plan assigned to charger: planId={}, chargerId={}, assignmentId={}, adminId={}",
 					planId, chargerId, saved.getId(), adminId);
+			rebuildEffectivePlansForCharger(chargerId);
 
 			return PlanAssignmentMapper.toDTO(saved);
 		} catch (EntityNotFoundException | IllegalStateException e) {
@@ -123,6 +141,12 @@ public class PlanAssignmentService {
 			assignment.setIsActive(false);
 			planAssignmentRepository.save(assignment);
 			log.info("Plan assignment soft-deleted: assignmentId={}", assignmentId);
+
+			if (chargerId(assignment) != null) {
+				rebuildEffectivePlansForCharger(chargerId(assignment));
+			} else if (stationId(assignment) != null) {
+				rebuildEffectivePlansForStation(stationId(assignment));
+			}
 		} catch (EntityNotFoundException e) {
 			log.warn("Failed to remove assignment - not found: assignmentId={}", assignmentId);
 			throw e;
@@ -137,11 +161,8 @@ public class PlanAssignmentService {
 	 */
 	public List<PlanAssignmentDTO> getAssignmentsByStation(Long stationId) {
 		try {
-			List<PlanAssignmentDTO> assignments = planAssignmentRepository
-					.findByStationIdAndIsActiveTrue(stationId)
-					.stream()
-					.map(PlanAssignmentMapper::toDTO)
-					.collect(Collectors.toList());
+			List<PlanAssignmentDTO> assignments = toDTOs(planAssignmentRepository
+					.findByStationIdAndIsActiveTrue(stationId));
 
 			log.debug("Retrieved {} station-level assignments for stationId={}", assignments.size(), stationId);
 			return assignments;
@@ -156,11 +177,8 @@ public class PlanAssignmentService {
 	 */
 	public List<PlanAssignmentDTO> getAssignmentsByCharger(Long chargerId) {
 		try {
-			List<PlanAssignmentDTO> assignments = planAssignmentRepository
-					.findByChargerIdAndIsActiveTrue(chargerId)
-					.stream()
-					.map(PlanAssignmentMapper::toDTO)
-					.collect(Collectors.toList());
+			List<PlanAssignmentDTO> assignments = toDTOs(planAssignmentRepository
+					.findByChargerIdAndIsActiveTrue(chargerId));
 
 			log.debug("Retrieved {} charger-level assignments for chargerId={}", assignments.size(), chargerId);
 			return assignments;
@@ -179,33 +197,16 @@ public class PlanAssignmentService {
 	 * 3. If neither exists → return empty list.
 	 */
 	public List<PlanAssignmentDTO> getEffectivePlansForCharger(Long chargerId) {
-		try {
-			// Step 1: Check charger-level assignments
-			List<PlanAssignment> chargerAssignments = planAssignmentRepository
-					.findByChargerIdAndIsActiveTrue(chargerId);
-
-			if (!chargerAssignments.isEmpty()) {
-				log.debug("Charger {} has {} direct assignment(s), returning charger-level plans",
-						chargerId, chargerAssignments.size());
-				return chargerAssignments.stream()
-						.map(PlanAssignmentMapper::toDTO)
-						.collect(Collectors.toList());
-			}
-
-			// Step 2: Fall back to station-level assignments
-			Charger charger = chargerRepository.findById(chargerId)
-					.orElseThrow(() -> new EntityNotFoundException("Charger not found with ID: " + chargerId));
-
-			Long stationId = charger.getStation().getId();
-			List<PlanAssignment> stationAssignments = planAssignmentRepository
-					.findByStationIdAndIsActiveTrue(stationId);
-
-			log.debug("Charger {} has no direct assignment, falling back to station {} with {} assignment(s)",
-					chargerId, stationId, stationAssignments.size());
+		return getEffectivePlans(chargerId).plans();
+	}
 
-			return stationAssignments.stream()
-					.map(PlanAssignmentMapper::toDTO)
-					.collect(Collectors.toList());
+	/**
+	 * Effective plans for a charger with their ETag, from the materialized map
+	 * (EffectivePlanIndex); resolved and stored on a miss.
+	 */
+	public EffectivePlans getEffectivePlans(Long chargerId) {
+		try {
+			return effectivePlanIndex.find(chargerId, () -> resolveEffectivePlans(chargerId));
 		} catch (EntityNotFoundException e) {
 			log.warn("Failed to get effective plans - charger not found: chargerId={}", chargerId);
 			throw e;
@@ -215,16 +216,114 @@ public class PlanAssignmentService {
 		}
 	}
 
+	/**
+	 * Resolve and store the effective plans of every active charger, skipping chargers another
+	 * node has already stored: two queries plus the bulk plan, station and charger reads.
+	 *
+	 * @return number of entries stored
+	 */
+	public int warmEffectivePlans() {
+		Map<Long, Long> stationByCharger = new LinkedHashMap<>();
+		for (Charger charger : chargerRepository.findByActiveTrue()) {
+			stationByCharger.put(charger.getId(), charger.getStation().getId());
+		}
+		List<PlanAssignment> stationLevel = new ArrayList<>();
+		List<PlanAssignment> chargerLevel = new ArrayList<>();
+		for (PlanAssignment assignment : planAssignmentRepository.findByIsActiveTrue()) {
+			if (chargerId(assignment) != null) {
+				chargerLevel.add(assignment);
+			} else if (stationId(assignment) != null) {
+				stationLevel.add(assignment);
+			}
+		}
+		return effectivePlanIndex.putAllIfAbsent(resolveEffectivePlans(stationByCharger, stationLevel, chargerLevel));
+	}
+
+	private EffectivePlans resolveEffectivePlans(Long chargerId) {
+		List<PlanAssignment> chargerAssignments = planAssignmentRepository.findByChargerIdAndIsActiveTrue(chargerId);
+
+		Charger charger = chargerRepository.findById(chargerId)
+				.orElseThrow(() -> new EntityNotFoundException("Charger not found with ID: " + chargerId));
+		Long stationId = charger.getStation().getId();
+
+		// Charger-level assignments take precedence; only query the station's when there are none
+		List<PlanAssignment> stationAssignments = chargerAssignments.isEmpty()
+				? planAssignmentRepository.findByStationIdAndIsActiveTrue(stationId)
+				: List.of();
+		log.debug("Resolved effective plans for charger {}: {} charger-level, {} station-level assignment(s)",
+				chargerId, chargerAssignments.size(), stationAssignments.size());
+
+		return resolveEffectivePlans(Map.of(chargerId, stationId), stationAssignments, chargerAssignments)
+				.get(chargerId);
+	}
+
+	/**
+	 * Re-resolve one charger after a charger-level assignment change. The assignment is
+	 * already saved, so a failure here only evicts the entry (it reloads on the next read).
+	 */
+	private void rebuildEffectivePlansForCharger(Long chargerId) {
+		try {
+			effectivePlanIndex.putAll(Map.of(chargerId, resolveEffectivePlans(chargerId)));
+		} catch (Exception e) {
+			log.warn("Failed to rebuild effective plans for charger {}: {}", chargerId, e.getMessage());
+			effectivePlanIndex.evict(chargerId);
+		}
+	}
+
+	/**
+	 * Re-resolve every charger of a station after a station-level assignment change.
+	 */
+	private void rebuildEffectivePlansForStation(Long stationId) {
+		List<Charger> chargers = List.of();
+		try {
+			chargers = chargerRepository.findByStationId(stationId);
+			Map<Long, Long> stationByCharger = new LinkedHashMap<>();
+			chargers.forEach(charger -> stationByCharger.put(charger.getId(), stationId));
+			effectivePlanIndex.putAll(resolveEffectivePlans(stationByCharger,
+					planAssignmentRepository.findByStationIdAndIsActiveTrue(stationId),
+					planAssignmentRepository.findByChargerStationIdAndIsActiveTrue(stationId)));
+			log.debug("Rebuilt effective plans for {} charger(s) of station {}", chargers.size(), stationId);
+		} catch (Exception e) {
+			log.warn("Failed to rebuild effective plans for station {}: {}", stationId, e.getMessage());
+			chargers.forEach(charger -> effectivePlanIndex.evict(charger.getId()));
+		}
+	}
+
+	/**
+	 * Resolve many chargers at once: per charger its own assignments, else its station's.
+	 * All assignments are mapped in one toDTOs call.
+	 */
+	private Map<Long, EffectivePlans> resolveEffectivePlans(Map<Long, Long> stationByCharger,
+			List<PlanAssignment> stationLevel, List<PlanAssignment> chargerLevel) {
+		Map<Long, List<PlanAssignment>> byStation = stationLevel.stream()
+				.collect(Collectors.groupingBy(PlanAssignmentService::stationId, LinkedHashMap::new,
+						Collectors.toList()));
+		Map<Long, List<PlanAssignment>> byCharger = chargerLevel.stream()
+				.collect(Collectors.groupingBy(PlanAssignmentService::chargerId, LinkedHashMap::new,
+						Collectors.toList()));
+
+		List<PlanAssignment> all = new ArrayList<>(stationLevel);
+		all.addAll(chargerLevel);
+		Map<Long, PlanAssignmentDTO> dtos = toDTOs(all).stream()
+				.collect(Collectors.toMap(PlanAssignmentDTO::getId, Function.identity()));
+
+		Map<Long, EffectivePlans> resolved = new LinkedHashMap<>();
+		stationByCharger.forEach((chargerId, stationId) -> {
+			List<PlanAssignment> assignments = byCharger.getOrDefault(chargerId,
+					byStation.getOrDefault(stationId, List.of()));
+			resolved.put(chargerId, EffectivePlans.of(stationId, assignments.stream()
+					.map(assignment -> dtos.get(assignment.getId()))
+					.collect(Collectors.toList())));
+		});
+		return resolved;
+	}
+
 	/**
 	 * Get all active plan assignments.
 	 */
 	public List<PlanAssignmentDTO> getAllAssignments() {
 		try {
-			List<PlanAssignmentDTO> assignments = planAssignmentRepository
-					.findByIsActiveTrue()
-					.stream()
-					.map(PlanAssignmentMapper::toDTO)
-					.collect(Collectors.toList());
+			List<PlanAssignmentDTO> assignments = toDTOs(planAssignmentRepository.findByIsActiveTrue());
 
 			log.info("Retrieved {} total active plan assignments", assignments.size());
 			return assignments;
@@ -233,4 +332,40 @@ public class PlanAssignmentService {
 			throw e;
 		}
 	}
+
+	/**
+	 * Map assignments with the plan, station and charger details bulk-read from their
+	 * per-id caches (one MGET each) instead of loading every association.
+	 */
+	private List<PlanAssignmentDTO> toDTOs(List<PlanAssignment> assignments) {
+		if (assignments.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, PlanDTO> plans = planService.getPlansByIds(ids(assignments, PlanAssignmentService::planId));
+		Map<Long, StationDTO> stations = stationService
+				.getStationsByIds(ids(assignments, PlanAssignmentService::stationId));
+		Map<Long, ChargerDTO> chargers = chargerService
+				.getChargersByIds(ids(assignments, PlanAssignmentService::chargerId));
+		return assignments.stream()
+				.map(a -> PlanAssignmentMapper.toDTO(a, plans.get(planId(a)), stations.get(stationId(a)),
+						chargers.get(chargerId(a))))
+				.collect(Collectors.toList());
+	}
+
+	private static Set<Long> ids(List<PlanAssignment> assignments, Function<PlanAssignment, Long> id) {
+		return assignments.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+	}
+
+	// Association ids without initializing the lazy proxies
+	private static Long planId(PlanAssignment assignment) {
+		return assignment.getPlan() != null ? assignment.getPlan().getId() : null;
+	}
+
+	private static Long stationId(PlanAssignment assignment) {
+		return assignment.getStation() != null ? assignment.getStation().getId() : null;
+	}
+
+	private static Long chargerId(PlanAssignment assignment) {
+		return assignment.getCharger() != null ? assignment.getCharger().getId() : null;
+	}
 }
@@ -1,5 +1,7 @@
 package com.bentork.ev_system.service;
 
+import com.bentork.ev_system.config.cache.CacheBulkReader;
+import com.bentork.ev_system.config.cache.CacheTags;
 import com.bentork.ev_system.dto.request.PlanDTO;
 import com.bentork.ev_system.mapper.PlanMapper;
 import com.bentork.ev_system.model.Admin;
@@ -13,7 +15,10 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -25,6 +30,10 @@ public class PlanService {
 
     private final AdminRepository adminRepository;
 
+    private final CacheBulkReader cacheBulkReader;
+
+    private final CacheTags cacheTags;
+
     @CacheEvict(value = "plans", allEntries = true)
     public PlanDTO createPlan(PlanDTO dto, Long adminId) {
         try {
@@ -88,6 +97,20 @@ public class PlanService {
         }
     }
 
+    /**
+     * Plans by id through the per-id "plans" entries: one MGET, one IN-query for the misses.
+     *
+     * @return keyed by id in the given order; unknown ids are left out
+     */
+    public Map<Long, PlanDTO> getPlansByIds(Collection<Long> ids) {
+        return cacheBulkReader.getAll("plans", ids, this::loadPlans);
+    }
+
+    private Map<Long, PlanDTO> loadPlans(Set<Long> ids) {
+        return planRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Plan::getId, PlanMapper::toDTO));
+    }
+
     @CacheEvict(value = "plans", allEntries = true)
     public PlanDTO updatePlan(Long id, PlanDTO dto) {
         try {
@@ -102,6 +125,8 @@ public class PlanService {
             plan.setRate(dto.getRate());
 
             Plan updated = planRepository.save(plan);
+            // Effective plan entries that show this plan reload on next read
+            cacheTags.evict(CacheTags.plan(id));
             log.info("Plan updated: id={}, planName={}", id, updated.getPlanName());
 
             return PlanMapper.toDTO(updated);
@@ -122,6 +147,7 @@ public class PlanService {
 
             plan.setIsActive(false);
             planRepository.save(plan);
+            cacheTags.evict(CacheTags.plan(id));
             log.info("Plan soft-deleted: id={}", id);
         } catch (EntityNotFoundException e) {
             log.warn("Failed to delete plan - Plan not found: id={}", id);
@@ -7,6 +7,7 @@ import com.bentork.ev_system.service.interfaces.IAdminNotificationService;
 import com.bentork.ev_system.service.interfaces.IUserNotificationService;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -16,9 +17,9 @@ import com.bentork.ev_system.exception.domain.RFIDCardException;
 import com.bentork.ev_system.exception.domain.SessionNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
+import com.bentork.ev_system.config.cache.CacheTags;
 import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.model.RFIDCard;
 import com.bentork.ev_system.model.Revenue;
@@ -31,6 +32,8 @@ import com.bentork.ev_system.repository.RFIDCardRepository;
 import com.bentork.ev_system.repository.RevenueRepository;
 import com.bentork.ev_system.repository.SessionRepository;
 import com.bentork.ev_system.repository.UserRepository;
+import com.bentork.ev_system.service.billing.money.Energy;
+import com.bentork.ev_system.service.billing.money.Tariff;
 
 import com.bentork.ev_system.service.interfaces.IRFIDChargingService;
 
@@ -50,6 +53,8 @@ public class RFIDChargingService implements IRFIDChargingService {
     private final TaxCalculationService taxService;
     private final PushNotificationService pushNotificationService;
     private final SlotBookingService slotBookingService;
+    private final DashboardCounterService dashboardCounterService;
+    private final CacheTags cacheTags;
 
     // Start charging
     public Session startCharging(String cardNumber, Long chargerId, String boxId) {
@@ -90,6 +95,7 @@ public class RFIDChargingService implements IRFIDChargingService {
             session.setSourceType("RFID");
 
             Session saved = sessionRepo.save(session);
+            dashboardCounterService.recordSessionCreated(saved);
 
             log.info("RFID charging session started: sessionId={}, userId={}, chargerId={}, cardNumber={}",
                     saved.getId(), user.getId(), chargerId, cardNumber);
@@ -113,7 +119,6 @@ public class RFIDChargingService implements IRFIDChargingService {
     }
 
     // Update energy
-    @CacheEvict(value = "user-data", allEntries = true)
     public Session updateEnergy(Long sessionId, BigDecimal currentKwh) {
         try {
             if (log.isDebugEnabled()) {
@@ -127,14 +132,19 @@ public class RFIDChargingService implements IRFIDChargingService {
             if (!SessionStatus.ACTIVE.matches(session.getStatus()))
                 return session;
 
-            BigDecimal previous = BigDecimal.valueOf(session.getEnergyKwh());
-            BigDecimal delta = currentKwh.subtract(previous);
+            Energy previous = Energy.ofKwh(session.getEnergyKwh());
+            Energy current = Energy.ofKwh(currentKwh, RoundingMode.HALF_UP);
 
-            if (delta.compareTo(BigDecimal.ZERO) <= 0)
+            if (current.compareTo(previous) <= 0)
                 return session;
 
+            // Price the cumulative reading and charge the difference, so per-sample
+            // rounding to paise never accumulates drift over a long session
             Charger charger = session.getCharger();
-            BigDecimal cost = delta.multiply(BigDecimal.valueOf(charger.getRate()));
+            Tariff rate = Tariff.ofRupeesPerKwh(charger.getRate());
+            BigDecimal cost = rate.costOf(current, RoundingMode.HALF_UP)
+                    .minus(rate.costOf(previous, RoundingMode.HALF_UP))
+                    .toBigDecimal();
 
             User user = session.getUser();
 
@@ -160,12 +170,16 @@ public class RFIDChargingService implements IRFIDChargingService {
             session.setCost(session.getCost() + cost.doubleValue());
 
             userRepo.save(user);
-            Session updated = sessionRepo.save(session);
+            // Keep the instance loaded with its user and charger: save() merges into a copy
+            // whose lazy associations are not loaded once it is detached
+            sessionRepo.save(session);
+            // Only this user's cached entries carry the old balance
+            cacheTags.evict(CacheTags.user(user.getId()), CacheTags.USERS);
 
             log.info("Energy updated for session: sessionId={}, energy={}, totalCost={}, walletBalance={}",
-                    sessionId, currentKwh, updated.getCost(), user.getWalletBalance());
+                    sessionId, currentKwh, session.getCost(), user.getWalletBalance());
 
-            return updated;
+            return session;
         } catch (Exception e) {
             log.error("Failed to update energy: sessionId={}, currentKwh={}: {}",
                     sessionId, currentKwh, e.getMessage(), e);
@@ -173,8 +187,7 @@ public class RFIDChargingService implements IRFIDChargingService {
         }
     }
 
-    // Stop charging
-    @CacheEvict(value = "user-data", allEntries = true)
+    // Stop charging (the wallet debit evicts the user's cached entries)
     public Session stopCharging(Long sessionId) {
         try {
             log.info("Stopping charging session: sessionId={}", sessionId);
@@ -193,7 +206,10 @@ public class RFIDChargingService implements IRFIDChargingService {
 
             log.info("Relay OFF → Charger {}", session.getCharger().getId());
 
-            Session saved = sessionRepo.save(session);
+            // Keep the instance loaded with its user and charger (see updateEnergy)
+            sessionRepo.save(session);
+            Session saved = session;
+            dashboardCounterService.recordSessionTransition(saved, SessionStatus.ACTIVE.getValue());
 
             // 🔹 Final cost including platform fee (floored-unit logic) and PST
             BigDecimal platformFee = taxService.calculatePlatformFee(
@@ -250,6 +266,7 @@ public class RFIDChargingService implements IRFIDChargingService {
                 revenue.setPaymentStatus("success");
 
                 revenueRepo.save(revenue);
+                dashboardCounterService.recordRevenue(revenue.getAmount(), revenue.getPaymentStatus(), 1);
 
                 log.info("Revenue recorded for session: sessionId={}, amount={}, transactionId={}",
                         sessionId, finalCost, tx.getTransactionRef());
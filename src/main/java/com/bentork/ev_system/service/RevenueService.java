@@ -1,19 +1,27 @@
 package com.bentork.ev_system.service;
 
+import com.bentork.ev_system.config.datasource.DataSourceRoute;
+import com.bentork.ev_system.config.datasource.UseDataSource;
 import com.bentork.ev_system.dto.request.RevenueDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
+import com.bentork.ev_system.enums.DashboardMetric;
 import com.bentork.ev_system.mapper.RevenueMapper;
 import com.bentork.ev_system.model.Revenue;
 import com.bentork.ev_system.model.Session;
 import com.bentork.ev_system.repository.RevenueRepository;
+import com.bentork.ev_system.service.paging.Keyset;
+import com.bentork.ev_system.service.paging.KeysetFilters;
+import com.bentork.ev_system.service.paging.KeysetPager;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.bentork.ev_system.service.interfaces.IRevenueService;
@@ -23,10 +31,18 @@ import com.bentork.ev_system.service.interfaces.IRevenueService;
 @Transactional
 public class RevenueService implements IRevenueService {
 
+    private static final Keyset<Revenue> KEYSET = Keyset.by(Revenue.class, "createdAt",
+            Revenue::getCreatedAt, Revenue::getId);
+
     private final RevenueRepository revenueRepository;
+    private final DashboardCounterService dashboardCounterService;
+    private final KeysetPager keysetPager;
 
-    public RevenueService(RevenueRepository revenueRepository) {
+    public RevenueService(RevenueRepository revenueRepository, DashboardCounterService dashboardCounterService,
+            KeysetPager keysetPager) {
         this.revenueRepository = revenueRepository;
+        this.dashboardCounterService = dashboardCounterService;
+        this.keysetPager = keysetPager;
     }
 
     @Override
@@ -44,6 +60,7 @@ public class RevenueService implements IRevenueService {
                     amount);
 
             Revenue saved = revenueRepository.save(revenue);
+            dashboardCounterService.recordRevenue(saved.getAmount(), saved.getPaymentStatus(), 1);
             log.info("Revenue recorded: id={}, sessionId={}, amount={}, status={}",
                     saved.getId(), session.getId(), amount, paymentStatus);
 
@@ -56,11 +73,10 @@ public class RevenueService implements IRevenueService {
     }
 
     // Calculate Total Revenue
-    @Cacheable(value = "dashboard-stats", key = "'total-revenue'")
     public BigDecimal getTotalRevenue() {
         try {
-            double total = revenueRepository.sumAmountByPaymentStatus("SUCCESS");
-            BigDecimal result = BigDecimal.valueOf(total);
+            BigDecimal result = BigDecimal.valueOf(
+                    dashboardCounterService.get(DashboardMetric.REVENUE_SUCCESS_PAISE), 2);
             if (log.isDebugEnabled()) {
                 log.debug("Total revenue calculated: {}", result);
             }
@@ -72,11 +88,10 @@ public class RevenueService implements IRevenueService {
     }
 
     // Pending Revenue (
-    @Cacheable(value = "dashboard-stats", key = "'pending-revenue'")
     public BigDecimal getPendingRevenue() {
         try {
-            double pending = revenueRepository.sumAmountByPaymentStatus("PENDING");
-            BigDecimal result = BigDecimal.valueOf(pending);
+            BigDecimal result = BigDecimal.valueOf(
+                    dashboardCounterService.get(DashboardMetric.REVENUE_PENDING_PAISE), 2);
             if (log.isDebugEnabled()) {
                 log.debug("Pending revenue calculated: {}", result);
             }
@@ -87,6 +102,7 @@ public class RevenueService implements IRevenueService {
         }
     }
 
+    @UseDataSource(DataSourceRoute.REPORTING)
     public List<RevenueDTO> getAllRevenue() {
         try {
             List<RevenueDTO> revenues = revenueRepository.findAll().stream()
@@ -104,6 +120,34 @@ public class RevenueService implements IRevenueService {
         }
     }
 
+    /**
+     * Newest revenue records first, one page at a time. RevenueMapper only reads the ids
+     * of the lazy associations, so no association is loaded.
+     */
+    @Override
+    @UseDataSource(DataSourceRoute.REPORTING)
+    public CursorPage<RevenueDTO> getRevenuePage(String paymentStatus, Long stationId, LocalDateTime from,
+            LocalDateTime to, String cursor, Integer limit) {
+        return keysetPager.page(KEYSET, filter(paymentStatus, stationId, from, to), cursor, limit,
+                RevenueMapper::toDTO);
+    }
+
+    @Override
+    @UseDataSource(DataSourceRoute.REPORTING)
+    public long forEachRevenue(String paymentStatus, Long stationId, LocalDateTime from, LocalDateTime to,
+            Consumer<RevenueDTO> action) {
+        return keysetPager.forEach(KEYSET, filter(paymentStatus, stationId, from, to),
+                revenue -> action.accept(RevenueMapper.toDTO(revenue)));
+    }
+
+    private static Specification<Revenue> filter(String paymentStatus, Long stationId, LocalDateTime from,
+            LocalDateTime to) {
+        return Specification.allOf(
+                KeysetFilters.equal("paymentStatus", paymentStatus),
+                KeysetFilters.equal("station.id", stationId),
+                KeysetFilters.between("createdAt", from, to));
+    }
+
     public RevenueDTO getById(Long id) {
         try {
             Revenue r = revenueRepository.findById(id)
@@ -125,10 +169,10 @@ public class RevenueService implements IRevenueService {
 
     public void delete(Long id) {
         try {
-            if (!revenueRepository.existsById(id)) {
-                throw new RuntimeException("Revenue not found");
-            }
-            revenueRepository.deleteById(id);
+            Revenue revenue = revenueRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Revenue not found"));
+            revenueRepository.delete(revenue);
+            dashboardCounterService.recordRevenue(revenue.getAmount(), revenue.getPaymentStatus(), -1);
             log.info("Revenue deleted: id={}", id);
         } catch (RuntimeException e) {
             log.warn("Failed to delete revenue - Revenue not found: id={}", id);
@@ -140,10 +184,9 @@ public class RevenueService implements IRevenueService {
     }
 
     // Total Transactions
-    @Cacheable(value = "dashboard-stats", key = "'total-transactions'")
     public Long getTotalTransactions() {
         try {
-            Long total = revenueRepository.count();
+            Long total = dashboardCounterService.get(DashboardMetric.REVENUE_TRANSACTIONS);
 
             if (log.isDebugEnabled()) {
                 log.debug("Total transactions count: {}", total);
@@ -157,17 +200,16 @@ public class RevenueService implements IRevenueService {
     }
 
     // Success Rate
-    @Cacheable(value = "dashboard-stats", key = "'success-rate'")
     public Double getSuccessRate() {
         try {
-            long totalTransactions = revenueRepository.count();
+            long totalTransactions = dashboardCounterService.get(DashboardMetric.REVENUE_TRANSACTIONS);
 
             if (totalTransactions == 0) {
                 log.warn("No transactions found for success rate calculation");
                 return 0.0;
             }
 
-            long successfulTransactions = revenueRepository.countByPaymentStatusIgnoreCase("SUCCESS");
+            long successfulTransactions = dashboardCounterService.get(DashboardMetric.REVENUE_SUCCESS_COUNT);
 
             double successRate = (successfulTransactions * 100.0) / totalTransactions;
             double roundedRate = Math.round(successRate * 100.0) / 100.0;
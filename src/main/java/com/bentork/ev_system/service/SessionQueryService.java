@@ -1,22 +1,30 @@
 package com.bentork.ev_system.service;
 
+import com.bentork.ev_system.dto.response.CursorPage;
+import com.bentork.ev_system.dto.response.SessionDTO;
+import com.bentork.ev_system.enums.DashboardMetric;
 import com.bentork.ev_system.enums.SessionStatus;
+import com.bentork.ev_system.mapper.SessionMapper;
 import com.bentork.ev_system.model.Session;
 import com.bentork.ev_system.repository.SessionRepository;
+import com.bentork.ev_system.service.billing.money.Energy;
 import com.bentork.ev_system.service.interfaces.ISessionQueryService;
+import com.bentork.ev_system.service.paging.Keyset;
+import com.bentork.ev_system.service.paging.KeysetFilters;
+import com.bentork.ev_system.service.paging.KeysetPager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Clock;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Read-only session query service.
@@ -27,14 +35,18 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class SessionQueryService implements ISessionQueryService {
 
+    // User, charger and station are mapped into every row; fetch them with the session
+    private static final Keyset<Session> KEYSET = Keyset.by(Session.class, "createdAt",
+            Session::getCreatedAt, Session::getId).fetching("user", "charger.station.location");
+
     private final SessionRepository sessionRepository;
-    private final Clock clock;
+    private final DashboardCounterService dashboardCounterService;
+    private final KeysetPager keysetPager;
 
     @Override
-    @Cacheable(value = "dashboard-stats", key = "'total-sessions'")
     public long getTotalSessions() {
         try {
-            long total = sessionRepository.countByStatus(SessionStatus.COMPLETED.getValue());
+            long total = dashboardCounterService.get(DashboardMetric.SESSIONS_COMPLETED);
             if (log.isDebugEnabled()) {
                 log.debug("Total completed sessions: {}", total);
             }
@@ -46,10 +58,10 @@ public class SessionQueryService implements ISessionQueryService {
     }
 
     @Override
-    @Cacheable(value = "dashboard-stats", key = "'total-energy'")
     public double getTotalEnergyConsumed() {
         try {
-            double totalEnergy = sessionRepository.sumEnergyByStatus(SessionStatus.COMPLETED.getValue());
+            double totalEnergy = Energy.ofMilliWh(
+                    dashboardCounterService.get(DashboardMetric.ENERGY_COMPLETED_MILLI_WH)).toKwh();
             if (log.isDebugEnabled()) {
                 log.debug("Total energy consumed: {} kWh", totalEnergy);
             }
@@ -61,10 +73,9 @@ public class SessionQueryService implements ISessionQueryService {
     }
 
     @Override
-    @Cacheable(value = "dashboard-stats", key = "'active-sessions'")
     public Long getActiveSessions() {
         try {
-            long activeCount = sessionRepository.countByStatus(SessionStatus.ACTIVE.getValue());
+            long activeCount = dashboardCounterService.get(DashboardMetric.SESSIONS_ACTIVE);
             if (log.isDebugEnabled()) {
                 log.debug("Active sessions count: {}", activeCount);
             }
@@ -76,15 +87,14 @@ public class SessionQueryService implements ISessionQueryService {
     }
 
     @Override
-    @Cacheable(value = "dashboard-stats", key = "'session-avg-uptime'")
     public Double getAverageUptime() {
         try {
-            long totalSessions = sessionRepository.count();
+            long totalSessions = dashboardCounterService.get(DashboardMetric.SESSIONS_CREATED);
             if (totalSessions == 0) {
                 log.warn("No sessions found for uptime calculation");
                 return 0.0;
             }
-            long completedSessions = sessionRepository.countByStatus(SessionStatus.COMPLETED.getValue());
+            long completedSessions = dashboardCounterService.get(DashboardMetric.SESSIONS_COMPLETED);
             double uptime = (completedSessions * 100.0) / totalSessions;
             double roundedUptime = Math.round(uptime * 100.0) / 100.0;
             log.info("Average uptime calculated: {}% (completed={}, total={})",
@@ -113,15 +123,10 @@ public class SessionQueryService implements ISessionQueryService {
     }
 
     @Override
-    @Cacheable(value = "dashboard-stats", key = "'todays-session-errors'")
     public Long getTodaysErrorCount() {
         try {
-            LocalDate today = LocalDate.now(clock);
-            LocalDateTime startOfDay = today.atStartOfDay();
-            LocalDateTime endOfDay = today.atTime(23, 59, 59, 999999999);
-            log.debug("Counting today's errors via DB query");
-            return sessionRepository.countByStatusAndCreatedAtBetween(
-                    SessionStatus.FAILED.getValue(), startOfDay, endOfDay);
+            log.debug("Reading today's session errors from dashboard counters");
+            return dashboardCounterService.getToday(DashboardMetric.SESSIONS_FAILED);
         } catch (DataAccessException e) {
             log.error("Error while accessing data: {}", e);
             throw e;
@@ -145,6 +150,30 @@ public class SessionQueryService implements ISessionQueryService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SessionDTO> getSessionPage(String status, Long userId, Long chargerId, LocalDateTime from,
+            LocalDateTime to, String cursor, Integer limit) {
+        return keysetPager.page(KEYSET, filter(status, userId, chargerId, from, to), cursor, limit,
+                SessionMapper::toSummary);
+    }
+
+    @Override
+    public long forEachSession(String status, Long userId, Long chargerId, LocalDateTime from, LocalDateTime to,
+            Consumer<SessionDTO> action) {
+        return keysetPager.forEach(KEYSET, filter(status, userId, chargerId, from, to),
+                session -> action.accept(SessionMapper.toSummary(session)));
+    }
+
+    private static Specification<Session> filter(String status, Long userId, Long chargerId, LocalDateTime from,
+            LocalDateTime to) {
+        return Specification.allOf(
+                KeysetFilters.equal("status", status),
+                KeysetFilters.equal("user.id", userId),
+                KeysetFilters.equal("charger.id", chargerId),
+                KeysetFilters.between("createdAt", from, to));
+    }
+
     @Override
     public List<Map<String, Object>> getActiveSessionDetails() {
         try {
@@ -153,13 +182,14 @@ public class SessionQueryService implements ISessionQueryService {
                     SessionStatus.ACTIVE.getValue(),
                     SessionStatus.INITIATED.getValue());
 
-            List<Session> activeSessions = sessionRepository.findByStatusInOrderByCreatedAtDesc(activeStatuses);
+            List<SessionRepository.SessionStatusRow> activeSessions =
+                    sessionRepository.findStatusRowsByStatusIn(activeStatuses);
 
             List<Map<String, Object>> result = activeSessions.stream()
                     .map(session -> {
                         Map<String, Object> map = new HashMap<>();
                         map.put("sessionId", session.getId());
-                        map.put("userId", session.getUser() != null ? session.getUser().getId() : null);
+                        map.put("userId", session.getUserId());
                         map.put("status", session.getStatus());
                         return map;
                     })
@@ -12,12 +12,14 @@ import com.bentork.ev_system.service.interfaces.ISessionQueryService;
 import com.bentork.ev_system.service.interfaces.IMaintenanceService;
 import com.bentork.ev_system.exception.domain.StationUnderMaintenanceException;
 import com.bentork.ev_system.dto.request.SessionDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.exception.ChargerBusyException;
 import com.bentork.ev_system.exception.domain.ChargerNotFoundException;
 import com.bentork.ev_system.exception.domain.ChargerOfflineException;
 import com.bentork.ev_system.exception.domain.InvalidReceiptStateException;
 import com.bentork.ev_system.exception.domain.SessionNotFoundException;
 import com.bentork.ev_system.exception.domain.UnauthorizedSessionAccessException;
+import com.bentork.ev_system.exception.domain.UserNotFoundException;
 import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.model.Receipt;
 import com.bentork.ev_system.model.Session;
@@ -39,6 +41,7 @@ import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import com.bentork.ev_system.service.interfaces.ISessionService;
 
@@ -71,6 +74,7 @@ public class SessionService implements ISessionService {
 	private final SessionReminderService sessionReminderService;
 	private final MoneyCalculationService moneyCalculationService;
 	private final SlotBookingService slotBookingService;
+	private final DashboardCounterService dashboardCounterService;
 
 	private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(15);
 
@@ -91,7 +95,8 @@ public class SessionService implements ISessionService {
 			StaleSessionCleanupService staleSessionCleanupService,
 			SessionReminderService sessionReminderService,
 			MoneyCalculationService moneyCalculationService,
-			SlotBookingService slotBookingService) {
+			SlotBookingService slotBookingService,
+			DashboardCounterService dashboardCounterService) {
 		this.sessionRepository = sessionRepository;
 		this.receiptRepository = receiptRepository;
 		this.chargerRepository = chargerRepository;
@@ -109,6 +114,7 @@ public class SessionService implements ISessionService {
 		this.sessionReminderService = sessionReminderService;
 		this.moneyCalculationService = moneyCalculationService;
 		this.slotBookingService = slotBookingService;
+		this.dashboardCounterService = dashboardCounterService;
 	}
 
 	// ===================== LIFECYCLE METHODS =====================
@@ -119,10 +125,10 @@ public class SessionService implements ISessionService {
 				email, request.getChargerId(), request.getAmountEntered(), request.getSelectedKwh());
 
 		User user = userRepository.findByEmail(email)
-				.orElseThrow(() -> new RuntimeException("User not found"));
+				.orElseThrow(() -> new UserNotFoundException(email));
 
 		Charger charger = chargerRepository.findById(request.getChargerId())
-				.orElseThrow(() -> new RuntimeException("Charger not found"));
+				.orElseThrow(() -> new ChargerNotFoundException(request.getChargerId()));
 
 		Receipt receipt;
 		if (request.getAmountEntered() != null) {
@@ -175,7 +181,7 @@ public class SessionService implements ISessionService {
 		log.info("Stopping session for user: {}, sessionId={}", email, request.getSessionId());
 
 		User user = userRepository.findByEmail(email)
-				.orElseThrow(() -> new RuntimeException("User not found"));
+				.orElseThrow(() -> new UserNotFoundException(email));
 
 		return stopSession(user.getId(), request);
 	}
@@ -246,6 +252,7 @@ public class SessionService implements ISessionService {
 			session.setCreatedAt(LocalDateTime.now());
 			session.setSourceType("SESSION");
 			sessionRepository.save(session);
+			dashboardCounterService.recordSessionCreated(session);
 
 			// Link receipt to session
 			receipt.setSession(session);
@@ -286,6 +293,7 @@ public class SessionService implements ISessionService {
 											s.setStatus(SessionStatus.FAILED.getValue());
 											s.setEndTime(LocalDateTime.now());
 											sessionRepository.save(s);
+											dashboardCounterService.recordSessionTransition(s, SessionStatus.INITIATED.getValue());
 
 											if (receiptAmount != null && receiptAmount.compareTo(BigDecimal.ZERO) > 0) {
 												scheduler.submit(() -> {
@@ -464,6 +472,7 @@ public class SessionService implements ISessionService {
 				session.setStatus(SessionStatus.ACTIVE.getValue());
 				session.setStartTime(LocalDateTime.now());
 				sessionRepository.save(session);
+				dashboardCounterService.recordSessionTransition(session, SessionStatus.INITIATED.getValue());
 				log.info("Session {} activated under lock for charger {}", session.getId(), ocppId);
 			}
 
@@ -508,6 +517,16 @@ public class SessionService implements ISessionService {
 		return sessionQueryService.getallSessionRecords();
 	}
 
+	public CursorPage<com.bentork.ev_system.dto.response.SessionDTO> getSessionPage(String status, Long userId,
+			Long chargerId, LocalDateTime from, LocalDateTime to, String cursor, Integer limit) {
+		return sessionQueryService.getSessionPage(status, userId, chargerId, from, to, cursor, limit);
+	}
+
+	public long forEachSession(String status, Long userId, Long chargerId, LocalDateTime from, LocalDateTime to,
+			Consumer<com.bentork.ev_system.dto.response.SessionDTO> action) {
+		return sessionQueryService.forEachSession(status, userId, chargerId, from, to, action);
+	}
+
 	public List<Map<String, Object>> getActiveSessionDetails() {
 		return sessionQueryService.getActiveSessionDetails();
 	}
@@ -543,9 +562,11 @@ public class SessionService implements ISessionService {
 				"Cannot start charging - charger is offline. Amount refunded.",
 				"ERROR");
 
+		String previousStatus = session.getStatus();
 		session.setStatus(SessionStatus.FAILED.getValue());
 		session.setEndTime(LocalDateTime.now());
 		sessionRepository.save(session);
+		dashboardCounterService.recordSessionTransition(session, previousStatus);
 
 		throw new ChargerOfflineException(session.getCharger().getId());
 	}
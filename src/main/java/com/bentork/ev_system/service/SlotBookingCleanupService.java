@@ -1,22 +1,23 @@
 package com.bentork.ev_system.service;
 
-import com.bentork.ev_system.service.interfaces.IUserNotificationService;
-
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.bentork.ev_system.config.cache.CacheTags;
 import com.bentork.ev_system.enums.BookingStatus;
-import com.bentork.ev_system.model.Slot;
-import com.bentork.ev_system.model.SlotBooking;
-import com.bentork.ev_system.repository.SessionRepository;
+import com.bentork.ev_system.enums.OutboxEventType;
 import com.bentork.ev_system.repository.SlotBookingRepository;
+import com.bentork.ev_system.repository.SlotBookingRepository.BookingClaim;
 import com.bentork.ev_system.repository.SlotRepository;
+import com.bentork.ev_system.service.outbox.OutboxService;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
@@ -36,7 +37,10 @@ import lombok.RequiredArgsConstructor;
  * This prevents "ghost bookings" from blocking charger slots
  * when users book a slot but never show up.
  * 
- * Runs every 5 minutes.
+ * Runs every 5 minutes. Each of the four categories is walked in keyset-paginated
+ * batches of ids, each batch in its own short transaction: lock the bookings still
+ * booked, expire them with one UPDATE, release their slots with another and queue one
+ * outbox event whose handler notifies the users. Nothing is loaded or saved per booking.
  */
 @Slf4j
 @Service
@@ -44,14 +48,18 @@ import lombok.RequiredArgsConstructor;
 public class SlotBookingCleanupService {
 
     private static final int NO_SHOW_TIMEOUT_MINUTES = 10;
+    static final int BATCH_SIZE = 500;
+    static final int MAX_BATCHES_PER_RUN = 200;
 
     private final SlotBookingRepository slotBookingRepository;
 
     private final SlotRepository slotRepository;
 
-    private final SessionRepository sessionRepository;
+    private final OutboxService outboxService;
+
+    private final TransactionTemplate transactionTemplate;
 
-    private final IUserNotificationService userNotificationService;
+    private final CacheTags cacheTags;
 
     /**
      * Runs every 5 minutes to find and expire overdue bookings AND no-show bookings.
@@ -66,40 +74,34 @@ public class SlotBookingCleanupService {
      * - No active or initiated charging session exists for the user on that charger
      */
     @Scheduled(fixedRate = 300000) // every 5 minutes
-    @Transactional
     public void expireOverdueBookings() {
         try {
-            // ===== PASS 1: Overdue bookings (slot end time has passed) =====
+            LocalDateTime now = LocalDateTime.now();
+            LocalTime currentTime = now.toLocalTime();
 
-            // 1. Find expired date-specific bookings (endTime < now)
-            List<SlotBooking> expiredDateSpecific = slotBookingRepository
-                    .findExpiredBookings(LocalDateTime.now());
-
-            // 2. Find expired all-day/recurring bookings (endTimeOnly < current time)
-            List<SlotBooking> expiredAllDay = slotBookingRepository
-                    .findExpiredAllDayBookings(LocalTime.now());
-
-            // 3. Combine both lists
-            List<SlotBooking> allExpired = new ArrayList<>();
-            allExpired.addAll(expiredDateSpecific);
-            allExpired.addAll(expiredAllDay);
-
-            if (!allExpired.isEmpty()) {
-                log.info("Found {} expired slot booking(s) ({} date-specific, {} all-day). Processing...",
-                        allExpired.size(), expiredDateSpecific.size(), expiredAllDay.size());
-
-                for (SlotBooking booking : allExpired) {
-                    try {
-                        expireBooking(booking);
-                    } catch (Exception e) {
-                        log.error("Failed to expire booking {}: {}",
-                                booking.getId(), e.getMessage(), e);
-                    }
-                }
+            // ===== PASS 1: Overdue bookings (slot end time has passed) =====
+            int expiredDateSpecific = expireAll("date-specific overdue",
+                    (afterId, page) -> slotBookingRepository.findExpiredIds(now, afterId, page));
+            int expiredAllDay = expireAll("all-day overdue",
+                    (afterId, page) -> slotBookingRepository.findExpiredAllDayIds(currentTime, afterId, page));
+
+            if (expiredDateSpecific + expiredAllDay > 0) {
+                log.info("Expired {} overdue slot booking(s) ({} date-specific, {} all-day)",
+                        expiredDateSpecific + expiredAllDay, expiredDateSpecific, expiredAllDay);
             }
 
             // ===== PASS 2: No-show bookings (slot started 10+ min ago, no session) =====
-            expireNoShowBookings();
+            LocalDateTime dateCutoff = now.minusMinutes(NO_SHOW_TIMEOUT_MINUTES);
+            LocalTime timeCutoff = currentTime.minusMinutes(NO_SHOW_TIMEOUT_MINUTES);
+            int noShowDateSpecific = expireAll("date-specific no-show",
+                    (afterId, page) -> slotBookingRepository.findNoShowIds(dateCutoff, afterId, page));
+            int noShowAllDay = expireAll("all-day no-show",
+                    (afterId, page) -> slotBookingRepository.findNoShowAllDayIds(timeCutoff, afterId, page));
+
+            if (noShowDateSpecific + noShowAllDay > 0) {
+                log.info("No-show cleanup: expired {} booking(s) ({} date-specific, {} all-day) without a session within {} minutes",
+                        noShowDateSpecific + noShowAllDay, noShowDateSpecific, noShowAllDay, NO_SHOW_TIMEOUT_MINUTES);
+            }
 
         } catch (Exception e) {
             log.error("Slot booking cleanup job encountered an error: {}", e.getMessage(), e);
@@ -107,99 +109,78 @@ public class SlotBookingCleanupService {
     }
 
     /**
-     * Expires bookings where the slot's start time + 10 minutes has passed
-     * but the user has not started a charging session.
-     * 
-     * This prevents a no-show user from blocking a charger for the entire
-     * slot duration. After 10 minutes without a session, the booking is
-     * expired and the slot is released.
+     * Expires one category, batch by batch, up to MAX_BATCHES_PER_RUN batches; the rest
+     * is picked up by the next run.
+     *
+     * @return number of bookings expired
      */
-    private void expireNoShowBookings() {
-        LocalDateTime dateCutoff = LocalDateTime.now().minusMinutes(NO_SHOW_TIMEOUT_MINUTES);
-        LocalTime timeCutoff = LocalTime.now().minusMinutes(NO_SHOW_TIMEOUT_MINUTES);
-
-        // Find date-specific bookings where start time + 10 min has passed
-        List<SlotBooking> noShowDateSpecific = slotBookingRepository
-                .findNoShowDateSpecificBookings(dateCutoff);
-
-        // Find all-day bookings where start time + 10 min has passed
-        List<SlotBooking> noShowAllDay = slotBookingRepository
-                .findNoShowAllDayBookings(timeCutoff);
-
-        List<SlotBooking> allNoShows = new ArrayList<>();
-        allNoShows.addAll(noShowDateSpecific);
-        allNoShows.addAll(noShowAllDay);
+    private int expireAll(String category, IdPage finder) {
+        long afterId = 0L;
+        int expiredCount = 0;
 
-        if (allNoShows.isEmpty()) {
-            return;
-        }
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            List<Long> ids = finder.find(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
 
-        int expiredCount = 0;
-        for (SlotBooking booking : allNoShows) {
             try {
-                // Only expire if no active/initiated session exists for this user on this charger
-                boolean hasSession = sessionRepository.existsByUserIdAndChargerIdAndStatusIn(
-                        booking.getUser().getId(),
-                        booking.getCharger().getId(),
-                        List.of("active", "initiated"));
-
-                if (!hasSession) {
-                    log.info("No-show detected: bookingId={}, userId={}, chargerId={} — no session started within {} minutes",
-                            booking.getId(), booking.getUser().getId(),
-                            booking.getCharger().getId(), NO_SHOW_TIMEOUT_MINUTES);
-                    expireBooking(booking);
-                    expiredCount++;
-                }
+                Integer expired = transactionTemplate.execute(status -> expireBatch(ids));
+                expiredCount += expired != null ? expired : 0;
             } catch (Exception e) {
-                log.error("Failed to expire no-show booking {}: {}",
-                        booking.getId(), e.getMessage(), e);
+                // Log but continue with the next batch
+                log.error("Failed to expire {} booking batch {}..{}: {}",
+                        category, ids.get(0), afterId, e.getMessage(), e);
             }
-        }
 
-        if (expiredCount > 0) {
-            log.info("No-show cleanup: expired {} booking(s) out of {} candidates",
-                    expiredCount, allNoShows.size());
+            if (ids.size() < BATCH_SIZE) {
+                break;
+            }
         }
+        return expiredCount;
     }
 
     /**
-     * Marks a single booking as EXPIRED and releases the slot.
+     * Expires the bookings of one batch that are still booked and releases their slots.
+     * Must run inside a transaction: the row locks taken by the claim are held until commit.
+     *
+     * @param ids ascending booking ids, as the keyset page returns them
+     * @return number of bookings expired
      */
-    private void expireBooking(SlotBooking booking) {
-        Slot slot = booking.getSlot();
-
-        log.info("Expiring booking: bookingId={}, userId={}, slotId={}, allDay={}, endTime={}, endTimeOnly={}",
-                booking.getId(),
-                booking.getUser().getId(),
-                slot.getId(),
-                slot.isAllDay(),
-                slot.getEndTime(),
-                slot.getEndTimeOnly());
-
-        // 1. Mark booking as EXPIRED
-        booking.setStatus(BookingStatus.EXPIRED.getValue());
-        slotBookingRepository.save(booking);
-
-        // 2. Release the slot
-        slot.setBooked(false);
-        slotRepository.save(slot);
-
-        // 3. Build time range string for notification (handles both slot types)
-        String timeRange;
-        if (slot.isAllDay()) {
-            timeRange = slot.getStartTimeOnly() + " - " + slot.getEndTimeOnly();
-        } else {
-            timeRange = slot.getStartTime().toLocalTime() + " - " + slot.getEndTime().toLocalTime();
+    private int expireBatch(List<Long> ids) {
+        // 1. Claim: lock the bookings still booked (a session start or a cancel may have got there first)
+        List<BookingClaim> claimed = slotBookingRepository.lockBookedByIdIn(ids, ids.get(0), ids.get(ids.size() - 1));
+        if (claimed.isEmpty()) {
+            return 0;
         }
+        List<Long> claimedIds = claimed.stream().map(BookingClaim::getId).toList();
+
+        // 2. Expire the bookings and release their slots, one statement each
+        slotBookingRepository.updateBookedStatus(claimedIds, claimedIds.get(0), claimedIds.get(claimedIds.size() - 1),
+                BookingStatus.EXPIRED.getValue());
+        slotRepository.releaseByIdIn(claimed.stream().map(BookingClaim::getSlotId).distinct().toList());
+        cacheTags.evict(claimed.stream()
+                .map(BookingClaim::getChargerId)
+                .distinct()
+                .map(CacheTags::chargerSlots)
+                .toArray(String[]::new));
+
+        // 3. Notify users: one event for the batch, fanned out by SlotBookingsExpiredHandler
+        outboxService.enqueue(OutboxService.AGGREGATE_SLOT_BOOKING, claimedIds.get(0),
+                OutboxEventType.SLOT_BOOKINGS_EXPIRED, "expired",
+                Map.of("bookingIds", claimedIds));
+
+        log.info("✅ Expired {} slot booking(s) {}..{} and released their slots",
+                claimed.size(), claimedIds.get(0), claimedIds.get(claimedIds.size() - 1));
+        return claimed.size();
+    }
 
-        // 4. Notify user
-        userNotificationService.createNotification(
-                booking.getUser().getId(),
-                "Booking Expired",
-                "Your slot booking for " + timeRange
-                        + " has expired because you did not start a charging session.",
-                "BOOKING_EXPIRED");
-
-        log.info("✅ Booking {} expired and slot {} released", booking.getId(), slot.getId());
+    /**
+     * One category's keyset page of booking ids after the given id.
+     */
+    @FunctionalInterface
+    private interface IdPage {
+        List<Long> find(Long afterId, Pageable page);
     }
 }
@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.bentork.ev_system.config.cache.CacheTags;
 import com.bentork.ev_system.dto.request.SlotBookingDTO;
 import com.bentork.ev_system.enums.BookingStatus;
 import com.bentork.ev_system.exception.SlotAlreadyBookedException;
@@ -41,6 +42,8 @@ public class SlotBookingService {
 
         private final IMaintenanceService maintenanceService;
 
+        private final CacheTags cacheTags;
+
         /**
          * Book a slot for a user.
          * 
@@ -98,6 +101,7 @@ public class SlotBookingService {
                 // 7. Atomically: Mark slot as booked + Create booking record
                 slot.setBooked(true);
                 slotRepository.save(slot);
+                cacheTags.evict(CacheTags.chargerSlots(slot.getCharger().getId()));
 
                 SlotBooking booking = new SlotBooking();
                 booking.setSlot(slot);
@@ -144,6 +148,7 @@ public class SlotBookingService {
                 Slot slot = booking.getSlot();
                 slot.setBooked(false);
                 slotRepository.save(slot);
+                cacheTags.evict(CacheTags.chargerSlots(slot.getCharger().getId()));
 
                 // 5. Mark booking as cancelled
                 booking.setStatus(BookingStatus.CANCELLED.getValue());
@@ -261,6 +266,7 @@ public class SlotBookingService {
                         // Release the slot so it shows as available after the session
                         slot.setBooked(false);
                         slotRepository.save(slot);
+                        cacheTags.evict(CacheTags.chargerSlots(slot.getCharger().getId()));
                         return;
                 }
 
@@ -7,11 +7,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.bentork.ev_system.config.cache.CacheTags;
 import com.bentork.ev_system.dto.request.SlotDTO;
 import com.bentork.ev_system.mapper.SlotMapper;
 import com.bentork.ev_system.model.Charger;
@@ -35,12 +35,13 @@ public class SlotService {
 
         private final SlotBookingRepository slotBookingRepository;
 
+        private final CacheTags cacheTags;
+
         /**
          * Create a single slot for a charger.
          * Validates time range and checks for overlapping slots.
          */
         @Transactional
-        @CacheEvict(value = "slots", allEntries = true)
         public SlotDTO createSlot(SlotDTO dto) {
                 log.info("Creating slot for chargerId={}, startTime={}, endTime={}",
                                 dto.getChargerId(), dto.getStartTime(), dto.getEndTime());
@@ -69,6 +70,7 @@ public class SlotService {
 
                 Slot slot = SlotMapper.toEntity(dto, charger);
                 Slot saved = slotRepository.save(slot);
+                cacheTags.evict(CacheTags.chargerSlots(charger.getId()));
 
                 log.info("Slot created successfully: slotId={}, chargerId={}", saved.getId(), charger.getId());
                 return SlotMapper.toDTO(saved);
@@ -90,7 +92,6 @@ public class SlotService {
          * @return list of created slots
          */
         @Transactional
-        @CacheEvict(value = "slots", allEntries = true)
         public List<SlotDTO> createBulkSlots(Long chargerId, String date, int durationMinutes, boolean allDay) {
                 log.info("Creating bulk slots for chargerId={}, date={}, durationMinutes={}, allDay={}",
                                 chargerId, date, durationMinutes, allDay);
@@ -139,6 +140,7 @@ public class SlotService {
                         }
 
                         List<Slot> savedSlots = slotRepository.saveAll(slots);
+                        cacheTags.evict(CacheTags.chargerSlots(chargerId));
 
                         log.info("All-day bulk slots created: {} slots for chargerId={} (everyday recurring)",
                                         savedSlots.size(), chargerId);
@@ -193,6 +195,7 @@ public class SlotService {
                         }
 
                         List<Slot> savedSlots = slotRepository.saveAll(slots);
+                        cacheTags.evict(CacheTags.chargerSlots(chargerId));
 
                         log.info("Bulk slots created: {} slots for chargerId={} on {}",
                                         savedSlots.size(), chargerId, date);
@@ -216,6 +219,7 @@ public class SlotService {
                 // Validate charger exists
                 chargerRepository.findById(chargerId)
                                 .orElseThrow(() -> new RuntimeException("Charger not found with id: " + chargerId));
+                cacheTags.tag("slots", "available-" + chargerId, CacheTags.chargerSlots(chargerId));
 
                 // Get future date-specific unbooked slots
                 List<Slot> dateSpecificSlots = slotRepository.findByChargerIdAndBookedFalseAndStartTimeAfter(
@@ -245,6 +249,7 @@ public class SlotService {
                 chargerRepository.findById(chargerId)
                                 .orElseThrow(() -> new RuntimeException("Charger not found with id: " + chargerId));
 
+                cacheTags.tag("slots", "charger-" + chargerId, CacheTags.chargerSlots(chargerId));
                 List<Slot> slots = slotRepository.findByChargerId(chargerId);
 
                 return slots.stream()
@@ -264,7 +269,6 @@ public class SlotService {
          * Delete an unbooked slot (admin only).
          */
         @Transactional
-        @CacheEvict(value = "slots", allEntries = true)
         public void deleteSlot(Long slotId) {
                 log.info("Deleting slot: slotId={}", slotId);
 
@@ -287,6 +291,7 @@ public class SlotService {
                 log.info("Deleted associated bookings for slotId={}", slotId);
 
                 slotRepository.delete(slot);
+                cacheTags.evict(CacheTags.chargerSlots(slot.getCharger().getId()));
                 log.info("Slot deleted successfully: slotId={}", slotId);
         }
 }
@@ -1,27 +1,27 @@
 package com.bentork.ev_system.service;
 
-import com.bentork.ev_system.service.interfaces.IWalletTransactionService;
-
-import com.bentork.ev_system.service.interfaces.IAdminNotificationService;
-
-import com.bentork.ev_system.service.interfaces.IUserNotificationService;
-
+import com.bentork.ev_system.enums.OutboxEventType;
 import com.bentork.ev_system.enums.SessionStatus;
-import com.bentork.ev_system.model.Receipt;
 import com.bentork.ev_system.model.Session;
 import com.bentork.ev_system.repository.ReceiptRepository;
 import com.bentork.ev_system.repository.SessionRepository;
+import com.bentork.ev_system.repository.SessionRepository.SessionClaim;
+import com.bentork.ev_system.service.outbox.OutboxService;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Scheduled cleanup service that automatically fails sessions
@@ -31,7 +31,10 @@ import java.util.List;
  * when the physical charger never responds to RemoteStartTransaction
  * (e.g., charger offline, network issues, server restart).
  *
- * Runs every 60 seconds.
+ * Runs every 60 seconds. Work is done in keyset-paginated batches, each in its own
+ * short transaction: lock the batch, flip the status with one UPDATE, bulk-load receipts
+ * and queue refunds/notifications on the outbox. Lock time per batch stays bounded
+ * regardless of how large the backlog is.
  */
 @Slf4j
 @Service
@@ -39,16 +42,18 @@ import java.util.List;
 public class StaleSessionCleanupService {
 
     private static final int STALE_TIMEOUT_MINUTES = 1;
+    private static final int BATCH_SIZE = 200;
+    private static final int MAX_BATCHES_PER_RUN = 50;
 
     private final SessionRepository sessionRepository;
 
     private final ReceiptRepository receiptRepository;
 
-    private final IWalletTransactionService walletTransactionService;
+    private final OutboxService outboxService;
 
-    private final IUserNotificationService userNotificationService;
+    private final TransactionTemplate transactionTemplate;
 
-    private final IAdminNotificationService adminNotificationService;
+    private final DashboardCounterService dashboardCounterService;
 
     /**
      * Runs every 60 seconds to find and fail stale "initiated" sessions.
@@ -56,31 +61,39 @@ public class StaleSessionCleanupService {
      * for more than 5 minutes without transitioning to "active".
      */
     @Scheduled(fixedRate = 60000) // every 60 seconds
-    @Transactional
     public void cleanupStaleSessions() {
         try {
             LocalDateTime cutoff = LocalDateTime.now().minusMinutes(STALE_TIMEOUT_MINUTES);
+            long afterId = 0L;
+            int failedCount = 0;
+
+            for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+                List<Long> ids = sessionRepository.findIdsByStatusAndCreatedAtBefore(
+                        SessionStatus.INITIATED.getValue(), cutoff, afterId, PageRequest.of(0, BATCH_SIZE));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
 
-            List<Session> staleSessions = sessionRepository.findByStatusAndCreatedAtBefore(
-                    SessionStatus.INITIATED.getValue(), cutoff);
-
-            if (staleSessions.isEmpty()) {
-                return; // Nothing to clean up — skip logging to reduce noise
-            }
-
-            log.info("Found {} stale initiated session(s) older than {} minutes. Cleaning up...",
-                    staleSessions.size(), STALE_TIMEOUT_MINUTES);
-
-            for (Session session : staleSessions) {
                 try {
-                    failStaleSession(session);
+                    Integer failed = transactionTemplate.execute(status -> failBatch(ids));
+                    failedCount += failed != null ? failed : 0;
                 } catch (Exception e) {
-                    // Log but continue processing other stale sessions
-                    log.error("Failed to clean up stale session {}: {}",
-                            session.getId(), e.getMessage(), e);
+                    // Log but continue with the next batch
+                    log.error("Failed to clean up stale session batch {}..{}: {}",
+                            ids.get(0), afterId, e.getMessage(), e);
+                }
+
+                if (ids.size() < BATCH_SIZE) {
+                    break;
                 }
             }
 
+            if (failedCount > 0) {
+                log.info("Failed {} stale initiated session(s) older than {} minutes",
+                        failedCount, STALE_TIMEOUT_MINUTES);
+            }
+
         } catch (Exception e) {
             log.error("Stale session cleanup job encountered an error: {}", e.getMessage(), e);
         }
@@ -88,7 +101,7 @@ public class StaleSessionCleanupService {
 
     /**
      * Marks a single stale session as FAILED, refunds the user if applicable,
-     * and sends notifications.
+     * and sends notifications. Joins the caller's transaction when there is one.
      */
     public void failStaleSession(Session session) {
         log.info("Failing stale session: sessionId={}, userId={}, chargerId={}, createdAt={}",
@@ -97,51 +110,81 @@ public class StaleSessionCleanupService {
                 session.getCharger().getId(),
                 session.getCreatedAt());
 
-        // 1. Mark session as FAILED
-        session.setStatus(SessionStatus.FAILED.getValue());
-        session.setEndTime(LocalDateTime.now());
-        sessionRepository.save(session);
-
-        // 2. Refund user if a paid receipt is linked
-        Receipt receipt = receiptRepository.findBySession(session).orElse(null);
-        if (receipt != null && receipt.getAmount() != null
-                && receipt.getAmount().compareTo(BigDecimal.ZERO) > 0) {
-
-            // Double-refund guard
-            if (session.getRefundStatus() == null || "INSTANT_REFUNDED".equals(session.getRefundStatus())) {
-                walletTransactionService.credit(
-                        session.getUser().getId(),
-                        session.getId(),
-                        receipt.getAmount(),
-                        "Refund: Session timed out (charger did not respond)");
-
-                session.setRefundStatus("FULL_REFUNDED");
-                sessionRepository.save(session);
-                
-                log.info("Refunded ₹{} to userId={} for stale session {}",
-                        receipt.getAmount(), session.getUser().getId(), session.getId());
-            } else {
-                log.warn("Duplicate full refund attempt blocked for stale session {}, refundStatus={}",
-                        session.getId(), session.getRefundStatus());
+        Integer failed = transactionTemplate.execute(status -> failBatch(List.of(session.getId())));
+        if (failed == null || failed == 0) {
+            log.info("Stale session {} was no longer initiated, nothing to do", session.getId());
+        }
+    }
+
+    /**
+     * Fails the sessions of one batch that are still INITIATED.
+     * Must run inside a transaction: the row locks taken by the claim are held until commit.
+     *
+     * @return number of sessions failed
+     */
+    private int failBatch(List<Long> ids) {
+        // 1. Claim: lock rows still initiated, then flip them in one statement
+        List<SessionClaim> claimed = sessionRepository.lockByIdInAndStatus(ids, SessionStatus.INITIATED.getValue());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        List<Long> claimedIds = claimed.stream().map(SessionClaim::getId).toList();
+        sessionRepository.updateStatusAndEndTime(claimedIds, SessionStatus.FAILED.getValue(), LocalDateTime.now());
+        dashboardCounterService.recordSessionsFailed(claimed.size(), claimed.stream()
+                .filter(c -> c.getCreatedDay() != null)
+                .collect(Collectors.groupingBy(SessionClaim::getCreatedDay, Collectors.counting())));
+
+        // 2. Refund users with a paid receipt — amounts loaded in one query
+        Map<Long, BigDecimal> paidAmounts = receiptRepository.findAmountsBySessionIdIn(claimedIds).stream()
+                .filter(r -> r.getAmount() != null && r.getAmount().compareTo(BigDecimal.ZERO) > 0)
+                .collect(Collectors.toMap(ReceiptRepository.SessionAmount::getSessionId,
+                        ReceiptRepository.SessionAmount::getAmount, (a, b) -> a));
+
+        List<Long> refundedIds = new ArrayList<>();
+        for (SessionClaim claim : claimed) {
+            if (claim.getUserId() == null) {
+                log.warn("Stale session {} has no user, failed without refund/notification", claim.getId());
+                continue;
+            }
+
+            BigDecimal amount = paidAmounts.get(claim.getId());
+            if (amount != null) {
+                // Double-refund guard
+                if (claim.getRefundStatus() == null || "INSTANT_REFUNDED".equals(claim.getRefundStatus())) {
+                    outboxService.enqueue(OutboxService.AGGREGATE_SESSION, claim.getId(), OutboxEventType.WALLET_REFUND, "stale",
+                            Map.of("userId", claim.getUserId(),
+                                    "sessionId", claim.getId(),
+                                    "amount", amount.toPlainString(),
+                                    "method", "Refund: Session timed out (charger did not respond)"));
+                    refundedIds.add(claim.getId());
+                } else {
+                    log.warn("Duplicate full refund attempt blocked for stale session {}, refundStatus={}",
+                            claim.getId(), claim.getRefundStatus());
+                }
             }
+
+            // 3. Notify user
+            outboxService.enqueue(OutboxService.AGGREGATE_SESSION, claim.getId(), OutboxEventType.USER_NOTIFICATION, "stale",
+                    Map.of("userId", claim.getUserId(),
+                            "title", "Session Timed Out",
+                            "message", "Your charging session could not be started — the charger did not respond within "
+                                    + STALE_TIMEOUT_MINUTES + " minutes. Any amount paid has been refunded to your wallet.",
+                            "type", "ERROR"));
+
+            // 4. Notify admin
+            outboxService.enqueue(OutboxService.AGGREGATE_SESSION, claim.getId(), OutboxEventType.ADMIN_NOTIFICATION, "stale",
+                    Map.of("message", "Stale session auto-failed: sessionId=" + claim.getId()
+                                    + ", chargerId=" + claim.getChargerId()
+                                    + ", userId=" + claim.getUserId()
+                                    + ". Charger did not respond within " + STALE_TIMEOUT_MINUTES + " minutes.",
+                            "type", "STALE_SESSION_CLEANUP"));
         }
 
-        // 3. Notify user
-        userNotificationService.createNotification(
-                session.getUser().getId(),
-                "Session Timed Out",
-                "Your charging session could not be started — the charger did not respond within "
-                        + STALE_TIMEOUT_MINUTES + " minutes. Any amount paid has been refunded to your wallet.",
-                "ERROR");
-
-        // 4. Notify admin
-        adminNotificationService.createSystemNotification(
-                "Stale session auto-failed: sessionId=" + session.getId()
-                        + ", chargerId=" + session.getCharger().getId()
-                        + ", userId=" + session.getUser().getId()
-                        + ". Charger did not respond within " + STALE_TIMEOUT_MINUTES + " minutes.",
-                "STALE_SESSION_CLEANUP");
-
-        log.info("✅ Stale session {} successfully cleaned up and user refunded", session.getId());
+        if (!refundedIds.isEmpty()) {
+            sessionRepository.updateRefundStatus(refundedIds, "FULL_REFUNDED");
+        }
+
+        log.info("✅ Failed {} stale session(s), {} refund(s) queued: {}", claimed.size(), refundedIds.size(), claimedIds);
+        return claimed.size();
     }
 }
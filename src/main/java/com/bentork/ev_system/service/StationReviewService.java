@@ -4,13 +4,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.bentork.ev_system.config.cache.CacheTags;
 import com.bentork.ev_system.dto.request.StationReviewRequest;
 import com.bentork.ev_system.dto.response.StationRatingSummary;
 import com.bentork.ev_system.dto.response.StationReviewResponse;
@@ -37,14 +36,12 @@ public class StationReviewService {
 
     private final UserRepository userRepository;
 
+    private final CacheTags cacheTags;
+
     // ========================
     // CREATE REVIEW
     // ========================
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "reviews", allEntries = true),
-        @CacheEvict(value = "stations", allEntries = true)
-    })
     public StationReviewResponse createReview(Long stationId, Long userId,
             StationReviewRequest request) {
 
@@ -65,6 +62,7 @@ public class StationReviewService {
         // 3. Create review entity
         StationReview review = StationReviewMapper.toEntity(request, station, user);
         StationReview savedReview = reviewRepository.save(review);
+        evictReviewCaches(stationId, userId);
 
         log.info("Review created successfully: reviewId={}, stationId={}, userId={}, rating={}",
                 savedReview.getId(), stationId, userId, request.getRating());
@@ -76,10 +74,6 @@ public class StationReviewService {
     // UPDATE REVIEW
     // ========================
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "reviews", allEntries = true),
-        @CacheEvict(value = "stations", allEntries = true)
-    })
     public StationReviewResponse updateReview(Long reviewId, Long userId,
             StationReviewRequest request) {
 
@@ -101,6 +95,7 @@ public class StationReviewService {
         review.setReviewText(request.getReviewText());
 
         StationReview updated = reviewRepository.save(review);
+        evictReviewCaches(review.getStation().getId(), userId);
 
         log.info("Review updated successfully: reviewId={}, userId={}, ratingChanged={}->{}",
                 reviewId, userId, oldRating, request.getRating());
@@ -112,10 +107,6 @@ public class StationReviewService {
     // DELETE REVIEW
     // ========================
     @Transactional
-    @Caching(evict = {
-        @CacheEvict(value = "reviews", allEntries = true),
-        @CacheEvict(value = "stations", allEntries = true)
-    })
     public void deleteReview(Long reviewId, Long userId) {
 
         log.info("Deleting review: reviewId={}, userId={}", reviewId, userId);
@@ -131,6 +122,7 @@ public class StationReviewService {
         }
 
         reviewRepository.delete(review);
+        evictReviewCaches(review.getStation().getId(), userId);
         log.info("Review deleted successfully: reviewId={}, userId={}, stationId={}",
                 reviewId, userId, review.getStation().getId());
     }
@@ -146,6 +138,7 @@ public class StationReviewService {
         if (!stationRepository.existsById(stationId)) {
             throw new EntityNotFoundException("Station not found with ID: " + stationId);
         }
+        cacheTags.tag("reviews", "station-" + stationId, CacheTags.stationReviews(stationId));
 
         List<StationReviewResponse> reviews = reviewRepository
                 .findByStationIdOrderByCreatedAtDesc(stationId).stream()
@@ -163,6 +156,7 @@ public class StationReviewService {
     public List<StationReviewResponse> getReviewsByUser(Long userId) {
 
         log.info("Fetching reviews by user: userId={}", userId);
+        cacheTags.tag("reviews", "user-" + userId, CacheTags.userReviews(userId));
 
         List<StationReviewResponse> reviews = reviewRepository
                 .findByUserIdOrderByCreatedAtDesc(userId).stream()
@@ -180,6 +174,7 @@ public class StationReviewService {
     public StationRatingSummary getStationRatingSummary(Long stationId) {
 
         log.info("Fetching rating summary for station: stationId={}", stationId);
+        cacheTags.tag("reviews", "summary-" + stationId, CacheTags.stationReviews(stationId));
 
         Station station = stationRepository.findById(stationId)
                 .orElseThrow(() -> new EntityNotFoundException("Station not found with ID: " + stationId));
@@ -212,6 +207,7 @@ public class StationReviewService {
     public StationReviewResponse getUserReviewForStation(Long stationId, Long userId) {
 
         log.info("Fetching user review: stationId={}, userId={}", stationId, userId);
+        cacheTags.tag("reviews", "station-" + stationId + "-user-" + userId, CacheTags.stationReviews(stationId));
 
         StationReview review = reviewRepository.findByStationIdAndUserId(stationId, userId)
                 .orElseThrow(() -> new EntityNotFoundException(
@@ -219,4 +215,13 @@ public class StationReviewService {
 
         return StationReviewMapper.toResponse(review);
     }
+
+    /**
+     * A review changes the station's listings and rating, and the author's listing;
+     * StationDTO entries carry the average rating.
+     */
+    private void evictReviewCaches(Long stationId, Long userId) {
+        cacheTags.evict(CacheTags.stationReviews(stationId), CacheTags.userReviews(userId),
+                CacheTags.station(stationId), CacheTags.STATIONS);
+    }
 }
@@ -3,15 +3,23 @@ package com.bentork.ev_system.service;
 import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.bentork.ev_system.config.cache.CacheBulkReader;
+import com.bentork.ev_system.config.cache.CacheTags;
+import com.bentork.ev_system.config.datasource.DataSourceRoute;
+import com.bentork.ev_system.config.datasource.UseDataSource;
 import com.bentork.ev_system.dto.request.StationDTO;
 import com.bentork.ev_system.mapper.StationMapper;
 import com.bentork.ev_system.model.Charger;
@@ -41,10 +49,10 @@ public class StationService {
 
     private final Clock clock;
 
-    @Caching(evict = {
-        @CacheEvict(value = "stations", allEntries = true),
-        @CacheEvict(value = "dashboard-stats", allEntries = true)
-    })
+    private final CacheTags cacheTags;
+
+    private final CacheBulkReader cacheBulkReader;
+
     public StationDTO createStation(StationDTO dto) {
         try {
             Location location = locationRepository.findById(dto.getLocationId())
@@ -56,6 +64,7 @@ public class StationService {
             Station saved = stationRepository.save(station);
             log.info("Station created: id={}, name={}, locationId={}",
                     saved.getId(), saved.getName(), location.getId());
+            cacheTags.evict(CacheTags.STATIONS);
 
             return StationMapper.toDTO(saved);
         } catch (EntityNotFoundException e) {
@@ -69,16 +78,11 @@ public class StationService {
         }
     }
 
-    @Cacheable(value = "stations", key = "'all-stations'")
+    @Cacheable(value = "stations", key = "'all-stations'", sync = true)
     public List<StationDTO> getAllStations() {
         try {
-            List<StationDTO> stations = stationRepository.findByActiveTrue().stream()
-                    .map(station -> {
-                        StationDTO dto = StationMapper.toDTO(station);
-                        enrichWithRatingData(dto, station.getId());
-                        return dto;
-                    })
-                    .collect(Collectors.toList());
+            cacheTags.tag("stations", "all-stations", CacheTags.STATIONS);
+            List<StationDTO> stations = List.copyOf(toDtosWithRatings(stationRepository.findByActiveTrue()).values());
 
             if (log.isDebugEnabled()) {
                 log.debug("Retrieved {} active stations", stations.size());
@@ -91,9 +95,14 @@ public class StationService {
         }
     }
 
-    @Cacheable(value = "stations", key = "#id")
+    // Read-only transaction: the location of a second-level-cached station is a lazy proxy.
+    // Primary pool: the cache is refilled right after the write that evicted it
+    @Cacheable(value = "stations", key = "#id", sync = true)
+    @Transactional(readOnly = true)
+    @UseDataSource(DataSourceRoute.PRIMARY)
     public StationDTO getStationById(Long id) {
         try {
+            cacheTags.tag("stations", id, CacheTags.station(id));
             Station station = stationRepository.findById(id)
                     .orElseThrow(() -> new EntityNotFoundException("Station not found with ID: " + id));
 
@@ -113,6 +122,51 @@ public class StationService {
         }
     }
 
+    /**
+     * Stations by id through the same per-id cache entries as getStationById: one MGET for
+     * all of them, one IN-query (plus one rating query) for the misses. Used by listings
+     * that hold station ids.
+     *
+     * @return keyed by id in the given order; unknown ids are left out
+     */
+    public Map<Long, StationDTO> getStationsByIds(Collection<Long> ids) {
+        return cacheBulkReader.getAll("stations", ids, this::loadStations);
+    }
+
+    private Map<Long, StationDTO> loadStations(Set<Long> ids) {
+        List<Station> stations = stationRepository.findAllById(ids);
+        cacheTags.tagAll("stations", stations.stream().collect(Collectors.toMap(Station::getId,
+                station -> new String[] { CacheTags.station(station.getId()) })));
+        return toDtosWithRatings(stations);
+    }
+
+    /**
+     * Map stations to DTOs with their rating data from one grouped query.
+     */
+    private Map<Long, StationDTO> toDtosWithRatings(List<Station> stations) {
+        Map<Long, StationReviewRepository.StationRating> ratings = Map.of();
+        if (!stations.isEmpty()) {
+            try {
+                ratings = reviewRepository.findRatingsByStationIds(stations.stream().map(Station::getId).toList())
+                        .stream()
+                        .collect(Collectors.toMap(StationReviewRepository.StationRating::getStationId,
+                                Function.identity()));
+            } catch (DataAccessException e) {
+                log.warn("Failed to load rating data for {} stations: {}", stations.size(), e.getMessage());
+            }
+        }
+        Map<Long, StationDTO> dtos = new LinkedHashMap<>();
+        for (Station station : stations) {
+            StationDTO dto = StationMapper.toDTO(station);
+            StationReviewRepository.StationRating rating = ratings.get(station.getId());
+            dto.setAverageRating(rating != null && rating.getAverageRating() != null
+                    ? Math.round(rating.getAverageRating() * 10.0) / 10.0 : 0.0);
+            dto.setTotalReviews(rating != null ? rating.getTotalReviews() : 0L);
+            dtos.put(station.getId(), dto);
+        }
+        return dtos;
+    }
+
     /**
      * Enriches a StationDTO with average rating and total reviews from the reviews
      * table.
@@ -130,10 +184,7 @@ public class StationService {
         }
     }
 
-    @Caching(evict = {
-        @CacheEvict(value = "stations", allEntries = true),
-        @CacheEvict(value = "dashboard-stats", allEntries = true)
-    })
+    @Transactional
     public StationDTO updateStation(Long id, StationDTO dto) {
         try {
             Station station = stationRepository.findById(id)
@@ -153,6 +204,8 @@ public class StationService {
 
             log.info("Station updated: id={}, name={}, status changed from {} to {}",
                     id, updated.getName(), oldStatus, updated.getStatus());
+            // Charger entries carry the station name
+            cacheTags.evict(CacheTags.station(id), CacheTags.STATIONS, CacheTags.CHARGERS);
 
             return StationMapper.toDTO(updated);
         } catch (EntityNotFoundException e) {
@@ -165,10 +218,6 @@ public class StationService {
         }
     }
 
-    @Caching(evict = {
-        @CacheEvict(value = "stations", allEntries = true),
-        @CacheEvict(value = "dashboard-stats", allEntries = true)
-    })
     public void deleteStation(Long id) {
         try {
             Station station = stationRepository.findById(id)
@@ -185,6 +234,7 @@ public class StationService {
                 chargerRepository.save(charger);
             }
             
+            cacheTags.evict(CacheTags.station(id), CacheTags.STATIONS, CacheTags.CHARGERS);
             log.info("Station soft-deleted (deactivated): id={}, cascaded to {} chargers", id, chargers.size());
         } catch (EntityNotFoundException e) {
             log.warn("Failed to deactivate station - Station not found: id={}", id);
@@ -195,9 +245,10 @@ public class StationService {
         }
     }
 
-    @Cacheable(value = "dashboard-stats", key = "'total-stations'")
+    @Cacheable(value = "dashboard-stats", key = "'total-stations'", sync = true)
     public Long getTotalStations() {
         try {
+            cacheTags.tag("dashboard-stats", "total-stations", CacheTags.STATIONS);
             Long total = stationRepository.countByActiveTrue();
 
             if (log.isDebugEnabled()) {
@@ -211,12 +262,11 @@ public class StationService {
         }
     }
 
-    @Cacheable(value = "dashboard-stats", key = "'active-stations'")
+    @Cacheable(value = "dashboard-stats", key = "'active-stations'", sync = true)
     public Long getActiveStations() {
         try {
-            Long activeCount = stationRepository.findByActiveTrue().stream()
-                    .filter(station -> "ACTIVE".equalsIgnoreCase(station.getStatus()))
-                    .count();
+            cacheTags.tag("dashboard-stats", "active-stations", CacheTags.STATIONS);
+            Long activeCount = stationRepository.sumActiveStations().getActiveStations();
 
             if (log.isDebugEnabled()) {
                 log.debug("Active stations count: {}", activeCount);
@@ -229,35 +279,14 @@ public class StationService {
         }
     }
 
-    @Cacheable(value = "dashboard-stats", key = "'avg-uptime'")
+    @Cacheable(value = "dashboard-stats", key = "'avg-uptime'", sync = true)
     public Double getAverageUptime() {
         try {
-            List<Station> stations = stationRepository.findByActiveTrue();
-
-            if (stations.isEmpty()) {
-                log.warn("No active stations found for uptime calculation");
-                return 0.0;
-            }
-
-            double totalUptime = 0.0;
-            int stationCount = 0;
-
-            for (Station station : stations) {
-                List<Charger> chargers = chargerRepository.findByStationIdAndActiveTrue(station.getId());
-
-                if (!chargers.isEmpty()) {
-                    long availableChargers = chargers.stream()
-                            .filter(charger -> Boolean.TRUE.equals(charger.isAvailability()))
-                            .count();
-
-                    double stationUptime = (availableChargers * 100.0) / chargers.size();
-                    totalUptime += stationUptime;
-                    stationCount++;
-                }
-            }
-
-            double avgUptime = stationCount > 0 ? totalUptime / stationCount : 0.0;
-            double roundedUptime = Math.round(avgUptime * 100.0) / 100.0;
+            cacheTags.tag("dashboard-stats", "avg-uptime", CacheTags.STATIONS, CacheTags.CHARGERS);
+            // One grouped query instead of a charger lookup per station
+            List<ChargerRepository.StationAvailability> stations = chargerRepository.countAvailabilityByActiveStation();
+            double roundedUptime = DashboardService.averageStationUptime(stations);
+            int stationCount = stations.size();
 
             log.info("Average uptime calculated: {}% across {} active stations",
                     roundedUptime, stationCount);
@@ -270,9 +299,10 @@ public class StationService {
     }
 
     // Error Today
-    @Cacheable(value = "dashboard-stats", key = "'todays-error-count'")
+    @Cacheable(value = "dashboard-stats", key = "'todays-error-count'", sync = true)
     public Long getTodaysErrorCount() {
         try {
+            cacheTags.tag("dashboard-stats", "todays-error-count", CacheTags.STATIONS);
             LocalDate today = LocalDate.now(clock);
             LocalDateTime startOfDay = today.atStartOfDay();
             LocalDateTime endOfDay = today.atTime(23, 59, 59, 999999999);
@@ -298,11 +328,6 @@ public class StationService {
         }
     }
 
-    @Caching(evict = {
-        @CacheEvict(value = "stations", allEntries = true),
-        @CacheEvict(value = "chargers", allEntries = true),
-        @CacheEvict(value = "dashboard-stats", allEntries = true)
-    })
     public void deactivateStation(Long id) {
         try {
             Station station = stationRepository.findById(id)
@@ -318,6 +343,7 @@ public class StationService {
                 chargerRepository.save(charger);
             }
             
+            cacheTags.evict(CacheTags.station(id), CacheTags.STATIONS, CacheTags.CHARGERS);
             log.info("Station deactivated: id={}, cascaded to {} chargers", id, chargers.size());
         } catch (EntityNotFoundException e) {
             log.warn("Failed to deactivate station - Station not found: id={}", id);
@@ -328,11 +354,6 @@ public class StationService {
         }
     }
 
-    @Caching(evict = {
-        @CacheEvict(value = "stations", allEntries = true),
-        @CacheEvict(value = "chargers", allEntries = true),
-        @CacheEvict(value = "dashboard-stats", allEntries = true)
-    })
     public void reactivateStation(Long id) {
         try {
             Station station = stationRepository.findById(id)
@@ -341,6 +362,7 @@ public class StationService {
             station.setActive(true);
             stationRepository.save(station);
             
+            cacheTags.evict(CacheTags.station(id), CacheTags.STATIONS);
             log.info("Station reactivated: id={}", id);
         } catch (EntityNotFoundException e) {
             log.warn("Failed to reactivate station - Station not found: id={}", id);
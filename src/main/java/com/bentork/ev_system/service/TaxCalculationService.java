@@ -6,6 +6,11 @@ import java.math.RoundingMode;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.bentork.ev_system.service.billing.money.Energy;
+import com.bentork.ev_system.service.billing.money.Money;
+import com.bentork.ev_system.service.billing.money.Percentage;
+import com.bentork.ev_system.service.billing.money.Tariff;
+
 @Service
 public class TaxCalculationService {
 
@@ -35,13 +40,7 @@ public class TaxCalculationService {
         if (pstPercent == null || pstPercent <= 0 || baseRate == null || baseRate <= 0) {
             return BigDecimal.ZERO;
         }
-        int units = Math.max(1, (int) Math.floor(energyUsed));
-        BigDecimal pstPerUnit = BigDecimal.valueOf(baseRate)
-                .multiply(BigDecimal.valueOf(pstPercent))
-                .divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP);
-        return BigDecimal.valueOf(units)
-                .multiply(pstPerUnit)
-                .setScale(2, RoundingMode.HALF_UP);
+        return pst(Energy.ofKwh(energyUsed), baseRate, pstPercent).toBigDecimal();
     }
 
     /**
@@ -58,9 +57,33 @@ public class TaxCalculationService {
         if (platformFeePerKwh == null || platformFeePerKwh <= 0) {
             return BigDecimal.ZERO;
         }
-        int units = Math.max(1, (int) Math.floor(energyUsed));
-        return BigDecimal.valueOf(units)
-                .multiply(BigDecimal.valueOf(platformFeePerKwh))
-                .setScale(2, RoundingMode.HALF_UP);
+        return platformFee(Energy.ofKwh(energyUsed), platformFeePerKwh).toBigDecimal();
+    }
+
+    /**
+     * Fixed-point variant of {@link #calculatePst(double, Double, Double)} used by the billing strategies.
+     */
+    public Money pst(Energy energy, Double baseRate, Double pstPercent) {
+        if (pstPercent == null || pstPercent <= 0 || baseRate == null || baseRate <= 0) {
+            return Money.ZERO;
+        }
+        return Tariff.ofRupeesPerKwh(baseRate)
+                .percentOfUnits(Percentage.ofPercent(pstPercent), billableUnits(energy), RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Fixed-point variant of {@link #calculatePlatformFee(double, Double)} used by the billing strategies.
+     */
+    public Money platformFee(Energy energy, Double platformFeePerKwh) {
+        if (platformFeePerKwh == null || platformFeePerKwh <= 0) {
+            return Money.ZERO;
+        }
+        return Tariff.ofRupeesPerKwh(platformFeePerKwh)
+                .costOfUnits(billableUnits(energy), RoundingMode.HALF_UP);
+    }
+
+    // min-1-unit rule shared by PST and platform fee
+    private static long billableUnits(Energy energy) {
+        return Math.max(1, energy.wholeKwh());
     }
 }
@@ -1,6 +1,7 @@
 package com.bentork.ev_system.service;
 
 import com.bentork.ev_system.config.JwtUtil;
+import com.bentork.ev_system.config.cache.CacheTags;
 import com.bentork.ev_system.dto.request.JwtResponse;
 import com.bentork.ev_system.dto.request.UserLoginRequest;
 import com.bentork.ev_system.dto.request.UserSignupRequest;
@@ -10,7 +11,6 @@ import com.bentork.ev_system.service.interfaces.IAdminNotificationService;
 import com.bentork.ev_system.service.interfaces.IUserAuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -33,9 +33,9 @@ public class UserAuthService implements IUserAuthService {
     private final OtpService otpService;
     private final OtpDeliveryService otpDeliveryService;
     private final IAdminNotificationService adminNotificationService;
+    private final CacheTags cacheTags;
 
     @Override
-    @CacheEvict(value = "user-data", allEntries = true)
     public String register(UserSignupRequest request) {
         if (!request.getPassword().equals(request.getConfirmPassword()))
             throw new IllegalArgumentException("Passwords do not match");
@@ -48,6 +48,7 @@ public class UserAuthService implements IUserAuthService {
         user.setMobile(request.getMobile());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
         userRepo.save(user);
+        cacheTags.evict(CacheTags.USERS);
 
         adminNotificationService.notifyNewUserRegistration(user.getName());
         return "User registered successfully";
@@ -82,7 +83,6 @@ public class UserAuthService implements IUserAuthService {
     }
 
     @Override
-    @CacheEvict(value = {"user-data", "dashboard-stats"}, allEntries = true)
     public JwtResponse googleLogin(String email) {
         User user = userRepo.findByEmail(email).orElseGet(() -> {
             log.info("New Google user detected, auto-registering: {}", email);
@@ -91,6 +91,7 @@ public class UserAuthService implements IUserAuthService {
             newUser.setName(email.split("@")[0]); // default name from email prefix
             // password left null — valid for Google-only login (see User.java line 28)
             userRepo.save(newUser);
+            cacheTags.evict(CacheTags.USERS);
             adminNotificationService.notifyNewUserRegistration(newUser.getName());
             return newUser;
         });
@@ -103,51 +104,56 @@ public class UserAuthService implements IUserAuthService {
     }
 
     @Override
-    @CacheEvict(value = {"user-data", "dashboard-stats"}, allEntries = true)
     public void deleteAccount(String email) {
         User user = userRepo.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
         user.setActive(false);
         userRepo.save(user);
+        cacheTags.evict(CacheTags.user(user.getId()), CacheTags.USERS);
     }
 
     @Override
-    @Cacheable(value = "dashboard-stats", key = "'total-users'")
+    @Cacheable(value = "dashboard-stats", key = "'total-users'", sync = true)
     public long getTotalUsers() {
+        cacheTags.tag("dashboard-stats", "total-users", CacheTags.USERS);
         return userRepo.countByActiveTrue();
     }
 
     @Override
     @Cacheable(value = "user-data", key = "#email")
     public User getUserDetailsByEmail(String email) throws Exception {
-        return userRepo.findByEmail(email)
+        User user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new Exception("User with email '" + email + "' not found."));
+        cacheTags.tag("user-data", email, CacheTags.user(user.getId()));
+        return user;
     }
 
     @Override
     @Cacheable(value = "user-data", key = "'all-users'")
     public List<User> getAllUsers() {
+        cacheTags.tag("user-data", "all-users", CacheTags.USERS);
         return userRepo.findByActiveTrue();
     }
 
     @Override
-    @CacheEvict(value = {"user-data", "dashboard-stats"}, allEntries = true)
     public void deactivateUser(Long id) {
         User user = userRepo.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
         user.setActive(false);
         userRepo.save(user);
+        cacheTags.evict(CacheTags.user(id), CacheTags.USERS);
     }
 
     @Override
-    @CacheEvict(value = {"user-data", "dashboard-stats"}, allEntries = true)
     public void reactivateUser(Long id) {
         User user = userRepo.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
         user.setActive(true);
         userRepo.save(user);
+        cacheTags.evict(CacheTags.user(id), CacheTags.USERS);
     }
 
     @Override
     @Cacheable(value = "user-data", key = "#id")
     public User getUserById(Long id) throws Exception {
+        cacheTags.tag("user-data", id, CacheTags.user(id));
         return userRepo.findById(id).orElseThrow(() -> new Exception("User not found"));
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.bentork.ev_system.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,13 +29,14 @@ public class UserNotificationService implements IUserNotificationService {
         this.pushNotificationService = pushNotificationService;
     }
 
-    // Get all notifications for a user
+    // Get all notifications for a user, archived (read) ones after the active ones
     public List<UserNotification> getUserNotifications(Long userId) {
         try {
             User user = userRepo.findById(userId)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            List<UserNotification> notifications = repository.findByUser(user);
+            List<UserNotification> notifications = new ArrayList<>(repository.findByUser(user));
+            notifications.addAll(repository.findArchivedByUserId(userId));
 
             if (log.isDebugEnabled()) {
                 log.debug("Retrieved {} notifications for userId={}", notifications.size(), userId);
@@ -47,7 +49,7 @@ public class UserNotificationService implements IUserNotificationService {
         }
     }
 
-    // Get only unread notifications
+    // Get only unread notifications (never archived, see ArchivedTable)
     public List<UserNotification> getUnreadNotifications(Long userId) {
         try {
             User user = userRepo.findById(userId)
@@ -1,21 +1,24 @@
 package com.bentork.ev_system.service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.bentork.ev_system.config.cache.CacheTags;
 import com.bentork.ev_system.model.User;
 import com.bentork.ev_system.model.WalletTransaction;
 import com.bentork.ev_system.repository.UserRepository;
 import com.bentork.ev_system.repository.WalletTransactionRepository;
+import com.bentork.ev_system.service.archive.ArchiveRouter;
 
 import com.bentork.ev_system.exception.domain.InsufficientBalanceException;
 import com.bentork.ev_system.exception.domain.UserNotFoundException;
@@ -36,17 +39,43 @@ public class WalletTransactionService implements IWalletTransactionService {
 
     private final TaxCalculationService taxService;
 
+    private final CacheTags cacheTags;
+
+    private final ArchiveRouter archiveRouter;
+
+    private static final int RECENT_LIMIT = 10;
+
     public List<WalletTransaction> getTransactionHistory(Long userId, String type, boolean viewAll) {
         Sort sort = Sort.by("createdAt").descending();
 
         // If viewAll is true, get UNPAGED list. If false, get page 0 with 10 items.
-        Pageable pageable = viewAll ? Pageable.unpaged() : PageRequest.of(0, 10, sort);
+        Pageable pageable = viewAll ? Pageable.unpaged() : PageRequest.of(0, RECENT_LIMIT, sort);
+        String typeFilter = type != null && !type.isEmpty() ? type : null;
+
+        List<WalletTransaction> recent = typeFilter != null
+                ? repo.findByUserIdAndType(userId, typeFilter, pageable).getContent()
+                : repo.findByUserId(userId, pageable).getContent();
+
+        // Full history reads the archive too; the latest 10 only when they reach back past
+        // the point where transactions may have been archived
+        if (!viewAll && recent.size() == RECENT_LIMIT && archiveRouter.tierFor(
+                recent.get(RECENT_LIMIT - 1).getCreatedAt()) == ArchiveRouter.Tier.HOT) {
+            return recent;
+        }
+        List<WalletTransaction> archived = repo.findArchivedByUserId(userId, typeFilter,
+                viewAll ? Pageable.unpaged() : PageRequest.of(0, RECENT_LIMIT));
+        if (archived.isEmpty()) {
+            return recent;
+        }
 
-        if (type != null && !type.isEmpty()) {
-            return repo.findByUserIdAndType(userId, type, pageable).getContent();
-        } else {
-            return repo.findByUserId(userId, pageable).getContent();
+        List<WalletTransaction> history = new ArrayList<>(recent);
+        history.addAll(archived);
+        if (viewAll) {
+            return history;
         }
+        history.sort(Comparator.comparing(WalletTransaction::getCreatedAt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return history.subList(0, Math.min(RECENT_LIMIT, history.size()));
     }
 
     /**
@@ -57,7 +86,6 @@ public class WalletTransactionService implements IWalletTransactionService {
      * This method is transactional and uses findByIdWithLock to ensure atomic
      * updates.
      */
-    @CacheEvict(value = "user-data", allEntries = true)
     @Transactional
     public WalletTransaction save(WalletTransaction tx) {
         WalletTransaction saved = repo.save(tx);
@@ -78,6 +106,7 @@ public class WalletTransactionService implements IWalletTransactionService {
                             saved.getAmount(), user.getId(), user.getWalletBalance());
                 }
                 userRepo.save(user);
+                cacheTags.evict(CacheTags.user(user.getId()), CacheTags.USERS);
             });
         }
 
@@ -121,7 +150,6 @@ public class WalletTransactionService implements IWalletTransactionService {
      * FIXED: Entire operation is transactional with pessimistic locking.
      * Balance check and debit are atomic.
      */
-    @CacheEvict(value = "user-data", allEntries = true)
     @Transactional
     public WalletTransaction debit(Long userId, Long sessionId, BigDecimal amount, String method) {
         if (amount == null)
@@ -144,6 +172,7 @@ public class WalletTransactionService implements IWalletTransactionService {
         // Debit directly while holding lock
         user.setWalletBalance(balance.subtract(amount));
         userRepo.save(user);
+        cacheTags.evict(CacheTags.user(userId), CacheTags.USERS);
 
         log.info("Wallet debit: userId={}, amount={}, newBalance={}, sessionId={}",
                 userId, amount, user.getWalletBalance(), sessionId);
@@ -173,7 +202,6 @@ public class WalletTransactionService implements IWalletTransactionService {
         repo.save(tx);
     }
 
-    @CacheEvict(value = "user-data", allEntries = true)
     @Transactional
     public WalletTransaction credit(Long userId, Long sessionId, BigDecimal amount, String method) {
 
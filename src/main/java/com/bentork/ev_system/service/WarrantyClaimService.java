@@ -5,14 +5,18 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.bentork.ev_system.dto.request.ClaimRejectDTO;
 import com.bentork.ev_system.dto.request.DispatchDetailsDTO;
 import com.bentork.ev_system.dto.request.WarrantyClaimDTO;
 import com.bentork.ev_system.dto.response.AverageProcessingTimeResponse;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.dto.response.WarrantyClaimResponse;
 import com.bentork.ev_system.enums.WarrantyClaimStatus;
 import com.bentork.ev_system.model.BatteryData;
@@ -21,6 +25,9 @@ import com.bentork.ev_system.model.WarrantyClaim;
 import com.bentork.ev_system.repository.BatteryDataRepository;
 import com.bentork.ev_system.repository.UserRepository;
 import com.bentork.ev_system.repository.WarrantyClaimRepository;
+import com.bentork.ev_system.service.paging.Keyset;
+import com.bentork.ev_system.service.paging.KeysetFilters;
+import com.bentork.ev_system.service.paging.KeysetPager;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,10 +37,14 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class WarrantyClaimService {
 
+    private static final Keyset<WarrantyClaim> KEYSET = Keyset.by(WarrantyClaim.class, "createdAt",
+            WarrantyClaim::getCreatedAt, WarrantyClaim::getId);
+
     private final WarrantyClaimRepository warrantyClaimRepository;
     private final BatteryDataRepository batteryDataRepository;
     private final PushNotificationService pushNotificationService;
     private final UserRepository userRepository;
+    private final KeysetPager keysetPager;
 
     // ==================== USER METHODS ====================
 
@@ -129,6 +140,25 @@ public class WarrantyClaimService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * All claims one page at a time, newest first; optionally filtered by status and a
+     * createdAt range [from, to).
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<WarrantyClaimResponse> getClaimPage(String status, LocalDateTime from, LocalDateTime to,
+            String cursor, Integer limit) {
+        return keysetPager.page(KEYSET, claimFilter(status, from, to), cursor, limit, this::mapToResponse);
+    }
+
+    /**
+     * Same rows as getClaimPage, without paging; must run in a transaction (NdjsonStreams).
+     */
+    public long forEachClaim(String status, LocalDateTime from, LocalDateTime to,
+            Consumer<WarrantyClaimResponse> action) {
+        return keysetPager.forEach(KEYSET, claimFilter(status, from, to),
+                claim -> action.accept(mapToResponse(claim)));
+    }
+
     /**
      * Get claims filtered by status.
      */
@@ -388,6 +418,12 @@ public class WarrantyClaimService {
         return response;
     }
 
+    private static Specification<WarrantyClaim> claimFilter(String status, LocalDateTime from, LocalDateTime to) {
+        return Specification.allOf(
+                KeysetFilters.equal("status", status),
+                KeysetFilters.between("createdAt", from, to));
+    }
+
     private WarrantyClaimResponse mapToResponse(WarrantyClaim claim) {
         WarrantyClaimResponse response = new WarrantyClaimResponse();
         response.setId(claim.getId());
@@ -0,0 +1,57 @@
+package com.bentork.ev_system.service.archive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides whether a query has to read the archive tables, from the time range it asks for.
+ *
+ * TableArchiver only moves rows created before {@link #archiveCutoff()}, so a range that
+ * starts at or after {@link #hotHorizon()} is answered by the active table alone. Older
+ * ranges read both: the archiver works in bounded batches and leaves open rows behind, so
+ * old rows can be in either table. The horizon is computed, not stored, and carries a
+ * margin for clock skew between nodes; no node has to know how far the archiver got.
+ */
+@Component
+public class ArchiveRouter {
+
+    static final Duration SKEW_MARGIN = Duration.ofDays(1);
+
+    private final int retentionMonths;
+
+    public ArchiveRouter(@Value("${app.archive.retention-months:6}") int retentionMonths) {
+        if (retentionMonths < 1) {
+            throw new IllegalArgumentException("app.archive.retention-months must be at least 1");
+        }
+        this.retentionMonths = retentionMonths;
+    }
+
+    public enum Tier {
+        HOT,
+        HOT_AND_ARCHIVE
+    }
+
+    /**
+     * Rows created before this may be archived.
+     */
+    public LocalDateTime archiveCutoff() {
+        return LocalDateTime.now().minusMonths(retentionMonths);
+    }
+
+    /**
+     * Rows created at or after this are always in the active table.
+     */
+    public LocalDateTime hotHorizon() {
+        return archiveCutoff().plus(SKEW_MARGIN);
+    }
+
+    /**
+     * @param from inclusive start of the range, null for "all history"
+     */
+    public Tier tierFor(LocalDateTime from) {
+        return from != null && !from.isBefore(hotHorizon()) ? Tier.HOT : Tier.HOT_AND_ARCHIVE;
+    }
+}
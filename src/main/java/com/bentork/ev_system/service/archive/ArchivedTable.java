@@ -0,0 +1,95 @@
+package com.bentork.ev_system.service.archive;
+
+import java.util.List;
+
+/**
+ * The history tables TableArchiver moves into their *_archive twin (V4__archive_tables.sql).
+ *
+ * {@code closed} is the SQL condition a row of the active table must meet to be moved;
+ * rows that can still change stay active whatever their age. {@code probe} is a typical
+ * whole-history query on the active table, timed before and after each run.
+ * {@code dependents} are tables whose rows reference a moved row by foreign key; they move
+ * into their own archive twin in the same batch.
+ */
+public enum ArchivedTable {
+
+    // Each session's receipt moves with it (receipts.session_id is a foreign key and nothing
+    // reads the receipt of a closed session). Revenue stays: it is the ledger every total
+    // reads, and keeps the session id without a foreign key (V7__archive_session_receipts.sql)
+    SESSIONS("sessions",
+            "allocated_kwh, amount_entered, chargeable_amount, cost, effective_rate_applied, energy_kwh, "
+                    + "fully_charged_notified, last_meter_reading, platform_fee, pst_amount, refund_amount, "
+                    + "reminder_sent, start_meter_reading, charger_id, charging_duration_seconds, created_at, "
+                    + "end_time, id, start_time, user_id, box_id, refund_status, source_type, status",
+            "status IN ('completed', 'failed')",
+            "SELECT COUNT(*) FROM sessions WHERE status = 'completed'",
+            new Dependent("receipts",
+                    "amount, selected_kwh, charger_id, created_at, id, session_id, updated_at, user_id, "
+                            + "session_type, status",
+                    "session_id")),
+
+    WALLET_TRANSACTIONS("wallet_transactions",
+            "amount, gross_amount, gst_amount, pst_amount, created_at, id, session_id, user_id, method, "
+                    + "status, transaction_ref, type",
+            "status IN ('success', 'failed')",
+            "SELECT COALESCE(SUM(amount), 0) FROM wallet_transactions WHERE type = 'credit'"),
+
+    // Unread notifications stay active, so the unread listings never need the archive
+    USER_NOTIFICATIONS("user_notifications",
+            "is_read, created_at, id, user_id, message, title, type",
+            "is_read = true",
+            "SELECT COUNT(*) FROM user_notifications WHERE is_read = false"),
+
+    ADMIN_NOTIFICATIONS("admin_notifications",
+            "is_read, admin_id, created_at, id, message, type",
+            "is_read = true",
+            "SELECT COUNT(*) FROM admin_notifications WHERE is_read = false");
+
+    private final String table;
+    private final String columns;
+    private final String closed;
+    private final String probe;
+    private final List<Dependent> dependents;
+
+    ArchivedTable(String table, String columns, String closed, String probe, Dependent... dependents) {
+        this.table = table;
+        this.columns = columns;
+        this.closed = closed;
+        this.probe = probe;
+        this.dependents = List.of(dependents);
+    }
+
+    /**
+     * A table whose rows follow the archived row they reference through {@code foreignKey}.
+     */
+    record Dependent(String table, String columns, String foreignKey) {
+
+        String archiveTable() {
+            return table + "_archive";
+        }
+    }
+
+    public String table() {
+        return table;
+    }
+
+    public String archiveTable() {
+        return table + "_archive";
+    }
+
+    String columns() {
+        return columns;
+    }
+
+    String closed() {
+        return closed;
+    }
+
+    String probe() {
+        return probe;
+    }
+
+    List<Dependent> dependents() {
+        return dependents;
+    }
+}
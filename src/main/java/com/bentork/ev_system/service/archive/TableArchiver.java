@@ -0,0 +1,265 @@
+package com.bentork.ev_system.service.archive;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bentork.ev_system.dto.response.ArchiveReportResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves closed rows older than the retention window from the history tables into their
+ * archive tables, so the active tables (and every count, sum and listing over them) stop
+ * growing with history.
+ *
+ * Runs nightly. Each table is walked in keyset batches of BATCH_SIZE ids; a batch is one
+ * short transaction that locks the rows still eligible, copies them with INSERT ... SELECT
+ * and deletes them. Rows that changed since the scan are skipped by the lock, and a second
+ * node running at the same time finds them already gone. A run stops after
+ * MAX_BATCHES_PER_RUN batches per table and picks up the rest the next night.
+ *
+ * Before and after each table it records the active and archive row counts and the
+ * latency of the table's probe query; the last reports are served by the admin archive
+ * endpoint and the figures are exported as archive.* meters.
+ */
+@Slf4j
+@Service
+public class TableArchiver {
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_BATCHES_PER_RUN = 200;
+    private static final int PROBE_RUNS = 3;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveRouter archiveRouter;
+    private final boolean enabled;
+
+    private final Map<ArchivedTable, ArchiveReportResponse> lastReports = new ConcurrentHashMap<>();
+    private final Map<ArchivedTable, TableMeters> meters = new EnumMap<>(ArchivedTable.class);
+
+    public TableArchiver(EntityManager entityManager,
+                         TransactionTemplate transactionTemplate,
+                         ArchiveRouter archiveRouter,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.archive.enabled:true}") boolean enabled) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveRouter = archiveRouter;
+        this.enabled = enabled;
+        for (ArchivedTable table : ArchivedTable.values()) {
+            meters.put(table, new TableMeters(meterRegistry, table));
+        }
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void archiveAll() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = archiveRouter.archiveCutoff();
+        for (ArchivedTable table : ArchivedTable.values()) {
+            try {
+                archive(table, cutoff);
+            } catch (Exception e) {
+                // Log and go on with the next table; moved batches are committed
+                log.error("Archiving {} failed: {}", table.table(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Moves the closed rows of one table created before the cutoff, up to MAX_BATCHES_PER_RUN batches.
+     */
+    public ArchiveReportResponse archive(ArchivedTable table, LocalDateTime cutoff) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        long activeBefore = count(table.table());
+        long archivedBefore = count(table.archiveTable());
+        double probeBefore = probeMillis(table);
+
+        long afterId = 0L;
+        long moved = 0;
+        int batches = 0;
+        boolean complete = false;
+        while (batches < MAX_BATCHES_PER_RUN) {
+            List<Long> ids = findEligibleIds(table, cutoff, afterId);
+            if (ids.isEmpty()) {
+                complete = true;
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            Integer count = transactionTemplate.execute(status -> moveBatch(table, ids, cutoff));
+            moved += count != null ? count : 0;
+            batches++;
+            if (ids.size() < BATCH_SIZE) {
+                complete = true;
+                break;
+            }
+        }
+
+        ArchiveReportResponse report = ArchiveReportResponse.builder()
+                .table(table.table())
+                .startedAt(startedAt)
+                .cutoff(cutoff)
+                .movedRows(moved)
+                .batches(batches)
+                .complete(complete)
+                .activeRowsBefore(activeBefore)
+                .archivedRowsBefore(archivedBefore)
+                .probeMillisBefore(probeBefore)
+                .activeRowsAfter(count(table.table()))
+                .archivedRowsAfter(count(table.archiveTable()))
+                .probeMillisAfter(probeMillis(table))
+                .durationMillis((System.nanoTime() - started) / 1_000_000)
+                .build();
+        lastReports.put(table, report);
+        meters.get(table).record(report);
+
+        log.info("Archived {} {} row(s) created before {} in {} batch(es){}: active {} -> {} rows, probe {} -> {} ms",
+                moved, table.table(), cutoff, batches, complete ? "" : " (more left for the next run)",
+                report.getActiveRowsBefore(), report.getActiveRowsAfter(),
+                String.format("%.2f", report.getProbeMillisBefore()), String.format("%.2f", report.getProbeMillisAfter()));
+        return report;
+    }
+
+    /**
+     * Last run's report per table, in ArchivedTable order; tables not archived yet are left out.
+     */
+    public List<ArchiveReportResponse> getLastReports() {
+        List<ArchiveReportResponse> reports = new ArrayList<>();
+        for (ArchivedTable table : ArchivedTable.values()) {
+            ArchiveReportResponse report = lastReports.get(table);
+            if (report != null) {
+                reports.add(report);
+            }
+        }
+        return reports;
+    }
+
+    private List<Long> findEligibleIds(ArchivedTable table, LocalDateTime cutoff, long afterId) {
+        List<?> rows = entityManager.createNativeQuery("SELECT id FROM " + table.table()
+                        + " WHERE created_at < :cutoff AND id > :afterId AND " + table.closed()
+                        + " ORDER BY id")
+                .setParameter("cutoff", cutoff)
+                .setParameter("afterId", afterId)
+                .setMaxResults(BATCH_SIZE)
+                .getResultList();
+        return toIds(rows);
+    }
+
+    /**
+     * Locks the rows of the batch that are still eligible, copies them and their dependent
+     * rows and deletes them. Must run inside a transaction.
+     *
+     * @return number of rows moved
+     */
+    private int moveBatch(ArchivedTable table, List<Long> ids, LocalDateTime cutoff) {
+        List<Long> locked = toIds(entityManager.createNativeQuery("SELECT id FROM " + table.table()
+                        + " WHERE id IN (:ids) AND created_at < :cutoff AND " + table.closed() + " FOR UPDATE")
+                .setParameter("ids", ids)
+                .setParameter("cutoff", cutoff)
+                .getResultList());
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        update(table.table(), table.archiveTable(), "INSERT INTO " + table.archiveTable() + " ("
+                + table.columns() + ") SELECT " + table.columns() + " FROM " + table.table()
+                + " WHERE id IN (:ids)", locked);
+        // Dependents go first so their foreign keys never point at a deleted row
+        for (ArchivedTable.Dependent dependent : table.dependents()) {
+            update(dependent.table(), dependent.archiveTable(), "INSERT INTO " + dependent.archiveTable() + " ("
+                    + dependent.columns() + ") SELECT " + dependent.columns() + " FROM " + dependent.table()
+                    + " WHERE " + dependent.foreignKey() + " IN (:ids)", locked);
+            update(dependent.table(), dependent.archiveTable(), "DELETE FROM " + dependent.table()
+                    + " WHERE " + dependent.foreignKey() + " IN (:ids)", locked);
+        }
+        update(table.table(), table.archiveTable(), "DELETE FROM " + table.table() + " WHERE id IN (:ids)", locked);
+        return locked.size();
+    }
+
+    private void update(String tableName, String archiveTableName, String sql, List<Long> ids) {
+        Query query = entityManager.createNativeQuery(sql).setParameter("ids", ids);
+        // Only these two tables are touched: keep the second-level and query caches of
+        // everything else
+        query.unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(tableName)
+                .addSynchronizedQuerySpace(archiveTableName);
+        query.executeUpdate();
+    }
+
+    private long count(String tableName) {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM " + tableName)
+                .getSingleResult()).longValue();
+    }
+
+    /**
+     * Best of PROBE_RUNS executions, so one cold buffer pool read does not skew the figure.
+     */
+    private double probeMillis(ArchivedTable table) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_RUNS; i++) {
+            long started = System.nanoTime();
+            entityManager.createNativeQuery(table.probe()).getSingleResult();
+            best = Math.min(best, System.nanoTime() - started);
+        }
+        return best / 1_000_000.0;
+    }
+
+    private static List<Long> toIds(List<?> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            ids.add(((Number) row).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Meters of one table: row counts and probe latency as of the last run, rows moved in total.
+     */
+    private static final class TableMeters {
+
+        private final AtomicLong activeRows = new AtomicLong();
+        private final AtomicLong archivedRows = new AtomicLong();
+        private final AtomicLong probeMicros = new AtomicLong();
+        private final Counter moved;
+
+        TableMeters(MeterRegistry registry, ArchivedTable table) {
+            Gauge.builder("archive.table.rows", activeRows, AtomicLong::get)
+                    .tags("table", table.table(), "tier", "active")
+                    .register(registry);
+            Gauge.builder("archive.table.rows", archivedRows, AtomicLong::get)
+                    .tags("table", table.table(), "tier", "archive")
+                    .register(registry);
+            Gauge.builder("archive.probe.millis", probeMicros, micros -> micros.get() / 1_000.0)
+                    .tags("table", table.table())
+                    .register(registry);
+            moved = Counter.builder("archive.rows.moved")
+                    .tags("table", table.table())
+                    .register(registry);
+        }
+
+        void record(ArchiveReportResponse report) {
+            activeRows.set(report.getActiveRowsAfter());
+            archivedRows.set(report.getArchivedRowsAfter());
+            probeMicros.set(Math.round(report.getProbeMillisAfter() * 1_000));
+            moved.increment(report.getMovedRows());
+        }
+    }
+}
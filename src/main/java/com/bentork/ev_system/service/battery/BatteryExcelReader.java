@@ -0,0 +1,226 @@
+package com.bentork.ev_system.service.battery;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import com.bentork.ev_system.exception.domain.InvalidExcelFileException;
+
+/**
+ * Reads the first sheet of an Excel file row by row, as trimmed cell texts.
+ *
+ * .xlsx files are read with the XSSF event model: the sheet XML is parsed as a stream and
+ * only the current row is held, so a 100k-row file costs the shared strings table and
+ * nothing per row. .xls files (at most 65,536 rows) are loaded as a workbook.
+ *
+ * Both paths render cells the same way: date-formatted numbers as yyyy-MM-dd, whole numbers
+ * without a decimal point (barcodes typed as numbers), formulas as their cached result,
+ * blank cells as null.
+ */
+public final class BatteryExcelReader {
+
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * @param rowIndex 0-based row index (0 is the header)
+         * @param cells    cell texts of columns A.. up to the reader's column count, null when blank
+         */
+        void row(int rowIndex, String[] cells);
+    }
+
+    private BatteryExcelReader() {
+    }
+
+    /**
+     * Streams the rows of the file's first sheet to the handler, in sheet order. Rows
+     * without any cell are not reported.
+     */
+    public static void read(File file, String fileName, int columns, RowHandler handler) {
+        try {
+            if (fileName.toLowerCase().endsWith(".xlsx")) {
+                readXlsx(file, columns, handler);
+            } else {
+                readXls(file, columns, handler);
+            }
+        } catch (InvalidExcelFileException e) {
+            throw e;
+        } catch (RowHandlerException e) {
+            throw e.getCause();
+        } catch (Exception e) {
+            throw new InvalidExcelFileException("Failed to read Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    private static void readXlsx(File file, int columns, RowHandler handler) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new InvalidExcelFileException("Excel file contains no sheets.");
+            }
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null,
+                    new ReadOnlySharedStringsTable(pkg), new RowCollector(columns, handler), new CellFormatter(), false));
+            try (InputStream sheet = sheets.next()) {
+                parser.parse(new InputSource(sheet));
+            }
+        }
+    }
+
+    private static void readXls(File file, int columns, RowHandler handler) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(file, null, true)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (Row row : sheet) {
+                String[] cells = new String[columns];
+                for (int column = 0; column < columns; column++) {
+                    cells[column] = text(row.getCell(column));
+                }
+                emit(handler, row.getRowNum(), cells);
+            }
+        }
+    }
+
+    private static String text(Cell cell) {
+        if (cell == null) {
+            return null;
+        }
+        CellType type = cell.getCellType() == CellType.FORMULA ? cell.getCachedFormulaResultType() : cell.getCellType();
+        return switch (type) {
+            case STRING -> trimToNull(cell.getStringCellValue());
+            case NUMERIC -> DateUtil.isCellDateFormatted(cell)
+                    ? cell.getLocalDateTimeCellValue().toLocalDate().toString()
+                    : number(cell.getNumericCellValue());
+            case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
+            default -> null;
+        };
+    }
+
+    private static String number(double value) {
+        if (value == Math.floor(value) && !Double.isInfinite(value)) {
+            return String.valueOf((long) value);
+        }
+        return String.valueOf(value);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static void emit(RowHandler handler, int rowIndex, String[] cells) {
+        try {
+            handler.row(rowIndex, cells);
+        } catch (RuntimeException e) {
+            // Not a read error: passed through the SAX parser and rethrown as is
+            throw new RowHandlerException(e);
+        }
+    }
+
+    /**
+     * Renders numeric cells of the event model like text(Cell) does for the workbook model.
+     */
+    private static final class CellFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString,
+                boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value, use1904Windowing).toLocalDate().toString();
+            }
+            return number(value);
+        }
+    }
+
+    /**
+     * Collects the cells of one row from the SAX callbacks.
+     */
+    private static final class RowCollector implements SheetContentsHandler {
+
+        private final int columns;
+        private final RowHandler handler;
+        private final String[] cells;
+        private int nextColumn;
+        private boolean hasCells;
+
+        RowCollector(int columns, RowHandler handler) {
+            this.columns = columns;
+            this.handler = handler;
+            this.cells = new String[columns];
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(cells, null);
+            nextColumn = 0;
+            hasCells = false;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (hasCells) {
+                emit(handler, rowNum, cells.clone());
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // The r attribute is optional; without it cells are consecutive
+            int column = cellReference != null ? column(cellReference) : nextColumn;
+            nextColumn = column + 1;
+            if (column < columns) {
+                cells[column] = trimToNull(formattedValue);
+                hasCells = true;
+            }
+        }
+    }
+
+    /**
+     * 0-based column of an A1-style reference, without CellReference's parsing of the row part.
+     */
+    private static int column(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static final class RowHandlerException extends RuntimeException {
+
+        RowHandlerException(RuntimeException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.bentork.ev_system.service.battery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import com.bentork.ev_system.dto.response.BatteryImportJobResponse;
+import com.bentork.ev_system.dto.response.BatteryImportJobResponse.RowError;
+
+/**
+ * State of one battery Excel import. Written by the import thread and read by pollers,
+ * so every access is synchronized.
+ */
+public class BatteryImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String fileName;
+    private final String adminEmail;
+    private final int maxReportedErrors;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private Status status = Status.QUEUED;
+    private String failureReason;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private int rowsProcessed;
+    private int registered;
+    private int skipped;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public BatteryImportJob(String fileName, String adminEmail, int maxReportedErrors) {
+        this.fileName = fileName;
+        this.adminEmail = adminEmail;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getAdminEmail() {
+        return adminEmail;
+    }
+
+    public synchronized void start() {
+        status = Status.RUNNING;
+        startedAt = LocalDateTime.now();
+    }
+
+    public synchronized void rowsProcessed(int rows) {
+        rowsProcessed += rows;
+    }
+
+    public synchronized void registered(int rows) {
+        registered += rows;
+    }
+
+    /**
+     * Counts a skipped row; its error is listed while fewer than maxReportedErrors are.
+     */
+    public synchronized void skipped(RowError error) {
+        skipped++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(error);
+        }
+    }
+
+    public synchronized void complete() {
+        status = Status.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized void fail(String reason) {
+        status = Status.FAILED;
+        failureReason = reason;
+        finishedAt = LocalDateTime.now();
+    }
+
+    public synchronized boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    public synchronized boolean isFinishedBefore(LocalDateTime time) {
+        return finishedAt != null && finishedAt.isBefore(time);
+    }
+
+    public synchronized BatteryImportJobResponse toResponse() {
+        List<RowError> sorted = new ArrayList<>(errors);
+        // Duplicates are found per chunk, after later rows' format errors
+        sorted.sort(Comparator.comparingInt(RowError::getRowNumber));
+        return BatteryImportJobResponse.builder()
+                .jobId(id)
+                .status(status.name())
+                .fileName(fileName)
+                .failureReason(failureReason)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .totalRowsProcessed(rowsProcessed)
+                .successCount(registered)
+                .skippedCount(skipped)
+                .errors(sorted)
+                .errorsTruncated(skipped > errors.size())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.bentork.ev_system.service.battery;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.dto.response.BatteryImportJobResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shared progress and results of battery import jobs, so any node behind the load
+ * balancer can answer a poll for a job another node is running.
+ *
+ * Each write replaces the job's snapshot in Redis with a TTL. If Redis is unreachable
+ * the write is reported as failed and the caller keeps the job on its own node (same
+ * graceful-degradation policy as IdempotencyStore).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatteryImportJobStore {
+
+    private static final String KEY_PREFIX = "battery-import:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return false when the snapshot could not be written
+     */
+    public boolean save(BatteryImportJobResponse job, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + job.getJobId(), write(job), ttl);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Battery import store: failed to write job {} to Redis: {}", job.getJobId(), e.getMessage());
+            return false;
+        }
+    }
+
+    public Optional<BatteryImportJobResponse> get(String jobId) {
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + jobId);
+            return value == null ? Optional.empty() : Optional.of(read(value));
+        } catch (RuntimeException e) {
+            log.warn("Battery import store: failed to read job {} from Redis: {}", jobId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String write(BatteryImportJobResponse job) {
+        try {
+            return objectMapper.writeValueAsString(job);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize battery import job", e);
+        }
+    }
+
+    private BatteryImportJobResponse read(String value) {
+        try {
+            return objectMapper.readValue(value, BatteryImportJobResponse.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read battery import job", e);
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.bentork.ev_system.service.billing;
 
+import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.model.Receipt;
 import com.bentork.ev_system.model.Session;
 import com.bentork.ev_system.service.TaxCalculationService;
+import com.bentork.ev_system.service.billing.money.Energy;
+import com.bentork.ev_system.service.billing.money.Money;
+import com.bentork.ev_system.service.billing.money.Tariff;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
 import java.math.RoundingMode;
 
 /**
@@ -30,44 +33,44 @@ public class KwhBillingStrategy implements BillingStrategy {
 
     @Override
     public BillingResult calculate(Session session, Receipt receipt, double energyUsed) {
-        BigDecimal rate = BigDecimal.valueOf(session.getCharger().getRate());
+        Charger charger = session.getCharger();
+        Tariff rate = Tariff.ofRupeesPerKwh(charger.getRate());
         double selectedKwh = receipt.getSelectedKwh().doubleValue();
+        Energy selected = Energy.ofKwh(selectedKwh);
+        Energy used = Energy.ofKwh(energyUsed);
 
         // Platform fee locked on selectedKwh (floored-unit logic) — does NOT change with actual usage
-        BigDecimal platformFee = taxService.calculatePlatformFee(
-                selectedKwh, session.getCharger().getPlatformFeePerKwh());
+        Money platformFee = taxService.platformFee(selected, charger.getPlatformFeePerKwh());
 
         // Energy cost based on ACTUAL usage
-        BigDecimal energyCost = BigDecimal.valueOf(energyUsed).multiply(rate)
-                .setScale(2, RoundingMode.HALF_UP);
-        
-        BigDecimal pst = taxService.calculatePst(energyUsed, session.getCharger().getRate(), session.getCharger().getPstPercent());
-        BigDecimal finalCost = energyCost.add(platformFee).add(pst);
+        Money energyCost = rate.costOf(used, RoundingMode.HALF_UP);
+
+        Money pst = taxService.pst(used, charger.getRate(), charger.getPstPercent());
+        Money finalCost = energyCost.plus(platformFee).plus(pst);
 
         // Prepaid also included the same platform fee and its PST
-        BigDecimal prepaidEnergyCost = BigDecimal.valueOf(selectedKwh).multiply(rate)
-                .setScale(2, RoundingMode.HALF_UP);
-        BigDecimal prepaidPst = taxService.calculatePst(selectedKwh, session.getCharger().getRate(), session.getCharger().getPstPercent());
-        BigDecimal prepaid = prepaidEnergyCost.add(platformFee).add(prepaidPst);
+        Money prepaidEnergyCost = rate.costOf(selected, RoundingMode.HALF_UP);
+        Money prepaidPst = taxService.pst(selected, charger.getRate(), charger.getPstPercent());
+        Money prepaid = prepaidEnergyCost.plus(platformFee).plus(prepaidPst);
 
         log.info("kWh billing: sessionId={}, selectedKwh={}, actualKwh={}, prepaid={}, finalCost={}, platformFee={}, pst={}",
                 session.getId(), selectedKwh, energyUsed, prepaid, finalCost, platformFee, pst);
 
         BillingResult result = new BillingResult();
-        result.setFinalCost(finalCost);
-        result.setPrepaidAmount(prepaid);
-        result.setPlatformFee(platformFee);
-        result.setPstAmount(pst);
+        result.setFinalCost(finalCost.toBigDecimal());
+        result.setPrepaidAmount(prepaid.toBigDecimal());
+        result.setPlatformFee(platformFee.toBigDecimal());
+        result.setPstAmount(pst.toBigDecimal());
 
         if (finalCost.compareTo(prepaid) < 0) {
-            BigDecimal refund = prepaid.subtract(finalCost);
-            result.setRefundAmount(refund);
+            Money refund = prepaid.minus(finalCost);
+            result.setRefundAmount(refund.toBigDecimal());
             result.setRefundIssued(true);
             result.setDescription("Unused energy refund: ₹" + refund + " (Used " +
                     String.format("%.2f", energyUsed) + " kWh of " + String.format("%.2f", selectedKwh) + " kWh selected, Platform fee: ₹" + platformFee + ", PST: ₹" + pst + ")");
         } else if (finalCost.compareTo(prepaid) > 0) {
-            BigDecimal extra = finalCost.subtract(prepaid);
-            result.setExtraDebit(extra);
+            Money extra = finalCost.minus(prepaid);
+            result.setExtraDebit(extra.toBigDecimal());
             result.setExtraDebited(true);
             result.setDescription("Extra amount ₹" + extra + " deducted. (Used " +
                     String.format("%.2f", energyUsed) + " kWh, exceeded " + String.format("%.2f", selectedKwh) + " kWh selected, Platform fee: ₹" + platformFee + ", PST: ₹" + pst + ")");
@@ -1,8 +1,12 @@
 package com.bentork.ev_system.service.billing;
 
+import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.model.Receipt;
 import com.bentork.ev_system.model.Session;
 import com.bentork.ev_system.service.TaxCalculationService;
+import com.bentork.ev_system.service.billing.money.Energy;
+import com.bentork.ev_system.service.billing.money.Money;
+import com.bentork.ev_system.service.billing.money.Tariff;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -33,42 +37,41 @@ public class MoneyBillingStrategy implements BillingStrategy {
 
     @Override
     public BillingResult calculate(Session session, Receipt receipt, double energyUsed) {
-        BigDecimal rate = BigDecimal.valueOf(session.getCharger().getRate());
+        Charger charger = session.getCharger();
         BigDecimal allocatedKwh = session.getAllocatedKwh();
-        BigDecimal chargeableAmount = session.getChargeableAmount(); // total prepaid (chargeable portion)
+        // total prepaid (chargeable portion), already whole paise
+        Money chargeableAmount = Money.ofRupees(session.getChargeableAmount(), RoundingMode.HALF_UP);
 
         // Calculate actual cost breakdown based on delivered energy
-        BigDecimal deliveredKwh = BigDecimal.valueOf(energyUsed);
-        BigDecimal actualEnergyCost = deliveredKwh.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+        Energy delivered = Energy.ofKwh(energyUsed);
+        Money actualEnergyCost = Tariff.ofRupeesPerKwh(charger.getRate()).costOf(delivered, RoundingMode.HALF_UP);
 
-        BigDecimal actualPst = taxService.calculatePst(
-                energyUsed, session.getCharger().getRate(), session.getCharger().getPstPercent());
-        BigDecimal actualPlatformFee = taxService.calculatePlatformFee(
-                energyUsed, session.getCharger().getPlatformFeePerKwh());
+        Money actualPst = taxService.pst(delivered, charger.getRate(), charger.getPstPercent());
+        Money actualPlatformFee = taxService.platformFee(delivered, charger.getPlatformFeePerKwh());
 
-        BigDecimal actualCost = actualEnergyCost.add(actualPst).add(actualPlatformFee);
-        BigDecimal prepaid = chargeableAmount;
+        Money actualCost = actualEnergyCost.plus(actualPst).plus(actualPlatformFee);
+        Money prepaid = chargeableAmount;
 
         log.info("MONEY_BASED billing: sessionId={}, energyUsed={}, allocatedKwh={}, " +
                 "prepaid={}, actualCost={}, pst={}, platformFee={}",
                 session.getId(), energyUsed, allocatedKwh, prepaid, actualCost, actualPst, actualPlatformFee);
 
         BillingResult result = new BillingResult();
-        result.setPrepaidAmount(prepaid);
-        result.setPstAmount(actualPst);
-        result.setPlatformFee(actualPlatformFee);
+        result.setPrepaidAmount(prepaid.toBigDecimal());
+        result.setPstAmount(actualPst.toBigDecimal());
+        result.setPlatformFee(actualPlatformFee.toBigDecimal());
 
         if (actualCost.compareTo(prepaid) < 0) {
-            BigDecimal refund = prepaid.subtract(actualCost);
-            result.setFinalCost(actualCost);
-            result.setRefundAmount(refund);
+            Money refund = prepaid.minus(actualCost);
+            result.setFinalCost(actualCost.toBigDecimal());
+            result.setRefundAmount(refund.toBigDecimal());
             result.setRefundIssued(true);
             result.setDescription("Early stop refund: ₹" + refund + " (delivered " +
                 String.format("%.2f", energyUsed) + " of " + allocatedKwh + " kWh, " +
                 "PST: ₹" + actualPst + ", Platform fee: ₹" + actualPlatformFee + ")");
         } else {
             // Delivered >= allocated, cap at prepaid amount
-            result.setFinalCost(prepaid);
+            result.setFinalCost(prepaid.toBigDecimal());
         }
 
         return result;
@@ -0,0 +1,90 @@
+package com.bentork.ev_system.service.billing.money;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable energy quantity held as a whole number of milli-Wh (10^-6 kWh).
+ * Meter readings arrive in Wh, so this resolution represents every reading exactly.
+ */
+public final class Energy implements Comparable<Energy>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Energy ZERO = new Energy(0);
+
+    static final long MILLI_WH_PER_KWH = 1_000_000;
+
+    private final long milliWh;
+
+    private Energy(long milliWh) {
+        this.milliWh = milliWh;
+    }
+
+    public static Energy ofMilliWh(long milliWh) {
+        return milliWh == 0 ? ZERO : new Energy(milliWh);
+    }
+
+    /**
+     * Converts a kWh reading, rounding half-up to the nearest milli-Wh.
+     */
+    public static Energy ofKwh(double kwh) {
+        return ofMilliWh(FixedPoint.toUnits(kwh, MILLI_WH_PER_KWH));
+    }
+
+    public static Energy ofKwh(BigDecimal kwh, RoundingMode mode) {
+        return ofMilliWh(FixedPoint.toUnits(kwh, 6, mode));
+    }
+
+    public long milliWh() {
+        return milliWh;
+    }
+
+    /**
+     * @return the number of complete kWh units contained in this quantity (floor)
+     */
+    public long wholeKwh() {
+        return Math.floorDiv(milliWh, MILLI_WH_PER_KWH);
+    }
+
+    public Energy plus(Energy other) {
+        return ofMilliWh(Math.addExact(milliWh, other.milliWh));
+    }
+
+    public Energy minus(Energy other) {
+        return ofMilliWh(Math.subtractExact(milliWh, other.milliWh));
+    }
+
+    public boolean isPositive() {
+        return milliWh > 0;
+    }
+
+    public double toKwh() {
+        return milliWh / (double) MILLI_WH_PER_KWH;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(milliWh, 6);
+    }
+
+    @Override
+    public int compareTo(Energy other) {
+        return Long.compare(milliWh, other.milliWh);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Energy other && milliWh == other.milliWh);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(milliWh);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().stripTrailingZeros().toPlainString() + " kWh";
+    }
+}
@@ -0,0 +1,71 @@
+package com.bentork.ev_system.service.billing.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Integer arithmetic helpers shared by the fixed-point value types.
+ * All multiplications are overflow-checked; all divisions take an explicit
+ * RoundingMode with the same semantics as BigDecimal.
+ */
+final class FixedPoint {
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Divides dividend by divisor and rounds the quotient to a whole number using the given mode.
+     */
+    static long divide(long dividend, long divisor, RoundingMode mode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        int signum = (dividend < 0) == (divisor < 0) ? 1 : -1;
+        long absRemainder = Math.abs(remainder);
+        long absDivisor = Math.abs(divisor);
+
+        boolean increment = switch (mode) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> signum < 0;
+            case CEILING -> signum > 0;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                // Compare remainder with (divisor - remainder) instead of 2 * remainder to avoid overflow
+                int cmp = Long.compare(absRemainder, absDivisor - absRemainder);
+                if (cmp != 0) {
+                    yield cmp > 0;
+                }
+                yield mode == RoundingMode.HALF_UP
+                        || (mode == RoundingMode.HALF_EVEN && (quotient & 1) != 0);
+            }
+        };
+        return increment ? quotient + signum : quotient;
+    }
+
+    /**
+     * Converts a decimal value into a whole count of units of 10^-scale, rounding with the given mode.
+     */
+    static long toUnits(BigDecimal value, int scale, RoundingMode mode) {
+        return value.setScale(scale, mode).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts a double into a whole count of units of 10^-scale, rounding half-up to the nearest unit.
+     * Decimal inputs that were entered at (or below) the target resolution convert exactly.
+     */
+    static long toUnits(double value, long unitsPerWhole) {
+        return Math.round(value * unitsPerWhole);
+    }
+
+    static long multiply(long a, long b) {
+        return Math.multiplyExact(a, b);
+    }
+
+    static long multiply(long a, long b, long c) {
+        return Math.multiplyExact(Math.multiplyExact(a, b), c);
+    }
+}
@@ -0,0 +1,95 @@
+package com.bentork.ev_system.service.billing.money;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable rupee amount held as a whole number of paise.
+ * Replaces BigDecimal.valueOf(double) → multiply → setScale(2) chains in the billing hot path.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Money ZERO = new Money(0);
+
+    static final long PAISE_PER_RUPEE = 100;
+
+    private final long paise;
+
+    private Money(long paise) {
+        this.paise = paise;
+    }
+
+    public static Money ofPaise(long paise) {
+        return paise == 0 ? ZERO : new Money(paise);
+    }
+
+    public static Money ofRupees(BigDecimal rupees, RoundingMode mode) {
+        return ofPaise(FixedPoint.toUnits(rupees, 2, mode));
+    }
+
+    public static Money ofRupees(double rupees, RoundingMode mode) {
+        return ofRupees(BigDecimal.valueOf(rupees), mode);
+    }
+
+    public long paise() {
+        return paise;
+    }
+
+    public Money plus(Money other) {
+        return ofPaise(Math.addExact(paise, other.paise));
+    }
+
+    public Money minus(Money other) {
+        return ofPaise(Math.subtractExact(paise, other.paise));
+    }
+
+    public Money times(long multiplier) {
+        return ofPaise(FixedPoint.multiply(paise, multiplier));
+    }
+
+    public boolean isZero() {
+        return paise == 0;
+    }
+
+    public boolean isPositive() {
+        return paise > 0;
+    }
+
+    public boolean isNegative() {
+        return paise < 0;
+    }
+
+    /**
+     * @return the amount as a BigDecimal with scale 2, matching the legacy setScale(2) outputs
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(paise, 2);
+    }
+
+    public double toDouble() {
+        return paise / (double) PAISE_PER_RUPEE;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(paise, other.paise);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && paise == other.paise);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(paise);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.bentork.ev_system.service.billing.money;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable percentage held as a whole number of basis points (12.5% = 1250).
+ */
+public final class Percentage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Percentage ZERO = new Percentage(0);
+
+    static final long BASIS_POINTS_PER_WHOLE = 10_000;
+
+    private final long basisPoints;
+
+    private Percentage(long basisPoints) {
+        this.basisPoints = basisPoints;
+    }
+
+    public static Percentage ofBasisPoints(long basisPoints) {
+        return basisPoints == 0 ? ZERO : new Percentage(basisPoints);
+    }
+
+    /**
+     * Converts a percent value (e.g. 12.5), rounding half-up to the nearest basis point.
+     */
+    public static Percentage ofPercent(double percent) {
+        return ofBasisPoints(FixedPoint.toUnits(percent, 100));
+    }
+
+    public static Percentage ofPercent(BigDecimal percent, RoundingMode mode) {
+        return ofBasisPoints(FixedPoint.toUnits(percent, 2, mode));
+    }
+
+    public long basisPoints() {
+        return basisPoints;
+    }
+
+    public boolean isPositive() {
+        return basisPoints > 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Percentage other && basisPoints == other.basisPoints);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(basisPoints);
+    }
+
+    @Override
+    public String toString() {
+        return BigDecimal.valueOf(basisPoints, 2).stripTrailingZeros().toPlainString() + "%";
+    }
+}
@@ -0,0 +1,98 @@
+package com.bentork.ev_system.service.billing.money;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable price per kWh held as a whole number of micro-rupees (10^-6 ₹).
+ * The extra resolution over paise keeps charger rates such as ₹16.125/kWh exact,
+ * so every product below is computed on integers and rounded exactly once.
+ */
+public final class Tariff implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final Tariff ZERO = new Tariff(0);
+
+    static final long MICROS_PER_RUPEE = 1_000_000;
+    private static final long MICROS_PER_PAISA = MICROS_PER_RUPEE / Money.PAISE_PER_RUPEE;
+
+    private final long microsPerKwh;
+
+    private Tariff(long microsPerKwh) {
+        this.microsPerKwh = microsPerKwh;
+    }
+
+    public static Tariff ofMicrosPerKwh(long microsPerKwh) {
+        return microsPerKwh == 0 ? ZERO : new Tariff(microsPerKwh);
+    }
+
+    /**
+     * Converts a ₹/kWh rate, rounding half-up to the nearest micro-rupee.
+     */
+    public static Tariff ofRupeesPerKwh(double rupeesPerKwh) {
+        return ofMicrosPerKwh(FixedPoint.toUnits(rupeesPerKwh, MICROS_PER_RUPEE));
+    }
+
+    public static Tariff ofRupeesPerKwh(BigDecimal rupeesPerKwh, RoundingMode mode) {
+        return ofMicrosPerKwh(FixedPoint.toUnits(rupeesPerKwh, 6, mode));
+    }
+
+    public long microsPerKwh() {
+        return microsPerKwh;
+    }
+
+    public boolean isPositive() {
+        return microsPerKwh > 0;
+    }
+
+    /**
+     * Cost of the given energy at this rate.
+     */
+    public Money costOf(Energy energy, RoundingMode mode) {
+        long micros = FixedPoint.multiply(microsPerKwh, energy.milliWh());
+        return Money.ofPaise(FixedPoint.divide(micros, MICROS_PER_PAISA * Energy.MILLI_WH_PER_KWH, mode));
+    }
+
+    /**
+     * Cost of a whole number of kWh units at this rate.
+     */
+    public Money costOfUnits(long units, RoundingMode mode) {
+        return Money.ofPaise(FixedPoint.divide(FixedPoint.multiply(microsPerKwh, units), MICROS_PER_PAISA, mode));
+    }
+
+    /**
+     * A percentage of this rate charged on a whole number of kWh units,
+     * computed as units × rate × percentage with a single final rounding.
+     */
+    public Money percentOfUnits(Percentage percentage, long units, RoundingMode mode) {
+        long scaled = FixedPoint.multiply(microsPerKwh, percentage.basisPoints(), units);
+        return Money.ofPaise(FixedPoint.divide(scaled, MICROS_PER_PAISA * Percentage.BASIS_POINTS_PER_WHOLE, mode));
+    }
+
+    /**
+     * Tax-inclusive price of one kWh: rate × (1 + percentage) + flat surcharge, rounded to paise.
+     */
+    public Money withPercentAndSurcharge(Percentage percentage, Tariff surcharge, RoundingMode mode) {
+        long scaled = Math.addExact(
+                FixedPoint.multiply(microsPerKwh, Math.addExact(Percentage.BASIS_POINTS_PER_WHOLE, percentage.basisPoints())),
+                FixedPoint.multiply(surcharge.microsPerKwh, Percentage.BASIS_POINTS_PER_WHOLE));
+        return Money.ofPaise(FixedPoint.divide(scaled, MICROS_PER_PAISA * Percentage.BASIS_POINTS_PER_WHOLE, mode));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Tariff other && microsPerKwh == other.microsPerKwh);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(microsPerKwh);
+    }
+
+    @Override
+    public String toString() {
+        return BigDecimal.valueOf(microsPerKwh, 6).stripTrailingZeros().toPlainString() + "/kWh";
+    }
+}
@@ -0,0 +1,74 @@
+package com.bentork.ev_system.service.charger;
+
+import java.time.LocalDateTime;
+
+import com.bentork.ev_system.dto.request.ChargerDTO;
+import com.bentork.ev_system.model.Charger;
+
+/**
+ * Immutable copy of a charger as held by ChargerIndex: identity, station, pricing and the
+ * live status fields the user app shows.
+ */
+public record ChargerSnapshot(
+        Long id,
+        String ocppId,
+        Long stationId,
+        String stationName,
+        String connectorType,
+        String chargerType,
+        Double rate,
+        Double platformFeePerKwh,
+        Double pstPercent,
+        Double kwOutput,
+        Boolean active,
+        String status,
+        boolean availability,
+        boolean occupied,
+        LocalDateTime createdAt) {
+
+    public static ChargerSnapshot of(Charger charger) {
+        return new ChargerSnapshot(
+                charger.getId(),
+                charger.getOcppId(),
+                charger.getStation().getId(),
+                charger.getStation().getName(),
+                charger.getConnectorType(),
+                charger.getChargerType(),
+                charger.getRate(),
+                charger.getPlatformFeePerKwh(),
+                charger.getPstPercent(),
+                charger.getKwOutput(),
+                charger.getActive(),
+                charger.getStatus(),
+                charger.isAvailability(),
+                charger.isOccupied(),
+                charger.getCreatedAt());
+    }
+
+    public ChargerSnapshot withState(String status, boolean availability, boolean occupied) {
+        return new ChargerSnapshot(id, ocppId, stationId, stationName, connectorType, chargerType, rate,
+                platformFeePerKwh, pstPercent, kwOutput, active, status, availability, occupied, createdAt);
+    }
+
+    /**
+     * Same fields as ChargerMapper.toDto.
+     */
+    public ChargerDTO toDto() {
+        ChargerDTO dto = new ChargerDTO();
+        dto.setId(id);
+        dto.setStationId(stationId);
+        dto.setStationName(stationName);
+        dto.setOcppId(ocppId);
+        dto.setConnectorType(connectorType);
+        dto.setChargerType(chargerType);
+        dto.setRate(rate);
+        dto.setPlatformFeePerKwh(platformFeePerKwh);
+        dto.setPstPercent(pstPercent);
+        dto.setOccupied(occupied);
+        dto.setAvailability(availability);
+        dto.setCreatedAt(createdAt);
+        dto.setStatus(status);
+        dto.setActive(active);
+        return dto;
+    }
+}
@@ -0,0 +1,109 @@
+package com.bentork.ev_system.service.export;
+
+import java.util.List;
+
+import com.bentork.ev_system.service.archive.ArchivedTable;
+
+/**
+ * The tables ExportService can export, and how each one is read.
+ *
+ * {@code columns} are the selected SQL expressions, on alias {@code t} for the exported
+ * table; the header of a column is the part after the last dot. {@code stationColumn} is
+ * what the station filter applies to (null: the table cannot be filtered by station), and
+ * {@code statusColumn} what the status filter applies to. Large text columns (claim
+ * photos) are left out on purpose.
+ */
+public enum ExportDataset {
+
+    // Sessions only know their charger: the station comes from the charger. LEFT JOIN so
+    // archived sessions of a deleted charger are still exported.
+    SESSIONS("sessions", "sessions", ArchivedTable.SESSIONS,
+            List.of("t.id", "t.user_id", "t.charger_id", "c.station_id", "t.status", "t.source_type",
+                    "t.start_time", "t.end_time", "t.charging_duration_seconds", "t.energy_kwh",
+                    "t.cost", "t.platform_fee", "t.pst_amount", "t.refund_status", "t.refund_amount",
+                    "t.created_at"),
+            " LEFT JOIN charger c ON c.id = t.charger_id", "c.station_id", "t.status"),
+
+    REVENUE("revenue", "revenue", null,
+            List.of("t.id", "t.session_id", "t.user_id", "t.charger_id", "t.station_id", "t.amount",
+                    "t.payment_method", "t.payment_status", "t.transaction_id", "t.created_at"),
+            "", "t.station_id", "t.payment_status"),
+
+    WALLET_TRANSACTIONS("wallet-transactions", "wallet_transactions", ArchivedTable.WALLET_TRANSACTIONS,
+            List.of("t.id", "t.user_id", "t.session_id", "t.type", "t.method", "t.status", "t.amount",
+                    "t.gross_amount", "t.gst_amount", "t.pst_amount", "t.transaction_ref", "t.created_at"),
+            "", null, "t.status"),
+
+    ORDERS("orders", "orders", null,
+            List.of("t.id", "t.order_number", "t.pi_number", "t.customer_name", "t.mobile_number",
+                    "t.product_details", "t.quantity", "t.total_invoice_amount", "t.received_amount",
+                    "t.pending_amount", "t.payment_status", "t.order_status", "t.production_status",
+                    "t.priority", "t.expected_delivery_date", "t.invoice_number", "t.barcode",
+                    "t.tracking_id", "t.created_by_admin_email", "t.created_at", "t.dispatched_at"),
+            "", null, "t.order_status"),
+
+    WARRANTY_CLAIMS("warranty-claims", "warranty_claims", null,
+            List.of("t.id", "t.battery_data_id", "t.customer_name", "t.invoice_number", "t.product_details",
+                    "t.status", "t.issue_description", "t.reject_reason", "t.courier_name",
+                    "t.tracking_number", "t.dispatch_date", "t.submitter_email",
+                    "t.processed_by_admin_email", "t.created_at", "t.approved_at", "t.completed_at",
+                    "t.closed_at"),
+            "", null, "t.status");
+
+    private final String fileName;
+    private final String table;
+    private final ArchivedTable archived;
+    private final List<String> columns;
+    private final List<String> headers;
+    private final String join;
+    private final String stationColumn;
+    private final String statusColumn;
+
+    ExportDataset(String fileName, String table, ArchivedTable archived, List<String> columns,
+                  String join, String stationColumn, String statusColumn) {
+        this.fileName = fileName;
+        this.table = table;
+        this.archived = archived;
+        this.columns = columns;
+        this.headers = columns.stream().map(column -> column.substring(column.lastIndexOf('.') + 1)).toList();
+        this.join = join;
+        this.stationColumn = stationColumn;
+        this.statusColumn = statusColumn;
+    }
+
+    public String fileName() {
+        return fileName;
+    }
+
+    public boolean supportsStationFilter() {
+        return stationColumn != null;
+    }
+
+    List<String> headers() {
+        return headers;
+    }
+
+    /**
+     * Tables to read, in output order: the archive first (older rows) when the range may
+     * reach into it, then the active table.
+     */
+    List<String> tables(boolean withArchive) {
+        return withArchive && archived != null ? List.of(archived.archiveTable(), table) : List.of(table);
+    }
+
+    String columns() {
+        return String.join(", ", columns);
+    }
+
+    String join() {
+        return join;
+    }
+
+    String stationColumn() {
+        return stationColumn;
+    }
+
+    String statusColumn() {
+        return statusColumn;
+    }
+}
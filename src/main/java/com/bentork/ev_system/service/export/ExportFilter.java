@@ -0,0 +1,15 @@
+package com.bentork.ev_system.service.export;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Row filter of an export; every part is optional (null).
+ *
+ * @param from       inclusive lower bound on created_at
+ * @param to         exclusive upper bound on created_at
+ * @param stationIds only rows of these stations; an empty collection matches nothing
+ * @param status     exact value of the dataset's status column
+ */
+public record ExportFilter(LocalDateTime from, LocalDateTime to, Collection<Long> stationIds, String status) {
+}
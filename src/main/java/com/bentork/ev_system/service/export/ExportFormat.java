@@ -0,0 +1,47 @@
+package com.bentork.ev_system.service.export;
+
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * File formats of the exports, with their content type and file extension.
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * @param value "csv" or "xlsx", any case; null means CSV
+     */
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value + " (use csv or xlsx)");
+        }
+    }
+
+    TabularWriter open(OutputStream out) {
+        return this == XLSX ? new XlsxTabularWriter(out) : new CsvTabularWriter(out);
+    }
+}
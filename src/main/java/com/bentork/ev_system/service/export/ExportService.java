@@ -0,0 +1,179 @@
+package com.bentork.ev_system.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bentork.ev_system.config.datasource.DataSourceRoute;
+import com.bentork.ev_system.config.datasource.UseDataSource;
+import com.bentork.ev_system.service.archive.ArchiveRouter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CSV and XLSX exports of the history tables (see ExportDataset), for files of any size.
+ *
+ * Rows are read with plain JDBC from a cursor (FETCH_SIZE rows per round trip; the MySQL
+ * URL sets useCursorFetch) and handed to the writer one at a time, without entities or
+ * DTOs in between. The date range, station and status filters are part of the SQL, and
+ * the rows come in (created_at, id) order straight off the created_at indexes of
+ * V5__export_range_indexes.sql. Heap use is the same for ten rows or ten million.
+ *
+ * A range that may reach into the archive (ArchiveRouter) reads the archive table first,
+ * then the active one. Both reads run in one read-only transaction, so they see one
+ * snapshot and a row moved by the archiver in between is exported exactly once. Exports
+ * are reporting work and run on the reporting pool.
+ */
+@Slf4j
+@Service
+@UseDataSource(DataSourceRoute.REPORTING)
+public class ExportService {
+
+    static final int FETCH_SIZE = 500;
+    private static final int FLUSH_EVERY = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ArchiveRouter archiveRouter;
+
+    public ExportService(DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         ArchiveRouter archiveRouter) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.archiveRouter = archiveRouter;
+    }
+
+    /**
+     * Rejects a filter the dataset cannot apply. Call before the response is committed:
+     * once {@link #export} has started writing, an error can only cut the file short.
+     */
+    public void validate(ExportDataset dataset, ExportFilter filter) {
+        if (filter.stationIds() != null && !dataset.supportsStationFilter()) {
+            throw new IllegalArgumentException(dataset.fileName() + " cannot be filtered by station");
+        }
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+
+    /**
+     * Writes the header and every matching row to the stream. Leaves the stream open.
+     *
+     * @return number of rows written
+     */
+    public long export(ExportDataset dataset, ExportFilter filter, ExportFormat format, OutputStream out)
+            throws IOException {
+        validate(dataset, filter);
+        long start = System.currentTimeMillis();
+        try (TabularWriter writer = format.open(out)) {
+            writer.header(dataset.headers());
+            RowCopier copier = new RowCopier(writer, dataset.headers().size());
+            // An empty station list (a dealer without stations) matches nothing
+            if (filter.stationIds() == null || !filter.stationIds().isEmpty()) {
+                boolean withArchive = archiveRouter.tierFor(filter.from()) == ArchiveRouter.Tier.HOT_AND_ARCHIVE;
+                MapSqlParameterSource params = parameters(filter);
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    for (String table : dataset.tables(withArchive)) {
+                        jdbcTemplate.query(sql(dataset, table, filter), params, copier);
+                    }
+                });
+            }
+            writer.finish();
+            log.info("Exported {} {} row(s) as {} in {} ms",
+                    copier.count, dataset.fileName(), format, System.currentTimeMillis() - start);
+            return copier.count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static String sql(ExportDataset dataset, String table, ExportFilter filter) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(dataset.columns())
+                .append(" FROM ").append(table).append(" t").append(dataset.join())
+                .append(" WHERE 1 = 1");
+        if (filter.from() != null) {
+            sql.append(" AND t.created_at >= :from");
+        }
+        if (filter.to() != null) {
+            sql.append(" AND t.created_at < :to");
+        }
+        if (filter.stationIds() != null) {
+            sql.append(" AND ").append(dataset.stationColumn()).append(" IN (:stationIds)");
+        }
+        if (filter.status() != null) {
+            sql.append(" AND ").append(dataset.statusColumn()).append(" = :status");
+        }
+        return sql.append(" ORDER BY t.created_at, t.id").toString();
+    }
+
+    private static MapSqlParameterSource parameters(ExportFilter filter) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (filter.from() != null) {
+            params.addValue("from", Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            params.addValue("to", Timestamp.valueOf(filter.to()));
+        }
+        if (filter.stationIds() != null) {
+            params.addValue("stationIds", List.copyOf(filter.stationIds()));
+        }
+        if (filter.status() != null) {
+            params.addValue("status", filter.status());
+        }
+        return params;
+    }
+
+    /**
+     * Copies each row of the cursor into the writer, flushing every FLUSH_EVERY rows.
+     */
+    private static final class RowCopier implements RowCallbackHandler {
+
+        private final TabularWriter writer;
+        private final Object[] values;
+        private long count;
+
+        private RowCopier(TabularWriter writer, int columns) {
+            this.writer = writer;
+            this.values = new Object[columns];
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = rs.getObject(i + 1);
+                if (value instanceof Timestamp timestamp) {
+                    value = timestamp.toLocalDateTime();
+                } else if (value instanceof java.sql.Date date) {
+                    value = date.toLocalDate();
+                }
+                values[i] = value;
+            }
+            try {
+                writer.row(values);
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
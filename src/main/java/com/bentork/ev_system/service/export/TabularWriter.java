@@ -0,0 +1,30 @@
+package com.bentork.ev_system.service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes one table of rows to an output stream, a row at a time. Values are what the
+ * JDBC driver returned, with timestamps and dates already turned into LocalDateTime and
+ * LocalDate; null is an empty cell.
+ *
+ * {@link #close()} releases the writer's own resources but never closes the target
+ * stream, which belongs to the servlet container.
+ */
+interface TabularWriter extends Closeable {
+
+    void header(List<String> columns) throws IOException;
+
+    void row(Object[] values) throws IOException;
+
+    /**
+     * Sends the rows written so far to the client, if the format allows it before the end.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Writes out whatever is still buffered. Called once, after the last row.
+     */
+    void finish() throws IOException;
+}
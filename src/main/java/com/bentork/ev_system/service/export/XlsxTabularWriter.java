@@ -0,0 +1,115 @@
+package com.bentork.ev_system.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * XLSX through POI's streaming SXSSFWorkbook: only the last ROW_WINDOW rows are on the
+ * heap, older ones are flushed to a compressed temp file, and strings are written inline
+ * instead of into a shared string table. Heap use does not grow with the export.
+ *
+ * Dates and timestamps are date cells and numbers are numeric cells, so they sort and sum
+ * in Excel. A sheet holds at most Excel's row limit; the export goes on in a new sheet
+ * with the header repeated. The file itself can only be written once the last row is in,
+ * so nothing reaches the client before {@link #finish()}.
+ */
+class XlsxTabularWriter implements TabularWriter {
+
+    static final int ROW_WINDOW = 100;
+    static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final int MAX_CELL_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final CellStyle dateStyle;
+    private final CellStyle dateTimeStyle;
+
+    private List<String> columns;
+    private Sheet sheet;
+    private int nextRow;
+
+    XlsxTabularWriter(OutputStream out) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+        this.workbook.setCompressTempFiles(true);
+        short dateFormat = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd");
+        short dateTimeFormat = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss");
+        this.dateStyle = workbook.createCellStyle();
+        this.dateStyle.setDataFormat(dateFormat);
+        this.dateTimeStyle = workbook.createCellStyle();
+        this.dateTimeStyle.setDataFormat(dateTimeFormat);
+    }
+
+    @Override
+    public void header(List<String> columns) {
+        this.columns = columns;
+        newSheet();
+    }
+
+    @Override
+    public void row(Object[] values) {
+        if (nextRow == MAX_ROWS_PER_SHEET) {
+            newSheet();
+        }
+        Row row = sheet.createRow(nextRow++);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                setValue(row.createCell(i), values[i]);
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        // The zip can only be written whole, in finish()
+    }
+
+    @Override
+    public void finish() throws IOException {
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Deletes the temp files; close() alone leaves them behind
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private void newSheet() {
+        sheet = workbook.createSheet("Export " + (workbook.getNumberOfSheets() + 1));
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < columns.size(); i++) {
+            header.createCell(i).setCellValue(columns.get(i));
+        }
+        nextRow = 1;
+    }
+
+    private void setValue(Cell cell, Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(dateTimeStyle);
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(dateStyle);
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else {
+            String text = value.toString();
+            cell.setCellValue(text.length() > MAX_CELL_LENGTH ? text.substring(0, MAX_CELL_LENGTH) : text);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.bentork.ev_system.service.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stored state for one Idempotency-Key.
+ *
+ * While the first request is running the record is IN_PROGRESS and only carries the
+ * request fingerprint; once it finishes the HTTP status and JSON body are filled in
+ * so replays can be answered without touching the session flow again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    public static final String IN_PROGRESS = "in_progress";
+    public static final String COMPLETED = "completed";
+
+    private String state;
+    private String fingerprint;
+    private Integer status;
+    private String body;
+
+    public static IdempotencyRecord inProgress(String fingerprint) {
+        return new IdempotencyRecord(IN_PROGRESS, fingerprint, null, null);
+    }
+
+    public static IdempotencyRecord completed(String fingerprint, int status, String body) {
+        return new IdempotencyRecord(COMPLETED, fingerprint, status, body);
+    }
+
+    public boolean isCompleted() {
+        return COMPLETED.equals(state);
+    }
+}
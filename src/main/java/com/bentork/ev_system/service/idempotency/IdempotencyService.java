@@ -0,0 +1,198 @@
+package com.bentork.ev_system.service.idempotency;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Request deduplication for mutating endpoints that clients retry (session start/stop).
+ *
+ * The client sends an Idempotency-Key header; the first request with a given key runs,
+ * and its response is stored for RESULT_TTL. Later requests with the same key:
+ *   - get the stored response replayed (with Idempotent-Replayed: true)
+ *   - wait for the first request if it is still running, then replay its response
+ *   - get 422 if the body differs from the original request
+ *
+ * Keys are scoped per user and endpoint. 5xx responses and exceptions release the key
+ * so the client can retry for real. Requests without the header behave as before.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final Duration RESULT_TTL = Duration.ofHours(24);
+    private static final Duration IN_FLIGHT_TTL = Duration.ofMinutes(2);
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(30);
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private static final TypeReference<Map<String, Object>> BODY_TYPE = new TypeReference<>() {};
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    // Same-node duplicates wait on the first request's future instead of polling the store
+    private final ConcurrentHashMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+
+    public ResponseEntity<Map<String, Object>> execute(String scope, String idempotencyKey, Object request,
+                                                       Supplier<ResponseEntity<Map<String, Object>>> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", HEADER + " must be at most " + MAX_KEY_LENGTH + " characters"));
+        }
+
+        String key = scope + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request);
+
+        CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            log.info("Idempotency: waiting for in-flight request, key={}", key);
+            return awaitLocal(running, fingerprint);
+        }
+
+        try {
+            Optional<IdempotencyRecord> existing = store.putIfAbsent(key, IdempotencyRecord.inProgress(fingerprint), IN_FLIGHT_TTL);
+            if (existing.isPresent()) {
+                IdempotencyRecord record = existing.get().isCompleted() ? existing.get() : awaitStore(key);
+                mine.complete(record);
+                return replay(record, fingerprint);
+            }
+
+            ResponseEntity<Map<String, Object>> response = action.get();
+            IdempotencyRecord record = IdempotencyRecord.completed(
+                    fingerprint, response.getStatusCode().value(), writeBody(response.getBody()));
+
+            if (response.getStatusCode().is5xxServerError()) {
+                store.remove(key);
+            } else {
+                store.put(key, record, RESULT_TTL);
+            }
+            mine.complete(record);
+            return response;
+
+        } catch (RuntimeException e) {
+            store.remove(key);
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private ResponseEntity<Map<String, Object>> awaitLocal(CompletableFuture<IdempotencyRecord> running, String fingerprint) {
+        try {
+            return replay(running.get(WAIT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS), fingerprint);
+        } catch (TimeoutException e) {
+            return stillProcessing();
+        } catch (ExecutionException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Original request failed, please retry"));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return stillProcessing();
+        }
+    }
+
+    /**
+     * The first request is running on another node: poll the store until it publishes a result.
+     */
+    private IdempotencyRecord awaitStore(String key) {
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT.toMillis();
+        while (System.currentTimeMillis() < deadline) {
+            Optional<IdempotencyRecord> record = store.get(key);
+            if (record.isEmpty()) {
+                // Released after a failure — nothing to replay
+                return null;
+            }
+            if (record.get().isCompleted()) {
+                return record.get();
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return null;
+    }
+
+    private ResponseEntity<Map<String, Object>> replay(IdempotencyRecord record, String fingerprint) {
+        if (record == null) {
+            return stillProcessing();
+        }
+        if (!fingerprint.equals(record.getFingerprint())) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(Map.of("error", HEADER + " was already used with a different request body"));
+        }
+        return ResponseEntity.status(record.getStatus())
+                .header(REPLAYED_HEADER, "true")
+                .body(readBody(record.getBody()));
+    }
+
+    private ResponseEntity<Map<String, Object>> stillProcessing() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "A request with this " + HEADER + " is still being processed"));
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    private String writeBody(Map<String, Object> body) {
+        try {
+            return body == null ? null : objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize response for idempotency store", e);
+        }
+    }
+
+    private Map<String, Object> readBody(String body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            // Keep amounts as BigDecimal so the replayed JSON matches the original
+            return objectMapper.readerFor(BODY_TYPE)
+                    .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                    .readValue(body.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read stored idempotent response", e);
+        }
+    }
+}
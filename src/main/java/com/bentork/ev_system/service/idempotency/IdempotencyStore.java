@@ -0,0 +1,154 @@
+package com.bentork.ev_system.service.idempotency;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Key store for idempotency records.
+ *
+ * Redis is the primary store so duplicates are caught across nodes (SET NX + TTL).
+ * If Redis is unreachable, the store degrades to a node-local map with the same
+ * semantics — same-node retries are still deduplicated, and nothing fails because
+ * the cache is down (same graceful-degradation policy as RedisConfig).
+ *
+ * The local map only holds records written while Redis was failing, and at most
+ * MAX_LOCAL_ENTRIES of them; past that, new keys are not deduplicated locally.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idem:";
+    static final int MAX_LOCAL_ENTRIES = 10_000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, LocalEntry> localStore = new ConcurrentHashMap<>();
+
+    /**
+     * Store the record only if the key is unused.
+     *
+     * @return the existing record when the key was already taken, empty when this call claimed it
+     */
+    public Optional<IdempotencyRecord> putIfAbsent(String key, IdempotencyRecord record, Duration ttl) {
+        // A record written locally during an outage still counts once Redis is back
+        Optional<IdempotencyRecord> local = getLocal(key);
+        if (local.isPresent()) {
+            return local;
+        }
+        try {
+            Boolean stored = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, write(record), ttl);
+            if (Boolean.TRUE.equals(stored)) {
+                return Optional.empty();
+            }
+            return get(key);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency store: Redis unavailable ({}), using local fallback for key {}", e.getMessage(), key);
+            if (!hasLocalRoom()) {
+                return Optional.empty();
+            }
+            LocalEntry fresh = new LocalEntry(record, Instant.now().plus(ttl));
+            LocalEntry existing = localStore.compute(key, (k, current) ->
+                    current == null || current.isExpired() ? fresh : current);
+            return existing == fresh ? Optional.empty() : Optional.of(existing.record());
+        }
+    }
+
+    public Optional<IdempotencyRecord> get(String key) {
+        try {
+            String value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            return value == null ? getLocal(key) : Optional.of(read(value));
+        } catch (RuntimeException e) {
+            return getLocal(key);
+        }
+    }
+
+    public void put(String key, IdempotencyRecord record, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, write(record), ttl);
+            // Drop the in-progress record of a claim made locally while Redis was down
+            localStore.remove(key);
+        } catch (RuntimeException e) {
+            // Keep the result on this node so a Redis outage between claim and completion does not lose it
+            log.warn("Idempotency store: failed to write key {} to Redis, keeping it locally: {}", key, e.getMessage());
+            if (hasLocalRoom() || localStore.containsKey(key)) {
+                localStore.put(key, new LocalEntry(record, Instant.now().plus(ttl)));
+            }
+        }
+    }
+
+    public void remove(String key) {
+        localStore.remove(key);
+        try {
+            redisTemplate.delete(KEY_PREFIX + key);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency store: failed to delete key {} from Redis: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop expired local entries every minute.
+     */
+    @Scheduled(fixedRate = 60000)
+    public void purgeExpired() {
+        if (!localStore.isEmpty()) {
+            localStore.values().removeIf(LocalEntry::isExpired);
+        }
+    }
+
+    int localSize() {
+        return localStore.size();
+    }
+
+    private Optional<IdempotencyRecord> getLocal(String key) {
+        LocalEntry entry = localStore.get(key);
+        return entry == null || entry.isExpired() ? Optional.empty() : Optional.of(entry.record());
+    }
+
+    private boolean hasLocalRoom() {
+        if (localStore.size() < MAX_LOCAL_ENTRIES) {
+            return true;
+        }
+        purgeExpired();
+        if (localStore.size() < MAX_LOCAL_ENTRIES) {
+            return true;
+        }
+        log.warn("Idempotency store: local fallback full ({} entries), not deduplicating new keys", MAX_LOCAL_ENTRIES);
+        return false;
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize idempotency record", e);
+        }
+    }
+
+    private IdempotencyRecord read(String value) {
+        try {
+            return objectMapper.readValue(value, IdempotencyRecord.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to read idempotency record", e);
+        }
+    }
+
+    private record LocalEntry(IdempotencyRecord record, Instant expiresAt) {
+        boolean isExpired() {
+            return Instant.now().isAfter(expiresAt);
+        }
+    }
+}
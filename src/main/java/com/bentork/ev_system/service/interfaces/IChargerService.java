@@ -2,7 +2,9 @@ package com.bentork.ev_system.service.interfaces;
 
 import com.bentork.ev_system.dto.request.ChargerDTO;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for charger CRUD and status query operations.
@@ -11,6 +13,7 @@ public interface IChargerService {
     String createCharger(ChargerDTO dto);
     List<ChargerDTO> getAllChargers();
     ChargerDTO getChargerById(Long id);
+    Map<Long, ChargerDTO> getChargersByIds(Collection<Long> ids);
     String updateCharger(Long id, ChargerDTO dto);
     String deleteCharger(Long id);
     Long getTotalChargers();
@@ -1,11 +1,14 @@
 package com.bentork.ev_system.service.interfaces;
 
 import com.bentork.ev_system.dto.request.RevenueDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.model.Revenue;
 import com.bentork.ev_system.model.Session;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface for revenue query and management operations.
@@ -17,6 +20,10 @@ public interface IRevenueService {
     BigDecimal getTotalRevenue();
     BigDecimal getPendingRevenue();
     List<RevenueDTO> getAllRevenue();
+    CursorPage<RevenueDTO> getRevenuePage(String paymentStatus, Long stationId, LocalDateTime from,
+                                          LocalDateTime to, String cursor, Integer limit);
+    long forEachRevenue(String paymentStatus, Long stationId, LocalDateTime from, LocalDateTime to,
+                        Consumer<RevenueDTO> action);
     RevenueDTO getById(Long id);
     void delete(Long id);
     Long getTotalTransactions();
@@ -1,10 +1,14 @@
 package com.bentork.ev_system.service.interfaces;
 
+import com.bentork.ev_system.dto.response.CursorPage;
+import com.bentork.ev_system.dto.response.SessionDTO;
 import com.bentork.ev_system.model.Session;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface for read-only session query operations.
@@ -19,5 +23,9 @@ public interface ISessionQueryService {
     Optional<Session> findLastActiveSession();
     Long getTodaysErrorCount();
     List<Session> getallSessionRecords();
+    CursorPage<SessionDTO> getSessionPage(String status, Long userId, Long chargerId, LocalDateTime from,
+                                          LocalDateTime to, String cursor, Integer limit);
+    long forEachSession(String status, Long userId, Long chargerId, LocalDateTime from, LocalDateTime to,
+                        Consumer<SessionDTO> action);
     List<Map<String, Object>> getActiveSessionDetails();
 }
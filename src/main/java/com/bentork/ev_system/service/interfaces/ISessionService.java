@@ -1,12 +1,15 @@
 package com.bentork.ev_system.service.interfaces;
 
 import com.bentork.ev_system.dto.request.SessionDTO;
+import com.bentork.ev_system.dto.response.CursorPage;
 import com.bentork.ev_system.model.Receipt;
 import com.bentork.ev_system.model.Session;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interface for session management operations.
@@ -27,5 +30,9 @@ public interface ISessionService {
     Optional<Session> findLastActiveSession();
     Long getTodaysErrorCount();
     List<Session> getallSessionRecords();
+    CursorPage<com.bentork.ev_system.dto.response.SessionDTO> getSessionPage(String status, Long userId,
+            Long chargerId, LocalDateTime from, LocalDateTime to, String cursor, Integer limit);
+    long forEachSession(String status, Long userId, Long chargerId, LocalDateTime from, LocalDateTime to,
+            Consumer<com.bentork.ev_system.dto.response.SessionDTO> action);
     List<Map<String, Object>> getActiveSessionDetails();
 }
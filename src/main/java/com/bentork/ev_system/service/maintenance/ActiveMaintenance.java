@@ -0,0 +1,12 @@
+package com.bentork.ev_system.service.maintenance;
+
+import java.util.Set;
+
+/**
+ * Targets of the maintenance schedules that are ACTIVE right now.
+ *
+ * @param chargerIds chargers with charger-level maintenance
+ * @param stationIds stations with station-level maintenance (covers all their chargers)
+ */
+public record ActiveMaintenance(Set<Long> chargerIds, Set<Long> stationIds) {
+}
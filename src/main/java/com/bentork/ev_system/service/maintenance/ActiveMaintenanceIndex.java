@@ -0,0 +1,67 @@
+package com.bentork.ev_system.service.maintenance;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.repository.MaintenanceScheduleRepository;
+import com.bentork.ev_system.service.warmup.CacheWarmupTask;
+
+/**
+ * Cached set of active maintenance targets, so the per-message maintenance guard
+ * (StatusNotification, session start, receipts) does not query the schedules table.
+ *
+ * One entry in the "maintenance" cache, loaded with a single query and evicted by
+ * MaintenanceService whenever a schedule is saved (after commit, on all nodes).
+ */
+@Component
+public class ActiveMaintenanceIndex implements CacheWarmupTask {
+
+    public static final String CACHE = "maintenance";
+    private static final String KEY = "active";
+
+    private final MaintenanceScheduleRepository scheduleRepository;
+    private final Cache cache;
+
+    public ActiveMaintenanceIndex(MaintenanceScheduleRepository scheduleRepository, CacheManager cacheManager) {
+        this.scheduleRepository = scheduleRepository;
+        this.cache = cacheManager.getCache(CACHE);
+    }
+
+    public ActiveMaintenance current() {
+        return cache.get(KEY, this::load);
+    }
+
+    public void invalidate() {
+        cache.evict(KEY);
+    }
+
+    @Override
+    public String name() {
+        return CACHE;
+    }
+
+    @Override
+    public int warm() {
+        ActiveMaintenance active = load();
+        cache.putIfAbsent(KEY, active);
+        return active.chargerIds().size() + active.stationIds().size();
+    }
+
+    private ActiveMaintenance load() {
+        Set<Long> chargerIds = new HashSet<>();
+        Set<Long> stationIds = new HashSet<>();
+        for (MaintenanceScheduleRepository.MaintenanceTarget target : scheduleRepository.findActiveTargets()) {
+            if (target.getChargerId() != null) {
+                chargerIds.add(target.getChargerId());
+            }
+            if (target.getStationId() != null) {
+                stationIds.add(target.getStationId());
+            }
+        }
+        return new ActiveMaintenance(chargerIds, stationIds);
+    }
+}
@@ -1,8 +1,9 @@
 package com.bentork.ev_system.service.ocpp.handler;
 
 import com.bentork.ev_system.enums.ChargerStatus;
-import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.repository.ChargerRepository;
+import com.bentork.ev_system.service.charger.ChargerIndex;
+import com.bentork.ev_system.service.charger.ChargerSnapshot;
 import com.bentork.ev_system.service.ocpp.OcppActionHandler;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,6 +21,7 @@ import java.time.OffsetDateTime;
 public class BootNotificationHandler implements OcppActionHandler {
 
     private final ChargerRepository chargerRepository;
+    private final ChargerIndex chargerIndex;
     private final ObjectMapper objectMapper;
 
     @Value("${ocpp.heartbeat.interval:60}")
@@ -35,11 +37,10 @@ public class BootNotificationHandler implements OcppActionHandler {
         log.info("BootNotification received from {}: {}", ocppId, payload);
 
         try {
-            Charger charger = chargerRepository.findByOcppId(ocppId).orElse(null);
+            ChargerSnapshot charger = chargerIndex.find(ocppId).orElse(null);
             if (charger != null) {
-                charger.setStatus(ChargerStatus.AVAILABLE.getValue());
-                charger.setAvailability(true);
-                chargerRepository.save(charger);
+                chargerRepository.updateStatus(charger.id(), ChargerStatus.AVAILABLE.getValue(), true);
+                chargerIndex.updateState(charger, ChargerStatus.AVAILABLE.getValue(), true, charger.occupied());
                 log.info("Charger {} status set to AVAILABLE", ocppId);
             }
         } catch (Exception e) {
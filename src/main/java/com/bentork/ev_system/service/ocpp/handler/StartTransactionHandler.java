@@ -8,6 +8,8 @@ import com.bentork.ev_system.model.Session;
 import com.bentork.ev_system.repository.ChargerRepository;
 import com.bentork.ev_system.repository.ReceiptRepository;
 import com.bentork.ev_system.repository.SessionRepository;
+import com.bentork.ev_system.service.charger.ChargerIndex;
+import com.bentork.ev_system.service.charger.ChargerSnapshot;
 import com.bentork.ev_system.service.interfaces.IRFIDChargingService;
 import com.bentork.ev_system.service.interfaces.ISessionService;
 import com.bentork.ev_system.service.ocpp.OcppActionHandler;
@@ -31,6 +33,7 @@ public class StartTransactionHandler implements OcppActionHandler {
     private final ISessionService sessionService;
     private final IRFIDChargingService rfidChargingService;
     private final ChargerRepository chargerRepository;
+    private final ChargerIndex chargerIndex;
     private final ReceiptRepository receiptRepository;
     private final SessionRepository sessionRepository;
     private final OcppConnectionManager connectionManager;
@@ -53,8 +56,10 @@ public class StartTransactionHandler implements OcppActionHandler {
             log.info("StartTransaction - OCPP_ID: {}, IdTag: {}, ConnectorId: {}, MeterStart: {}, Timestamp: {} (raw: {})",
                     ocppId, idTag, connectorId, meterStart, chargerTimestamp, rawTimestamp);
 
-            Charger charger = chargerRepository.findByOcppId(ocppId)
+            ChargerSnapshot snapshot = chargerIndex.find(ocppId)
                     .orElseThrow(() -> new ChargerNotFoundException(ocppId));
+            // Only used by id (query parameter, getId), so a reference is enough
+            Charger charger = chargerRepository.getReferenceById(snapshot.id());
 
             Session session = null;
             String sessionType = "UNKNOWN";
@@ -148,10 +153,8 @@ public class StartTransactionHandler implements OcppActionHandler {
                     transactionId, session.getId(), sessionType);
 
             // Update charger status
-            charger.setOccupied(true);
-            charger.setAvailability(false);
-            charger.setStatus(ChargerStatus.BUSY.getValue());
-            chargerRepository.save(charger);
+            chargerRepository.updateState(snapshot.id(), ChargerStatus.BUSY.getValue(), false, true);
+            chargerIndex.updateState(snapshot, ChargerStatus.BUSY.getValue(), false, true);
 
             // Build response
             ObjectNode idTagInfo = objectMapper.createObjectNode();
@@ -1,8 +1,9 @@
 package com.bentork.ev_system.service.ocpp.handler;
 
 import com.bentork.ev_system.enums.ChargerStatus;
-import com.bentork.ev_system.model.Charger;
 import com.bentork.ev_system.repository.ChargerRepository;
+import com.bentork.ev_system.service.charger.ChargerIndex;
+import com.bentork.ev_system.service.charger.ChargerSnapshot;
 import com.bentork.ev_system.service.ocpp.OcppActionHandler;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,6 +20,7 @@ import com.bentork.ev_system.service.interfaces.IMaintenanceService;
 public class StatusNotificationHandler implements OcppActionHandler {
 
     private final ChargerRepository chargerRepository;
+    private final ChargerIndex chargerIndex;
     private final ObjectMapper objectMapper;
     private final IMaintenanceService maintenanceService;
 
@@ -38,20 +40,20 @@ public class StatusNotificationHandler implements OcppActionHandler {
                 ocppId, connectorId, status, errorCode);
 
         try {
-            Charger charger = chargerRepository.findByOcppId(ocppId).orElse(null);
+            ChargerSnapshot charger = chargerIndex.find(ocppId).orElse(null);
             if (charger != null) {
                 // MAINTENANCE GUARD: If charger is under maintenance, log but don't update status
-                if (maintenanceService.isChargerUnderMaintenance(charger.getId())) {
+                if (maintenanceService.isChargerUnderMaintenance(charger.id())) {
                     log.info("Charger {} is under maintenance — ignoring OCPP status update. Reported: {}",
                             ocppId, status);
                     return objectMapper.createObjectNode();
                 }
 
                 ChargerStatus chargerStatus = ChargerStatus.fromString(status);
-                charger.setStatus(chargerStatus.getValue());
-                charger.setAvailability(chargerStatus == ChargerStatus.AVAILABLE);
-                charger.setOccupied(chargerStatus == ChargerStatus.BUSY);
-                chargerRepository.save(charger);
+                boolean availability = chargerStatus == ChargerStatus.AVAILABLE;
+                boolean occupied = chargerStatus == ChargerStatus.BUSY;
+                chargerRepository.updateState(charger.id(), chargerStatus.getValue(), availability, occupied);
+                chargerIndex.updateState(charger, chargerStatus.getValue(), availability, occupied);
 
                 log.info("Charger {} status updated to: {} (from OCPP: {})",
                         ocppId, chargerStatus.getValue(), status);
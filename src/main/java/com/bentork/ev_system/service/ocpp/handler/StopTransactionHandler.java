@@ -8,6 +8,7 @@ import com.bentork.ev_system.repository.ChargerRepository;
 import com.bentork.ev_system.repository.ReceiptRepository;
 import com.bentork.ev_system.repository.SessionRepository;
 import com.bentork.ev_system.service.PushNotificationService;
+import com.bentork.ev_system.service.charger.ChargerIndex;
 import com.bentork.ev_system.service.interfaces.IRFIDChargingService;
 import com.bentork.ev_system.service.interfaces.ISessionService;
 import com.bentork.ev_system.service.ocpp.OcppActionHandler;
@@ -32,6 +33,7 @@ public class StopTransactionHandler implements OcppActionHandler {
     private final ISessionService sessionService;
     private final IRFIDChargingService rfidChargingService;
     private final ChargerRepository chargerRepository;
+    private final ChargerIndex chargerIndex;
     private final ReceiptRepository receiptRepository;
     private final SessionRepository sessionRepository;
     private final OcppConnectionManager connectionManager;
@@ -153,6 +155,7 @@ public class StopTransactionHandler implements OcppActionHandler {
                     charger.setAvailability(true);
                     charger.setStatus(ChargerStatus.AVAILABLE.getValue());
                     chargerRepository.save(charger);
+                    chargerIndex.put(charger);
                     log.info("Charger {} status reset to AVAILABLE", charger.getOcppId());
                 } catch (Exception chargerEx) {
                     log.error("Failed to reset charger {} status: {}",
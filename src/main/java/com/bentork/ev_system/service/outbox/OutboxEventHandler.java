@@ -0,0 +1,29 @@
+package com.bentork.ev_system.service.outbox;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Interface for transactional outbox handlers.
+ * Each implementation applies exactly one OutboxEventType.
+ * New side effect = new handler file, zero changes to the relay (Open/Closed Principle).
+ *
+ * Handlers run inside the relay's transaction together with the DISPATCHED update,
+ * so any database work they do commits exactly once. Calls to external systems
+ * (FCM) are at-least-once and must tolerate a repeat.
+ */
+public interface OutboxEventHandler {
+
+    /**
+     * @return The event type this handler applies
+     */
+    OutboxEventType getEventType();
+
+    /**
+     * Apply the side effect. Throwing schedules a retry with backoff.
+     * @param event The outbox row being dispatched
+     * @param payload The event's JSON payload
+     */
+    void handle(OutboxEvent event, JsonNode payload);
+}
@@ -0,0 +1,178 @@
+package com.bentork.ev_system.service.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.enums.OutboxStatus;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Dispatches transactional outbox events to their handlers.
+ *
+ * Two entry points feed the same dispatch routine:
+ *   - dispatchAsync: called after the producing transaction commits, for low latency
+ *   - pollPending:   scheduled sweep for anything not yet delivered (retries, crashes, other nodes)
+ *
+ * A dispatch first leases the row with a conditional UPDATE (only one worker wins),
+ * then runs the handler and marks the row DISPATCHED in a single transaction.
+ * Failures are retried with exponential backoff until MAX_ATTEMPTS, then parked as FAILED.
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private static final int BATCH_SIZE = 100;
+    private static final int MAX_ATTEMPTS = 10;
+    private static final Duration LEASE = Duration.ofMinutes(2);
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(5);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(30);
+    private static final int RETENTION_DAYS = 7;
+
+    private final OutboxEventRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<OutboxEventType, OutboxEventHandler> handlers;
+
+    // Bounded: when full, events simply wait for the next poll instead of piling up in memory
+    private final ExecutorService executor = new ThreadPoolExecutor(
+            2, 4, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1000));
+
+    public OutboxRelay(OutboxEventRepository repository,
+                       TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper,
+                       List<OutboxEventHandler> handlerList) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.handlers = handlerList.stream()
+                .collect(Collectors.toMap(OutboxEventHandler::getEventType, h -> h));
+        log.info("Outbox relay initialized with {} handlers: {}", handlers.size(), handlers.keySet());
+    }
+
+    /**
+     * Hand an event to the worker pool right after its transaction committed.
+     */
+    public void dispatchAsync(Long eventId) {
+        try {
+            executor.submit(() -> dispatch(eventId));
+        } catch (RejectedExecutionException e) {
+            log.warn("Outbox executor saturated, event {} left for the poller", eventId);
+        }
+    }
+
+    /**
+     * Sweep for pending events every 5 seconds.
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void pollPending() {
+        try {
+            List<Long> ids = repository.findDispatchableIds(LocalDateTime.now(), PageRequest.of(0, BATCH_SIZE));
+            if (ids.isEmpty()) {
+                return;
+            }
+            log.info("Outbox poll: dispatching {} pending event(s)", ids.size());
+            ids.forEach(this::dispatch);
+        } catch (Exception e) {
+            log.error("Outbox poll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Purge delivered events once a day (03:30).
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeDispatched() {
+        try {
+            Integer deleted = transactionTemplate.execute(status -> repository.deleteDispatchedBefore(
+                    LocalDateTime.now().minusDays(RETENTION_DAYS)));
+            log.info("Outbox purge: removed {} dispatched event(s) older than {} days", deleted, RETENTION_DAYS);
+        } catch (Exception e) {
+            log.error("Outbox purge failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void dispatch(Long eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status -> repository.claim(eventId, now, now.plus(LEASE)));
+        if (claimed == null || claimed == 0) {
+            return; // Already dispatched, or leased by another worker
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                OutboxEvent event = repository.findById(eventId)
+                        .orElseThrow(() -> new IllegalStateException("Outbox event vanished: " + eventId));
+                OutboxEventHandler handler = handlers.get(event.getEventType());
+                if (handler == null) {
+                    throw new IllegalStateException("No outbox handler for type " + event.getEventType());
+                }
+
+                handler.handle(event, readPayload(event));
+
+                event.setStatus(OutboxStatus.DISPATCHED.getValue());
+                event.setDispatchedAt(LocalDateTime.now());
+                event.setLastError(null);
+                repository.save(event);
+            });
+        } catch (Exception e) {
+            recordFailure(eventId, e);
+        }
+    }
+
+    private void recordFailure(Long eventId, Exception cause) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.findById(eventId).ifPresent(event -> {
+                String error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+                event.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+
+                if (event.getAttempts() >= MAX_ATTEMPTS) {
+                    event.setStatus(OutboxStatus.FAILED.getValue());
+                    log.error("Outbox event {} ({}) FAILED permanently after {} attempts: {}",
+                            eventId, event.getEventType(), event.getAttempts(), error);
+                } else {
+                    Duration backoff = BASE_BACKOFF.multipliedBy(1L << Math.min(event.getAttempts() - 1, 20));
+                    event.setAvailableAt(LocalDateTime.now().plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+                    log.warn("Outbox event {} ({}) failed on attempt {}, retrying at {}: {}",
+                            eventId, event.getEventType(), event.getAttempts(), event.getAvailableAt(), error);
+                }
+                repository.save(event);
+            }));
+        } catch (Exception e) {
+            // Lease expiry will make the event eligible again
+            log.error("Failed to record outbox failure for event {}: {}", eventId, e.getMessage(), e);
+        }
+    }
+
+    private JsonNode readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readTree(event.getPayload());
+        } catch (Exception e) {
+            throw new IllegalStateException("Malformed outbox payload for event " + event.getId(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
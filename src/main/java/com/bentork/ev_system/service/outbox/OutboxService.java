@@ -0,0 +1,88 @@
+package com.bentork.ev_system.service.outbox;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records side effects in the transactional outbox.
+ *
+ * Must be called inside the transaction that writes the business rows: the event
+ * commits or rolls back with them. Once the transaction commits, the event is handed
+ * to the OutboxRelay for immediate asynchronous dispatch; the relay's poller picks up
+ * anything that was missed (crash, full executor, another node).
+ */
+@Slf4j
+@Service
+public class OutboxService {
+
+    public static final String AGGREGATE_SESSION = "SESSION";
+    public static final String AGGREGATE_SLOT_BOOKING = "SLOT_BOOKING";
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay relay;
+
+    public OutboxService(OutboxEventRepository repository, ObjectMapper objectMapper, @Lazy OutboxRelay relay) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.relay = relay;
+    }
+
+    /**
+     * Queue a side effect.
+     * @param aggregateType Owning aggregate, e.g. {@link #AGGREGATE_SESSION}
+     * @param aggregateId   Owning aggregate id
+     * @param type          Side effect to apply
+     * @param discriminator Distinguishes several events of the same type for one aggregate (nullable)
+     * @param payload       Handler input, serialized as JSON
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent enqueue(String aggregateType, Long aggregateId, OutboxEventType type,
+                               String discriminator, Map<String, ?> payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(type);
+        event.setDedupeKey(aggregateType + ":" + aggregateId + ":" + type
+                + (discriminator != null ? ":" + discriminator : ""));
+        event.setPayload(toJson(payload));
+
+        OutboxEvent saved = repository.save(event);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Outbox event queued: id={}, type={}, aggregate={}:{}",
+                    saved.getId(), type, aggregateType, aggregateId);
+        }
+
+        final Long eventId = saved.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.dispatchAsync(eventId);
+            }
+        });
+        return saved;
+    }
+
+    private String toJson(Map<String, ?> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.bentork.ev_system.service.outbox.handler;
+
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.service.interfaces.IAdminNotificationService;
+import com.bentork.ev_system.service.outbox.OutboxEventHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fans a system notification out to all admins.
+ * Payload: message, type
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminNotificationHandler implements OutboxEventHandler {
+
+    private final IAdminNotificationService adminNotificationService;
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.ADMIN_NOTIFICATION;
+    }
+
+    @Override
+    public void handle(OutboxEvent event, JsonNode payload) {
+        adminNotificationService.createSystemNotification(
+                payload.get("message").asText(),
+                payload.get("type").asText());
+    }
+}
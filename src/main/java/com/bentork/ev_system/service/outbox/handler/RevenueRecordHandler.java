@@ -0,0 +1,41 @@
+package com.bentork.ev_system.service.outbox.handler;
+
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.exception.domain.SessionNotFoundException;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.model.Session;
+import com.bentork.ev_system.repository.SessionRepository;
+import com.bentork.ev_system.service.interfaces.IRevenueService;
+import com.bentork.ev_system.service.outbox.OutboxEventHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records revenue for a completed session (dashboard counters move in the same transaction).
+ * Payload: sessionId, amount, paymentMethod, paymentStatus
+ */
+@Component
+@RequiredArgsConstructor
+public class RevenueRecordHandler implements OutboxEventHandler {
+
+    private final SessionRepository sessionRepository;
+    private final IRevenueService revenueService;
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.REVENUE_RECORD;
+    }
+
+    @Override
+    public void handle(OutboxEvent event, JsonNode payload) {
+        Long sessionId = payload.get("sessionId").asLong();
+        Session session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new SessionNotFoundException(sessionId));
+
+        revenueService.recordRevenueForSession(session, payload.get("amount").asDouble(),
+                payload.get("paymentMethod").asText(), null, payload.get("paymentStatus").asText());
+    }
+}
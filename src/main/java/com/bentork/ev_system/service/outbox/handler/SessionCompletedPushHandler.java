@@ -0,0 +1,46 @@
+package com.bentork.ev_system.service.outbox.handler;
+
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.model.User;
+import com.bentork.ev_system.repository.UserRepository;
+import com.bentork.ev_system.service.PushNotificationService;
+import com.bentork.ev_system.service.outbox.OutboxEventHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Sends the data-only SESSION_COMPLETED push that dismisses the app's progress bar.
+ * The FCM token is read at dispatch time so a refreshed token is honoured.
+ * Payload: userId, sessionId, energyKwh, finalCost
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionCompletedPushHandler implements OutboxEventHandler {
+
+    private final UserRepository userRepository;
+    private final PushNotificationService pushNotificationService;
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.SESSION_COMPLETED_PUSH;
+    }
+
+    @Override
+    public void handle(OutboxEvent event, JsonNode payload) {
+        userRepository.findById(payload.get("userId").asLong())
+                .map(User::getFcmToken)
+                .filter(token -> !token.isBlank())
+                .ifPresent(token -> pushNotificationService.sendDataOnlyNotification(token, Map.of(
+                        "type", "SESSION_COMPLETED",
+                        "sessionId", payload.get("sessionId").asText(),
+                        "energyKwh", payload.get("energyKwh").asText(),
+                        "finalCost", payload.get("finalCost").asText(),
+                        "status", "COMPLETED")));
+    }
+}
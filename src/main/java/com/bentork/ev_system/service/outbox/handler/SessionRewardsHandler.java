@@ -0,0 +1,38 @@
+package com.bentork.ev_system.service.outbox.handler;
+
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.service.ReferralService;
+import com.bentork.ev_system.service.interfaces.ICoinService;
+import com.bentork.ev_system.service.outbox.OutboxEventHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Awards charging coins and processes the first-session referral bonus.
+ * Payload: userId, sessionId, energyKwh
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionRewardsHandler implements OutboxEventHandler {
+
+    private final ICoinService coinService;
+    private final ReferralService referralService;
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.SESSION_REWARDS;
+    }
+
+    @Override
+    public void handle(OutboxEvent event, JsonNode payload) {
+        Long userId = payload.get("userId").asLong();
+        Long sessionId = payload.get("sessionId").asLong();
+
+        coinService.awardChargingCoins(userId, payload.get("energyKwh").asDouble(), sessionId);
+        referralService.processFirstSessionCompletion(userId, sessionId);
+    }
+}
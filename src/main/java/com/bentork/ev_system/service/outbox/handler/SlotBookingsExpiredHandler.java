@@ -0,0 +1,60 @@
+package com.bentork.ev_system.service.outbox.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.repository.SlotBookingRepository;
+import com.bentork.ev_system.repository.SlotBookingRepository.ExpiredBooking;
+import com.bentork.ev_system.service.interfaces.IUserNotificationService;
+import com.bentork.ev_system.service.outbox.OutboxEventHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Notifies the owners of a batch of expired slot bookings, one in-app notification
+ * (and FCM push) per booking. The slot times are loaded for the whole batch in one query.
+ * Payload: bookingIds
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlotBookingsExpiredHandler implements OutboxEventHandler {
+
+    private final SlotBookingRepository slotBookingRepository;
+    private final IUserNotificationService userNotificationService;
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.SLOT_BOOKINGS_EXPIRED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event, JsonNode payload) {
+        List<Long> ids = new ArrayList<>();
+        payload.get("bookingIds").forEach(id -> ids.add(id.asLong()));
+
+        List<ExpiredBooking> bookings = slotBookingRepository.findExpiredBookingsByIdIn(ids);
+        for (ExpiredBooking booking : bookings) {
+            userNotificationService.createNotification(
+                    booking.getUserId(),
+                    "Booking Expired",
+                    "Your slot booking for " + timeRange(booking)
+                            + " has expired because you did not start a charging session.",
+                    "BOOKING_EXPIRED");
+        }
+        log.info("Notified {} expired slot booking(s) of event {}", bookings.size(), event.getId());
+    }
+
+    private static String timeRange(ExpiredBooking booking) {
+        if (booking.isAllDay()) {
+            return booking.getStartTimeOnly() + " - " + booking.getEndTimeOnly();
+        }
+        return booking.getStartTime().toLocalTime() + " - " + booking.getEndTime().toLocalTime();
+    }
+}
@@ -0,0 +1,36 @@
+package com.bentork.ev_system.service.outbox.handler;
+
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.service.interfaces.IUserNotificationService;
+import com.bentork.ev_system.service.outbox.OutboxEventHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Creates an in-app notification (and its FCM push) for a user.
+ * Payload: userId, title, message, type
+ */
+@Component
+@RequiredArgsConstructor
+public class UserNotificationHandler implements OutboxEventHandler {
+
+    private final IUserNotificationService userNotificationService;
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.USER_NOTIFICATION;
+    }
+
+    @Override
+    public void handle(OutboxEvent event, JsonNode payload) {
+        userNotificationService.createNotification(
+                payload.get("userId").asLong(),
+                payload.get("title").asText(),
+                payload.get("message").asText(),
+                payload.get("type").asText());
+    }
+}
@@ -0,0 +1,41 @@
+package com.bentork.ev_system.service.outbox.handler;
+
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.service.interfaces.IWalletTransactionService;
+import com.bentork.ev_system.service.outbox.OutboxEventHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Debits usage beyond the prepaid amount from the user's wallet.
+ * Payload: userId, sessionId, amount, method
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WalletDebitHandler implements OutboxEventHandler {
+
+    private final IWalletTransactionService walletTransactionService;
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.WALLET_DEBIT;
+    }
+
+    @Override
+    public void handle(OutboxEvent event, JsonNode payload) {
+        Long sessionId = payload.get("sessionId").asLong();
+        BigDecimal amount = new BigDecimal(payload.get("amount").asText());
+
+        walletTransactionService.debit(payload.get("userId").asLong(), sessionId, amount,
+                payload.get("method").asText());
+        log.info("Extra debit: sessionId={}, extra={}", sessionId, amount);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bentork.ev_system.service.outbox.handler;
+
+import java.math.BigDecimal;
+
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.service.interfaces.IWalletTransactionService;
+import com.bentork.ev_system.service.outbox.OutboxEventHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Credits a session refund to the user's wallet.
+ * Payload: userId, sessionId, amount, method
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WalletRefundHandler implements OutboxEventHandler {
+
+    private final IWalletTransactionService walletTransactionService;
+
+    @Override
+    public OutboxEventType getEventType() {
+        return OutboxEventType.WALLET_REFUND;
+    }
+
+    @Override
+    public void handle(OutboxEvent event, JsonNode payload) {
+        Long sessionId = payload.get("sessionId").asLong();
+        BigDecimal amount = new BigDecimal(payload.get("amount").asText());
+
+        walletTransactionService.credit(payload.get("userId").asLong(), sessionId, amount,
+                payload.get("method").asText());
+        log.info("Refund issued: sessionId={}, refund={}", sessionId, amount);
+    }
+}
@@ -0,0 +1,38 @@
+package com.bentork.ev_system.service.paging;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * How an entity is keyset-paginated: ordered by (sortAttribute DESC, id DESC), and which
+ * to-one associations are fetch-joined so mapping the rows does not issue a query each.
+ *
+ * Fetch paths may be nested ("charger.station" fetches charger and its station).
+ */
+public record Keyset<T>(Class<T> type, String sortAttribute, Function<T, LocalDateTime> sortValue,
+        Function<T, Long> id, List<String> fetches) {
+
+    /**
+     * Newest first on a timestamp column, id breaking ties
+     */
+    public static <T> Keyset<T> by(Class<T> type, String sortAttribute, Function<T, LocalDateTime> sortValue,
+            Function<T, Long> id) {
+        return new Keyset<>(type, sortAttribute, sortValue, id, List.of());
+    }
+
+    /**
+     * For tables without a timestamp: highest id first
+     */
+    public static <T> Keyset<T> byId(Class<T> type, Function<T, Long> id) {
+        return new Keyset<>(type, null, null, id, List.of());
+    }
+
+    public Keyset<T> fetching(String... paths) {
+        return new Keyset<>(type, sortAttribute, sortValue, id, List.of(paths));
+    }
+
+    KeysetCursor cursorOf(T row) {
+        return new KeysetCursor(sortValue == null ? null : sortValue.apply(row), id.apply(row));
+    }
+}
@@ -0,0 +1,41 @@
+package com.bentork.ev_system.service.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: its sort value and id.
+ *
+ * Clients get it as an opaque token (base64url of "sortValue|id", "-" for a NULL sort
+ * value) and send it back unchanged to get the next page. A token that does not decode
+ * is rejected with IllegalArgumentException (400).
+ */
+public record KeysetCursor(LocalDateTime at, Long id) {
+
+    private static final String NULL_VALUE = "-";
+
+    public String encode() {
+        String raw = (at == null ? NULL_VALUE : at.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null for a blank token (first page)
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String at = raw.substring(0, separator);
+            return new KeysetCursor(NULL_VALUE.equals(at) ? null : LocalDateTime.parse(at),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bentork.ev_system.service.paging;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Optional filters for the paged listings: a null argument means "no filter", so a
+ * listing can combine all its request parameters with Specification.allOf.
+ */
+public final class KeysetFilters {
+
+    private KeysetFilters() {
+    }
+
+    /**
+     * attribute = value; the attribute may be a path through to-one associations ("station.id")
+     */
+    public static <T> Specification<T> equal(String attribute, Object value) {
+        return (root, query, cb) -> value == null ? null : cb.equal(path(root, attribute), value);
+    }
+
+    /**
+     * from <= attribute < to, either bound optional
+     */
+    public static <T> Specification<T> between(String attribute, LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> path = path(root, attribute);
+            Predicate lower = from == null ? null : cb.greaterThanOrEqualTo(path, from);
+            Predicate upper = to == null ? null : cb.lessThan(path, to);
+            if (lower == null || upper == null) {
+                return lower != null ? lower : upper;
+            }
+            return cb.and(lower, upper);
+        };
+    }
+
+    static <Y> Path<Y> path(Root<?> root, String attribute) {
+        Path<?> path = root;
+        for (String part : attribute.split("\\.")) {
+            path = path.get(part);
+        }
+        @SuppressWarnings("unchecked")
+        Path<Y> typed = (Path<Y>) path;
+        return typed;
+    }
+}
@@ -0,0 +1,151 @@
+package com.bentork.ev_system.service.paging;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.dto.response.CursorPage;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.FetchParent;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keyset pagination and cursor streaming for the admin listings that used to load
+ * whole tables.
+ *
+ * Rows are ordered by (sortAttribute DESC, id DESC). A page fetches limit + 1 rows after
+ * the cursor instead of using OFFSET, so every page costs the same however deep it is,
+ * and rows inserted meanwhile do not shift the next page. NULL sort values come last
+ * (the MySQL and H2 order for DESC) and are paged by id.
+ *
+ * forEach runs the same query as a forward-only JDBC cursor (fetch size FETCH_SIZE; the
+ * MySQL URL sets useCursorFetch so Connector/J really streams) and clears the persistence
+ * context every CLEAR_EVERY rows, so the heap used does not grow with the table. It must
+ * run inside a transaction (see NdjsonStreams).
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPager {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+    static final int FETCH_SIZE = 500;
+    private static final int CLEAR_EVERY = 1_000;
+
+    private final EntityManager entityManager;
+
+    /**
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @param limit  page size, DEFAULT_LIMIT if null, capped at MAX_LIMIT
+     */
+    public <T, R> CursorPage<R> page(Keyset<T> keyset, Specification<T> filter, String cursor, Integer limit,
+            Function<T, R> mapper) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<T> rows = query(keyset, filter, KeysetCursor.decode(cursor))
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        List<R> items = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            items.add(mapper.apply(row));
+        }
+        return CursorPage.<R>builder()
+                .items(items)
+                .nextCursor(hasMore ? keyset.cursorOf(rows.get(size - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Pass every matching row, in keyset order, to the action.
+     *
+     * @return the number of rows
+     */
+    public <T> long forEach(Keyset<T> keyset, Specification<T> filter, Consumer<? super T> action) {
+        long count = 0;
+        try (Stream<T> rows = query(keyset, filter, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++count % CLEAR_EVERY == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
+    private <T> TypedQuery<T> query(Keyset<T> keyset, Specification<T> filter, KeysetCursor after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(keyset.type());
+        Root<T> root = query.from(keyset.type());
+        for (String path : keyset.fetches()) {
+            FetchParent<?, ?> parent = root;
+            for (String attribute : path.split("\\.")) {
+                parent = parent.fetch(attribute, JoinType.LEFT);
+            }
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (after != null) {
+            predicates.add(after(cb, root, keyset, after));
+        }
+
+        List<Order> order = new ArrayList<>();
+        if (keyset.sortAttribute() != null) {
+            order.add(cb.desc(root.get(keyset.sortAttribute())));
+        }
+        order.add(cb.desc(root.get("id")));
+
+        query.select(root).where(predicates.toArray(Predicate[]::new)).orderBy(order);
+        return entityManager.createQuery(query);
+    }
+
+    /**
+     * Rows strictly after the cursor in (sortAttribute DESC NULLS LAST, id DESC) order
+     */
+    private static <T> Predicate after(CriteriaBuilder cb, Root<T> root, Keyset<T> keyset, KeysetCursor cursor) {
+        Path<Long> id = root.get("id");
+        if (keyset.sortAttribute() == null) {
+            return cb.lessThan(id, cursor.id());
+        }
+        Path<LocalDateTime> at = root.get(keyset.sortAttribute());
+        if (cursor.at() == null) {
+            return cb.and(cb.isNull(at), cb.lessThan(id, cursor.id()));
+        }
+        return cb.or(
+                cb.lessThan(at, cursor.at()),
+                cb.and(cb.equal(at, cursor.at()), cb.lessThan(id, cursor.id())),
+                cb.isNull(at));
+    }
+}
@@ -0,0 +1,84 @@
+package com.bentork.ev_system.service.paging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes a listing as NDJSON (application/x-ndjson): one JSON object per line, written
+ * as the rows come off the database cursor and flushed every FLUSH_EVERY rows.
+ *
+ * The body runs on the MVC async thread after the controller returned, so it opens its
+ * own read-only transaction for the producer (usually KeysetPager.forEach). A client that
+ * disconnects ends the stream with an IOException, which closes the cursor.
+ */
+@Slf4j
+@Component
+public class NdjsonStreams {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectWriter writer;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public NdjsonStreams(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @param producer passes each row to the given sink, in order
+     */
+    public <R> StreamingResponseBody of(Consumer<Consumer<R>> producer) {
+        return out -> {
+            long start = System.currentTimeMillis();
+            try (JsonGenerator generator = writer.createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                RowWriter<R> rows = new RowWriter<>(generator);
+                readOnlyTransaction.executeWithoutResult(status -> producer.accept(rows));
+                generator.flush();
+                log.debug("Streamed {} rows in {} ms", rows.count, System.currentTimeMillis() - start);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private final class RowWriter<R> implements Consumer<R> {
+
+        private final JsonGenerator generator;
+        private long count;
+
+        private RowWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void accept(R row) {
+            try {
+                writer.writeValue(generator, row);
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.bentork.ev_system.service.plan;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.config.cache.CacheTags;
+import com.bentork.ev_system.dto.request.PlanAssignmentDTO;
+
+/**
+ * Materialized charger id -> effective plans map, so opening a charger in the app does not
+ * merge station- and charger-level assignments on every call.
+ *
+ * Backed by the "effective-plans" two-level cache (Caffeine per node, Redis shared, pub/sub
+ * invalidation). PlanAssignmentService rebuilds the affected entries after every assignment
+ * change: one charger for a charger-level assignment, every charger of the station for a
+ * station-level one. Entries are also tagged with their charger, station and plans, so
+ * charger, station and plan edits evict them (CacheTags) and they reload on the next read.
+ * All active chargers are loaded at startup (see EffectivePlanCacheWarmup).
+ */
+@Component
+public class EffectivePlanIndex {
+
+    public static final String CACHE = "effective-plans";
+
+    private final Cache cache;
+    private final CacheTags cacheTags;
+
+    public EffectivePlanIndex(CacheManager cacheManager, CacheTags cacheTags) {
+        this.cache = cacheManager.getCache(CACHE);
+        this.cacheTags = cacheTags;
+    }
+
+    /**
+     * The cached entry, or the loader's result, stored and tagged. Exceptions from the loader
+     * are rethrown as they are; nothing is cached then.
+     */
+    public EffectivePlans find(Long chargerId, Callable<EffectivePlans> loader) {
+        try {
+            return cache.get(chargerId, () -> {
+                EffectivePlans plans = loader.call();
+                cacheTags.tag(CACHE, chargerId, tags(chargerId, plans));
+                return plans;
+            });
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Replace the entries with freshly resolved ones.
+     */
+    public void putAll(Map<Long, EffectivePlans> plansByCharger) {
+        Map<Long, String[]> tags = new HashMap<>();
+        plansByCharger.forEach((chargerId, plans) -> {
+            cache.put(chargerId, plans);
+            tags.put(chargerId, tags(chargerId, plans));
+        });
+        cacheTags.tagAll(CACHE, tags);
+    }
+
+    /**
+     * Store entries no other node has stored yet (warm-up).
+     *
+     * @return number of entries stored
+     */
+    public int putAllIfAbsent(Map<Long, EffectivePlans> plansByCharger) {
+        Map<Long, String[]> tags = new HashMap<>();
+        plansByCharger.forEach((chargerId, plans) -> {
+            if (cache.putIfAbsent(chargerId, plans) == null) {
+                tags.put(chargerId, tags(chargerId, plans));
+            }
+        });
+        cacheTags.tagAll(CACHE, tags);
+        return tags.size();
+    }
+
+    public void evict(Long chargerId) {
+        cache.evict(chargerId);
+    }
+
+    private static String[] tags(Long chargerId, EffectivePlans plans) {
+        List<String> tags = new ArrayList<>();
+        tags.add(CacheTags.charger(chargerId));
+        if (plans.stationId() != null) {
+            tags.add(CacheTags.station(plans.stationId()));
+        }
+        for (PlanAssignmentDTO plan : plans.plans()) {
+            tags.add(CacheTags.plan(plan.getPlanId()));
+        }
+        return tags.toArray(String[]::new);
+    }
+}
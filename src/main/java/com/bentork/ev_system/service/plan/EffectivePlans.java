@@ -0,0 +1,37 @@
+package com.bentork.ev_system.service.plan;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.util.DigestUtils;
+
+import com.bentork.ev_system.dto.request.PlanAssignmentDTO;
+
+/**
+ * The resolved plans of one charger as held by EffectivePlanIndex, with an ETag over
+ * their content so clients can revalidate with If-None-Match.
+ *
+ * @param stationId the charger's station, whose assignments apply when it has none of its own
+ * @param etag      hex digest of the assignments' fields, computed once when the entry is built
+ */
+public record EffectivePlans(Long stationId, String etag, List<PlanAssignmentDTO> plans) {
+
+    public static EffectivePlans of(Long stationId, List<PlanAssignmentDTO> plans) {
+        StringBuilder content = new StringBuilder();
+        for (PlanAssignmentDTO plan : plans) {
+            content.append(plan.getId()).append('|')
+                    .append(plan.getPlanId()).append('|')
+                    .append(plan.getPlanName()).append('|')
+                    .append(plan.getStationId()).append('|')
+                    .append(plan.getStationName()).append('|')
+                    .append(plan.getChargerId()).append('|')
+                    .append(plan.getChargerOcppId()).append('|')
+                    .append(plan.getAssignedBy()).append('|')
+                    .append(plan.getIsActive()).append('|')
+                    .append(plan.getAssignedAt()).append('\n');
+        }
+        return new EffectivePlans(stationId,
+                DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)), new ArrayList<>(plans));
+    }
+}
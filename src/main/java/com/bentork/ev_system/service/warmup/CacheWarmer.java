@@ -0,0 +1,143 @@
+package com.bentork.ev_system.service.warmup;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Startup cache warm-up: runs every CacheWarmupTask in parallel, within a time budget,
+ * before the OCPP port is opened (see OcppServerService).
+ *
+ * Also the "cacheWarmer" health indicator, part of the readiness group: OUT_OF_SERVICE
+ * until warm-up has finished, so no traffic is routed to a node with cold caches. A task
+ * that fails or runs over budget is logged and skipped; it does not hold readiness back,
+ * the caches then fill on demand as before.
+ */
+@Slf4j
+@Component
+public class CacheWarmer implements HealthIndicator {
+
+    private final List<CacheWarmupTask> tasks;
+    private final Duration budget;
+    private final boolean enabled;
+
+    private volatile boolean finished;
+    private volatile Map<String, Object> report = Map.of();
+
+    public CacheWarmer(List<CacheWarmupTask> tasks,
+                       @Value("${app.cache.warmup.budget:PT30S}") Duration budget,
+                       @Value("${app.cache.warmup.enabled:true}") boolean enabled) {
+        this.tasks = tasks;
+        this.budget = budget;
+        this.enabled = enabled;
+    }
+
+    public void warm() {
+        if (!enabled || tasks.isEmpty()) {
+            finished = true;
+            return;
+        }
+        long started = System.nanoTime();
+        log.info("Cache warm-up: {} tasks, budget {} ms", tasks.size(), budget.toMillis());
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(tasks.size(), 4), r -> {
+            Thread thread = new Thread(r, "cache-warmup-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, Object> results = new LinkedHashMap<>();
+        try {
+            List<TimedTask> timed = tasks.stream().map(TimedTask::new).toList();
+            List<Future<String>> futures = pool.invokeAll(timed, budget.toMillis(), TimeUnit.MILLISECONDS);
+            for (int i = 0; i < futures.size(); i++) {
+                results.put(timed.get(i).task.name(), outcome(timed.get(i), futures.get(i)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Cache warm-up interrupted");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        results.put("totalMs", elapsedMillis);
+        report = Map.copyOf(results);
+        finished = true;
+        log.info("Cache warm-up finished in {} ms (budget {} ms): {}", elapsedMillis, budget.toMillis(), results);
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public Health health() {
+        if (!finished) {
+            return Health.outOfService().withDetail("cacheWarmup", "running").build();
+        }
+        return Health.up().withDetails(report).build();
+    }
+
+    private String outcome(TimedTask timed, Future<String> future) {
+        String name = timed.task.name();
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            log.warn("Cache warm-up of {} exceeded the {} ms budget, skipped", name, budget.toMillis());
+            return "over budget";
+        } catch (ExecutionException e) {
+            log.warn("Cache warm-up of {} failed after {} ms: {}", name, timed.elapsedMillis(),
+                    e.getCause().getMessage());
+            return "failed";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    private static final class TimedTask implements Callable<String> {
+
+        private final CacheWarmupTask task;
+        private volatile long startedNanos;
+        private volatile long finishedNanos;
+
+        private TimedTask(CacheWarmupTask task) {
+            this.task = task;
+        }
+
+        @Override
+        public String call() {
+            startedNanos = System.nanoTime();
+            try {
+                int entries = task.warm();
+                finishedNanos = System.nanoTime();
+                log.info("Cache warm-up: {} loaded {} entries in {} ms", task.name(), entries, elapsedMillis());
+                return entries + " entries in " + elapsedMillis() + " ms";
+            } finally {
+                finishedNanos = System.nanoTime();
+            }
+        }
+
+        private long elapsedMillis() {
+            long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+            return startedNanos == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(end - startedNanos);
+        }
+    }
+}
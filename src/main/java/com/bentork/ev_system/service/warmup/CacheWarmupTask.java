@@ -0,0 +1,16 @@
+package com.bentork.ev_system.service.warmup;
+
+/**
+ * One set of cache entries loaded at startup by CacheWarmer.
+ *
+ * Implementations load with bulk queries and store with Cache.putIfAbsent, so entries
+ * another node already cached are kept and no invalidations are broadcast.
+ */
+public interface CacheWarmupTask {
+
+    /** Name used in logs and the readiness details. */
+    String name();
+
+    /** @return number of entries loaded */
+    int warm();
+}
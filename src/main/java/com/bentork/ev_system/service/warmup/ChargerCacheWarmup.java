@@ -0,0 +1,28 @@
+package com.bentork.ev_system.service.warmup;
+
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.service.interfaces.IChargerService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Charger listing. Lookups by ocppId are warmed by ChargerIndex.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChargerCacheWarmup implements CacheWarmupTask {
+
+    private final IChargerService chargerService;
+
+    @Override
+    public String name() {
+        return "chargers";
+    }
+
+    @Override
+    public int warm() {
+        chargerService.getAllChargers();
+        return 1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.bentork.ev_system.service.warmup;
+
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.service.PlanAssignmentService;
+import com.bentork.ev_system.service.plan.EffectivePlanIndex;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Effective plans of every active charger, resolved from the full assignment table at once.
+ */
+@Component
+@RequiredArgsConstructor
+public class EffectivePlanCacheWarmup implements CacheWarmupTask {
+
+    private final PlanAssignmentService planAssignmentService;
+
+    @Override
+    public String name() {
+        return EffectivePlanIndex.CACHE;
+    }
+
+    @Override
+    public int warm() {
+        return planAssignmentService.warmEffectivePlans();
+    }
+}
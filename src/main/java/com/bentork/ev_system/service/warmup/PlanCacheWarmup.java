@@ -0,0 +1,38 @@
+package com.bentork.ev_system.service.warmup;
+
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.dto.request.PlanDTO;
+import com.bentork.ev_system.service.PlanService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plan listing plus every active plan by id.
+ */
+@Component
+@RequiredArgsConstructor
+public class PlanCacheWarmup implements CacheWarmupTask {
+
+    private final PlanService planService;
+    private final CacheManager cacheManager;
+
+    @Override
+    public String name() {
+        return "plans";
+    }
+
+    @Override
+    public int warm() {
+        List<PlanDTO> plans = planService.getAllPlans();
+        Cache cache = cacheManager.getCache("plans");
+        for (PlanDTO plan : plans) {
+            cache.putIfAbsent(plan.getId(), plan);
+        }
+        return plans.size() + 1;
+    }
+}
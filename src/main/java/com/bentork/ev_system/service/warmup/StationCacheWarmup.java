@@ -0,0 +1,42 @@
+package com.bentork.ev_system.service.warmup;
+
+import java.util.List;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import com.bentork.ev_system.config.cache.CacheTags;
+import com.bentork.ev_system.dto.request.StationDTO;
+import com.bentork.ev_system.service.StationService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Station listing plus every active station by id, from the one listing query.
+ */
+@Component
+@RequiredArgsConstructor
+public class StationCacheWarmup implements CacheWarmupTask {
+
+    private final StationService stationService;
+    private final CacheManager cacheManager;
+    private final CacheTags cacheTags;
+
+    @Override
+    public String name() {
+        return "stations";
+    }
+
+    @Override
+    public int warm() {
+        List<StationDTO> stations = stationService.getAllStations();
+        Cache cache = cacheManager.getCache("stations");
+        for (StationDTO station : stations) {
+            if (cache.putIfAbsent(station.getId(), station) == null) {
+                cacheTags.tag("stations", station.getId(), CacheTags.station(station.getId()));
+            }
+        }
+        return stations.size() + 1;
+    }
+}
@@ -0,0 +1,693 @@
+-- Baseline schema: every table as Hibernate's ddl-auto=update left it, including the
+-- statements DatabaseMigrationRunner used to re-run on each boot:
+--   user_support_requests / dealer_support_requests.attachment_url are LONGTEXT;
+--   battery_data.barcode is NOT NULL and unique, product_serial_number is gone;
+--   orders no longer has the pre-tracking columns (title, description, status, ...).
+--
+-- It is the schema the databases in service already have: ids are AUTO_INCREMENT, and
+-- the pooled id tables, the outbox and the dashboard counters are not here. Those come
+-- from V2 onwards, written so they also apply to an existing database. Existing databases
+-- are baselined at this version (spring.flyway.baseline-on-migrate) and never run it; it
+-- only builds an empty database.
+
+create table admin (
+    active boolean default true,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    fcm_token varchar(500),
+    email varchar(255),
+    mobile varchar(255),
+    name varchar(255),
+    password varchar(255),
+    role varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table admin_notifications (
+    is_read bit not null,
+    admin_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    message TEXT not null,
+    type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table battery_data (
+    warranty_end_date date not null,
+    warranty_start_date date not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    address TEXT,
+    barcode varchar(255) not null,
+    created_by_admin_email varchar(255),
+    customer_name varchar(255) not null,
+    gst_number varchar(255),
+    invoice_number varchar(255) not null,
+    product_details varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table cafes (
+    is_open bit,
+    latitude float(53),
+    longitude float(53),
+    rating float(53),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    station_id bigint not null,
+    updated_at datetime(6),
+    address TEXT,
+    category varchar(255),
+    google_map_image_url TEXT,
+    google_map_location TEXT,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table charger (
+    active boolean default true,
+    availability bit not null,
+    is_occupied bit not null,
+    kw_output float(53),
+    platform_fee_per_kwh float(53),
+    pst_percent float(53),
+    rate float(53) not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    station_id bigint not null,
+    charger_type varchar(255) not null,
+    connector_type varchar(255) not null,
+    ocpp_id varchar(255) not null,
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table coin_transactions (
+    amount integer not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    session_id bigint,
+    user_id bigint not null,
+    description varchar(255),
+    type varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table dealer_stations (
+    assigned_at datetime(6),
+    dealer_id bigint not null,
+    id bigint not null auto_increment,
+    station_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table dealer_support_requests (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    issue_description varchar(1000),
+    attachment_url LONGTEXT,
+    customer_full_name varchar(255),
+    product varchar(255),
+    status varchar(255) not null,
+    submitter_email varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table emergency_contacts (
+    id bigint not null auto_increment,
+    station_id bigint,
+    company_support_number varchar(255),
+    cpo_phone_number varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table locations (
+    latitude float(53),
+    longitude float(53),
+    created_by bigint,
+    id bigint not null auto_increment,
+    address TEXT,
+    city varchar(255),
+    name varchar(255),
+    state varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table maintenance_schedules (
+    charger_id bigint,
+    created_at datetime(6),
+    created_by_admin_id bigint,
+    id bigint not null auto_increment,
+    scheduled_end datetime(6) not null,
+    scheduled_start datetime(6) not null,
+    station_id bigint,
+    updated_at datetime(6),
+    reason varchar(255),
+    status varchar(255) not null,
+    target_type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table orders (
+    expected_delivery_date date not null,
+    full_warranty_months integer,
+    pending_amount float(53) not null,
+    quantity integer not null,
+    received_amount float(53) not null,
+    service_warranty_months integer,
+    total_invoice_amount float(53) not null,
+    total_warranty_months integer,
+    assigned_user_id bigint not null,
+    created_at datetime(6),
+    dispatched_at datetime(6),
+    id bigint not null auto_increment,
+    production_completed_at datetime(6),
+    scm_completed_at datetime(6),
+    updated_at datetime(6),
+    barcode varchar(255),
+    created_by_admin_email varchar(255) not null,
+    customer_name varchar(255) not null,
+    invoice_number varchar(255),
+    mobile_number varchar(255) not null,
+    order_number varchar(255) not null,
+    order_status varchar(255) not null,
+    payment_status varchar(255) not null,
+    pi_number varchar(255) not null,
+    priority varchar(255) not null,
+    product_details varchar(255) not null,
+    production_status varchar(255),
+    production_updated_by_email varchar(255),
+    scm_updated_by_email varchar(255),
+    tracking_id varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table plan_assignments (
+    is_active bit,
+    assigned_at datetime(6),
+    assigned_by bigint,
+    charger_id bigint,
+    id bigint not null auto_increment,
+    plan_id bigint not null,
+    station_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table plans (
+    duration_min integer,
+    is_active bit,
+    rate decimal(38,2),
+    wallet_deduction decimal(38,2),
+    created_by bigint,
+    id bigint not null auto_increment,
+    charger_type varchar(255),
+    description TEXT,
+    plan_name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table receipts (
+    amount decimal(38,2),
+    selected_kwh decimal(38,2),
+    charger_id bigint,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    session_id bigint,
+    updated_at datetime(6),
+    user_id bigint,
+    session_type varchar(255),
+    status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table referrals (
+    referred_bonus_awarded bit,
+    referrer_bonus_awarded bit,
+    completed_at datetime(6),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    referred_user_id bigint not null,
+    referrer_id bigint not null,
+    status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table revenue (
+    amount float(53) not null,
+    charger_id bigint,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    session_id bigint,
+    station_id bigint,
+    user_id bigint,
+    payment_method varchar(255) not null,
+    payment_status varchar(255) not null,
+    transaction_id varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table rfid_card_applications (
+    assigned_card_id bigint,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    user_id bigint not null,
+    address TEXT,
+    email varchar(255),
+    full_name varchar(255),
+    mobile varchar(255),
+    status enum ('APPROVED','DELIVERED','DISPATCHED','PENDING','REJECTED'),
+    primary key (id)
+) engine=InnoDB;
+
+create table rfid_cards (
+    is_active bit not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    user_id bigint,
+    card_number varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table sessions (
+    allocated_kwh decimal(10,2),
+    amount_entered decimal(10,2),
+    chargeable_amount decimal(10,2),
+    cost float(53) not null,
+    effective_rate_applied decimal(10,4),
+    energy_kwh float(53) not null,
+    fully_charged_notified bit,
+    last_meter_reading float(53),
+    platform_fee float(53),
+    pst_amount float(53),
+    refund_amount decimal(10,2),
+    reminder_sent bit,
+    start_meter_reading float(53),
+    charger_id bigint not null,
+    charging_duration_seconds bigint,
+    created_at datetime(6),
+    end_time datetime(6),
+    id bigint not null auto_increment,
+    start_time datetime(6),
+    user_id bigint,
+    box_id varchar(255),
+    refund_status varchar(255),
+    source_type varchar(255),
+    status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table slot_bookings (
+    booking_time datetime(6) not null,
+    charger_id bigint not null,
+    id bigint not null auto_increment,
+    slot_id bigint not null,
+    station_id bigint not null,
+    user_id bigint not null,
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table slots (
+    all_day bit not null,
+    booked bit not null,
+    end_time_only time(6),
+    is_booked bit not null,
+    start_time_only time(6),
+    charger_id bigint not null,
+    created_at datetime(6),
+    end_time datetime(6),
+    id bigint not null auto_increment,
+    start_time datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table station_reviews (
+    rating integer not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    station_id bigint not null,
+    updated_at datetime(6),
+    user_id bigint not null,
+    review_text varchar(1000),
+    primary key (id)
+) engine=InnoDB;
+
+create table stations (
+    active boolean default true,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    location_id bigint not null,
+    direction_link varchar(255),
+    name varchar(255),
+    status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table truecaller_login_session (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    jwt_token varchar(1000),
+    request_id varchar(255) not null,
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user (
+    active boolean default true,
+    coin_balance int default 0,
+    wallet_balance decimal(38,2),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    referral_code varchar(8),
+    fcm_token varchar(500),
+    image_url varchar(500),
+    email varchar(255),
+    mobile varchar(255),
+    name varchar(255),
+    password varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table user_notifications (
+    is_read bit not null,
+    created_at datetime(6) not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    message TEXT not null,
+    title varchar(255) not null,
+    type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_plan_selection (
+    is_active bit,
+    expires_at datetime(6),
+    id bigint not null auto_increment,
+    plan_id bigint not null,
+    selected_at datetime(6) not null,
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_support_requests (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    issue_description varchar(1000),
+    attachment_url LONGTEXT,
+    customer_full_name varchar(255),
+    product varchar(255),
+    status varchar(255) not null,
+    submitter_email varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table wallet_transactions (
+    amount decimal(38,2),
+    gross_amount decimal(38,2),
+    gst_amount decimal(38,2),
+    pst_amount decimal(38,2),
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    session_id bigint,
+    user_id bigint,
+    method varchar(255),
+    status varchar(255),
+    transaction_ref varchar(255),
+    type varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table warranty_claims (
+    dispatch_date date,
+    terms_accepted bit not null,
+    approved_at datetime(6),
+    battery_data_id bigint not null,
+    closed_at datetime(6),
+    completed_at datetime(6),
+    created_at datetime(6),
+    delivered_at datetime(6),
+    dispatched_at datetime(6),
+    id bigint not null auto_increment,
+    processing_started_at datetime(6),
+    product_received_at datetime(6),
+    rejected_at datetime(6),
+    updated_at datetime(6),
+    user_confirmed_at datetime(6),
+    reject_reason varchar(1000),
+    issue_description varchar(2000),
+    courier_name varchar(255),
+    customer_name varchar(255),
+    invoice_number varchar(255),
+    processed_by_admin_email varchar(255),
+    product_details varchar(255),
+    status varchar(255) not null,
+    submitter_email varchar(255) not null,
+    tracking_number varchar(255),
+    photo_base64 LONGTEXT,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_battery_invoice_number
+   on battery_data (invoice_number);
+
+create index idx_battery_barcode
+   on battery_data (barcode);
+
+create index idx_battery_gst_number
+   on battery_data (gst_number);
+
+alter table battery_data
+   add constraint UKrxjs1jrvhdwt9qf5g2en4ss34 unique (barcode);
+
+alter table charger
+   add constraint UK7ehhcw6ym47jpnco65182w0gr unique (ocpp_id);
+
+alter table dealer_stations
+   add constraint UKmygxrwhfi0nipds7ahaxd0bah unique (dealer_id, station_id);
+
+create index idx_order_pi_number
+   on orders (pi_number);
+
+create index idx_order_status
+   on orders (order_status);
+
+create index idx_order_production_status
+   on orders (production_status);
+
+create index idx_order_created_by
+   on orders (created_by_admin_email);
+
+create index idx_order_assigned_user
+   on orders (assigned_user_id);
+
+alter table orders
+   add constraint UKnthkiu7pgmnqnu86i2jyoe2v7 unique (order_number);
+
+alter table receipts
+   add constraint UKh0i6ettf2u20p8g7saf0co29i unique (session_id);
+
+alter table revenue
+   add constraint UKr347ptn76yoeq8hvej5m4g1vd unique (transaction_id);
+
+alter table rfid_card_applications
+   add constraint UKho4xedqo88ak5n33gh6hd6i8t unique (assigned_card_id);
+
+alter table rfid_cards
+   add constraint UKrgdkvsjwq3131jxgt6jjvqjcd unique (card_number);
+
+alter table station_reviews
+   add constraint UK76n2ovi527ajiwnf6avnsbx9x unique (station_id, user_id);
+
+alter table truecaller_login_session
+   add constraint UKa3e66c332oes4fkjeh17mw74e unique (request_id);
+
+alter table user
+   add constraint UK3hcsvctfsxxnhfyjkxpht7173 unique (referral_code);
+
+alter table user
+   add constraint UKob8kqyqqgmefl0aco34akdtpe unique (email);
+
+alter table admin_notifications
+   add constraint FKd509vqvofrr48ry8vuv5xeilk
+   foreign key (admin_id)
+   references admin (id);
+
+alter table cafes
+   add constraint FK16otjmyk8gwg1ghmy7u5iacq6
+   foreign key (station_id)
+   references stations (id);
+
+alter table charger
+   add constraint FK6wjtg2nbnlv6mtjk0qsxdgdni
+   foreign key (station_id)
+   references stations (id);
+
+alter table dealer_stations
+   add constraint FK5tjbaygh4etr39or8bl8oahn
+   foreign key (dealer_id)
+   references admin (id);
+
+alter table dealer_stations
+   add constraint FKmuu9xmix85ij7r29ug64e2anm
+   foreign key (station_id)
+   references stations (id);
+
+alter table emergency_contacts
+   add constraint FKkyw9j7253ir9vm8h0j96e9hbi
+   foreign key (station_id)
+   references stations (id);
+
+alter table locations
+   add constraint FKkf3fjnwqg0cx9wbf3yypy2kkw
+   foreign key (created_by)
+   references admin (id);
+
+alter table maintenance_schedules
+   add constraint FKbqkmlviu6vyr14c8vu2447c7h
+   foreign key (charger_id)
+   references charger (id);
+
+alter table maintenance_schedules
+   add constraint FKj4eh4yldt4kv9k86l10f692bc
+   foreign key (created_by_admin_id)
+   references admin (id);
+
+alter table maintenance_schedules
+   add constraint FKc78yssa3r2a3h4r32ea9f2jl4
+   foreign key (station_id)
+   references stations (id);
+
+alter table plan_assignments
+   add constraint FKp4d3otrtmv04pu6cmrl8ah2fs
+   foreign key (assigned_by)
+   references admin (id);
+
+alter table plan_assignments
+   add constraint FKbyo8sm3x0txybfleparrsfml7
+   foreign key (charger_id)
+   references charger (id);
+
+alter table plan_assignments
+   add constraint FK2s71r2q2pdvy3yt485hq59o0n
+   foreign key (plan_id)
+   references plans (id);
+
+alter table plan_assignments
+   add constraint FKodbfw083v6j7o7pb64wwa719x
+   foreign key (station_id)
+   references stations (id);
+
+alter table plans
+   add constraint FKg23g99fpyakop38n9yfqrxwrm
+   foreign key (created_by)
+   references admin (id);
+
+alter table receipts
+   add constraint FK6mo3t42fusk8wsohktg7fbpf9
+   foreign key (charger_id)
+   references charger (id);
+
+alter table receipts
+   add constraint FKsu5vdu4ca3d5hob5tb7l8o7ln
+   foreign key (session_id)
+   references sessions (id);
+
+alter table receipts
+   add constraint FKl2bo0pvn1ban87vao5gxixkg6
+   foreign key (user_id)
+   references user (id);
+
+alter table revenue
+   add constraint FKt52hs0w69lhf3do4ec3l3w29m
+   foreign key (charger_id)
+   references charger (id);
+
+alter table revenue
+   add constraint FKjxtps4d6j4djw9f3n51061lmn
+   foreign key (session_id)
+   references sessions (id);
+
+alter table revenue
+   add constraint FKn682iwol5u59g6tgu1kns7b23
+   foreign key (station_id)
+   references stations (id);
+
+alter table revenue
+   add constraint FKjdmc31wbq0j8hi9qic6yc5led
+   foreign key (user_id)
+   references user (id);
+
+alter table rfid_card_applications
+   add constraint FKgbn8bjisp6oswxbtke2suskio
+   foreign key (assigned_card_id)
+   references rfid_cards (id);
+
+alter table rfid_card_applications
+   add constraint FKr4divvy7lfuu6l982ru8hovk
+   foreign key (user_id)
+   references user (id);
+
+alter table rfid_cards
+   add constraint FKdu1v5icqgvwwnkbq4qwmpdwte
+   foreign key (user_id)
+   references user (id);
+
+alter table sessions
+   add constraint FKsyx0853q554ja58c49k9q42if
+   foreign key (charger_id)
+   references charger (id);
+
+alter table sessions
+   add constraint FKio2ocdraxui5ufyy1trdo5h6u
+   foreign key (user_id)
+   references user (id);
+
+alter table slot_bookings
+   add constraint FK7hkrvh7nfx8r2cjvflp01r4kq
+   foreign key (charger_id)
+   references charger (id);
+
+alter table slot_bookings
+   add constraint FK8roi3ia8typ9mrrjb8hcfycjw
+   foreign key (slot_id)
+   references slots (id);
+
+alter table slot_bookings
+   add constraint FKemr7hjkayrpgfal86v8f17bya
+   foreign key (station_id)
+   references stations (id);
+
+alter table slot_bookings
+   add constraint FK16bllofxwpdoktbk853jgxbwv
+   foreign key (user_id)
+   references user (id);
+
+alter table slots
+   add constraint FKq9oqwu12vh9v2ltsu5bynlacl
+   foreign key (charger_id)
+   references charger (id);
+
+alter table station_reviews
+   add constraint FK86v04tt1vb40nfbdgper2p12h
+   foreign key (station_id)
+   references stations (id);
+
+alter table station_reviews
+   add constraint FKn8me470dkkr9pfd1t194x2wwh
+   foreign key (user_id)
+   references user (id);
+
+alter table stations
+   add constraint FKhirs4thhgc5bn9nsk1owsw1qn
+   foreign key (location_id)
+   references locations (id);
+
+alter table user_notifications
+   add constraint FKg7ooruppg84k9uhbs2yfts1tu
+   foreign key (user_id)
+   references user (id);
@@ -0,0 +1,33 @@
+-- Tables added alongside the Flyway switch: the transactional outbox (OutboxRelay) and the
+-- incrementally maintained dashboard counters (DashboardCounterService). Databases baselined
+-- at V1 do not have them yet; IF NOT EXISTS also leaves alone a database where ddl-auto=update
+-- already created them.
+
+create table if not exists outbox_events (
+    attempts integer not null,
+    aggregate_id bigint not null,
+    available_at datetime(6) not null,
+    created_at datetime(6) not null,
+    dispatched_at datetime(6),
+    id bigint not null auto_increment,
+    status varchar(16) not null,
+    aggregate_type varchar(32) not null,
+    dedupe_key varchar(191) not null,
+    last_error varchar(1000),
+    payload TEXT not null,
+    event_type enum ('ADMIN_NOTIFICATION','REVENUE_RECORD','SESSION_COMPLETED_PUSH','SESSION_REWARDS','USER_NOTIFICATION','WALLET_DEBIT','WALLET_REFUND') not null,
+    primary key (id),
+    constraint UK8vmqvvur8dsmtvud81uuj17eo unique (dedupe_key),
+    index idx_outbox_status_available (status, available_at),
+    index idx_outbox_aggregate (aggregate_type, aggregate_id)
+) engine=InnoDB;
+
+create table if not exists dashboard_counters (
+    counter_value bigint not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    bucket varchar(10) not null,
+    counter_key varchar(64) not null,
+    primary key (id),
+    constraint uk_dashboard_counter_bucket unique (counter_key, bucket)
+) engine=InnoDB;
@@ -0,0 +1,53 @@
+-- Pooled id tables for the JDBC-batched entities (MySQL has no sequences, so Hibernate
+-- keeps each SEQUENCE generator's next value in a one-row table). Databases created before
+-- these entities left IDENTITY ids hold AUTO_INCREMENT rows the tables know nothing about:
+-- create the table if missing and raise next_val past MAX(id). Never lowers it, so blocks
+-- a running node has already reserved stay unique.
+
+create table if not exists admin_notifications_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into admin_notifications_seq (next_val)
+    select 1 from dual where not exists (select 1 from admin_notifications_seq);
+update admin_notifications_seq
+    set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from admin_notifications));
+
+create table if not exists battery_data_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into battery_data_seq (next_val)
+    select 1 from dual where not exists (select 1 from battery_data_seq);
+update battery_data_seq
+    set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from battery_data));
+
+create table if not exists sessions_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into sessions_seq (next_val)
+    select 1 from dual where not exists (select 1 from sessions_seq);
+update sessions_seq
+    set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from sessions));
+
+create table if not exists slots_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into slots_seq (next_val)
+    select 1 from dual where not exists (select 1 from slots_seq);
+update slots_seq
+    set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from slots));
+
+create table if not exists user_notifications_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into user_notifications_seq (next_val)
+    select 1 from dual where not exists (select 1 from user_notifications_seq);
+update user_notifications_seq
+    set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from user_notifications));
+
+create table if not exists wallet_transactions_seq (
+    next_val bigint
+) engine=InnoDB;
+insert into wallet_transactions_seq (next_val)
+    select 1 from dual where not exists (select 1 from wallet_transactions_seq);
+update wallet_transactions_seq
+    set next_val = greatest(next_val, (select coalesce(max(id), 0) + 1 from wallet_transactions));
@@ -0,0 +1,37 @@
+-- Composite indexes for the hot query shapes IndexAdvisorTest found scanning whole tables.
+-- Column order is equality columns first, then the range or ORDER BY column, so each
+-- query reads one contiguous index range. The single-column charger_id / user_id / slot_id
+-- indexes InnoDB created for the foreign keys are left to MySQL: it drops them itself once
+-- one of these can back the constraint.
+
+-- Charger's latest session in a set of statuses (OCPP handlers, session start/stop)
+create index idx_session_charger_status_created
+   on sessions (charger_id, status, created_at);
+
+-- Dashboard counts by status and day, stale session cleanup, live session view
+create index idx_session_status_created
+   on sessions (status, created_at);
+
+-- "Does this user already have an active session"
+create index idx_session_user_status
+   on sessions (user_id, status);
+
+-- Latest PAID receipt on a charger (StartTransaction). findBySession is covered by the
+-- unique key on session_id.
+create index idx_receipt_charger_status_created
+   on receipts (charger_id, status, created_at);
+
+-- Expiry and no-show sweeps: booked rows first, then the slot they point at
+create index idx_slot_booking_status_slot
+   on slot_bookings (status, slot_id);
+
+-- Booking guard and per-user booking checks
+create index idx_slot_booking_charger_status
+   on slot_bookings (charger_id, status);
+
+create index idx_slot_booking_user_status
+   on slot_bookings (user_id, status);
+
+-- Active maintenance targets and the scheduled/active transition sweeps
+create index idx_maintenance_status_start
+   on maintenance_schedules (status, scheduled_start);
@@ -0,0 +1,96 @@
+-- Archive tables for the append-mostly history tables. TableArchiver moves closed rows
+-- older than app.archive.retention-months here in bounded batches; ArchiveRouter decides
+-- from a query's time range whether the archive has to be read as well.
+--
+-- Same columns as the active tables, no foreign keys (the referenced users, chargers and
+-- admins can change or go while the history stays), and ids are kept, so a row has the
+-- same id in either table. MySQL cannot partition these tables instead: InnoDB does not
+-- partition tables that have or are referenced by foreign keys.
+
+create table sessions_archive (
+    allocated_kwh decimal(10,2),
+    amount_entered decimal(10,2),
+    chargeable_amount decimal(10,2),
+    cost float(53) not null,
+    effective_rate_applied decimal(10,4),
+    energy_kwh float(53) not null,
+    fully_charged_notified bit,
+    last_meter_reading float(53),
+    platform_fee float(53),
+    pst_amount float(53),
+    refund_amount decimal(10,2),
+    reminder_sent bit,
+    start_meter_reading float(53),
+    charger_id bigint not null,
+    charging_duration_seconds bigint,
+    created_at datetime(6),
+    end_time datetime(6),
+    id bigint not null,
+    start_time datetime(6),
+    user_id bigint,
+    box_id varchar(255),
+    refund_status varchar(255),
+    source_type varchar(255),
+    status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_session_archive_charger_created
+   on sessions_archive (charger_id, created_at);
+
+create table wallet_transactions_archive (
+    amount decimal(38,2),
+    gross_amount decimal(38,2),
+    gst_amount decimal(38,2),
+    pst_amount decimal(38,2),
+    created_at datetime(6),
+    id bigint not null,
+    session_id bigint,
+    user_id bigint,
+    method varchar(255),
+    status varchar(255),
+    transaction_ref varchar(255),
+    type varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_wallet_tx_archive_user_created
+   on wallet_transactions_archive (user_id, created_at);
+
+create table user_notifications_archive (
+    is_read bit not null,
+    created_at datetime(6) not null,
+    id bigint not null,
+    user_id bigint not null,
+    message TEXT not null,
+    title varchar(255) not null,
+    type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_user_notification_archive_user_created
+   on user_notifications_archive (user_id, created_at);
+
+create table admin_notifications_archive (
+    is_read bit not null,
+    admin_id bigint not null,
+    created_at datetime(6) not null,
+    id bigint not null,
+    message TEXT not null,
+    type varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_admin_notification_archive_admin_created
+   on admin_notifications_archive (admin_id, created_at);
+
+-- The archiver's scan: rows older than the cutoff, walked in id order. sessions already
+-- has (status, created_at) from V3.
+create index idx_wallet_tx_created
+   on wallet_transactions (created_at);
+
+create index idx_user_notification_created
+   on user_notifications (created_at);
+
+create index idx_admin_notification_created
+   on admin_notifications (created_at);
@@ -0,0 +1,27 @@
+-- Range indexes for the CSV/XLSX exports (ExportService). Every export reads one
+-- created_at window in (created_at, id) order; with these the window is one index range
+-- read in export order, so MySQL neither scans nor sorts the table. InnoDB appends the
+-- primary key to a secondary index, which gives the id tie-break for free.
+-- wallet_transactions (created_at) already exists from V4.
+
+create index idx_session_created
+   on sessions (created_at);
+
+create index idx_session_archive_created
+   on sessions_archive (created_at);
+
+create index idx_wallet_tx_archive_created
+   on wallet_transactions_archive (created_at);
+
+-- Dealer exports filter revenue by their stations first
+create index idx_revenue_station_created
+   on revenue (station_id, created_at);
+
+create index idx_revenue_created
+   on revenue (created_at);
+
+create index idx_order_created
+   on orders (created_at);
+
+create index idx_warranty_claim_created
+   on warranty_claims (created_at);
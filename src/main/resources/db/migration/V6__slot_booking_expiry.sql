@@ -0,0 +1,13 @@
+-- Set-based slot booking expiry (SlotBookingCleanupService).
+
+-- Keyset pages of booked ids: status = 'booked' AND id > ? ORDER BY id LIMIT n reads one
+-- index range and stops after n rows. (status, slot_id) from V3 orders by slot instead,
+-- so every page re-sorted the whole backlog.
+create index idx_slot_booking_status_id
+   on slot_bookings (status, id);
+
+-- One SLOT_BOOKINGS_EXPIRED event per expired batch; its handler fans the booking ids
+-- out into user notifications.
+alter table outbox_events
+    modify event_type enum ('ADMIN_NOTIFICATION','REVENUE_RECORD','SESSION_COMPLETED_PUSH','SESSION_REWARDS',
+        'SLOT_BOOKINGS_EXPIRED','USER_NOTIFICATION','WALLET_DEBIT','WALLET_REFUND') not null;
@@ -0,0 +1,25 @@
+-- Closed sessions had to stay active as long as a receipt or revenue row pointed at them,
+-- and every session gets both, so none was ever archived.
+--
+-- A session's receipt now moves with it into receipts_archive (same rules as V4: same
+-- columns and ids, no foreign keys). Revenue stays in the active table, since every revenue
+-- total reads it; it keeps the session id, which then resolves in sessions_archive, so its
+-- foreign key to sessions goes. The index MySQL created for that key stays and still serves
+-- lookups by session.
+
+create table receipts_archive (
+    amount decimal(38,2),
+    selected_kwh decimal(38,2),
+    charger_id bigint,
+    created_at datetime(6),
+    id bigint not null,
+    session_id bigint,
+    updated_at datetime(6),
+    user_id bigint,
+    session_type varchar(255),
+    status varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+alter table revenue
+    drop foreign key FKjxtps4d6j4djw9f3n51061lmn;
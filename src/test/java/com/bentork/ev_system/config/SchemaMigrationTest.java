@@ -0,0 +1,125 @@
+package com.bentork.ev_system.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.hibernate.dialect.MySQLDialect;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the Flyway migrations in db/migration.
+ *
+ * Builds an empty database from the scripts and lets Hibernate validate every entity
+ * mapping against it, so an entity change without a migration fails here. Also replays
+ * the first Flyway boot of a database that predates it (baselined at V1) and checks it
+ * ends up with the same schema.
+ * Runs a JPA slice on H2 in MySQL mode — no MySQL needed.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=com.bentork.ev_system.config.SchemaMigrationTest$H2MySQLDialect"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Migrations build a schema the entity mappings validate against")
+    void migrationsMatchMappings() {
+        // The context only starts if ddl-auto=validate accepted the migrated schema
+        List<String> applied = Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion)
+                .map(Object::toString).toList();
+
+        assertEquals(List.of("1", "2", "2.1", "3", "4", "5", "6", "7"), applied);
+        assertEquals(0, flyway.migrate().migrationsExecuted);
+    }
+
+    @Test
+    @DisplayName("Upgrading a baselined pre-Flyway database yields the same schema as a fresh one")
+    void upgradeFromBaselineMatchesFreshSchema() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:upgrade;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // As ddl-auto=update left it: the V1 tables with AUTO_INCREMENT rows and no Flyway history
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql")).execute(dataSource);
+        jdbc.update("INSERT INTO battery_data (barcode, customer_name, invoice_number, product_details, "
+                + "warranty_start_date, warranty_end_date) VALUES ('BAT-41', 'A', 'INV-1', 'P', "
+                + "DATE '2026-01-01', DATE '2028-01-01')");
+        jdbc.update("UPDATE battery_data SET id = 41");
+
+        // What the application does on its first boot with Flyway
+        Flyway upgrade = Flyway.configure().dataSource(dataSource)
+                .baselineOnMigrate(true).baselineVersion("1").load();
+        upgrade.migrate();
+
+        List<String> applied = Arrays.stream(upgrade.info().applied()).map(MigrationInfo::getVersion)
+                .map(Object::toString).toList();
+        assertEquals(List.of("1", "2", "2.1", "3", "4", "5", "6", "7"), applied);
+        List<String> upgraded = schemaOf(jdbc);
+        assertTrue(upgraded.contains("outbox_events index idx_outbox_status_available INDEX"));
+        assertTrue(upgraded.contains("dashboard_counters.counter_key CHARACTER VARYING NO"));
+        assertEquals(schemaOf(new JdbcTemplate(this.dataSource)), upgraded);
+
+        // The pooled id tables start past the AUTO_INCREMENT rows
+        assertEquals(42L, jdbc.queryForObject("SELECT next_val FROM battery_data_seq", Long.class));
+        assertEquals(1L, jdbc.queryForObject("SELECT COUNT(*) FROM battery_data_seq", Long.class));
+        assertEquals(1L, jdbc.queryForObject("SELECT next_val FROM slots_seq", Long.class));
+    }
+
+    /**
+     * Every column (type, nullability) and index of the public schema, Flyway's history table left out.
+     */
+    private static List<String> schemaOf(JdbcTemplate jdbc) {
+        List<String> schema = new ArrayList<>(jdbc.queryForList(
+                "SELECT LOWER(TABLE_NAME) || '.' || LOWER(COLUMN_NAME) || ' ' || DATA_TYPE || ' ' || IS_NULLABLE"
+                        + " FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = 'PUBLIC'"
+                        + " AND TABLE_NAME <> 'flyway_schema_history'", String.class));
+        schema.addAll(jdbc.queryForList(
+                "SELECT LOWER(i.TABLE_NAME) || ' index ' || LOWER(i.INDEX_NAME) || ' ' || i.INDEX_TYPE_NAME"
+                        + " FROM INFORMATION_SCHEMA.INDEXES i WHERE i.TABLE_SCHEMA = 'PUBLIC'"
+                        + " AND i.TABLE_NAME <> 'flyway_schema_history' AND i.INDEX_TYPE_NAME <> 'PRIMARY KEY'",
+                String.class));
+        schema.sort(null);
+        return schema;
+    }
+
+    /**
+     * MySQL dialect that accepts H2 reporting MySQL TEXT columns as VARCHAR, so validation
+     * compares the migrated schema with the MySQL mappings the application runs with.
+     */
+    public static class H2MySQLDialect extends MySQLDialect {
+
+        private static final Set<Integer> TEXT = Set.of(Types.VARCHAR, Types.LONGVARCHAR, Types.CLOB);
+
+        @Override
+        public boolean equivalentTypes(int typeCode1, int typeCode2) {
+            return super.equivalentTypes(typeCode1, typeCode2)
+                    || (TEXT.contains(typeCode1) && TEXT.contains(typeCode2));
+        }
+    }
+}
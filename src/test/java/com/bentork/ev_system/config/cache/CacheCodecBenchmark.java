@@ -0,0 +1,91 @@
+package com.bentork.ev_system.config.cache;
+
+import com.bentork.ev_system.config.TypedJsonCacheCodec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for cache value encoding: compact Smile versus the typed JSON
+ * (WrapperSerializer) format, encode and decode, per sample value. main() first
+ * prints the payload size of every sample in both formats.
+ *
+ * Run with:
+ *   mvn test-compile
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *        com.bentork.ev_system.config.cache.CacheCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @Param({ "station", "stations x50", "chargers x200", "plans x10", "slots x48", "reviews x25", "total-chargers" })
+    public String sample;
+
+    @Param({ "smile", "json" })
+    public String codecName;
+
+    private CacheCodec codec;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        codec = codec(codecName);
+        value = CacheCodecSamples.all().get(sample);
+        encoded = codec.encode(value);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return codec.decode(encoded);
+    }
+
+    private static CacheCodec codec(String name) {
+        return "smile".equals(name) ? new SmileCacheCodec() : new TypedJsonCacheCodec();
+    }
+
+    static void printPayloadSizes() {
+        CacheCodec smile = codec("smile");
+        CacheCodec json = codec("json");
+        System.out.printf("%-16s %10s %10s %7s%n", "sample", "json (B)", "smile (B)", "ratio");
+        for (Map.Entry<String, Object> e : new TreeMap<>(CacheCodecSamples.all()).entrySet()) {
+            int jsonSize = json.encode(e.getValue()).length;
+            int smileSize = smile.encode(e.getValue()).length;
+            System.out.printf("%-16s %10d %10d %6.2fx%n", e.getKey(), jsonSize, smileSize,
+                    (double) jsonSize / smileSize);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        printPayloadSizes();
+        new Runner(new OptionsBuilder()
+                .include(CacheCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+package com.bentork.ev_system.config.cache;
+
+import com.bentork.ev_system.dto.request.ChargerDTO;
+import com.bentork.ev_system.dto.request.PlanAssignmentDTO;
+import com.bentork.ev_system.dto.request.PlanDTO;
+import com.bentork.ev_system.dto.request.SlotDTO;
+import com.bentork.ev_system.dto.request.StationDTO;
+import com.bentork.ev_system.dto.response.StationReviewResponse;
+import com.bentork.ev_system.service.charger.ChargerSnapshot;
+import com.bentork.ev_system.service.maintenance.ActiveMaintenance;
+import com.bentork.ev_system.service.plan.EffectivePlans;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Representative cached values, shaped like the real @Cacheable results,
+ * shared by the codec tests and benchmarks.
+ */
+final class CacheCodecSamples {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 3, 14, 9, 26, 53);
+
+    private CacheCodecSamples() {
+    }
+
+    static StationDTO station(long id) {
+        StationDTO dto = new StationDTO();
+        dto.setId(id);
+        dto.setLocationId(id % 7);
+        dto.setName("Bentork Fast Charge Hub " + id);
+        dto.setStatus("active");
+        dto.setDirectionLink("https://maps.google.com/?q=18.5204,73.8567");
+        dto.setCreatedAt(CREATED);
+        dto.setLocationName("Pune");
+        dto.setAverageRating(4.3);
+        dto.setTotalReviews(27L);
+        dto.setActive(true);
+        return dto;
+    }
+
+    static ChargerDTO charger(long id) {
+        return ChargerDTO.builder()
+                .id(id)
+                .stationId(id / 4)
+                .stationName("Bentork Fast Charge Hub " + id / 4)
+                .ocppId("BT-CP-" + id)
+                .connectorType("CCS2")
+                .chargerType(id % 2 == 0 ? "DC" : "AC")
+                .rate(18.5)
+                .platformFeePerKwh(1.25)
+                .pstPercent(12.5)
+                .isOccupied(id % 3 == 0)
+                .availability(true)
+                .createdAt(CREATED)
+                .status("available")
+                .active(true)
+                .build();
+    }
+
+    static ChargerSnapshot chargerSnapshot(long id) {
+        return new ChargerSnapshot(id, "BT-CP-" + id, id / 4, "Bentork Fast Charge Hub " + id / 4, "CCS2",
+                id % 2 == 0 ? "DC" : "AC", 18.5, 1.25, 12.5, 60.0, true, "available", true, id % 3 == 0, CREATED);
+    }
+
+    static PlanDTO plan(long id) {
+        PlanDTO dto = new PlanDTO();
+        dto.setId(id);
+        dto.setPlanName("Plan " + id);
+        dto.setDescription("Fast charging for " + (30 * id) + " minutes");
+        dto.setDurationMin((int) (30 * id));
+        dto.setWalletDeduction(new BigDecimal("149.00"));
+        dto.setChargerType("DC");
+        dto.setRate(new BigDecimal("18.50"));
+        dto.setCreatedBy(1L);
+        dto.setIsActive(true);
+        return dto;
+    }
+
+    static SlotDTO slot(long id) {
+        SlotDTO dto = new SlotDTO();
+        dto.setId(id);
+        dto.setChargerId(3L);
+        dto.setStartTime(CREATED.plusMinutes(30 * id));
+        dto.setEndTime(CREATED.plusMinutes(30 * id + 30));
+        dto.setBooked(id % 4 == 0);
+        dto.setCreatedAt(CREATED);
+        dto.setDurationMinutes(30);
+        return dto;
+    }
+
+    static StationReviewResponse review(long id) {
+        StationReviewResponse dto = new StationReviewResponse();
+        dto.setId(id);
+        dto.setStationId(5L);
+        dto.setStationName("Bentork Fast Charge Hub 5");
+        dto.setUserId(100 + id);
+        dto.setUserName("User " + id);
+        dto.setUserImageUrl("https://cdn.example.com/u/" + id + ".jpg");
+        dto.setRating((int) (1 + id % 5));
+        dto.setReviewText("Quick charge, clean location.");
+        dto.setCreatedAt(CREATED);
+        dto.setUpdatedAt(CREATED);
+        return dto;
+    }
+
+    static PlanAssignmentDTO planAssignment(long id) {
+        PlanAssignmentDTO dto = new PlanAssignmentDTO();
+        dto.setId(id);
+        dto.setPlanId(id);
+        dto.setPlanName("Plan " + id);
+        dto.setStationId(5L);
+        dto.setStationName("Bentork Fast Charge Hub 5");
+        dto.setAssignedBy(1L);
+        dto.setIsActive(true);
+        dto.setAssignedAt(CREATED);
+        return dto;
+    }
+
+    static <T> List<T> listOf(int size, java.util.function.LongFunction<T> factory) {
+        List<T> list = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            list.add(factory.apply(i));
+        }
+        return list;
+    }
+
+    /**
+     * Named sample values: single DTOs, the list endpoints and a dashboard scalar.
+     */
+    static Map<String, Object> all() {
+        return Map.of(
+                "station", station(1),
+                "stations x50", listOf(50, CacheCodecSamples::station),
+                "chargers x200", listOf(200, CacheCodecSamples::charger),
+                "charger snapshot", chargerSnapshot(7),
+                "active maintenance", new ActiveMaintenance(new HashSet<>(Set.of(3L, 9L)), new HashSet<>(Set.of(2L))),
+                "effective plans", EffectivePlans.of(5L, listOf(3, CacheCodecSamples::planAssignment)),
+                "plans x10", listOf(10, CacheCodecSamples::plan),
+                "slots x48", listOf(48, CacheCodecSamples::slot),
+                "reviews x25", listOf(25, CacheCodecSamples::review),
+                "total-chargers", 1234L);
+    }
+}
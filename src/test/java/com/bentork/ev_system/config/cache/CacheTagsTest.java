@@ -0,0 +1,96 @@
+package com.bentork.ev_system.config.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CacheTags.
+ *
+ * Covers targeted eviction from a tag set, after-commit deferral and the
+ * clear-the-family fallback when Redis is down.
+ * Uses Mockito mocks — no Spring context or Redis needed.
+ */
+class CacheTagsTest {
+
+    private SetOperations<String, String> setOps;
+    private Cache stations;
+    private Cache chargers;
+    private CacheTags cacheTags;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        setOps = mock(SetOperations.class);
+        when(redisTemplate.opsForSet()).thenReturn(setOps);
+
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("stations", "chargers");
+        stations = cacheManager.getCache("stations");
+        chargers = cacheManager.getCache("chargers");
+        stations.put("42", "station 42");
+        stations.put("43", "station 43");
+        chargers.put("7", "charger 7 at station 42");
+
+        cacheTags = new CacheTags(redisTemplate, cacheManager, new RedisAvailability());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Evicting a tag removes only the entries in its set")
+    void evictsOnlyTaggedEntries() {
+        when(setOps.pop("cache:tag:station:42", 500L)).thenReturn(List.of("stations|42", "chargers|7"));
+
+        cacheTags.evict(CacheTags.station(42L));
+
+        assertNull(stations.get("42"));
+        assertNull(chargers.get("7"));
+        assertNotNull(stations.get("43"));
+    }
+
+    @Test
+    @DisplayName("Inside a transaction, eviction waits for commit")
+    void deferredUntilCommit() {
+        when(setOps.pop("cache:tag:station:42", 500L)).thenReturn(List.of("stations|42"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        cacheTags.evict(CacheTags.station(42L));
+        assertNotNull(stations.get("42"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(stations.get("42"));
+    }
+
+    @Test
+    @DisplayName("When the tag index is unreachable, caches tagged with that family are cleared")
+    void redisDownClearsTaggedCaches() {
+        cacheTags.tag("chargers", 7L, CacheTags.station(42L));
+        when(setOps.pop(eq("cache:tag:station:42"), anyLong())).thenThrow(new QueryTimeoutException("timeout"));
+
+        cacheTags.evict(CacheTags.station(42L));
+
+        assertNull(chargers.get("7"));
+        assertNotNull(stations.get("43")); // never tagged with a station:* tag
+    }
+}
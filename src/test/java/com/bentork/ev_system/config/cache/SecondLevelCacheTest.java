@@ -0,0 +1,267 @@
+package com.bentork.ev_system.config.cache;
+
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Location;
+import com.bentork.ev_system.model.Plan;
+import com.bentork.ev_system.model.PlanAssignment;
+import com.bentork.ev_system.model.Station;
+import com.bentork.ev_system.repository.ChargerRepository;
+import com.bentork.ev_system.repository.LocationRepository;
+import com.bentork.ev_system.repository.PlanAssignmentRepository;
+import com.bentork.ev_system.repository.PlanRepository;
+import com.bentork.ev_system.repository.StationRepository;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the Hibernate second-level cache on the reference entities.
+ *
+ * Replays the reference-entity reads and writes of a charging session start and stop
+ * against H2 and compares the JDBC statement count with a cold and a warm cache (the
+ * numbers are logged at DEBUG). Also covers the query cache, invalidation on admin edits, the
+ * cross-node invalidation hooks and the region bounds.
+ * Runs a JPA slice on H2 — no Redis or MySQL needed.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:l2cache;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheTest.class);
+
+    private static final int SESSIONS = 20;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private StationRepository stationRepository;
+    @Autowired
+    private ChargerRepository chargerRepository;
+    @Autowired
+    private PlanRepository planRepository;
+    @Autowired
+    private PlanAssignmentRepository planAssignmentRepository;
+
+    private TransactionTemplate tx;
+    private Statistics statistics;
+    private Location location;
+    private Station station;
+    private Charger charger;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+
+        location = new Location();
+        location.setName("Pune Central");
+        location = locationRepository.save(location);
+
+        station = new Station();
+        station.setName("Station A");
+        station.setLocation(location);
+        station.setStatus("active");
+        station = stationRepository.save(station);
+
+        charger = chargerRepository.save(Charger.builder()
+                .station(station).ocppId("CP-1").connectorType("CCS2").chargerType("DC")
+                .rate(18.0).kwOutput(60.0).build());
+
+        for (int i = 0; i < 2; i++) {
+            Plan plan = new Plan();
+            plan.setPlanName("Plan " + i);
+            plan.setChargerType("DC");
+            plan.setRate(new BigDecimal("18.00"));
+            plan = planRepository.save(plan);
+
+            PlanAssignment assignment = new PlanAssignment();
+            assignment.setPlan(plan);
+            assignment.setCharger(charger);
+            planAssignmentRepository.save(assignment);
+        }
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        planAssignmentRepository.deleteAll();
+        planRepository.deleteAll();
+        chargerRepository.deleteAll();
+        stationRepository.deleteAll();
+        locationRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Session start/stop flow runs fewer statements with a warm second-level cache")
+    void sessionFlowQueryCount() {
+        long cold = 0;
+        for (int i = 0; i < SESSIONS; i++) {
+            entityManagerFactory.getCache().evictAll();
+            cold += statementsFor(this::sessionFlow);
+        }
+
+        sessionFlow();
+        long warm = 0;
+        for (int i = 0; i < SESSIONS; i++) {
+            warm += statementsFor(this::sessionFlow);
+        }
+
+        log.debug("Session start/stop, {} sessions: {} statements cold, {} warm", SESSIONS, cold, warm);
+        // Per session: the station/location join and the plan loads disappear; the plan assignment
+        // query, the two status UPDATEs and the charger reload after each of them remain
+        // (Charger is @DynamicUpdate, so its entry is evicted on update)
+        assertTrue(warm <= SESSIONS * 5L && warm < cold, "warm=" + warm + " cold=" + cold);
+    }
+
+    @Test
+    @DisplayName("Cached station listing is served without a query until a station changes")
+    void stationQueryCache() {
+        Long locationId = location.getId();
+        assertEquals(1, stationRepository.findByLocationIdAndActiveTrue(locationId).size());
+        assertEquals(0, statementsFor(() -> stationRepository.findByLocationIdAndActiveTrue(locationId)));
+
+        Station added = new Station();
+        added.setName("Station B");
+        added.setLocation(location);
+        stationRepository.save(added);
+
+        assertEquals(2, stationRepository.findByLocationIdAndActiveTrue(locationId).size());
+    }
+
+    @Test
+    @DisplayName("Admin edits are visible on the next read")
+    void adminEditInvalidates() {
+        tx.executeWithoutResult(status -> chargerRepository.findById(charger.getId()).orElseThrow());
+
+        Charger edited = chargerRepository.findById(charger.getId()).orElseThrow();
+        edited.setRate(21.5);
+        chargerRepository.save(edited);
+        chargerRepository.updateState(charger.getId(), "busy", false, true);
+
+        Charger read = chargerRepository.findById(charger.getId()).orElseThrow();
+        assertEquals(21.5, read.getRate());
+        assertEquals("busy", read.getStatus());
+        assertTrue(entityManagerFactory.getCache().contains(Charger.class, charger.getId()));
+    }
+
+    @Test
+    @DisplayName("A status write from a stale cached copy keeps another node's admin edit")
+    void staleStatusWriteKeepsAdminEdit() {
+        chargerRepository.findById(charger.getId()).orElseThrow();
+        // Another node changed the rate and its invalidation never arrived
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("UPDATE charger SET rate = 24.0 WHERE id = ?", charger.getId());
+
+        chargerRepository.updateState(charger.getId(), "busy", false, true);
+
+        assertEquals(24.0, jdbc.queryForObject("SELECT rate FROM charger WHERE id = ?", Double.class,
+                charger.getId()));
+        assertEquals("busy", jdbc.queryForObject("SELECT status FROM charger WHERE id = ?", String.class,
+                charger.getId()));
+    }
+
+    @Test
+    @DisplayName("Commits are published to other nodes, and their messages evict the entity")
+    void crossNodeInvalidation() {
+        CacheInvalidationBus bus = mock(CacheInvalidationBus.class);
+        EntityCacheInvalidation invalidation = new EntityCacheInvalidation(entityManagerFactory, bus,
+                new RedisAvailability());
+
+        Station edited = stationRepository.findById(station.getId()).orElseThrow();
+        edited.setName("Station A (renamed)");
+        stationRepository.save(edited);
+        verify(bus).publish("jpa:" + Station.class.getName(), String.valueOf(station.getId()));
+
+        stationRepository.findById(station.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Station.class, station.getId()));
+        invalidation.onRemoteInvalidation("jpa:" + Station.class.getName(), String.valueOf(station.getId()));
+        assertFalse(entityManagerFactory.getCache().contains(Station.class, station.getId()));
+    }
+
+    @Test
+    @DisplayName("Every region is bounded by hibernate-jcache.conf")
+    void regionsAreBounded() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(RegionFactory.class);
+        javax.cache.CacheManager cacheManager = ((JCacheRegionFactory) regionFactory).getCacheManager();
+
+        for (String region : List.of("charger", "station", "location", "plan", "plan-assignment",
+                ChargerRepository.QUERY_REGION, StationRepository.QUERY_REGION)) {
+            CaffeineConfiguration<?, ?> config = cacheManager.getCache(region)
+                    .getConfiguration(CaffeineConfiguration.class);
+            assertTrue(config.getMaximumSize().isPresent(), region);
+            assertTrue(config.getExpireAfterWrite().isPresent(), region);
+        }
+        assertEquals(20_000, cacheManager.getCache("charger")
+                .getConfiguration(CaffeineConfiguration.class).getMaximumSize().getAsLong());
+    }
+
+    /**
+     * Reference-entity traffic of one session, each step in its own transaction like the
+     * REST and OCPP requests that make it: start (charger + station/location for the
+     * receipt, effective plans), StartTransaction status write, stop (charger for the
+     * response), StopTransaction status write.
+     */
+    private void sessionFlow() {
+        Long chargerId = charger.getId();
+        tx.executeWithoutResult(status -> {
+            Charger c = chargerRepository.findById(chargerId).orElseThrow();
+            c.getStation().getLocation().getName();
+            planAssignmentRepository.findByChargerIdAndIsActiveTrue(chargerId)
+                    .forEach(assignment -> assignment.getPlan().getPlanName());
+        });
+        chargerRepository.updateState(chargerId, "busy", false, true);
+        tx.executeWithoutResult(status -> chargerRepository.findById(chargerId).orElseThrow()
+                .getStation().getName());
+        chargerRepository.updateState(chargerId, "available", true, false);
+    }
+
+    private long statementsFor(Runnable work) {
+        statistics.clear();
+        work.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
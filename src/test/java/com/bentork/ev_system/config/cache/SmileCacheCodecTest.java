@@ -0,0 +1,80 @@
+package com.bentork.ev_system.config.cache;
+
+import com.bentork.ev_system.config.TypedJsonCacheCodec;
+import com.bentork.ev_system.dto.request.ChargerDTO;
+import com.bentork.ev_system.dto.request.StationDTO;
+import com.bentork.ev_system.dto.response.StationRatingSummary;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SmileCacheCodec.
+ *
+ * Round-trips every cached value shape and checks the binary format stays smaller
+ * than the typed JSON it replaces. Plain codec calls — no Spring context or Redis needed.
+ */
+class SmileCacheCodecTest {
+
+    private final SmileCacheCodec codec = new SmileCacheCodec();
+    private final TypedJsonCacheCodec json = new TypedJsonCacheCodec();
+
+    @Test
+    @DisplayName("Registered DTOs and lists of them round-trip with all fields")
+    void registeredTypesRoundTrip() {
+        CacheCodecSamples.all().forEach((name, value) -> {
+            Object decoded = codec.decode(codec.encode(value));
+            // Lombok/plain DTOs have no equals; compare through the JSON form
+            assertEquals(new String(json.encode(value)), new String(json.encode(decoded)), name);
+        });
+
+        ChargerDTO charger = (ChargerDTO) codec.decode(codec.encode(CacheCodecSamples.charger(3)));
+        assertTrue(charger.isOccupied());
+        assertEquals("BT-CP-3", charger.getOcppId());
+    }
+
+    @Test
+    @DisplayName("Dashboard scalars keep their exact type")
+    void scalarsKeepType() {
+        assertEquals(Long.valueOf(7), codec.decode(codec.encode(7L)));
+        assertEquals(Double.valueOf(99.5), codec.decode(codec.encode(99.5)));
+        assertEquals("ok", codec.decode(codec.encode("ok")));
+    }
+
+    @Test
+    @DisplayName("Unregistered values fall back to typed Smile")
+    void unregisteredTypesFallBack() {
+        StationRatingSummary summary = new StationRatingSummary();
+        summary.setStationId(5L);
+        summary.setRatingDistribution(Map.of(5, 10L, 4, 8L));
+        List<Object> mixed = List.of(CacheCodecSamples.station(1), Map.of("name", "Pune"));
+
+        StationRatingSummary decodedSummary = (StationRatingSummary) codec.decode(codec.encode(summary));
+        List<?> decodedMixed = (List<?>) codec.decode(codec.encode(mixed));
+
+        assertEquals(2, decodedSummary.getRatingDistribution().size());
+        assertInstanceOf(StationDTO.class, decodedMixed.get(0));
+        assertEquals("Pune", ((Map<?, ?>) decodedMixed.get(1)).get("name"));
+        assertTrue(((List<?>) codec.decode(codec.encode(List.of()))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Binary payloads are at most half the size of typed JSON for DTO lists")
+    void payloadsAreSmaller() {
+        List<StationDTO> stations = CacheCodecSamples.listOf(50, CacheCodecSamples::station);
+
+        assertTrue(codec.encode(stations).length * 2 <= json.encode(stations).length);
+    }
+
+    @Test
+    @DisplayName("Codec version namespaces the Redis keys")
+    void versionedKeyPrefix() {
+        assertEquals("smile2:plans::", codec.keyPrefix("plans"));
+        assertEquals("plans::", json.keyPrefix("plans"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.bentork.ev_system.config.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TwoLevelCache stampede protection.
+ *
+ * Covers single-flight loading, stale-while-revalidate, waiting on another node's load and
+ * the envelope wire format. Uses Mockito mocks — no Spring context or Redis needed.
+ */
+class TwoLevelCacheStampedeTest {
+
+    private static final CacheTier TIER = CacheTier.twoLevel(Duration.ofMinutes(5), Duration.ofMinutes(1), 100)
+            .withStampede(StampedePolicy.of(Duration.ofMinutes(1)));
+
+    private Cache remote;
+    private CacheLoadLock loadLock;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("dashboard-stats", false);
+        loadLock = mock(CacheLoadLock.class);
+        when(loadLock.tryLock(anyString(), anyString(), any())).thenReturn("token");
+        // Run refreshes on the calling thread so the test can assert on them directly
+        cache = new TwoLevelCache("dashboard-stats", TIER, remote, null, new RedisAvailability(),
+                mock(CacheInvalidationBus.class), loadLock, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Concurrent misses for the same key run the loader once")
+    void concurrentMissesLoadOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.get("total-chargers", () -> {
+                        loads.incrementAndGet();
+                        TimeUnit.MILLISECONDS.sleep(200);
+                        return 42L;
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Long> result : results) {
+                assertEquals(42L, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        verify(loadLock, times(1)).unlock("dashboard-stats", "total-chargers", "token");
+    }
+
+    @Test
+    @DisplayName("Stale entry within the window is served while it is refreshed")
+    void staleEntryServedAndRefreshed() {
+        remote.put("total-chargers", new CacheEnvelope(41L, System.currentTimeMillis() - 1_000, 5));
+
+        Long served = cache.get("total-chargers", () -> 42L);
+
+        assertEquals(41L, served);
+        CacheEnvelope refreshed = (CacheEnvelope) remote.get("total-chargers").get();
+        assertEquals(42L, refreshed.value());
+        assertFalse(refreshed.isStale(System.currentTimeMillis()));
+        assertEquals(42L, cache.get("total-chargers").get());
+    }
+
+    @Test
+    @DisplayName("Stale entry is hidden from plain get(key) readers")
+    void staleEntryHiddenFromPlainGet() {
+        remote.put("total-chargers", new CacheEnvelope(41L, System.currentTimeMillis() - 1_000, 5));
+
+        assertNull(cache.get("total-chargers"));
+    }
+
+    @Test
+    @DisplayName("When another node holds the load lock, wait for its value instead of loading")
+    void waitsForOtherNode() {
+        when(loadLock.tryLock(anyString(), anyString(), any())).thenReturn(null);
+        ScheduledExecutorService otherNode = Executors.newSingleThreadScheduledExecutor();
+        try {
+            otherNode.schedule(
+                    () -> remote.put("total-chargers", new CacheEnvelope(7L, System.currentTimeMillis() + 60_000, 5)),
+                    150, TimeUnit.MILLISECONDS);
+
+            Long value = cache.get("total-chargers", () -> fail("loader must not run"));
+
+            assertEquals(7L, value);
+        } finally {
+            otherNode.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Envelope survives the Redis serializer with its metadata")
+    void envelopeRoundTrip() {
+        CodecRedisSerializer serializer = new CodecRedisSerializer(new SmileCacheCodec());
+        CacheEnvelope envelope = new CacheEnvelope(12345L, 1_700_000_000_000L, 250);
+
+        byte[] bytes = serializer.serialize(envelope);
+
+        assertEquals(CodecRedisSerializer.ENVELOPE, bytes[0]);
+        assertEquals(envelope, serializer.deserialize(bytes));
+        assertEquals("plain", serializer.deserialize(serializer.serialize("plain")));
+    }
+}
@@ -0,0 +1,197 @@
+package com.bentork.ev_system.config.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.QueryTimeoutException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TwoLevelCache.
+ *
+ * Covers L1/L2 read-through, bulk reads, metrics, cross-node invalidation and L1-only operation while Redis is down.
+ * Uses Mockito mocks — no Spring context or Redis needed.
+ */
+class TwoLevelCacheTest {
+
+    private static final CacheTier TIER = CacheTier.twoLevel(Duration.ofMinutes(30), Duration.ofMinutes(5), 100);
+
+    private Cache remote;
+    private RedisAvailability availability;
+    private CacheInvalidationBus bus;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = spy(new ConcurrentMapCache("plans", false));
+        availability = new RedisAvailability();
+        bus = mock(CacheInvalidationBus.class);
+        cache = new TwoLevelCache("plans", TIER, remote, availability, bus);
+    }
+
+    @Test
+    @DisplayName("L2 hit populates L1 so the next read does not touch Redis")
+    void l2HitPopulatesL1() {
+        remote.put(1L, "basic");
+
+        assertEquals("basic", cache.get(1L).get());
+        assertEquals("basic", cache.get(1L).get());
+
+        verify(remote, times(1)).get(1L);
+        assertEquals(1, cache.getStats().l1Hits());
+        assertEquals(1, cache.getStats().l2Hits());
+    }
+
+    @Test
+    @DisplayName("Put writes both levels and publishes an invalidation for other nodes")
+    void putPublishesInvalidation() {
+        cache.put(1L, "basic");
+
+        assertEquals("basic", remote.get(1L).get());
+        verify(bus).publish("plans", "1");
+    }
+
+    @Test
+    @DisplayName("putIfAbsent keeps the value another node stored and publishes nothing")
+    void putIfAbsentKeepsExisting() {
+        remote.put(1L, "premium"); // stored by another node
+
+        assertEquals("premium", cache.putIfAbsent(1L, "basic").get());
+        assertNull(cache.putIfAbsent(2L, "basic"));
+
+        assertEquals("premium", cache.get(1L).get());
+        assertEquals("basic", remote.get(2L).get());
+        verify(remote, never()).get(1L);
+        verifyNoInteractions(bus);
+    }
+
+    @Test
+    @DisplayName("Remote invalidation drops the L1 entry and the next read goes to Redis")
+    void remoteInvalidationDropsLocalEntry() {
+        cache.put(1L, "basic");
+        remote.put(1L, "premium"); // written by another node
+
+        cache.invalidateLocal("1");
+
+        assertEquals("premium", cache.get(1L).get());
+    }
+
+    @Test
+    @DisplayName("Redis failure opens the breaker and the cache keeps serving from L1")
+    void redisDownServesFromL1() {
+        cache.put(1L, "basic");
+        doThrow(new QueryTimeoutException("redis timeout")).when(remote).put(any(), any());
+
+        cache.put(2L, "premium");
+
+        assertFalse(availability.isUp());
+        assertEquals("premium", cache.get(2L).get());
+        assertEquals("basic", cache.get(1L).get());
+        verify(remote, never()).get(2L);
+    }
+
+    @Test
+    @DisplayName("L2-only tier never keeps a local copy")
+    void redisOnlyTierSkipsL1() {
+        TwoLevelCache entityCache = new TwoLevelCache("user-data", CacheTier.redisOnly(Duration.ofMinutes(10)),
+                remote, availability, bus);
+
+        entityCache.put("a@b.c", "user");
+        entityCache.get("a@b.c");
+        entityCache.get("a@b.c");
+
+        verify(remote, times(2)).get("a@b.c");
+        verifyNoInteractions(bus);
+        assertEquals(0, entityCache.localSize());
+    }
+
+    @Test
+    @DisplayName("Bulk read loads only the keys missing from both levels and returns them in key order")
+    void getAllLoadsOnlyMisses() {
+        cache.put(1L, "basic");  // L1 and L2
+        remote.put(2L, "premium"); // L2 only
+        Map<Set<Long>, Integer> loads = new HashMap<>();
+
+        Map<Long, String> result = cache.getAll(List.of(3L, 2L, 1L, 4L), keys -> {
+            loads.merge(keys, 1, Integer::sum);
+            return keys.stream().filter(k -> k != 4L).collect(Collectors.toMap(k -> k, k -> "plan-" + k));
+        });
+
+        assertEquals(List.of(3L, 2L, 1L), List.copyOf(result.keySet()));
+        assertEquals("premium", result.get(2L));
+        assertEquals(Map.of(Set.of(3L, 4L), 1), loads);
+        verify(remote, never()).get(1L);
+
+        // Loaded and L2 values are now local; nothing is published for a read
+        clearInvocations(remote);
+        assertEquals("plan-3", cache.get(3L).get());
+        assertEquals("premium", cache.get(2L).get());
+        verifyNoInteractions(remote);
+        verify(bus, times(1)).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("Bulk read falls back to the loader while Redis is down")
+    void getAllWithRedisDown() {
+        doThrow(new QueryTimeoutException("redis timeout")).when(remote).get(any());
+
+        Map<Long, String> result = cache.getAll(List.of(1L, 2L), keys -> keys.stream()
+                .collect(Collectors.toMap(k -> k, k -> "plan-" + k)));
+
+        assertEquals(Map.of(1L, "plan-1", 2L, "plan-2"), result);
+        assertFalse(availability.isUp());
+        assertEquals("plan-1", cache.get(1L).get());
+    }
+
+    @Test
+    @DisplayName("Loads, evictions and Redis errors are exported as meters")
+    void metricsAreExported() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(1L, () -> "basic");
+        cache.getAll(List.of(2L, 3L), keys -> keys.stream().collect(Collectors.toMap(k -> k, k -> "plan-" + k)));
+        cache.evict(1L);
+        cache.invalidateLocal("2");
+        doThrow(new QueryTimeoutException("redis timeout")).when(remote).get(any());
+        cache.get(4L);
+
+        assertEquals(1, registry.get("cache.load").tags("cache", "plans", "mode", "single", "result", "success")
+                .timer().count());
+        assertEquals(1, registry.get("cache.load").tags("mode", "batch", "result", "success").timer().count());
+        assertEquals(1, registry.get("cache.level.evictions").tags("cause", "explicit").functionCounter().count());
+        assertEquals(1, registry.get("cache.level.evictions").tags("cause", "remote").functionCounter().count());
+        assertEquals(1, registry.get("cache.level.errors").functionCounter().count());
+        assertEquals(1, registry.get("cache.level.size").gauge().value());
+        assertTrue(registry.get("cache.level.estimated.bytes").gauge().value() < 0, "not Redis-backed");
+    }
+
+    @Test
+    @DisplayName("L1 size evictions are counted")
+    void sizeEvictionsAreCounted() {
+        TwoLevelCache small = new TwoLevelCache("slots", CacheTier.twoLevel(Duration.ofMinutes(5),
+                Duration.ofSeconds(30), 10), remote, availability, bus);
+
+        for (long i = 0; i < 50; i++) {
+            small.put(i, "slot");
+        }
+        ((com.github.benmanes.caffeine.cache.Cache<?, ?>) small.getNativeCache()).cleanUp();
+
+        assertTrue(small.localSize() <= 10);
+        assertEquals(50 - small.localSize(), small.getStats().sizeEvictions());
+    }
+}
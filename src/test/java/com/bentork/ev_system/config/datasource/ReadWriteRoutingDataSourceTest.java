@@ -0,0 +1,232 @@
+package com.bentork.ev_system.config.datasource;
+
+import com.bentork.ev_system.repository.ChargerRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.handler.WebRequestHandlerInterceptorAdapter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+
+/**
+ * Routing of connections between the primary and the reporting pool.
+ *
+ * Two H2 databases stand in for primary and replica; each has a one-row pool_marker table
+ * naming it. Only the primary gets the Flyway schema, so a JPA query routed to the
+ * reporting pool fails. Runs a JPA slice with DataSourceRoutingConfig — no MySQL needed.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.datasource.reporting.url=jdbc:h2:mem:routing-reporting;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "app.datasource.reporting.username=sa",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=com.bentork.ev_system.config.SchemaMigrationTest$H2MySQLDialect"
+})
+@Import({ DataSourceRoutingConfig.class, ReadWriteRoutingDataSourceTest.Reports.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadWriteRoutingDataSourceTest {
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primary;
+    @Autowired
+    @Qualifier("reportingDataSource")
+    private HikariDataSource reporting;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ChargerRepository chargerRepository;
+    @Autowired
+    private Reports reports;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        mark(primary, "primary");
+        mark(reporting, "reporting");
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    @DisplayName("Two named pools; the routed DataSource is the primary bean")
+    void separatePools() {
+        assertEquals("primary", primary.getPoolName());
+        assertEquals("reporting", reporting.getPoolName());
+        assertTrue(reporting.isReadOnly());
+        assertNotSame(primary, dataSource);
+    }
+
+    @Test
+    @DisplayName("No transaction and read-write transactions use the primary pool")
+    void writesStayOnPrimary() {
+        assertEquals("primary", pool(jdbc));
+        assertEquals("primary", transaction(false, "com.bentork.ev_system.service.SessionService.startSession")
+                .execute(status -> pool(jdbc)));
+    }
+
+    @Test
+    @DisplayName("A read-only service transaction uses the reporting pool")
+    void readOnlyServiceTransactionUsesReporting() {
+        assertEquals("reporting", transaction(true, "com.bentork.ev_system.service.DashboardService.getStats")
+                .execute(status -> pool(jdbc)));
+    }
+
+    @Test
+    @DisplayName("Repository finders called outside a service transaction stay on the primary pool")
+    void repositoryDefaultsStayOnPrimary() {
+        // SimpleJpaRepository runs findById in its own read-only transaction
+        assertDoesNotThrow(() -> chargerRepository.findById(1L));
+
+        // The same finder inside a read-only service transaction goes to the schemaless reporting database
+        TransactionTemplate readOnly = transaction(true, "com.bentork.ev_system.service.RevenueService.getAllRevenue");
+        assertThrows(RuntimeException.class, () -> readOnly.executeWithoutResult(status -> chargerRepository.findById(1L)));
+    }
+
+    @Test
+    @DisplayName("@UseDataSource pins the route over the transaction flags; the innermost annotation wins")
+    void annotationPinsRoute() {
+        assertEquals("reporting", reports.plain());
+        assertEquals("reporting", reports.inReadWriteTransaction());
+        assertEquals("primary", reports.pinnedToPrimary());
+        // Route is restored after the call
+        assertEquals("primary", pool(jdbc));
+    }
+
+    @Test
+    @DisplayName("Checked exceptions pass through the interceptor unchanged")
+    void checkedExceptionsPassThrough() {
+        Exception e = assertThrows(Exception.class, () -> reports.failing());
+        assertEquals("report failed", e.getMessage());
+        assertEquals(Exception.class, e.getClass());
+        assertEquals("primary", pool(jdbc));
+    }
+
+    @Test
+    @DisplayName("With open-in-view, each transaction of a request picks its own pool")
+    void openInViewRequestRoutesEachTransaction() throws Exception {
+        OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+        openInView.setEntityManagerFactory(entityManagerFactory);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new Requests(entityManagerFactory, dataSource,
+                        transaction(true, "com.bentork.ev_system.service.DashboardService.getStats"),
+                        transaction(false, "com.bentork.ev_system.service.SessionService.startSession")))
+                .addInterceptors(new WebRequestHandlerInterceptorAdapter(openInView))
+                .build();
+
+        mvc.perform(get("/report-then-write")).andExpect(content().string("open-in-view: reporting, primary"));
+        mvc.perform(get("/write-then-report")).andExpect(content().string("open-in-view: primary, reporting"));
+    }
+
+    private TransactionTemplate transaction(boolean readOnly, String name) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        template.setName(name);
+        return template;
+    }
+
+    private static String pool(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT name FROM pool_marker", String.class);
+    }
+
+    private static void mark(DataSource target, String name) {
+        JdbcTemplate raw = new JdbcTemplate(target);
+        raw.execute("CREATE TABLE IF NOT EXISTS pool_marker (name VARCHAR(20))");
+        raw.update("DELETE FROM pool_marker");
+        raw.update("INSERT INTO pool_marker (name) VALUES (?)", name);
+    }
+
+    /**
+     * Two transactions in one request, the way a controller calling two services runs them.
+     */
+    @RestController
+    static class Requests {
+
+        private final EntityManagerFactory entityManagerFactory;
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate report;
+        private final TransactionTemplate write;
+
+        Requests(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                 TransactionTemplate report, TransactionTemplate write) {
+            this.entityManagerFactory = entityManagerFactory;
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.report = report;
+            this.write = write;
+        }
+
+        @GetMapping("/report-then-write")
+        String reportThenWrite() {
+            String first = report.execute(status -> pool(jdbc));
+            return openInView() + first + ", " + write.execute(status -> pool(jdbc));
+        }
+
+        @GetMapping("/write-then-report")
+        String writeThenReport() {
+            String first = write.execute(status -> pool(jdbc));
+            return openInView() + first + ", " + report.execute(status -> pool(jdbc));
+        }
+
+        private String openInView() {
+            return TransactionSynchronizationManager.hasResource(entityManagerFactory) ? "open-in-view: " : "";
+        }
+    }
+
+    @UseDataSource(DataSourceRoute.REPORTING)
+    static class Reports {
+
+        private final JdbcTemplate jdbc;
+
+        Reports(DataSource dataSource) {
+            this.jdbc = new JdbcTemplate(dataSource);
+        }
+
+        public String plain() {
+            return pool(jdbc);
+        }
+
+        @Transactional
+        public String inReadWriteTransaction() {
+            return pool(jdbc);
+        }
+
+        @Transactional(readOnly = true)
+        @UseDataSource(DataSourceRoute.PRIMARY)
+        public String pinnedToPrimary() {
+            return pool(jdbc);
+        }
+
+        public String failing() throws Exception {
+            throw new Exception("report failed");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.bentork.ev_system.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Test-time index advisor.
+ *
+ * {@link Recorder} is registered as Hibernate's statement inspector and keeps every SQL
+ * statement the session factory generates. {@link #explain} runs EXPLAIN for each captured
+ * SELECT on the embedded H2 database (MySQL mode, schema built by the Flyway migrations)
+ * and reports the tables the plan reads with a full table scan. Parameters stay unbound:
+ * H2 plans a prepared statement before it sees the values, so the plan reflects the SQL
+ * and the indexes rather than particular bound values.
+ */
+public final class IndexAdvisor {
+
+    private static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* \\w+\\.(\\w+)\\.tableScan");
+
+    private IndexAdvisor() {
+    }
+
+    /**
+     * Statement inspector that records the SQL and passes it through unchanged.
+     * Set as {@code hibernate.session_factory.statement_inspector}.
+     */
+    public static class Recorder implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    /**
+     * Forgets the statements captured so far.
+     */
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Distinct SELECT statements captured since the last {@link #reset()}, in first-seen order.
+     */
+    public static List<String> selects() {
+        LinkedHashSet<String> selects = new LinkedHashSet<>();
+        for (String sql : STATEMENTS) {
+            if (sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+                selects.add(sql);
+            }
+        }
+        return new ArrayList<>(selects);
+    }
+
+    /**
+     * EXPLAINs each statement and returns its plan with the fully scanned tables.
+     */
+    public static List<Plan> explain(DataSource dataSource, List<String> statements) throws SQLException {
+        List<Plan> plans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : statements) {
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql);
+                        ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    String plan = rs.getString(1);
+                    List<String> fullScans = new ArrayList<>();
+                    Matcher matcher = TABLE_SCAN.matcher(plan);
+                    while (matcher.find()) {
+                        fullScans.add(matcher.group(1).toLowerCase(Locale.ROOT));
+                    }
+                    plans.add(new Plan(sql, plan, fullScans));
+                }
+            }
+        }
+        return plans;
+    }
+
+    /**
+     * One EXPLAINed statement.
+     *
+     * @param fullScans tables the plan reads without an index, empty when every table
+     *                  is reached through an index
+     */
+    public record Plan(String sql, String plan, List<String> fullScans) {
+
+        public boolean hasFullScan() {
+            return !fullScans.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return (hasFullScan() ? "FULL SCAN of " + fullScans : "indexed") + System.lineSeparator() + plan;
+        }
+    }
+}
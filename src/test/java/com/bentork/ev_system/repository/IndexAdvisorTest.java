@@ -0,0 +1,162 @@
+package com.bentork.ev_system.repository;
+
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Location;
+import com.bentork.ev_system.model.Session;
+import com.bentork.ev_system.model.Station;
+import com.bentork.ev_system.model.User;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Index advisor run over the hot finders.
+ *
+ * Each case calls the finders a hot path makes, then EXPLAINs every SELECT Hibernate
+ * generated for them (IndexAdvisor) and fails on a full table scan; the plans are logged at DEBUG.
+ * The schema comes from the Flyway migrations and the SQL from the MySQL dialect, so a new
+ * finder without a matching index migration fails here.
+ * Runs a JPA slice on H2 in MySQL mode — no MySQL needed.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:indexadvisor;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=com.bentork.ev_system.config.SchemaMigrationTest$H2MySQLDialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.bentork.ev_system.repository.IndexAdvisor$Recorder"
+})
+class IndexAdvisorTest {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexAdvisorTest.class);
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 10, 0);
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private StationRepository stationRepository;
+    @Autowired
+    private ChargerRepository chargerRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private SessionRepository sessionRepository;
+    @Autowired
+    private ReceiptRepository receiptRepository;
+    @Autowired
+    private SlotBookingRepository slotBookingRepository;
+    @Autowired
+    private MaintenanceScheduleRepository maintenanceScheduleRepository;
+
+    private Station station;
+    private Charger charger;
+    private User user;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        Location location = new Location();
+        location.setName("Pune Central");
+        location = locationRepository.save(location);
+
+        station = new Station();
+        station.setName("Station 0");
+        station.setLocation(location);
+        station.setStatus("active");
+        station = stationRepository.save(station);
+
+        charger = chargerRepository.save(Charger.builder()
+                .station(station).ocppId("CP-0-0").connectorType("CCS2").chargerType("DC")
+                .rate(18.0).kwOutput(60.0).build());
+
+        user = new User();
+        user.setName("User 0");
+        user.setEmail("user0@example.com");
+        user = userRepository.save(user);
+
+        session = new Session();
+        session.setUser(user);
+        session.setCharger(charger);
+        session.setStatus("active");
+        session.setCreatedAt(NOW);
+        session = sessionRepository.saveAndFlush(session);
+
+        IndexAdvisor.reset();
+    }
+
+    @Test
+    @DisplayName("Session finders on the OCPP, dashboard and cleanup paths read through an index")
+    void sessionFinders() throws Exception {
+        sessionRepository.findFirstByChargerAndStatusInOrderByCreatedAtDesc(charger, List.of("active", "initiated"));
+        sessionRepository.findFirstByChargerAndStatusOrderByCreatedAtDesc(charger, "active");
+        sessionRepository.countByStatusAndCreatedAtBetween("completed", NOW.minusDays(1), NOW);
+        sessionRepository.findIdsByStatusAndCreatedAtBefore("initiated", NOW, 0L, PageRequest.ofSize(100));
+        sessionRepository.existsByUserIdAndStatus(user.getId(), "active");
+        sessionRepository.existsByUserIdAndChargerIdAndStatusIn(user.getId(), charger.getId(), List.of("active"));
+
+        assertNoFullScans(6);
+    }
+
+    @Test
+    @DisplayName("Receipt lookups by session and by charger read through an index")
+    void receiptFinders() throws Exception {
+        receiptRepository.findBySession(session);
+        receiptRepository.findFirstByChargerAndStatusOrderByCreatedAtDesc(charger, "PAID");
+
+        assertNoFullScans(2);
+    }
+
+    @Test
+    @DisplayName("Slot booking expiry, no-show and guard queries read through an index")
+    void slotBookingFinders() throws Exception {
+        slotBookingRepository.findExpiredIds(NOW, 0L, PageRequest.ofSize(500));
+        slotBookingRepository.findExpiredAllDayIds(LocalTime.NOON, 0L, PageRequest.ofSize(500));
+        slotBookingRepository.findNoShowIds(NOW, 0L, PageRequest.ofSize(500));
+        slotBookingRepository.findNoShowAllDayIds(LocalTime.NOON, 0L, PageRequest.ofSize(500));
+        slotBookingRepository.findExpiredBookingsByIdIn(List.of(1L, 2L));
+        slotBookingRepository.findActiveBookingOnChargerAtTime(charger.getId(), NOW, LocalTime.NOON);
+        slotBookingRepository.hasActiveBooking(user.getId(), charger.getId());
+        slotBookingRepository.countActiveBookingsByUser(user.getId());
+
+        assertNoFullScans(8);
+    }
+
+    @Test
+    @DisplayName("Maintenance guard and transition sweeps read through an index")
+    void maintenanceFinders() throws Exception {
+        maintenanceScheduleRepository.isChargerUnderMaintenance(charger.getId(), station.getId());
+        maintenanceScheduleRepository.findActiveTargets();
+        maintenanceScheduleRepository.hasMaintenanceOverlap(charger.getId(), station.getId(), NOW, NOW.plusHours(1));
+        maintenanceScheduleRepository.findSchedulesToActivate(NOW);
+        maintenanceScheduleRepository.findSchedulesToComplete(NOW);
+
+        assertNoFullScans(5);
+    }
+
+    private void assertNoFullScans(int expectedStatements) throws Exception {
+        List<IndexAdvisor.Plan> plans = IndexAdvisor.explain(dataSource, IndexAdvisor.selects());
+        plans.forEach(plan -> log.debug("{}", plan));
+
+        assertEquals(expectedStatements, plans.size(), "captured statements");
+        List<IndexAdvisor.Plan> fullScans = plans.stream().filter(IndexAdvisor.Plan::hasFullScan).toList();
+        assertTrue(fullScans.isEmpty(), "full table scans:" + System.lineSeparator() + fullScans);
+    }
+}
@@ -0,0 +1,236 @@
+package com.bentork.ev_system.repository;
+
+import com.bentork.ev_system.mapper.ChargerMapper;
+import com.bentork.ev_system.mapper.SessionMapper;
+import com.bentork.ev_system.mapper.StationMapper;
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Location;
+import com.bentork.ev_system.model.Session;
+import com.bentork.ev_system.model.Station;
+import com.bentork.ev_system.model.User;
+import com.bentork.ev_system.service.charger.ChargerSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-count budgets for the major listing and lookup endpoints.
+ *
+ * Each case runs the repository call an endpoint makes, outside a transaction like the
+ * OCPP handlers and cache loaders, maps the result the way the endpoint does and asserts
+ * the JDBC statement count with a cold second-level cache (the numbers are logged at DEBUG).
+ * A missing entity graph shows up as a LazyInitializationException or a blown budget.
+ * Runs a JPA slice on H2 — no MySQL needed.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:querybudget;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryBudgetTest {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetTest.class);
+
+    private static final int STATIONS = 3;
+    private static final int CHARGERS_PER_STATION = 2;
+    private static final int USERS = 5;
+    private static final int SESSIONS = 30;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private StationRepository stationRepository;
+    @Autowired
+    private ChargerRepository chargerRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    private Statistics statistics;
+    private List<Long> stationIds;
+    private List<Long> chargerIds;
+    private Long sessionId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+
+        Location location = new Location();
+        location.setName("Pune Central");
+        location = locationRepository.save(location);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            users.add(userRepository.save(user));
+        }
+
+        stationIds = new ArrayList<>();
+        chargerIds = new ArrayList<>();
+        List<Charger> chargers = new ArrayList<>();
+        for (int s = 0; s < STATIONS; s++) {
+            Station station = new Station();
+            station.setName("Station " + s);
+            station.setLocation(location);
+            station.setStatus("active");
+            station = stationRepository.save(station);
+            stationIds.add(station.getId());
+            for (int c = 0; c < CHARGERS_PER_STATION; c++) {
+                Charger charger = chargerRepository.save(Charger.builder()
+                        .station(station).ocppId("CP-" + s + "-" + c).connectorType("CCS2").chargerType("DC")
+                        .rate(18.0).kwOutput(60.0).build());
+                chargers.add(charger);
+                chargerIds.add(charger.getId());
+            }
+        }
+
+        for (int i = 0; i < SESSIONS; i++) {
+            Session session = new Session();
+            session.setUser(users.get(i % USERS));
+            session.setCharger(chargers.get(i % chargers.size()));
+            session.setStatus(i % 3 == 0 ? "active" : "completed");
+            session.setStartTime(LocalDateTime.of(2026, 3, 1, 10, 0).plusMinutes(i));
+            session.setCreatedAt(LocalDateTime.of(2026, 3, 1, 10, 0).plusMinutes(i));
+            sessionId = sessionRepository.save(session).getId();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionRepository.deleteAll();
+        chargerRepository.deleteAll();
+        stationRepository.deleteAll();
+        userRepository.deleteAll();
+        locationRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Dealer session listing and count are one statement each")
+    void dealerSessions() {
+        List<com.bentork.ev_system.dto.response.SessionDTO> sessions = withinBudget("dealer sessions", 1,
+                () -> sessionRepository.findByStationIdIn(stationIds).stream().map(SessionMapper::toSummary).toList());
+        assertEquals(SESSIONS, sessions.size());
+        assertTrue(sessions.stream().allMatch(s -> s.getUserName() != null && s.getStationName() != null));
+
+        List<com.bentork.ev_system.dto.response.SessionDTO> byStation = withinBudget("dealer station sessions", 1,
+                () -> sessionRepository.findByStationId(stationIds.get(0)).stream()
+                        .map(SessionMapper::toSummary).toList());
+        assertEquals(SESSIONS / STATIONS, byStation.size());
+
+        assertEquals(SESSIONS, (long) withinBudget("dealer session count", 1,
+                () -> sessionRepository.countByStationIdIn(stationIds)));
+    }
+
+    @Test
+    @DisplayName("Live session view reads a projection without loading users or chargers")
+    void activeSessionDetails() {
+        List<SessionRepository.SessionStatusRow> rows = withinBudget("active session details", 1,
+                () -> sessionRepository.findStatusRowsByStatusIn(List.of("active", "initiated")));
+
+        assertEquals(SESSIONS / 3, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.getUserId() != null && "active".equals(row.getStatus())));
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    @DisplayName("Session lookup by id carries what the OCPP handlers read")
+    void sessionById() {
+        Session session = withinBudget("session by id", 1, () -> {
+            Session s = sessionRepository.findById(sessionId).orElseThrow();
+            s.getUser().getName();
+            s.getCharger().getRate();
+            s.getCharger().getStation().getName();
+            return s;
+        });
+
+        assertEquals(sessionId, session.getId());
+    }
+
+    @Test
+    @DisplayName("Session record dump serializes the whole graph in one statement")
+    void sessionRecords() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        String json = withinBudget("session records", 1, () -> {
+            try {
+                return objectMapper.writeValueAsString(sessionRepository.findAll());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertTrue(json.contains("Pune Central"));
+    }
+
+    @Test
+    @DisplayName("Charger lookups and listings fetch their station in the same statement")
+    void chargers() {
+        ChargerSnapshot snapshot = withinBudget("charger by ocppId", 1,
+                () -> chargerRepository.findByOcppId("CP-0-0").map(ChargerSnapshot::of).orElseThrow());
+        assertEquals("Station 0", snapshot.stationName());
+
+        assertEquals(STATIONS * CHARGERS_PER_STATION, withinBudget("charger listing", 1,
+                () -> chargerRepository.findByActiveTrue().stream().map(ChargerMapper::toDto).toList()).size());
+
+        assertEquals(chargerIds.size(), withinBudget("chargers by ids", 1,
+                () -> chargerRepository.findAllById(chargerIds).stream().map(ChargerMapper::toDto).toList()).size());
+    }
+
+    @Test
+    @DisplayName("Station listings fetch their location, also when served from the query cache")
+    void stations() {
+        assertEquals(STATIONS, withinBudget("station listing", 1,
+                () -> stationRepository.findByActiveTrue().stream().map(StationMapper::toDTO).toList()).size());
+        statistics.clear();
+        assertEquals("Pune Central", stationRepository.findByActiveTrue().get(0).getLocation().getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        assertEquals(STATIONS, withinBudget("stations by ids", 1,
+                () -> stationRepository.findAllById(stationIds).stream().map(StationMapper::toDTO).toList()).size());
+    }
+
+    private <T> T withinBudget(String endpoint, int budget, Supplier<T> work) {
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        T result = work.get();
+        long statements = statistics.getPrepareStatementCount();
+        log.debug("{}: {} statement(s), budget {}", endpoint, statements, budget);
+        assertTrue(statements <= budget, endpoint + ": " + statements + " statements, budget " + budget);
+        return result;
+    }
+}
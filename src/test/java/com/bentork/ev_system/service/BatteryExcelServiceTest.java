@@ -0,0 +1,240 @@
+package com.bentork.ev_system.service;
+
+import com.bentork.ev_system.dto.response.BatteryImportJobResponse;
+import com.bentork.ev_system.model.BatteryData;
+import com.bentork.ev_system.repository.BatteryDataRepository;
+import com.bentork.ev_system.service.battery.BatteryImportJobStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.persistence.EntityNotFoundException;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Battery Excel import: the streaming reader, row validation and the background jobs,
+ * polled on the node that runs them and on another one. BatteryImportBenchmark covers
+ * a 100k-row import.
+ * Runs a JPA slice on H2 — no MySQL needed.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:batteryimport;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BatteryExcelServiceTest {
+
+    private static final String ADMIN = "admin@example.com";
+
+    @Autowired
+    private BatteryDataRepository batteryDataRepository;
+
+    // Stands in for Redis: shared by every BatteryExcelService built by node()
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+    private ValueOperations<String, String> redisOps;
+    private final List<BatteryExcelService> nodes = new ArrayList<>();
+    private BatteryExcelService excelService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisOps = mock(ValueOperations.class);
+        doAnswer(call -> redis.put(call.getArgument(0), call.getArgument(1)))
+                .when(redisOps).set(anyString(), anyString(), any(Duration.class));
+        when(redisOps.get(anyString())).thenAnswer(call -> redis.get(call.<String>getArgument(0)));
+        excelService = node();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(BatteryExcelService::shutdown);
+        batteryDataRepository.deleteAllInBatch();
+    }
+
+    private BatteryExcelService node() {
+        StringRedisTemplate template = mock(StringRedisTemplate.class);
+        when(template.opsForValue()).thenReturn(redisOps);
+        BatteryImportJobStore store = new BatteryImportJobStore(template,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        BatteryExcelService node = new BatteryExcelService(batteryDataRepository, store);
+        nodes.add(node);
+        return node;
+    }
+
+    @Test
+    @DisplayName(".xlsx and .xls read cells alike: date cells, numeric barcodes, blank rows and row errors")
+    void cellsAndRowErrors() throws IOException {
+        for (Workbook workbook : List.of(new XSSFWorkbook(), new HSSFWorkbook())) {
+            String name = workbook instanceof HSSFWorkbook ? "batteries.xls" : "batteries.xlsx";
+            BatteryImportJobResponse result = excelService.importNow(sample(workbook, name), ADMIN);
+
+            assertEquals("COMPLETED", result.getStatus(), name);
+            assertEquals(4, result.getTotalRowsProcessed(), name);
+            assertEquals(2, result.getSuccessCount(), name);
+            assertEquals(List.of(5, 6), result.getErrors().stream()
+                    .map(BatteryImportJobResponse.RowError::getRowNumber).toList(), name);
+            assertTrue(result.getErrors().get(0).getErrorMessage().startsWith("Invalid GST number format"), name);
+            assertTrue(result.getErrors().get(1).getErrorMessage().startsWith("Invalid date format"), name);
+
+            // Date cells are read as the same dates as yyyy-MM-dd text
+            BatteryData numeric = batteryDataRepository.findByBarcode("123456789012").orElseThrow();
+            BatteryData text = batteryDataRepository.findByBarcode("BAT-2").orElseThrow();
+            assertEquals(text.getWarrantyStartDate(), numeric.getWarrantyStartDate(), name);
+            assertEquals(text.getWarrantyEndDate(), numeric.getWarrantyEndDate(), name);
+            batteryDataRepository.deleteAllInBatch();
+        }
+    }
+
+    @Test
+    @DisplayName("An upload is queued as a job and polled until it completes")
+    void backgroundJob() throws Exception {
+        BatteryImportJobResponse queued = excelService.startImport(sample(new XSSFWorkbook(), "batteries.xlsx"), ADMIN);
+        assertNotNull(queued.getJobId());
+
+        BatteryImportJobResponse done = awaitFinished(queued.getJobId());
+        assertEquals("COMPLETED", done.getStatus());
+        assertEquals(2, done.getSuccessCount());
+        assertEquals(2, done.getSkippedCount());
+        assertFalse(done.isErrorsTruncated());
+
+        // A sheet with only the header fails the job, not the upload
+        try (XSSFWorkbook headerOnly = new XSSFWorkbook()) {
+            header(headerOnly.createSheet());
+            String jobId = excelService.startImport(upload(headerOnly, "empty.xlsx"), ADMIN).getJobId();
+            BatteryImportJobResponse failed = awaitFinished(jobId);
+            assertEquals("FAILED", failed.getStatus());
+            assertTrue(failed.getFailureReason().contains("no data rows"));
+        }
+
+        assertThrows(EntityNotFoundException.class, () -> excelService.getImportJob("no-such-job"));
+    }
+
+    @Test
+    @DisplayName("Another node answers the poll from the shared store")
+    void pollOnAnotherNode() throws Exception {
+        BatteryExcelService otherNode = node();
+        String jobId = excelService.startImport(sample(new XSSFWorkbook(), "batteries.xlsx"), ADMIN).getJobId();
+
+        BatteryImportJobResponse done = awaitFinished(otherNode, jobId);
+        assertEquals("COMPLETED", done.getStatus());
+        assertEquals(2, done.getSuccessCount());
+        assertEquals(List.of(5, 6), done.getErrors().stream()
+                .map(BatteryImportJobResponse.RowError::getRowNumber).toList());
+        assertThrows(EntityNotFoundException.class, () -> otherNode.getImportJob("no-such-job"));
+    }
+
+    @Test
+    @DisplayName("Without Redis the job stays visible on the node that ran it")
+    void redisDown_keepsJobLocally() throws Exception {
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(redisOps).set(anyString(), anyString(), any(Duration.class));
+        when(redisOps.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        String jobId = excelService.startImport(sample(new XSSFWorkbook(), "batteries.xlsx"), ADMIN).getJobId();
+
+        assertEquals("COMPLETED", awaitFinished(jobId).getStatus());
+        assertEquals(2, excelService.getImportJob(jobId).getSuccessCount());
+    }
+
+    private BatteryImportJobResponse awaitFinished(String jobId) throws InterruptedException {
+        return awaitFinished(excelService, jobId);
+    }
+
+    private static BatteryImportJobResponse awaitFinished(BatteryExcelService node, String jobId)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            BatteryImportJobResponse job = node.getImportJob(jobId);
+            if ("COMPLETED".equals(job.getStatus()) || "FAILED".equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Import job " + jobId + " did not finish");
+    }
+
+    /**
+     * Rows 2-3 valid (one with a numeric barcode and date cells), row 4 blank,
+     * row 5 a bad GSTIN, row 6 a bad date.
+     */
+    private static MockMultipartFile sample(Workbook workbook, String name) throws IOException {
+        try (workbook) {
+            Sheet sheet = workbook.createSheet();
+            header(sheet);
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy"));
+
+            Row numeric = sheet.createRow(1);
+            text(numeric, "Customer 1", "Inverter battery 150Ah", "INV-1");
+            numeric.createCell(3).setCellValue(123456789012d);
+            numeric.createCell(4).setCellValue(LocalDate.of(2026, 2, 15));
+            numeric.getCell(4).setCellStyle(dateStyle);
+            numeric.createCell(5).setCellValue(LocalDate.of(2028, 2, 15));
+            numeric.getCell(5).setCellStyle(dateStyle);
+
+            text(sheet.createRow(2), "Customer 2", "Inverter battery 150Ah", "INV-2", "BAT-2",
+                    "2026-02-15", "2028-02-15", "22AAAAA0000A1Z5", "Pune");
+            sheet.createRow(3).createCell(0).setCellValue("   ");
+            text(sheet.createRow(4), "Customer 4", "Inverter battery 150Ah", "INV-4", "BAT-4",
+                    "2026-01-01", "2028-01-01", "NOT-A-GSTIN");
+            text(sheet.createRow(5), "Customer 5", "Inverter battery 150Ah", "INV-5", "BAT-5",
+                    "01/01/2026", "2028-01-01");
+            return upload(workbook, name);
+        }
+    }
+
+    private static void header(Sheet sheet) {
+        text(sheet.createRow(0), "customerName", "productDetails", "invoiceNumber", "barcode",
+                "warrantyStartDate", "warrantyEndDate", "gstNumber", "address");
+    }
+
+    private static void text(Row row, String... values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+
+    private static MockMultipartFile upload(Workbook workbook, String name) throws IOException {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            workbook.write(out);
+            return new MockMultipartFile("file", name, null, out.toByteArray());
+        }
+    }
+}
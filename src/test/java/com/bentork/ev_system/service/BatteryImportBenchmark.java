@@ -0,0 +1,97 @@
+package com.bentork.ev_system.service;
+
+import com.bentork.ev_system.dto.response.BatteryImportJobResponse;
+import com.bentork.ev_system.repository.BatteryDataRepository;
+import com.bentork.ev_system.service.battery.BatteryImportJobStore;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Scale benchmark for the battery Excel import: 100k rows written with SXSSF, streamed,
+ * validated in chunks and inserted. Logs the time taken and checks every row was
+ * registered. Not part of the default test run (surefire only picks up *Test classes).
+ *
+ * Run with:
+ *   mvn test -Dtest=BatteryImportBenchmark
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:batteryimportbench;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BatteryImportBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(BatteryImportBenchmark.class);
+    private static final int ROWS = 100_000;
+
+    @Autowired
+    private BatteryDataRepository batteryDataRepository;
+
+    @AfterEach
+    void tearDown() {
+        batteryDataRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void import100kRows() throws IOException {
+        MockMultipartFile file;
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100)) {
+            Sheet sheet = workbook.createSheet();
+            text(sheet.createRow(0), "customerName", "productDetails", "invoiceNumber", "barcode",
+                    "warrantyStartDate", "warrantyEndDate", "gstNumber", "address");
+            for (int i = 1; i <= ROWS; i++) {
+                text(sheet.createRow(i), "Customer " + i, "Inverter battery 150Ah", "INV-" + i,
+                        String.format("BAT-%06d", i), "2026-01-01", "2028-01-01", "22AAAAA0000A1Z5");
+            }
+            try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+                workbook.write(out);
+                file = new MockMultipartFile("file", "batteries.xlsx", null, out.toByteArray());
+            }
+            workbook.dispose();
+        }
+
+        BatteryExcelService excelService = new BatteryExcelService(batteryDataRepository,
+                mock(BatteryImportJobStore.class));
+        long start = System.nanoTime();
+        BatteryImportJobResponse result = excelService.importNow(file, "admin@example.com");
+        log.info("{} batteries imported in {} ms ({} KB file)", ROWS,
+                (System.nanoTime() - start) / 1_000_000, file.getSize() / 1024);
+        excelService.shutdown();
+
+        assertEquals("COMPLETED", result.getStatus());
+        assertEquals(ROWS, result.getTotalRowsProcessed());
+        assertEquals(ROWS, result.getSuccessCount());
+        assertEquals(0, result.getSkippedCount());
+        assertEquals(ROWS, batteryDataRepository.count());
+    }
+
+    private static void text(Row row, String... values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+}
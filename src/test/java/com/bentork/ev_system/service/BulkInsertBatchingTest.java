@@ -0,0 +1,230 @@
+package com.bentork.ev_system.service;
+
+import com.bentork.ev_system.config.cache.CacheTags;
+import com.bentork.ev_system.dto.response.BatteryImportJobResponse;
+import com.bentork.ev_system.dto.request.SlotDTO;
+import com.bentork.ev_system.model.Admin;
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Location;
+import com.bentork.ev_system.model.Station;
+import com.bentork.ev_system.repository.AdminNotificationRepository;
+import com.bentork.ev_system.repository.AdminRepository;
+import com.bentork.ev_system.repository.BatteryDataRepository;
+import com.bentork.ev_system.repository.ChargerRepository;
+import com.bentork.ev_system.repository.LocationRepository;
+import com.bentork.ev_system.repository.SlotBookingRepository;
+import com.bentork.ev_system.repository.SlotRepository;
+import com.bentork.ev_system.repository.StationRepository;
+import com.bentork.ev_system.service.battery.BatteryImportJobStore;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Statement counts of the bulk insert paths: a day of one-minute slots, a system
+ * notification to every admin and a battery Excel import (the numbers and times are
+ * logged at DEBUG). Before pooled ids and JDBC batching each row was its own INSERT, and each
+ * imported battery also ran its own duplicate check:
+ *
+ *   1440 slots            1442 statements
+ *   200 admin notices      201 statements
+ *   1000 batteries        2000 statements
+ *
+ * Runs a JPA slice on H2 — no MySQL needed.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:bulkinsert;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkInsertBatchingTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkInsertBatchingTest.class);
+
+    private static final int ADMINS = 200;
+    private static final int BATTERIES = 1_000;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private StationRepository stationRepository;
+    @Autowired
+    private ChargerRepository chargerRepository;
+    @Autowired
+    private SlotRepository slotRepository;
+    @Autowired
+    private SlotBookingRepository slotBookingRepository;
+    @Autowired
+    private AdminRepository adminRepository;
+    @Autowired
+    private AdminNotificationRepository adminNotificationRepository;
+    @Autowired
+    private BatteryDataRepository batteryDataRepository;
+
+    private Statistics statistics;
+    private Charger charger;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+
+        Location location = new Location();
+        location.setName("Pune Central");
+        location = locationRepository.save(location);
+
+        Station station = new Station();
+        station.setName("Station A");
+        station.setLocation(location);
+        station.setStatus("active");
+        station = stationRepository.save(station);
+
+        charger = chargerRepository.save(Charger.builder()
+                .station(station).ocppId("CP-1").connectorType("CCS2").chargerType("DC")
+                .rate(18.0).kwOutput(60.0).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAllInBatch();
+        adminNotificationRepository.deleteAllInBatch();
+        adminRepository.deleteAllInBatch();
+        batteryDataRepository.deleteAllInBatch();
+        chargerRepository.deleteAll();
+        stationRepository.deleteAll();
+        locationRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("A day of one-minute slots is inserted in JDBC batches")
+    void bulkSlots() {
+        SlotService slotService = new SlotService(slotRepository, chargerRepository, slotBookingRepository,
+                mock(CacheTags.class));
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        List<SlotDTO> slots = measure("1440 slots", () -> tx.execute(
+                status -> slotService.createBulkSlots(charger.getId(), "2026-03-01", 1, false)));
+
+        assertEquals(1_440, slots.size());
+        assertEquals(1_440, slots.stream().map(SlotDTO::getId).distinct().count());
+        assertTrue(statistics.getPrepareStatementCount() <= 1_440 / 10, statements());
+    }
+
+    @Test
+    @DisplayName("A system notification to every admin is inserted in JDBC batches")
+    void systemNotification() {
+        List<Admin> admins = new ArrayList<>();
+        for (int i = 0; i < ADMINS; i++) {
+            Admin admin = new Admin();
+            admin.setName("Admin " + i);
+            admin.setEmail("admin" + i + "@example.com");
+            admin.setRole("ADMIN");
+            admins.add(admin);
+        }
+        adminRepository.saveAll(admins);
+        PushNotificationService pushService = mock(PushNotificationService.class);
+        AdminNotificationService notificationService = new AdminNotificationService(adminNotificationRepository,
+                adminRepository, pushService);
+
+        measure(ADMINS + " admin notices", () -> {
+            notificationService.createSystemNotification("Charger CP-1 is offline", "CHARGER_OFFLINE");
+            return null;
+        });
+
+        assertEquals(ADMINS, adminNotificationRepository.count());
+        assertTrue(statistics.getPrepareStatementCount() <= ADMINS / 10, statements());
+    }
+
+    @Test
+    @DisplayName("A battery Excel import checks duplicates per chunk and inserts in JDBC batches")
+    void batteryImport() throws IOException {
+        BatteryExcelService excelService = new BatteryExcelService(batteryDataRepository,
+                mock(BatteryImportJobStore.class));
+        // One barcode is already registered and one repeats within the file
+        excelService.importNow(workbook(List.of("BAT-00007")), "admin@example.com");
+        List<String> barcodes = new ArrayList<>();
+        for (int i = 0; i < BATTERIES; i++) {
+            barcodes.add(String.format("BAT-%05d", i));
+        }
+        barcodes.add("BAT-00042");
+        MockMultipartFile file = workbook(barcodes);
+
+        BatteryImportJobResponse response = measure(BATTERIES + " batteries",
+                () -> excelService.importNow(file, "admin@example.com"));
+
+        assertEquals(BATTERIES + 1, response.getTotalRowsProcessed());
+        assertEquals(BATTERIES - 1, response.getSuccessCount());
+        assertEquals(List.of(9, BATTERIES + 2), response.getErrors().stream()
+                .map(BatteryImportJobResponse.RowError::getRowNumber).toList());
+        assertEquals(BATTERIES, batteryDataRepository.count());
+        assertTrue(statistics.getPrepareStatementCount() <= BATTERIES / 10, statements());
+    }
+
+    private <T> T measure(String work, Supplier<T> bulk) {
+        statistics.clear();
+        long start = System.nanoTime();
+        T result = bulk.get();
+        log.debug("{}: {} statements, {} ms", work, statistics.getPrepareStatementCount(),
+                (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    private String statements() {
+        return statistics.getPrepareStatementCount() + " statements";
+    }
+
+    private static MockMultipartFile workbook(List<String> barcodes) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet();
+            sheet.createRow(0).createCell(0).setCellValue("customerName");
+            for (int i = 0; i < barcodes.size(); i++) {
+                Row row = sheet.createRow(i + 1);
+                row.createCell(0).setCellValue("Customer " + i);
+                row.createCell(1).setCellValue("Inverter battery 150Ah");
+                row.createCell(2).setCellValue("INV-" + i);
+                row.createCell(3).setCellValue(barcodes.get(i));
+                row.createCell(4).setCellValue("2026-01-01");
+                row.createCell(5).setCellValue("2028-01-01");
+            }
+            workbook.write(out);
+            return new MockMultipartFile("file", "batteries.xlsx", null, out.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.bentork.ev_system.service;
+
+import com.bentork.ev_system.enums.SessionStatus;
+import com.bentork.ev_system.model.Session;
+import com.bentork.ev_system.repository.DashboardCounterRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DashboardCounterService.
+ *
+ * Verifies which counters each session/revenue event moves.
+ * Uses Mockito mocks — no Spring context or database needed.
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardCounterServiceTest {
+
+    @Mock
+    private DashboardCounterRepository counterRepository;
+
+    private DashboardCounterService service;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2026-10-18T10:00:00Z"), ZoneOffset.UTC);
+        service = new DashboardCounterService(counterRepository, clock);
+    }
+
+    private Session session(String status, double energyKwh) {
+        Session session = new Session();
+        session.setStatus(status);
+        session.setEnergyKwh(energyKwh);
+        session.setCreatedAt(LocalDateTime.of(2026, 10, 18, 9, 30));
+        return session;
+    }
+
+    @Test
+    @DisplayName("New RFID session counts as created and active")
+    void created_active() {
+        service.recordSessionCreated(session(SessionStatus.ACTIVE.getValue(), 0));
+
+        verify(counterRepository).increment("sessions.created", "all", 1);
+        verify(counterRepository).increment("sessions.active", "all", 1);
+        verifyNoMoreInteractions(counterRepository);
+    }
+
+    @Test
+    @DisplayName("ACTIVE -> COMPLETED moves active, completed and energy in milli-Wh")
+    void completed_movesEnergy() {
+        service.recordSessionTransition(session(SessionStatus.COMPLETED.getValue(), 12.345), SessionStatus.ACTIVE.getValue());
+
+        verify(counterRepository).increment("sessions.active", "all", -1);
+        verify(counterRepository).increment("sessions.completed", "all", 1);
+        verify(counterRepository).increment("energy.completed.mwh", "all", 12_345_000L);
+        verifyNoMoreInteractions(counterRepository);
+    }
+
+    @Test
+    @DisplayName("INITIATED -> FAILED counts all-time and the creation day bucket")
+    void failed_bucketsByCreationDay() {
+        service.recordSessionTransition(session(SessionStatus.FAILED.getValue(), 0), SessionStatus.INITIATED.getValue());
+
+        verify(counterRepository).increment("sessions.failed", "all", 1);
+        verify(counterRepository).increment("sessions.failed", "2026-10-18", 1);
+        verifyNoMoreInteractions(counterRepository);
+    }
+
+    @Test
+    @DisplayName("Revenue is counted in paise, and deletes reverse it")
+    void revenue_inPaise() {
+        service.recordRevenue(149.99, "success", 1);
+        service.recordRevenue(149.99, "success", -1);
+
+        verify(counterRepository).increment("revenue.success.paise", "all", 14_999L);
+        verify(counterRepository).increment("revenue.success.paise", "all", -14_999L);
+        verify(counterRepository).increment("revenue.transactions", "all", 1);
+        verify(counterRepository).increment("revenue.transactions", "all", -1);
+        verify(counterRepository, never()).increment(eq("revenue.pending.paise"), any(), anyLong());
+    }
+}
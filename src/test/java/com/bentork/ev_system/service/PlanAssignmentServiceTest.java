@@ -0,0 +1,166 @@
+package com.bentork.ev_system.service;
+
+import com.bentork.ev_system.config.cache.CacheTags;
+import com.bentork.ev_system.dto.request.PlanDTO;
+import com.bentork.ev_system.model.Admin;
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Plan;
+import com.bentork.ev_system.model.PlanAssignment;
+import com.bentork.ev_system.model.Station;
+import com.bentork.ev_system.repository.AdminRepository;
+import com.bentork.ev_system.repository.ChargerRepository;
+import com.bentork.ev_system.repository.PlanAssignmentRepository;
+import com.bentork.ev_system.repository.PlanRepository;
+import com.bentork.ev_system.repository.StationRepository;
+import com.bentork.ev_system.service.interfaces.IChargerService;
+import com.bentork.ev_system.service.plan.EffectivePlanIndex;
+import com.bentork.ev_system.service.plan.EffectivePlans;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the effective plan resolution of PlanAssignmentService.
+ *
+ * Covers charger-level precedence, serving from the materialized map, the station-wide
+ * rebuild after an assignment and the ETag changing with the content.
+ * Uses Mockito mocks and an in-memory cache — no Spring context, database or Redis needed.
+ */
+class PlanAssignmentServiceTest {
+
+    private PlanAssignmentRepository planAssignmentRepository;
+    private PlanRepository planRepository;
+    private StationRepository stationRepository;
+    private ChargerRepository chargerRepository;
+    private AdminRepository adminRepository;
+    private PlanService planService;
+    private PlanAssignmentService service;
+
+    private Station station;
+    private Charger charger10;
+    private Charger charger11;
+
+    @BeforeEach
+    void setUp() {
+        planAssignmentRepository = mock(PlanAssignmentRepository.class);
+        planRepository = mock(PlanRepository.class);
+        stationRepository = mock(StationRepository.class);
+        chargerRepository = mock(ChargerRepository.class);
+        adminRepository = mock(AdminRepository.class);
+        planService = mock(PlanService.class);
+        StationService stationService = mock(StationService.class);
+        IChargerService chargerService = mock(IChargerService.class);
+        // Like CacheBulkReader's results, the maps tolerate a null key (assignments without a station)
+        when(planService.getPlansByIds(any())).thenAnswer(inv -> new HashMap<>(Map.of(2L, planDto(2L),
+                3L, planDto(3L))));
+        when(stationService.getStationsByIds(any())).thenReturn(new HashMap<>());
+        when(chargerService.getChargersByIds(any())).thenReturn(new HashMap<>());
+
+        EffectivePlanIndex index = new EffectivePlanIndex(new ConcurrentMapCacheManager(), mock(CacheTags.class));
+        service = new PlanAssignmentService(planAssignmentRepository, planRepository, stationRepository,
+                chargerRepository, adminRepository, planService, stationService, chargerService, index);
+
+        station = new Station();
+        station.setId(1L);
+        charger10 = Charger.builder().id(10L).station(station).ocppId("CP-10").build();
+        charger11 = Charger.builder().id(11L).station(station).ocppId("CP-11").build();
+        when(chargerRepository.findById(10L)).thenReturn(Optional.of(charger10));
+        when(chargerRepository.findById(11L)).thenReturn(Optional.of(charger11));
+        when(chargerRepository.findByStationId(1L)).thenReturn(List.of(charger10, charger11));
+    }
+
+    @Test
+    @DisplayName("Charger-level assignments win, and the resolved entry is served without queries")
+    void chargerLevelWinsAndIsCached() {
+        when(planAssignmentRepository.findByChargerIdAndIsActiveTrue(11L))
+                .thenReturn(List.of(assignment(7L, 2L, null, charger11)));
+
+        EffectivePlans first = service.getEffectivePlans(11L);
+        EffectivePlans second = service.getEffectivePlans(11L);
+
+        assertEquals(List.of(7L), first.plans().stream().map(p -> p.getId()).toList());
+        assertEquals("Plan 2", first.plans().get(0).getPlanName());
+        assertSame(first, second);
+        verify(planAssignmentRepository, times(1)).findByChargerIdAndIsActiveTrue(11L);
+        verify(planAssignmentRepository, never()).findByStationIdAndIsActiveTrue(any());
+    }
+
+    @Test
+    @DisplayName("Assigning a plan to a station rebuilds every charger of it with a new ETag")
+    void stationAssignmentRebuildsChargers() {
+        when(planAssignmentRepository.findByStationIdAndIsActiveTrue(1L)).thenReturn(List.of());
+        when(planAssignmentRepository.findByChargerIdAndIsActiveTrue(11L))
+                .thenReturn(List.of(assignment(7L, 2L, null, charger11)));
+        EffectivePlans before = service.getEffectivePlans(10L);
+        String ownPlansEtag = service.getEffectivePlans(11L).etag();
+        assertTrue(before.plans().isEmpty());
+
+        Plan plan = plan(3L);
+        when(planRepository.findById(3L)).thenReturn(Optional.of(plan));
+        when(stationRepository.findById(1L)).thenReturn(Optional.of(station));
+        when(adminRepository.findById(99L)).thenReturn(Optional.of(new Admin()));
+        when(planAssignmentRepository.findByPlanIdAndStationIdAndIsActiveTrue(3L, 1L)).thenReturn(Optional.empty());
+        PlanAssignment saved = assignment(8L, 3L, station, null);
+        when(planAssignmentRepository.save(any())).thenReturn(saved);
+        when(planAssignmentRepository.findByStationIdAndIsActiveTrue(1L)).thenReturn(List.of(saved));
+        when(planAssignmentRepository.findByChargerStationIdAndIsActiveTrue(1L))
+                .thenReturn(List.of(assignment(7L, 2L, null, charger11)));
+
+        service.assignPlanToStation(3L, 1L, 99L);
+        clearInvocations(planAssignmentRepository);
+
+        EffectivePlans after = service.getEffectivePlans(10L);
+        assertEquals(List.of(8L), after.plans().stream().map(p -> p.getId()).toList());
+        assertNotEquals(before.etag(), after.etag());
+        // Charger 11 keeps its own plan and its ETag
+        assertEquals(ownPlansEtag, service.getEffectivePlans(11L).etag());
+        verifyNoInteractions(planAssignmentRepository);
+    }
+
+    @Test
+    @DisplayName("Unknown chargers are reported and not cached")
+    void unknownChargerNotCached() {
+        when(chargerRepository.findById(404L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> service.getEffectivePlans(404L));
+        assertThrows(EntityNotFoundException.class, () -> service.getEffectivePlans(404L));
+
+        verify(chargerRepository, times(2)).findById(404L);
+    }
+
+    private static PlanDTO planDto(Long id) {
+        PlanDTO dto = new PlanDTO();
+        dto.setId(id);
+        dto.setPlanName("Plan " + id);
+        return dto;
+    }
+
+    private static Plan plan(Long id) {
+        Plan plan = new Plan();
+        plan.setId(id);
+        plan.setPlanName("Plan " + id);
+        return plan;
+    }
+
+    private static PlanAssignment assignment(Long id, Long planId, Station station, Charger charger) {
+        PlanAssignment assignment = new PlanAssignment();
+        assignment.setId(id);
+        assignment.setPlan(plan(planId));
+        assignment.setStation(station);
+        assignment.setCharger(charger);
+        assignment.setIsActive(true);
+        return assignment;
+    }
+}
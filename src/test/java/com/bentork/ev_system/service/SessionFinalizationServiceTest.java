@@ -0,0 +1,134 @@
+package com.bentork.ev_system.service;
+
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Session;
+import com.bentork.ev_system.model.User;
+import com.bentork.ev_system.repository.ReceiptRepository;
+import com.bentork.ev_system.repository.SessionRepository;
+import com.bentork.ev_system.service.billing.BillingStrategyFactory;
+import com.bentork.ev_system.service.interfaces.IEnergyCalculationService;
+import com.bentork.ev_system.service.interfaces.IReceiptService;
+import com.bentork.ev_system.service.outbox.OutboxService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SessionFinalizationService.
+ *
+ * Covers the ACTIVE -> COMPLETED claim that keeps two concurrent stops from both
+ * billing a session, and the failure path that must not overwrite a completed row.
+ * Uses Mockito mocks — no Spring context or database needed.
+ */
+class SessionFinalizationServiceTest {
+
+    private SessionRepository sessionRepository;
+    private IEnergyCalculationService energyCalculationService;
+    private OutboxService outboxService;
+    private DashboardCounterService dashboardCounterService;
+    private SessionFinalizationService service;
+
+    @BeforeEach
+    void setUp() {
+        sessionRepository = mock(SessionRepository.class);
+        ReceiptRepository receiptRepository = mock(ReceiptRepository.class);
+        when(receiptRepository.findBySession(any())).thenReturn(Optional.empty());
+        energyCalculationService = mock(IEnergyCalculationService.class);
+        outboxService = mock(OutboxService.class);
+        dashboardCounterService = mock(DashboardCounterService.class);
+
+        PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        service = new SessionFinalizationService(sessionRepository, receiptRepository, mock(IReceiptService.class),
+                energyCalculationService, new BillingStrategyFactory(List.of()), outboxService,
+                dashboardCounterService, new TransactionTemplate(txManager));
+    }
+
+    private static Session activeSession() {
+        User user = new User();
+        user.setId(100L);
+        user.setName("Asha");
+        Charger charger = new Charger();
+        charger.setRate(18.0);
+
+        Session session = new Session();
+        session.setId(1L);
+        session.setUser(user);
+        session.setCharger(charger);
+        session.setStatus("active");
+        session.setStartTime(LocalDateTime.now().minusMinutes(30));
+        return session;
+    }
+
+    @Test
+    @DisplayName("The stop that claims the ACTIVE row completes and bills the session")
+    void finalize_claimWon_completes() {
+        when(sessionRepository.updateStatusIfCurrent(eq(1L), eq("active"), eq("completed"), any())).thenReturn(1);
+        when(energyCalculationService.resolveEnergy(any())).thenReturn(2.0);
+        Session session = activeSession();
+
+        Map<String, Object> response = service.finalizeSession(session, "app stop");
+
+        assertEquals("completed", session.getStatus());
+        assertEquals(36.0, session.getCost());
+        assertTrue(((String) response.get("message")).startsWith("Session completed"));
+        verify(sessionRepository).save(session);
+        verify(dashboardCounterService).recordSessionTransition(session, "active");
+    }
+
+    @Test
+    @DisplayName("A stop that loses the claim writes nothing")
+    void finalize_claimLost_isNoOp() {
+        when(sessionRepository.updateStatusIfCurrent(anyLong(), any(), any(), any())).thenReturn(0);
+        Session session = activeSession();
+
+        Map<String, Object> response = service.finalizeSession(session, "StopTransaction");
+
+        assertEquals("Session already completed. No action taken.", response.get("message"));
+        verify(sessionRepository, never()).save(any());
+        verifyNoInteractions(outboxService, dashboardCounterService);
+    }
+
+    @Test
+    @DisplayName("A failed finalization fails the session only while it is still ACTIVE")
+    void finalize_failure_failsOnlyActiveSession() {
+        when(sessionRepository.updateStatusIfCurrent(eq(1L), eq("active"), eq("completed"), any())).thenReturn(1);
+        when(energyCalculationService.resolveEnergy(any())).thenThrow(new IllegalStateException("meter"));
+        when(sessionRepository.updateStatusIfCurrent(eq(1L), eq("active"), eq("failed"), any())).thenReturn(1);
+        Session session = activeSession();
+
+        assertThrows(IllegalStateException.class, () -> service.finalizeSession(session, "app stop"));
+
+        assertEquals("failed", session.getStatus());
+        verify(sessionRepository, never()).save(any());
+        verify(dashboardCounterService).recordSessionTransition(session, "active");
+    }
+
+    @Test
+    @DisplayName("A failed finalization leaves a session completed by someone else alone")
+    void finalize_failureAfterConcurrentStop_keepsCompletedRow() {
+        when(sessionRepository.updateStatusIfCurrent(eq(1L), eq("active"), eq("completed"), any())).thenReturn(1);
+        when(energyCalculationService.resolveEnergy(any())).thenThrow(new IllegalStateException("meter"));
+        when(sessionRepository.updateStatusIfCurrent(eq(1L), eq("active"), eq("failed"), any())).thenReturn(0);
+        Session session = activeSession();
+
+        assertThrows(IllegalStateException.class, () -> service.finalizeSession(session, "app stop"));
+
+        verify(sessionRepository, never()).save(any());
+        verifyNoInteractions(dashboardCounterService);
+    }
+}
@@ -0,0 +1,158 @@
+package com.bentork.ev_system.service;
+
+import com.bentork.ev_system.config.cache.CacheTags;
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Location;
+import com.bentork.ev_system.model.Station;
+import com.bentork.ev_system.model.User;
+import com.bentork.ev_system.repository.ChargerRepository;
+import com.bentork.ev_system.repository.LocationRepository;
+import com.bentork.ev_system.repository.OutboxEventRepository;
+import com.bentork.ev_system.repository.SlotBookingRepository;
+import com.bentork.ev_system.repository.SlotRepository;
+import com.bentork.ev_system.repository.StationRepository;
+import com.bentork.ev_system.repository.UserRepository;
+import com.bentork.ev_system.service.outbox.OutboxRelay;
+import com.bentork.ev_system.service.outbox.OutboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Scale benchmark for SlotBookingCleanupService: a backlog of 100k overdue bookings
+ * cleared in one run. Logs the wall time and statement count, and checks the statement
+ * budget per batch. Not part of the default test run (surefire only picks up *Test
+ * classes); SlotBookingCleanupServiceTest covers the same budget on a small backlog.
+ *
+ * Run with:
+ *   mvn test -Dtest=SlotBookingCleanupBenchmark
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:slotexpirybench;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=com.bentork.ev_system.config.SchemaMigrationTest$H2MySQLDialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "logging.level.com.bentork.ev_system.service.SlotBookingCleanupService=WARN"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SlotBookingCleanupBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotBookingCleanupBenchmark.class);
+    private static final int BACKLOG = 100_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private SlotBookingRepository slotBookingRepository;
+    @Autowired
+    private SlotRepository slotRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private StationRepository stationRepository;
+    @Autowired
+    private ChargerRepository chargerRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("outbox_events", "slot_bookings", "slots", "charger", "stations", "locations")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void expire100kBookings() {
+        OutboxService outboxService = new OutboxService(outboxEventRepository, new ObjectMapper(), mock(OutboxRelay.class));
+        SlotBookingCleanupService service = new SlotBookingCleanupService(slotBookingRepository, slotRepository,
+                outboxService, new TransactionTemplate(transactionManager), mock(CacheTags.class));
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        Location location = new Location();
+        location.setName("Pune Central");
+        location = locationRepository.save(location);
+        Station station = new Station();
+        station.setName("Station 0");
+        station.setLocation(location);
+        station.setStatus("active");
+        station = stationRepository.save(station);
+        Charger charger = chargerRepository.save(Charger.builder()
+                .station(station).ocppId("CP-0").connectorType("CCS2").chargerType("DC")
+                .rate(18.0).kwOutput(60.0).build());
+        long[] users = { user("alice").getId(), user("bob").getId() };
+
+        LocalDateTime start = now.minusDays(2);
+        List<Object[]> slots = new ArrayList<>(BACKLOG);
+        List<Object[]> bookings = new ArrayList<>(BACKLOG);
+        Long stationId = station.getId();
+        Long chargerId = charger.getId();
+        IntStream.rangeClosed(1, BACKLOG).forEach(i -> {
+            Timestamp slotStart = Timestamp.valueOf(start.plusSeconds(i));
+            slots.add(new Object[] {i, chargerId, slotStart, slotStart});
+            bookings.add(new Object[] {i, i, users[i % 2], stationId, chargerId, Timestamp.valueOf(now)});
+        });
+        jdbcTemplate.batchUpdate("INSERT INTO slots (id, charger_id, start_time, end_time, all_day, booked, is_booked)"
+                + " VALUES (?, ?, ?, ?, false, true, true)", slots);
+        jdbcTemplate.batchUpdate("INSERT INTO slot_bookings (id, slot_id, user_id, station_id, charger_id, status,"
+                + " booking_time) VALUES (?, ?, ?, ?, ?, 'booked', ?)", bookings);
+
+        // The wall time is logged, not asserted: H2 sorts each id page, which MySQL reads
+        // in (status, id) index order
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+        statistics.clear();
+        long started = System.nanoTime();
+        service.expireOverdueBookings();
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+
+        log.info("Expired {} bookings in {} ms with {} statements", BACKLOG, millis, statements);
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM slot_bookings WHERE status <> 'expired'", Integer.class));
+        int batches = BACKLOG / SlotBookingCleanupService.BATCH_SIZE;
+        assertEquals(batches, outboxEventRepository.count());
+        assertTrue(statements <= batches * 5L + 3, "statements: " + statements);
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        return userRepository.save(user);
+    }
+}
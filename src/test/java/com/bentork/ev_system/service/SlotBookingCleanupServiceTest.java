@@ -0,0 +1,268 @@
+package com.bentork.ev_system.service;
+
+import com.bentork.ev_system.config.cache.CacheTags;
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Location;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.model.Station;
+import com.bentork.ev_system.model.User;
+import com.bentork.ev_system.repository.ChargerRepository;
+import com.bentork.ev_system.repository.LocationRepository;
+import com.bentork.ev_system.repository.OutboxEventRepository;
+import com.bentork.ev_system.repository.SlotBookingRepository;
+import com.bentork.ev_system.repository.SlotRepository;
+import com.bentork.ev_system.repository.StationRepository;
+import com.bentork.ev_system.repository.UserRepository;
+import com.bentork.ev_system.service.interfaces.IUserNotificationService;
+import com.bentork.ev_system.service.outbox.OutboxRelay;
+import com.bentork.ev_system.service.outbox.OutboxService;
+import com.bentork.ev_system.service.outbox.handler.SlotBookingsExpiredHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for SlotBookingCleanupService and SlotBookingsExpiredHandler.
+ *
+ * Covers which bookings each category expires, the released slots, the single outbox
+ * event per batch and its notifications, and a backlog of several batches cleared in a
+ * bounded number of statements (SlotBookingCleanupBenchmark runs it with 100k bookings).
+ * Runs a JPA slice on H2 in MySQL mode with the Flyway schema — no MySQL needed.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:slotexpiry;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=com.bentork.ev_system.config.SchemaMigrationTest$H2MySQLDialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "logging.level.com.bentork.ev_system.service.SlotBookingCleanupService=WARN"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SlotBookingCleanupServiceTest {
+
+    // Three full batches and a short one
+    private static final int BACKLOG = 3 * SlotBookingCleanupService.BATCH_SIZE + 1;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private SlotBookingRepository slotBookingRepository;
+    @Autowired
+    private SlotRepository slotRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private StationRepository stationRepository;
+    @Autowired
+    private ChargerRepository chargerRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private CacheTags cacheTags;
+    private SlotBookingCleanupService service;
+
+    private LocalDateTime now;
+    private Station station;
+    private Charger charger;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        cacheTags = mock(CacheTags.class);
+        OutboxService outboxService = new OutboxService(outboxEventRepository, new ObjectMapper(), mock(OutboxRelay.class));
+        service = new SlotBookingCleanupService(slotBookingRepository, slotRepository, outboxService,
+                new TransactionTemplate(transactionManager), cacheTags);
+
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        Location location = new Location();
+        location.setName("Pune Central");
+        location = locationRepository.save(location);
+
+        station = new Station();
+        station.setName("Station 0");
+        station.setLocation(location);
+        station.setStatus("active");
+        station = stationRepository.save(station);
+
+        charger = chargerRepository.save(Charger.builder()
+                .station(station).ocppId("CP-0").connectorType("CCS2").chargerType("DC")
+                .rate(18.0).kwOutput(60.0).build());
+
+        alice = user("alice");
+        bob = user("bob");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("outbox_events", "sessions", "slot_bookings", "slots", "charger",
+                "stations", "locations")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Overdue and no-show bookings expire in bulk; bookings with a session, upcoming or cancelled stay")
+    void expiresEachCategory() {
+        datedBooking(1, alice, now.minusHours(2), now.minusHours(1), "booked");        // overdue
+        datedBooking(2, alice, now.minusMinutes(20), now.plusMinutes(40), "booked");   // no-show
+        datedBooking(3, bob, now.minusMinutes(20), now.plusMinutes(40), "booked");     // charging
+        datedBooking(4, alice, now.plusHours(1), now.plusHours(2), "booked");          // upcoming
+        datedBooking(5, bob, now.minusHours(2), now.minusHours(1), "cancelled");       // not booked
+        datedBooking(6, bob, now.minusDays(1), now.minusDays(1).plusHours(1), "booked"); // overdue
+        // All-day slots are left out: on H2 the LocalTime-bound finders match no row at
+        // all (plain JDBC with the same value does), so only the MySQL path can check them
+        jdbcTemplate.update("INSERT INTO sessions (id, user_id, charger_id, status, cost, energy_kwh, created_at)"
+                + " VALUES (1, ?, ?, 'active', 0, 0, ?)", bob.getId(), charger.getId(), Timestamp.valueOf(now));
+
+        service.expireOverdueBookings();
+
+        assertEquals(List.of("expired", "expired", "booked", "booked", "cancelled", "expired"), statuses());
+        assertEquals(List.of(false, false, true, true, true, false),
+                jdbcTemplate.queryForList("SELECT booked FROM slots ORDER BY id", Boolean.class));
+        assertEquals(List.of(false, false, true, true, true, false),
+                jdbcTemplate.queryForList("SELECT is_booked FROM slots ORDER BY id", Boolean.class));
+
+        // Overdue and no-show are two batches: one event each
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getEventType() == OutboxEventType.SLOT_BOOKINGS_EXPIRED));
+        assertEquals(List.of("[1,6]", "[2]"), events.stream()
+                .map(e -> e.getPayload().replaceAll(".*(\\[.*]).*", "$1")).sorted().toList());
+        verify(cacheTags, times(2)).evict(CacheTags.chargerSlots(charger.getId()));
+
+        // A second run finds nothing left
+        service.expireOverdueBookings();
+        assertEquals(2, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("The expiry event notifies each booking's owner with the slot's time range")
+    void handlerNotifiesOwners() throws Exception {
+        LocalDateTime start = now.minusHours(2).withMinute(0).withSecond(0);
+        datedBooking(1, alice, start, start.plusHours(1), "expired");
+        allDayBooking(2, bob, LocalTime.of(8, 0), LocalTime.of(9, 30), "expired");
+
+        IUserNotificationService notifications = mock(IUserNotificationService.class);
+        OutboxEvent event = new OutboxEvent();
+        new SlotBookingsExpiredHandler(slotBookingRepository, notifications)
+                .handle(event, new ObjectMapper().readTree("{\"bookingIds\":[1,2]}"));
+
+        verify(notifications).createNotification(eq(alice.getId()), eq("Booking Expired"),
+                eq("Your slot booking for " + start.toLocalTime() + " - " + start.plusHours(1).toLocalTime()
+                        + " has expired because you did not start a charging session."), eq("BOOKING_EXPIRED"));
+        verify(notifications).createNotification(eq(bob.getId()), eq("Booking Expired"),
+                contains("08:00 - 09:30"), eq("BOOKING_EXPIRED"));
+        verifyNoMoreInteractions(notifications);
+    }
+
+    @Test
+    @DisplayName("A backlog of overdue bookings clears in one run, a few statements per batch")
+    void backlogClearsInBatches() {
+        long statements = expireBacklog(BACKLOG);
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM slot_bookings WHERE status <> 'expired'", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM slots WHERE booked = true OR is_booked = true", Integer.class));
+        int batches = (BACKLOG + SlotBookingCleanupService.BATCH_SIZE - 1) / SlotBookingCleanupService.BATCH_SIZE;
+        assertEquals(batches, outboxEventRepository.count());
+        // Per batch: id page, lock, two updates, outbox insert; plus the empty pages of the other categories
+        assertTrue(statements <= batches * 5L + 3, "statements: " + statements);
+    }
+
+    /**
+     * Inserts {@code backlog} overdue bookings, each on its own slot, and runs the cleanup.
+     *
+     * @return the statements the cleanup prepared
+     */
+    private long expireBacklog(int backlog) {
+        LocalDateTime start = now.minusDays(2);
+        List<Object[]> slots = new ArrayList<>(backlog);
+        List<Object[]> bookings = new ArrayList<>(backlog);
+        IntStream.rangeClosed(1, backlog).forEach(i -> {
+            Timestamp slotStart = Timestamp.valueOf(start.plusSeconds(i));
+            slots.add(new Object[] {i, charger.getId(), slotStart, slotStart});
+            bookings.add(new Object[] {i, i, (i % 2 == 0 ? alice : bob).getId(), station.getId(), charger.getId(),
+                    Timestamp.valueOf(now)});
+        });
+        jdbcTemplate.batchUpdate("INSERT INTO slots (id, charger_id, start_time, end_time, all_day, booked, is_booked)"
+                + " VALUES (?, ?, ?, ?, false, true, true)", slots);
+        jdbcTemplate.batchUpdate("INSERT INTO slot_bookings (id, slot_id, user_id, station_id, charger_id, status,"
+                + " booking_time) VALUES (?, ?, ?, ?, ?, 'booked', ?)", bookings);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+        statistics.clear();
+        service.expireOverdueBookings();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<String> statuses() {
+        return jdbcTemplate.queryForList("SELECT status FROM slot_bookings ORDER BY id", String.class);
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        return userRepository.save(user);
+    }
+
+    private void datedBooking(long id, User user, LocalDateTime start, LocalDateTime end, String status) {
+        jdbcTemplate.update("INSERT INTO slots (id, charger_id, start_time, end_time, all_day, booked, is_booked)"
+                        + " VALUES (?, ?, ?, ?, false, true, true)", id, charger.getId(), Timestamp.valueOf(start),
+                Timestamp.valueOf(end));
+        booking(id, user, status);
+    }
+
+    private void allDayBooking(long id, User user, LocalTime start, LocalTime end, String status) {
+        jdbcTemplate.update("INSERT INTO slots (id, charger_id, start_time_only, end_time_only, all_day, booked, is_booked)"
+                + " VALUES (?, ?, ?, ?, true, true, true)", id, charger.getId(), Time.valueOf(start), Time.valueOf(end));
+        booking(id, user, status);
+    }
+
+    private void booking(long id, User user, String status) {
+        jdbcTemplate.update("INSERT INTO slot_bookings (id, slot_id, user_id, station_id, charger_id, status, booking_time)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)", id, id, user.getId(), station.getId(), charger.getId(), status,
+                Timestamp.valueOf(now));
+    }
+}
@@ -0,0 +1,105 @@
+package com.bentork.ev_system.service;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.repository.ReceiptRepository;
+import com.bentork.ev_system.repository.SessionRepository;
+import com.bentork.ev_system.service.outbox.OutboxService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StaleSessionCleanupService.
+ *
+ * Covers keyset batching, the claim step and the double-refund guard.
+ * Uses Mockito mocks — no Spring context or database needed.
+ */
+class StaleSessionCleanupServiceTest {
+
+    private SessionRepository sessionRepository;
+    private ReceiptRepository receiptRepository;
+    private OutboxService outboxService;
+    private DashboardCounterService dashboardCounterService;
+    private StaleSessionCleanupService service;
+
+    @BeforeEach
+    void setUp() {
+        sessionRepository = mock(SessionRepository.class);
+        receiptRepository = mock(ReceiptRepository.class);
+        outboxService = mock(OutboxService.class);
+        dashboardCounterService = mock(DashboardCounterService.class);
+
+        PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        service = new StaleSessionCleanupService(sessionRepository, receiptRepository, outboxService,
+                new TransactionTemplate(txManager), dashboardCounterService);
+    }
+
+    private static SessionRepository.SessionClaim claim(long id, String refundStatus) {
+        return new SessionRepository.SessionClaim() {
+            public Long getId() { return id; }
+            public Long getUserId() { return 100 + id; }
+            public Long getChargerId() { return 7L; }
+            public String getRefundStatus() { return refundStatus; }
+            public String getCreatedDay() { return "2026-10-18"; }
+        };
+    }
+
+    private static ReceiptRepository.SessionAmount amount(long sessionId, String value) {
+        return new ReceiptRepository.SessionAmount() {
+            public Long getSessionId() { return sessionId; }
+            public BigDecimal getAmount() { return new BigDecimal(value); }
+        };
+    }
+
+    @Test
+    @DisplayName("Full batches continue from the last id until a short batch")
+    void cleanup_walksKeysetPages() {
+        List<Long> fullPage = LongStream.rangeClosed(1, 200).boxed().toList();
+        when(sessionRepository.findIdsByStatusAndCreatedAtBefore(eq("initiated"), any(), eq(0L), any(Pageable.class)))
+                .thenReturn(fullPage);
+        when(sessionRepository.findIdsByStatusAndCreatedAtBefore(eq("initiated"), any(), eq(200L), any(Pageable.class)))
+                .thenReturn(List.of(201L));
+
+        service.cleanupStaleSessions();
+
+        verify(sessionRepository, times(2)).findIdsByStatusAndCreatedAtBefore(any(), any(), anyLong(), any());
+        verify(sessionRepository).lockByIdInAndStatus(fullPage, "initiated");
+        verify(sessionRepository).lockByIdInAndStatus(List.of(201L), "initiated");
+    }
+
+    @Test
+    @DisplayName("Claimed sessions are failed in one update and refunds respect the guard")
+    void cleanup_refundsOnlyUnrefundedSessions() {
+        when(sessionRepository.findIdsByStatusAndCreatedAtBefore(any(), any(), anyLong(), any()))
+                .thenReturn(List.of(1L, 2L, 3L));
+        // Session 3 was picked up by someone else between the page query and the lock
+        when(sessionRepository.lockByIdInAndStatus(List.of(1L, 2L, 3L), "initiated"))
+                .thenReturn(List.of(claim(1L, null), claim(2L, "FULL_REFUNDED")));
+        when(receiptRepository.findAmountsBySessionIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(amount(1L, "150.00"), amount(2L, "80.00")));
+
+        service.cleanupStaleSessions();
+
+        verify(sessionRepository).updateStatusAndEndTime(eq(List.of(1L, 2L)), eq("failed"), any());
+        verify(outboxService).enqueue(eq(OutboxService.AGGREGATE_SESSION), eq(1L), eq(OutboxEventType.WALLET_REFUND), any(), anyMap());
+        verify(outboxService, never()).enqueue(any(), eq(2L), eq(OutboxEventType.WALLET_REFUND), any(), anyMap());
+        verify(outboxService, times(2)).enqueue(any(), anyLong(), eq(OutboxEventType.USER_NOTIFICATION), any(), anyMap());
+        verify(sessionRepository).updateRefundStatus(List.of(1L), "FULL_REFUNDED");
+        verify(dashboardCounterService).recordSessionsFailed(2, Map.of("2026-10-18", 2L));
+    }
+}
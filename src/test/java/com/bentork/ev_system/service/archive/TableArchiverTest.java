@@ -0,0 +1,365 @@
+package com.bentork.ev_system.service.archive;
+
+import com.bentork.ev_system.dto.request.RevenueDTO;
+import com.bentork.ev_system.dto.response.ArchiveReportResponse;
+import com.bentork.ev_system.mapper.RevenueMapper;
+import com.bentork.ev_system.model.Admin;
+import com.bentork.ev_system.model.AdminNotification;
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Location;
+import com.bentork.ev_system.model.Receipt;
+import com.bentork.ev_system.model.Revenue;
+import com.bentork.ev_system.model.Session;
+import com.bentork.ev_system.model.Station;
+import com.bentork.ev_system.model.User;
+import com.bentork.ev_system.model.UserNotification;
+import com.bentork.ev_system.model.WalletTransaction;
+import com.bentork.ev_system.repository.AdminNotificationRepository;
+import com.bentork.ev_system.repository.AdminRepository;
+import com.bentork.ev_system.repository.ChargerRepository;
+import com.bentork.ev_system.repository.DashboardCounterRepository;
+import com.bentork.ev_system.repository.LocationRepository;
+import com.bentork.ev_system.repository.ReceiptRepository;
+import com.bentork.ev_system.repository.RevenueRepository;
+import com.bentork.ev_system.repository.SessionRepository;
+import com.bentork.ev_system.repository.StationRepository;
+import com.bentork.ev_system.repository.UserNotificationRepository;
+import com.bentork.ev_system.repository.UserRepository;
+import com.bentork.ev_system.repository.WalletTransactionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for TableArchiver and the archive reads: which rows move, batching, the reports,
+ * and that moved rows are still served by the archive queries.
+ * Runs a JPA slice on H2 in MySQL mode with the Flyway schema — no MySQL needed.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:archive;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=com.bentork.ev_system.config.SchemaMigrationTest$H2MySQLDialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TableArchiverTest {
+
+    private static final int OLD_TRANSACTIONS = TableArchiver.BATCH_SIZE * 2 + 10;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private StationRepository stationRepository;
+    @Autowired
+    private ChargerRepository chargerRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AdminRepository adminRepository;
+    @Autowired
+    private SessionRepository sessionRepository;
+    @Autowired
+    private ReceiptRepository receiptRepository;
+    @Autowired
+    private RevenueRepository revenueRepository;
+    @Autowired
+    private DashboardCounterRepository dashboardCounterRepository;
+    @Autowired
+    private WalletTransactionRepository walletTransactionRepository;
+    @Autowired
+    private UserNotificationRepository userNotificationRepository;
+    @Autowired
+    private AdminNotificationRepository adminNotificationRepository;
+
+    private TransactionTemplate transactionTemplate;
+    private TableArchiver archiver;
+    private LocalDateTime cutoff;
+    private LocalDateTime old;
+
+    private Station station;
+    private User user;
+    private Admin admin;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        ArchiveRouter router = new ArchiveRouter(6);
+        archiver = new TableArchiver(entityManager, transactionTemplate, router, new SimpleMeterRegistry(), true);
+        cutoff = router.archiveCutoff();
+        old = cutoff.minusMonths(1).truncatedTo(ChronoUnit.SECONDS);
+
+        Location location = new Location();
+        location.setName("Pune Central");
+        location = locationRepository.save(location);
+
+        station = new Station();
+        station.setName("Station 0");
+        station.setLocation(location);
+        station.setStatus("active");
+        station = stationRepository.save(station);
+
+        user = new User();
+        user.setName("User 0");
+        user.setEmail("user0@example.com");
+        user = userRepository.save(user);
+
+        admin = new Admin();
+        admin.setName("Admin 0");
+        admin.setEmail("admin0@example.com");
+        admin = adminRepository.save(admin);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ArchivedTable table : ArchivedTable.values()) {
+                entityManager.createNativeQuery("DELETE FROM " + table.archiveTable()).executeUpdate();
+                for (ArchivedTable.Dependent dependent : table.dependents()) {
+                    entityManager.createNativeQuery("DELETE FROM " + dependent.archiveTable()).executeUpdate();
+                }
+            }
+        });
+        revenueRepository.deleteAll();
+        receiptRepository.deleteAll();
+        sessionRepository.deleteAll();
+        walletTransactionRepository.deleteAll();
+        userNotificationRepository.deleteAll();
+        adminNotificationRepository.deleteAll();
+        chargerRepository.deleteAll();
+        stationRepository.deleteAll();
+        locationRepository.deleteAll();
+        userRepository.deleteAll();
+        adminRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Only closed and old sessions move, and stay listable from the archive")
+    void sessions() {
+        Charger charger = charger();
+        Session completed = session(charger, "completed", old);
+        Session failed = session(charger, "failed", old);
+        Session active = session(charger, "active", old);
+        Session recent = session(charger, "completed", LocalDateTime.now());
+
+        ArchiveReportResponse report = archiver.archive(ArchivedTable.SESSIONS, cutoff);
+
+        assertEquals(2, report.getMovedRows());
+        assertEquals(4, report.getActiveRowsBefore());
+        assertEquals(2, report.getActiveRowsAfter());
+        assertEquals(2, report.getArchivedRowsAfter());
+        assertTrue(report.isComplete());
+        assertEquals(List.of(active.getId(), recent.getId()),
+                sessionRepository.findAll().stream().map(Session::getId).sorted().toList());
+
+        List<SessionRepository.ArchivedSessionRow> archived = sessionRepository.findArchivedByStationIdIn(
+                List.of(station.getId()));
+        assertEquals(List.of(completed.getId(), failed.getId()),
+                archived.stream().map(SessionRepository.ArchivedSessionRow::getId).sorted().toList());
+        SessionRepository.ArchivedSessionRow row = archived.get(0);
+        assertEquals("User 0", row.getUserName());
+        assertEquals("CP-0-0", row.getChargerName());
+        assertEquals("Station 0", row.getStationName());
+        assertNotNull(row.getCreatedAt());
+        assertEquals(2, sessionRepository.countArchivedByStationIdIn(List.of(station.getId())));
+    }
+
+    @Test
+    @DisplayName("A completed session moves with its receipt; its revenue stays and keeps the session id")
+    void sessionWithReceiptAndRevenue() {
+        Charger charger = charger();
+        Session paid = session(charger, "completed", old);
+
+        Receipt receipt = new Receipt();
+        receipt.setUser(user);
+        receipt.setCharger(charger);
+        receipt.setSession(paid);
+        receipt.setAmount(new BigDecimal("200.00"));
+        receipt.setStatus("FINALIZED");
+        receipt = receiptRepository.save(receipt);
+
+        Revenue revenue = RevenueMapper.fromSession(paid, "Wallet", "TXN-1", "success", 180.0);
+        revenue.setStation(station);
+        revenueRepository.save(revenue);
+
+        ArchiveReportResponse report = archiver.archive(ArchivedTable.SESSIONS, cutoff);
+
+        assertEquals(1, report.getMovedRows());
+        assertEquals(0, sessionRepository.count());
+        assertEquals(0, receiptRepository.count());
+        assertEquals(List.of(paid.getId()), sessionRepository.findArchivedByStationIdIn(List.of(station.getId()))
+                .stream().map(SessionRepository.ArchivedSessionRow::getId).toList());
+        assertEquals(paid.getId(), ((Number) entityManager.createNativeQuery(
+                "SELECT session_id FROM receipts_archive WHERE id = " + receipt.getId()).getSingleResult()).longValue());
+
+        RevenueDTO dto = transactionTemplate.execute(status -> RevenueMapper.toDTO(revenueRepository.findAll().get(0)));
+        assertEquals(paid.getId(), dto.getSessionId());
+        assertEquals(180.0, dto.getAmount());
+    }
+
+    @Test
+    @DisplayName("Dashboard rebuild queries still count sessions after they are archived")
+    void dashboardTotalsIncludeArchivedSessions() {
+        Charger charger = charger();
+        Session archived = session(charger, "failed", old);
+        archived.setEnergyKwh(1.5);
+        sessionRepository.save(archived);
+        session(charger, "failed", LocalDateTime.now());
+        session(charger, "active", LocalDateTime.now());
+
+        assertEquals(1, archiver.archive(ArchivedTable.SESSIONS, cutoff).getMovedRows());
+        // H2 has no DATE_FORMAT; the day query only uses the ISO day pattern
+        transactionTemplate.executeWithoutResult(status -> entityManager.createNativeQuery(
+                "CREATE ALIAS IF NOT EXISTS DATE_FORMAT AS 'String isoDay(java.time.LocalDateTime dateTime, "
+                        + "String pattern) { return dateTime.toLocalDate().toString(); }'")
+                .executeUpdate());
+
+        Map<String, Long> byStatus = dashboardCounterRepository.sumSessionsByStatus().stream().collect(
+                Collectors.toMap(DashboardCounterRepository.SessionTotals::getStatus,
+                        DashboardCounterRepository.SessionTotals::getSessions));
+        assertEquals(Map.of("failed", 2L, "active", 1L), byStatus);
+        assertEquals(2L, dashboardCounterRepository.countSessionsByStatusPerDay("failed", old.minusDays(1))
+                .stream().mapToLong(DashboardCounterRepository.DayTotals::getSessions).sum());
+    }
+
+    @Test
+    @DisplayName("Wallet transactions move in bounded batches and are read back newest first")
+    void walletTransactionsInBatches() {
+        List<WalletTransaction> transactions = new ArrayList<>();
+        for (int i = 0; i < OLD_TRANSACTIONS + 1; i++) {
+            WalletTransaction tx = new WalletTransaction();
+            tx.setUserId(user.getId());
+            tx.setAmount(BigDecimal.TEN);
+            tx.setType(i % 2 == 0 ? "credit" : "debit");
+            tx.setStatus("success");
+            tx.setCreatedAt(i < OLD_TRANSACTIONS ? old.plusMinutes(i) : LocalDateTime.now());
+            transactions.add(tx);
+        }
+        walletTransactionRepository.saveAll(transactions);
+
+        ArchiveReportResponse report = archiver.archive(ArchivedTable.WALLET_TRANSACTIONS, cutoff);
+
+        assertEquals(OLD_TRANSACTIONS, report.getMovedRows());
+        assertEquals(3, report.getBatches());
+        assertEquals(1, report.getActiveRowsAfter());
+        assertEquals(OLD_TRANSACTIONS, report.getArchivedRowsAfter());
+        assertTrue(report.getProbeMillisBefore() >= 0 && report.getProbeMillisAfter() >= 0);
+
+        List<WalletTransaction> latestCredits = walletTransactionRepository.findArchivedByUserId(
+                user.getId(), "credit", PageRequest.of(0, 10));
+        assertEquals(10, latestCredits.size());
+        assertTrue(latestCredits.stream().allMatch(tx -> "credit".equals(tx.getType())));
+        assertEquals(old.plusMinutes(OLD_TRANSACTIONS - 2), latestCredits.get(0).getCreatedAt());
+        assertEquals(OLD_TRANSACTIONS,
+                walletTransactionRepository.findArchivedByUserId(user.getId(), null, Pageable.unpaged()).size());
+    }
+
+    @Test
+    @DisplayName("Only read notifications move; a second run finds nothing left to move")
+    void notifications() {
+        UserNotification read = userNotification(true);
+        UserNotification unread = userNotification(false);
+        AdminNotification adminRead = adminNotification(true);
+        adminNotification(false);
+        backdate("user_notifications");
+        backdate("admin_notifications");
+
+        assertEquals(1, archiver.archive(ArchivedTable.USER_NOTIFICATIONS, cutoff).getMovedRows());
+        assertEquals(1, archiver.archive(ArchivedTable.ADMIN_NOTIFICATIONS, cutoff).getMovedRows());
+        assertEquals(0, archiver.archive(ArchivedTable.USER_NOTIFICATIONS, cutoff).getMovedRows());
+
+        assertEquals(List.of(unread.getId()),
+                userNotificationRepository.findAll().stream().map(UserNotification::getId).toList());
+        assertEquals(List.of(read.getId()),
+                userNotificationRepository.findArchivedByUserId(user.getId()).stream()
+                        .map(UserNotification::getId).toList());
+        assertEquals(List.of(adminRead.getId()),
+                adminNotificationRepository.findArchivedByAdminId(admin.getId()).stream()
+                        .map(AdminNotification::getId).toList());
+        assertEquals(List.of("user_notifications", "admin_notifications"),
+                archiver.getLastReports().stream().map(ArchiveReportResponse::getTable).toList());
+    }
+
+    @Test
+    @DisplayName("Ranges starting past the horizon are served by the active tables alone")
+    void routing() {
+        ArchiveRouter router = new ArchiveRouter(6);
+
+        assertEquals(ArchiveRouter.Tier.HOT, router.tierFor(LocalDateTime.now().minusMonths(1)));
+        assertEquals(ArchiveRouter.Tier.HOT_AND_ARCHIVE, router.tierFor(LocalDateTime.now().minusMonths(7)));
+        assertEquals(ArchiveRouter.Tier.HOT_AND_ARCHIVE, router.tierFor(null));
+        // Inside the skew margin: rows may already be archived by a node whose clock runs ahead
+        assertEquals(ArchiveRouter.Tier.HOT_AND_ARCHIVE, router.tierFor(router.archiveCutoff().plusHours(1)));
+    }
+
+    private Charger charger() {
+        return chargerRepository.save(Charger.builder()
+                .station(station).ocppId("CP-0-0").connectorType("CCS2").chargerType("DC")
+                .rate(18.0).kwOutput(60.0).build());
+    }
+
+    private Session session(Charger charger, String status, LocalDateTime createdAt) {
+        Session session = new Session();
+        session.setUser(user);
+        session.setCharger(charger);
+        session.setStatus(status);
+        session.setCreatedAt(createdAt);
+        return sessionRepository.save(session);
+    }
+
+    private UserNotification userNotification(boolean read) {
+        UserNotification notification = new UserNotification();
+        notification.setUser(user);
+        notification.setTitle("Title");
+        notification.setMessage("Message");
+        notification.setType("INFO");
+        notification.setIsRead(read);
+        notification.setCreatedAt(LocalDateTime.now());
+        return userNotificationRepository.save(notification);
+    }
+
+    private AdminNotification adminNotification(boolean read) {
+        AdminNotification notification = new AdminNotification();
+        notification.setAdmin(admin);
+        notification.setMessage("Message");
+        notification.setType("INFO");
+        notification.setRead(read);
+        return adminNotificationRepository.save(notification);
+    }
+
+    // created_at is set on persist, so old rows are aged afterwards
+    private void backdate(String table) {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createNativeQuery("UPDATE " + table + " SET created_at = :old")
+                .setParameter("old", old)
+                .executeUpdate());
+    }
+}
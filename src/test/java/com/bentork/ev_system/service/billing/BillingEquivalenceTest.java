@@ -0,0 +1,205 @@
+package com.bentork.ev_system.service.billing;
+
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Receipt;
+import com.bentork.ev_system.model.Session;
+import com.bentork.ev_system.service.MoneyCalculationService;
+import com.bentork.ev_system.service.TaxCalculationService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property-based equivalence tests for the fixed-point billing engine.
+ *
+ * Each property draws a few thousand random tariffs and meter readings from a seeded
+ * generator and asserts that the ported code returns exactly what the BigDecimal
+ * implementation in {@link LegacyBilling} returns. Inputs are generated at the
+ * resolution the system actually stores: rates and fees in paise, PST in hundredths
+ * of a percent and energy in Wh-derived kWh.
+ *
+ * The one intended difference: exempt chargers (no PST / no platform fee) used to get a
+ * scale-0 BigDecimal.ZERO, the engine now reports every amount with scale 2 (₹0.00).
+ */
+class BillingEquivalenceTest {
+
+    private static final long SEED = 20260118L;
+    private static final int SAMPLES = 5_000;
+
+    private TaxCalculationService taxService;
+    private KwhBillingStrategy kwhStrategy;
+    private MoneyBillingStrategy moneyStrategy;
+    private MoneyCalculationService moneyCalculationService;
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        taxService = new TaxCalculationService();
+        kwhStrategy = new KwhBillingStrategy(taxService);
+        moneyStrategy = new MoneyBillingStrategy(taxService);
+        moneyCalculationService = new MoneyCalculationService();
+        random = new Random(SEED);
+    }
+
+    @Test
+    @DisplayName("PST and platform fee match the BigDecimal formulas")
+    void taxesMatchLegacy() {
+        for (int i = 0; i < SAMPLES; i++) {
+            double energy = randomEnergyKwh();
+            Double rate = randomRate();
+            Double pstPercent = randomPstPercent();
+            Double fee = randomFee();
+            String input = "energy=" + energy + ", rate=" + rate + ", pst=" + pstPercent + ", fee=" + fee;
+
+            assertEquals(LegacyBilling.calculatePst(energy, rate, pstPercent),
+                    taxService.calculatePst(energy, rate, pstPercent), input);
+            assertEquals(LegacyBilling.calculatePlatformFee(energy, fee),
+                    taxService.calculatePlatformFee(energy, fee), input);
+        }
+    }
+
+    @Test
+    @DisplayName("kWh strategy matches the BigDecimal strategy for every field")
+    void kwhStrategyMatchesLegacy() {
+        for (int i = 0; i < SAMPLES; i++) {
+            Session session = randomSession();
+            Receipt receipt = new Receipt();
+            receipt.setSessionType("CUSTOM");
+            receipt.setSelectedKwh(BigDecimal.valueOf(1 + random.nextInt(5_000), 2));
+            double energy = randomEnergyKwh();
+
+            assertSameResult(LegacyBilling.kwh(session, receipt, energy),
+                    kwhStrategy.calculate(session, receipt, energy),
+                    describe(session, energy) + ", selectedKwh=" + receipt.getSelectedKwh());
+        }
+    }
+
+    @Test
+    @DisplayName("MONEY_BASED allocation and strategy match the BigDecimal implementation")
+    void moneyBasedMatchesLegacy() {
+        for (int i = 0; i < SAMPLES; i++) {
+            Session session = randomSession();
+            Charger charger = session.getCharger();
+            BigDecimal amountEntered = BigDecimal.valueOf(50_00 + random.nextInt(500_000), 2);
+            BigDecimal rate = BigDecimal.valueOf(charger.getRate());
+            BigDecimal pst = BigDecimal.valueOf(charger.getPstPercent());
+            BigDecimal fee = BigDecimal.valueOf(charger.getPlatformFeePerKwh());
+            String input = describe(session, 0) + ", amountEntered=" + amountEntered;
+
+            BigDecimal[] legacy = LegacyBilling.moneyAllocation(amountEntered, rate, pst, fee);
+            if (legacy[1].compareTo(BigDecimal.ONE) < 0) {
+                assertThrows(IllegalArgumentException.class,
+                        () -> moneyCalculationService.calculate(amountEntered, rate, pst, fee), input);
+                continue;
+            }
+            MoneyCalculationService.MoneyCalculationResult calc =
+                    moneyCalculationService.calculate(amountEntered, rate, pst, fee);
+            assertEquals(legacy[0], calc.getEffectiveRate(), input);
+            assertEquals(0, legacy[1].compareTo(calc.getAllocatedKwh()), input);
+            assertEquals(legacy[2], calc.getChargeableAmount(), input);
+            assertEquals(legacy[3], calc.getRefundAmount(), input);
+
+            session.setAllocatedKwh(calc.getAllocatedKwh());
+            session.setChargeableAmount(calc.getChargeableAmount());
+            double energy = random.nextInt(calc.getAllocatedKwh().intValue() * 1_200 + 1) / 1_000.0;
+
+            assertSameResult(LegacyBilling.money(session, energy),
+                    moneyStrategy.calculate(session, null, energy), input + ", energy=" + energy);
+        }
+    }
+
+    @Test
+    @DisplayName("Known tariff: ₹16/kWh, 12.5% PST, ₹5 platform fee")
+    void knownTariffExample() {
+        Session session = new Session();
+        session.setCharger(Charger.builder().rate(16.0).pstPercent(12.5).platformFeePerKwh(5.0).build());
+        Receipt receipt = new Receipt();
+        receipt.setSessionType("CUSTOM");
+        receipt.setSelectedKwh(new BigDecimal("3.00"));
+
+        BillingResult result = kwhStrategy.calculate(session, receipt, 2.01);
+
+        // prepaid = 48.00 + 15.00 + 6.00, final = 32.16 + 15.00 + 4.00
+        assertEquals(new BigDecimal("69.00"), result.getPrepaidAmount());
+        assertEquals(new BigDecimal("51.16"), result.getFinalCost());
+        assertEquals(new BigDecimal("17.84"), result.getRefundAmount());
+        assertTrue(result.isRefundIssued());
+    }
+
+    // ===================== GENERATORS =====================
+
+    private Session randomSession() {
+        Session session = new Session();
+        session.setId((long) random.nextInt(1_000_000));
+        session.setCharger(Charger.builder()
+                .rate(randomRate())
+                .pstPercent(randomPstPercent())
+                .platformFeePerKwh(randomFee())
+                .build());
+        return session;
+    }
+
+    // 0 – 120 kWh at Wh resolution, biased towards whole-kWh boundaries now and then
+    private double randomEnergyKwh() {
+        if (random.nextInt(10) == 0) {
+            return random.nextInt(50) + (random.nextBoolean() ? 0.0 : 0.999);
+        }
+        return random.nextInt(120_001) / 1_000.0;
+    }
+
+    // ₹1.00 – ₹40.00 per kWh
+    private Double randomRate() {
+        return (100 + random.nextInt(3_901)) / 100.0;
+    }
+
+    // 0% – 28% in hundredths of a percent
+    private Double randomPstPercent() {
+        return random.nextInt(2_801) / 100.0;
+    }
+
+    // ₹0.00 – ₹10.00 per kWh
+    private Double randomFee() {
+        return random.nextInt(1_001) / 100.0;
+    }
+
+    private static String describe(Session session, double energy) {
+        Charger c = session.getCharger();
+        return "rate=" + c.getRate() + ", pst=" + c.getPstPercent() + ", fee=" + c.getPlatformFeePerKwh()
+                + ", energy=" + energy;
+    }
+
+    private static void assertSameResult(BillingResult expected, BillingResult actual, String input) {
+        assertSameAmount(expected.getFinalCost(), actual.getFinalCost(), "finalCost: " + input);
+        assertSameAmount(expected.getPrepaidAmount(), actual.getPrepaidAmount(), "prepaid: " + input);
+        assertSameAmount(expected.getPlatformFee(), actual.getPlatformFee(), "platformFee: " + input);
+        assertSameAmount(expected.getPstAmount(), actual.getPstAmount(), "pst: " + input);
+        assertSameAmount(expected.getRefundAmount(), actual.getRefundAmount(), "refund: " + input);
+        assertSameAmount(expected.getExtraDebit(), actual.getExtraDebit(), "extraDebit: " + input);
+        assertEquals(expected.isRefundIssued(), actual.isRefundIssued(), "refundIssued: " + input);
+        assertEquals(expected.isExtraDebited(), actual.isExtraDebited(), "extraDebited: " + input);
+        assertEquals(normalizeZero(expected.getDescription()), actual.getDescription(), "description: " + input);
+    }
+
+    // Same value and, apart from the exempt-charger BigDecimal.ZERO, the same scale-2 representation
+    private static void assertSameAmount(BigDecimal expected, BigDecimal actual, String message) {
+        if (expected == null || actual == null) {
+            assertEquals(expected, actual, message);
+            return;
+        }
+        assertEquals(0, expected.compareTo(actual), message + " expected " + expected + " but was " + actual);
+        assertEquals(2, actual.scale(), message);
+        if (expected.signum() != 0) {
+            assertEquals(expected, actual, message);
+        }
+    }
+
+    private static String normalizeZero(String description) {
+        return description == null ? null : description.replaceAll("₹0(?=[,)])", "₹0.00");
+    }
+}
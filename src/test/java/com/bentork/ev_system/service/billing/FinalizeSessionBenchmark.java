@@ -0,0 +1,115 @@
+package com.bentork.ev_system.service.billing;
+
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Receipt;
+import com.bentork.ev_system.model.Session;
+import com.bentork.ev_system.service.TaxCalculationService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput benchmark for the billing step of session finalization:
+ * strategy selection plus the full kWh / MONEY_BASED calculation, on the
+ * fixed-point engine versus the BigDecimal implementation it replaced.
+ *
+ * Run with:
+ *   mvn test-compile
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *        com.bentork.ev_system.service.billing.FinalizeSessionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FinalizeSessionBenchmark {
+
+    private static final int SESSIONS = 1_024;
+
+    private BillingStrategyFactory factory;
+    private Session[] sessions;
+    private Receipt[] receipts;
+    private double[] energies;
+
+    @Setup
+    public void setUp() {
+        // The strategies log every calculation at INFO; keep the console out of the measurement
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        TaxCalculationService taxService = new TaxCalculationService();
+        factory = new BillingStrategyFactory(List.of(
+                new MoneyBillingStrategy(taxService), new KwhBillingStrategy(taxService)));
+
+        Random random = new Random(7L);
+        sessions = new Session[SESSIONS];
+        receipts = new Receipt[SESSIONS];
+        energies = new double[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            Session session = new Session();
+            session.setId((long) i);
+            session.setCharger(Charger.builder()
+                    .rate((1_000 + random.nextInt(2_000)) / 100.0)
+                    .pstPercent(random.nextInt(2_000) / 100.0)
+                    .platformFeePerKwh(random.nextInt(800) / 100.0)
+                    .build());
+
+            Receipt receipt = new Receipt();
+            if (i % 2 == 0) {
+                receipt.setSessionType("CUSTOM");
+                receipt.setSelectedKwh(BigDecimal.valueOf(1 + random.nextInt(60)));
+            } else {
+                receipt.setSessionType("MONEY_BASED");
+                session.setAllocatedKwh(BigDecimal.valueOf(1 + random.nextInt(60)));
+                session.setChargeableAmount(BigDecimal.valueOf(10_000 + random.nextInt(100_000), 2));
+            }
+            sessions[i] = session;
+            receipts[i] = receipt;
+            energies[i] = random.nextInt(60_000) / 1_000.0;
+        }
+    }
+
+    @Benchmark
+    public void fixedPoint(Blackhole bh) {
+        for (int i = 0; i < SESSIONS; i++) {
+            bh.consume(factory.getStrategy(receipts[i]).calculate(sessions[i], receipts[i], energies[i]));
+        }
+    }
+
+    @Benchmark
+    public void legacyBigDecimal(Blackhole bh) {
+        for (int i = 0; i < SESSIONS; i++) {
+            bh.consume("CUSTOM".equals(receipts[i].getSessionType())
+                    ? LegacyBilling.kwh(sessions[i], receipts[i], energies[i])
+                    : LegacyBilling.money(sessions[i], energies[i]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FinalizeSessionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
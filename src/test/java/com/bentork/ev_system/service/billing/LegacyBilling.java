@@ -0,0 +1,123 @@
+package com.bentork.ev_system.service.billing;
+
+import com.bentork.ev_system.model.Receipt;
+import com.bentork.ev_system.model.Session;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Verbatim copy of the BigDecimal billing arithmetic that the fixed-point engine replaced.
+ * Kept as the reference oracle for the equivalence tests and as the baseline in the benchmarks.
+ */
+final class LegacyBilling {
+
+    private LegacyBilling() {
+    }
+
+    static BigDecimal calculatePst(double energyUsed, Double baseRate, Double pstPercent) {
+        if (pstPercent == null || pstPercent <= 0 || baseRate == null || baseRate <= 0) {
+            return BigDecimal.ZERO;
+        }
+        int units = Math.max(1, (int) Math.floor(energyUsed));
+        BigDecimal pstPerUnit = BigDecimal.valueOf(baseRate)
+                .multiply(BigDecimal.valueOf(pstPercent))
+                .divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP);
+        return BigDecimal.valueOf(units)
+                .multiply(pstPerUnit)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal calculatePlatformFee(double energyUsed, Double platformFeePerKwh) {
+        if (platformFeePerKwh == null || platformFeePerKwh <= 0) {
+            return BigDecimal.ZERO;
+        }
+        int units = Math.max(1, (int) Math.floor(energyUsed));
+        return BigDecimal.valueOf(units)
+                .multiply(BigDecimal.valueOf(platformFeePerKwh))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    static BillingResult kwh(Session session, Receipt receipt, double energyUsed) {
+        BigDecimal rate = BigDecimal.valueOf(session.getCharger().getRate());
+        double selectedKwh = receipt.getSelectedKwh().doubleValue();
+
+        BigDecimal platformFee = calculatePlatformFee(selectedKwh, session.getCharger().getPlatformFeePerKwh());
+        BigDecimal energyCost = BigDecimal.valueOf(energyUsed).multiply(rate)
+                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal pst = calculatePst(energyUsed, session.getCharger().getRate(), session.getCharger().getPstPercent());
+        BigDecimal finalCost = energyCost.add(platformFee).add(pst);
+
+        BigDecimal prepaidEnergyCost = BigDecimal.valueOf(selectedKwh).multiply(rate)
+                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal prepaidPst = calculatePst(selectedKwh, session.getCharger().getRate(), session.getCharger().getPstPercent());
+        BigDecimal prepaid = prepaidEnergyCost.add(platformFee).add(prepaidPst);
+
+        BillingResult result = new BillingResult();
+        result.setFinalCost(finalCost);
+        result.setPrepaidAmount(prepaid);
+        result.setPlatformFee(platformFee);
+        result.setPstAmount(pst);
+
+        if (finalCost.compareTo(prepaid) < 0) {
+            BigDecimal refund = prepaid.subtract(finalCost);
+            result.setRefundAmount(refund);
+            result.setRefundIssued(true);
+            result.setDescription("Unused energy refund: ₹" + refund + " (Used " +
+                    String.format("%.2f", energyUsed) + " kWh of " + String.format("%.2f", selectedKwh) + " kWh selected, Platform fee: ₹" + platformFee + ", PST: ₹" + pst + ")");
+        } else if (finalCost.compareTo(prepaid) > 0) {
+            BigDecimal extra = finalCost.subtract(prepaid);
+            result.setExtraDebit(extra);
+            result.setExtraDebited(true);
+            result.setDescription("Extra amount ₹" + extra + " deducted. (Used " +
+                    String.format("%.2f", energyUsed) + " kWh, exceeded " + String.format("%.2f", selectedKwh) + " kWh selected, Platform fee: ₹" + platformFee + ", PST: ₹" + pst + ")");
+        }
+        return result;
+    }
+
+    static BillingResult money(Session session, double energyUsed) {
+        BigDecimal rate = BigDecimal.valueOf(session.getCharger().getRate());
+        BigDecimal allocatedKwh = session.getAllocatedKwh();
+        BigDecimal chargeableAmount = session.getChargeableAmount();
+
+        BigDecimal deliveredKwh = BigDecimal.valueOf(energyUsed);
+        BigDecimal actualEnergyCost = deliveredKwh.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal actualPst = calculatePst(energyUsed, session.getCharger().getRate(), session.getCharger().getPstPercent());
+        BigDecimal actualPlatformFee = calculatePlatformFee(energyUsed, session.getCharger().getPlatformFeePerKwh());
+
+        BigDecimal actualCost = actualEnergyCost.add(actualPst).add(actualPlatformFee);
+        BigDecimal prepaid = chargeableAmount;
+
+        BillingResult result = new BillingResult();
+        result.setPrepaidAmount(prepaid);
+        result.setPstAmount(actualPst);
+        result.setPlatformFee(actualPlatformFee);
+
+        if (actualCost.compareTo(prepaid) < 0) {
+            BigDecimal refund = prepaid.subtract(actualCost);
+            result.setFinalCost(actualCost);
+            result.setRefundAmount(refund);
+            result.setRefundIssued(true);
+            result.setDescription("Early stop refund: ₹" + refund + " (delivered " +
+                String.format("%.2f", energyUsed) + " of " + allocatedKwh + " kWh, " +
+                "PST: ₹" + actualPst + ", Platform fee: ₹" + actualPlatformFee + ")");
+        } else {
+            result.setFinalCost(prepaid);
+        }
+        return result;
+    }
+
+    /**
+     * @return { effectiveRate, allocatedKwh, chargeableAmount, refundAmount }
+     */
+    static BigDecimal[] moneyAllocation(BigDecimal amountEntered, BigDecimal baseRate,
+                                        BigDecimal pstPercent, BigDecimal platformFeePerKwh) {
+        BigDecimal onePlusPst = BigDecimal.ONE.add(pstPercent.divide(BigDecimal.valueOf(100), 10, RoundingMode.HALF_UP));
+        BigDecimal rateWithPst = baseRate.multiply(onePlusPst);
+        BigDecimal effectiveRate = rateWithPst.add(platformFeePerKwh).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal allocatedKwh = amountEntered.divideToIntegralValue(effectiveRate);
+        BigDecimal chargeableAmount = allocatedKwh.multiply(effectiveRate).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal refundAmount = amountEntered.subtract(chargeableAmount).setScale(2, RoundingMode.HALF_UP);
+        return new BigDecimal[] { effectiveRate, allocatedKwh, chargeableAmount, refundAmount };
+    }
+}
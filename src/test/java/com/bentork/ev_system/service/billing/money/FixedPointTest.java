@@ -0,0 +1,61 @@
+package com.bentork.ev_system.service.billing.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property tests for the integer division used by every fixed-point value type:
+ * for any dividend/divisor pair and rounding mode the result must equal BigDecimal's.
+ */
+class FixedPointTest {
+
+    @Test
+    @DisplayName("divide agrees with BigDecimal.divide for every rounding mode")
+    void divideMatchesBigDecimal() {
+        Random random = new Random(42L);
+        RoundingMode[] modes = {
+                RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+                RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN };
+
+        for (int i = 0; i < 20_000; i++) {
+            long dividend = random.nextInt(2_000_001) - 1_000_000;
+            long divisor = (random.nextInt(2) == 0 ? 1 : -1) * (1 + random.nextInt(i % 2 == 0 ? 10 : 100_000));
+            for (RoundingMode mode : modes) {
+                long expected = BigDecimal.valueOf(dividend)
+                        .divide(BigDecimal.valueOf(divisor), 0, mode).longValueExact();
+                assertEquals(expected, FixedPoint.divide(dividend, divisor, mode),
+                        dividend + " / " + divisor + " " + mode);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("UNNECESSARY only throws when the division is inexact")
+    void unnecessaryRounding() {
+        assertEquals(4, FixedPoint.divide(12, 3, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.divide(10, 3, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    @DisplayName("Overflowing products fail loudly instead of wrapping")
+    void overflowIsDetected() {
+        Tariff rate = Tariff.ofMicrosPerKwh(Long.MAX_VALUE / 2);
+        assertThrows(ArithmeticException.class, () -> rate.costOf(Energy.ofMilliWh(10), RoundingMode.HALF_UP));
+    }
+
+    @Test
+    @DisplayName("Decimal inputs convert exactly at their native resolution")
+    void conversions() {
+        assertEquals(2_001_000, Energy.ofKwh(2.001).milliWh());
+        assertEquals(16_125_000, Tariff.ofRupeesPerKwh(16.125).microsPerKwh());
+        assertEquals(1_250, Percentage.ofPercent(12.5).basisPoints());
+        assertEquals(new BigDecimal("18.01"), Money.ofRupees(new BigDecimal("18.005"), RoundingMode.HALF_UP).toBigDecimal());
+        assertEquals(new BigDecimal("18.00"), Money.ofRupees(new BigDecimal("18.005"), RoundingMode.FLOOR).toBigDecimal());
+    }
+}
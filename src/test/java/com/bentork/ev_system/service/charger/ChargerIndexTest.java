@@ -0,0 +1,113 @@
+package com.bentork.ev_system.service.charger;
+
+import com.bentork.ev_system.config.cache.CacheInvalidationBus;
+import com.bentork.ev_system.config.cache.CacheTier;
+import com.bentork.ev_system.config.cache.RedisAvailability;
+import com.bentork.ev_system.config.cache.TwoLevelCache;
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Station;
+import com.bentork.ev_system.repository.ChargerRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ChargerIndex.
+ *
+ * Covers read-through, write-through of status changes and ocppId changes.
+ * Uses Mockito mocks and a TwoLevelCache over an in-memory map — no Spring context or Redis needed.
+ */
+class ChargerIndexTest {
+
+    private ChargerRepository chargerRepository;
+    private ChargerIndex index;
+
+    @BeforeEach
+    void setUp() {
+        chargerRepository = mock(ChargerRepository.class);
+        TwoLevelCache cache = new TwoLevelCache(ChargerIndex.CACHE,
+                CacheTier.twoLevel(Duration.ofHours(1), Duration.ofMinutes(30), 100),
+                new ConcurrentMapCache(ChargerIndex.CACHE, false), new RedisAvailability(),
+                mock(CacheInvalidationBus.class));
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(ChargerIndex.CACHE)).thenReturn(cache);
+        index = new ChargerIndex(chargerRepository, cacheManager);
+    }
+
+    @Test
+    @DisplayName("Repeated lookups hit the database once")
+    void readThroughLoadsOnce() {
+        when(chargerRepository.findByOcppId("CP-1")).thenReturn(Optional.of(charger(1L, "CP-1")));
+
+        assertEquals(1L, index.find("CP-1").orElseThrow().id());
+        assertEquals(1L, index.find("CP-1").orElseThrow().id());
+
+        verify(chargerRepository, times(1)).findByOcppId("CP-1");
+    }
+
+    @Test
+    @DisplayName("Unknown ocppIds are not cached")
+    void unknownNotCached() {
+        when(chargerRepository.findByOcppId("ROGUE")).thenReturn(Optional.empty());
+
+        assertTrue(index.find("ROGUE").isEmpty());
+        assertTrue(index.find("ROGUE").isEmpty());
+
+        verify(chargerRepository, times(2)).findByOcppId("ROGUE");
+    }
+
+    @Test
+    @DisplayName("Status writes are visible without reloading")
+    void statusWriteThrough() {
+        when(chargerRepository.findByOcppId("CP-1")).thenReturn(Optional.of(charger(1L, "CP-1")));
+        ChargerSnapshot loaded = index.find("CP-1").orElseThrow();
+
+        index.updateState(loaded, "busy", false, true);
+
+        ChargerSnapshot current = index.find("CP-1").orElseThrow();
+        assertEquals("busy", current.status());
+        assertTrue(current.occupied());
+        assertEquals("busy", current.toDto().getStatus());
+        verify(chargerRepository, times(1)).findByOcppId("CP-1");
+    }
+
+    @Test
+    @DisplayName("Changing a charger's ocppId moves its entry")
+    void ocppIdChange() {
+        when(chargerRepository.findByOcppId("CP-1")).thenReturn(Optional.of(charger(1L, "CP-1")));
+        index.find("CP-1");
+
+        index.evict("CP-1");
+        index.put(charger(1L, "CP-9"));
+        when(chargerRepository.findByOcppId("CP-1")).thenReturn(Optional.empty());
+
+        assertTrue(index.find("CP-1").isEmpty());
+        assertEquals(1L, index.find("CP-9").orElseThrow().id());
+    }
+
+    private static Charger charger(Long id, String ocppId) {
+        Station station = new Station();
+        station.setId(10L);
+        station.setName("Hub 10");
+        return Charger.builder()
+                .id(id)
+                .ocppId(ocppId)
+                .station(station)
+                .connectorType("CCS2")
+                .chargerType("DC")
+                .rate(18.5)
+                .kwOutput(60.0)
+                .status("available")
+                .availability(true)
+                .build();
+    }
+}
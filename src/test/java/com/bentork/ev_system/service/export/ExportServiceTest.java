@@ -0,0 +1,264 @@
+package com.bentork.ev_system.service.export;
+
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Location;
+import com.bentork.ev_system.model.Station;
+import com.bentork.ev_system.repository.ChargerRepository;
+import com.bentork.ev_system.repository.LocationRepository;
+import com.bentork.ev_system.repository.StationRepository;
+import com.bentork.ev_system.service.archive.ArchiveRouter;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ExportService: SQL-side filters, (created_at, id) order, CSV quoting and the
+ * formula guard, typed XLSX cells, and reads that span the archive.
+ * Runs a JPA slice on H2 in MySQL mode with the Flyway schema — no MySQL needed.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:export;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=com.bentork.ev_system.config.SchemaMigrationTest$H2MySQLDialect"
+})
+@Import({ExportService.class, ArchiveRouter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExportServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.now().minusDays(10).truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private ArchiveRouter archiveRouter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private StationRepository stationRepository;
+    @Autowired
+    private ChargerRepository chargerRepository;
+
+    private Station stationA;
+    private Station stationB;
+    private Charger chargerA;
+    private Charger chargerB;
+
+    @BeforeEach
+    void setUp() {
+        Location location = new Location();
+        location.setName("Pune Central");
+        location = locationRepository.save(location);
+        stationA = station(location, "Station A");
+        stationB = station(location, "Station B");
+        chargerA = charger(stationA, "CP-A");
+        chargerB = charger(stationB, "CP-B");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String table : List.of("revenue", "sessions", "sessions_archive", "wallet_transactions",
+                "wallet_transactions_archive", "charger", "stations", "locations")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    @DisplayName("CSV revenue export applies range, station and status in SQL, in created_at order")
+    void revenueCsv() throws Exception {
+        revenue(1L, stationA, 100.0, "SUCCESS", "TX-1", T0.plusHours(2));
+        revenue(2L, stationA, 250.5, "SUCCESS", "=HYPERLINK(\"x\")", T0.plusHours(1));
+        revenue(3L, stationA, 40.0, "FAILED", "TX-3", T0.plusHours(1));
+        revenue(4L, stationB, 75.0, "SUCCESS", "TX-4", T0.plusHours(1));
+        revenue(5L, stationA, 60.0, "SUCCESS", "TX-5, late", T0.plusDays(2));
+        revenue(6L, stationA, 1.0, "SUCCESS", "TX-6", T0.minusHours(1));
+
+        String csv = csv(ExportDataset.REVENUE,
+                new ExportFilter(T0, T0.plusDays(1), List.of(stationA.getId()), "SUCCESS"));
+
+        List<String> lines = List.of(csv.split("\r\n"));
+        assertEquals("id,session_id,user_id,charger_id,station_id,amount,payment_method,payment_status,"
+                + "transaction_id,created_at", lines.get(0));
+        assertEquals(3, lines.size(), csv);
+        assertTrue(lines.get(1).startsWith("2,,,,"), lines.get(1));
+        assertTrue(lines.get(1).contains(",250.5,UPI,SUCCESS,\"'=HYPERLINK(\"\"x\"\")\","), lines.get(1));
+        assertTrue(lines.get(2).startsWith("1,"), lines.get(2));
+        assertTrue(lines.get(2).endsWith("," + T0.plusHours(2).format(
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))), lines.get(2));
+    }
+
+    @Test
+    @DisplayName("XLSX session export has typed cells and takes the station from the charger")
+    void sessionsXlsx() throws Exception {
+        session(10L, chargerA, "completed", 12.5, T0.plusMinutes(1));
+        session(11L, chargerB, "completed", 8.0, T0.plusMinutes(2));
+        session(12L, chargerA, "active", 3.0, T0.plusMinutes(3));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(ExportDataset.SESSIONS,
+                new ExportFilter(T0, null, List.of(stationA.getId()), null), ExportFormat.XLSX, out);
+
+        assertEquals(2, rows);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(2, sheet.getLastRowNum());
+            Row header = sheet.getRow(0);
+            assertEquals("station_id", header.getCell(3).getStringCellValue());
+            assertEquals("created_at", header.getCell(15).getStringCellValue());
+
+            Row first = sheet.getRow(1);
+            assertEquals(10.0, first.getCell(0).getNumericCellValue());
+            assertEquals(stationA.getId().doubleValue(), first.getCell(3).getNumericCellValue());
+            assertEquals("completed", first.getCell(4).getStringCellValue());
+            assertEquals(12.5, first.getCell(9).getNumericCellValue());
+            assertEquals(CellType.NUMERIC, first.getCell(15).getCellType());
+            assertTrue(DateUtil.isCellDateFormatted(first.getCell(15)));
+            assertEquals(T0.plusMinutes(1), first.getCell(15).getLocalDateTimeCellValue());
+            assertNull(first.getCell(7)); // end_time
+            assertEquals(12.0, sheet.getRow(2).getCell(0).getNumericCellValue());
+        }
+    }
+
+    @Test
+    @DisplayName("Ranges before the hot horizon read the archive first, recent ranges only the active table")
+    void walletTransactionsAcrossArchive() throws Exception {
+        LocalDateTime old = archiveRouter.archiveCutoff().minusMonths(1).truncatedTo(ChronoUnit.SECONDS);
+        jdbcTemplate.update("INSERT INTO wallet_transactions_archive (id, user_id, amount, type, status, created_at)"
+                + " VALUES (1, NULL, 10.00, 'credit', 'success', ?)", Timestamp.valueOf(old));
+        jdbcTemplate.update("INSERT INTO wallet_transactions (id, user_id, amount, type, status, created_at)"
+                + " VALUES (2, NULL, 20.00, 'debit', 'pending', ?)", Timestamp.valueOf(old.plusMinutes(1)));
+        jdbcTemplate.update("INSERT INTO wallet_transactions (id, user_id, amount, type, status, created_at)"
+                + " VALUES (3, NULL, 30.00, 'credit', 'success', ?)", Timestamp.valueOf(T0));
+
+        assertEquals(List.of("1", "2", "3"), ids(csv(ExportDataset.WALLET_TRANSACTIONS,
+                new ExportFilter(null, null, null, null))));
+        assertEquals(List.of("1", "3"), ids(csv(ExportDataset.WALLET_TRANSACTIONS,
+                new ExportFilter(old.minusDays(1), null, null, "success"))));
+        assertEquals(List.of("3"), ids(csv(ExportDataset.WALLET_TRANSACTIONS,
+                new ExportFilter(T0.minusDays(1), null, null, null))));
+    }
+
+    @Test
+    @DisplayName("Rejects filters a dataset cannot apply; an empty station list exports the header only")
+    void filters() throws Exception {
+        revenue(1L, stationA, 100.0, "SUCCESS", "TX-1", T0);
+
+        assertThrows(IllegalArgumentException.class, () -> exportService.validate(ExportDataset.ORDERS,
+                new ExportFilter(null, null, List.of(stationA.getId()), null)));
+        assertThrows(IllegalArgumentException.class, () -> exportService.validate(ExportDataset.REVENUE,
+                new ExportFilter(T0, T0, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.from("pdf"));
+        assertEquals(ExportFormat.XLSX, ExportFormat.from("XLSX"));
+
+        assertEquals(List.of(), ids(csv(ExportDataset.REVENUE, new ExportFilter(null, null, List.of(), null))));
+        assertEquals(List.of(), ids(csv(ExportDataset.ORDERS, new ExportFilter(null, null, null, null))));
+    }
+
+    @Test
+    @DisplayName("Streams more rows than one fetch, flushing as it goes")
+    void largeCsv() throws Exception {
+        int rows = ExportService.FETCH_SIZE * 4 + 7;
+        jdbcTemplate.batchUpdate("INSERT INTO revenue (id, station_id, amount, payment_method, payment_status,"
+                        + " transaction_id, created_at) VALUES (?, ?, 1.0, 'UPI', 'SUCCESS', ?, ?)",
+                IntStream.rangeClosed(1, rows)
+                        .mapToObj(i -> new Object[] {i, stationA.getId(), "TX-" + i,
+                                Timestamp.valueOf(T0.plusSeconds(i))})
+                        .toList());
+
+        CountingStream out = new CountingStream();
+        long written = exportService.export(ExportDataset.REVENUE,
+                new ExportFilter(null, null, null, null), ExportFormat.CSV, out);
+
+        assertEquals(rows, written);
+        assertEquals(rows + 1, out.lines);
+        assertTrue(out.flushes > 4, "flushes: " + out.flushes);
+    }
+
+    private String csv(ExportDataset dataset, ExportFilter filter) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(dataset, filter, ExportFormat.CSV, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> ids(String csv) {
+        return List.of(csv.split("\r\n")).stream().skip(1).map(line -> line.substring(0, line.indexOf(','))).toList();
+    }
+
+    private Station station(Location location, String name) {
+        Station station = new Station();
+        station.setName(name);
+        station.setLocation(location);
+        station.setStatus("active");
+        return stationRepository.save(station);
+    }
+
+    private Charger charger(Station station, String ocppId) {
+        return chargerRepository.save(Charger.builder()
+                .station(station).ocppId(ocppId).connectorType("CCS2").chargerType("DC")
+                .rate(18.0).kwOutput(60.0).build());
+    }
+
+    private void revenue(long id, Station station, double amount, String status, String transactionId,
+                         LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO revenue (id, station_id, amount, payment_method, payment_status,"
+                        + " transaction_id, created_at) VALUES (?, ?, ?, 'UPI', ?, ?, ?)",
+                id, station.getId(), amount, status, transactionId, Timestamp.valueOf(createdAt));
+    }
+
+    private void session(long id, Charger charger, String status, double energy, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO sessions (id, charger_id, status, cost, energy_kwh, start_time, created_at)"
+                        + " VALUES (?, ?, ?, 0, ?, ?, ?)",
+                id, charger.getId(), status, energy, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+
+    /**
+     * Discards the bytes, counting lines and flushes.
+     */
+    private static final class CountingStream extends OutputStream {
+
+        private long lines;
+        private int flushes;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
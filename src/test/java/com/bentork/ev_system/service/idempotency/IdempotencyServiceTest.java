@@ -0,0 +1,146 @@
+package com.bentork.ev_system.service.idempotency;
+
+import com.bentork.ev_system.dto.request.SessionDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IdempotencyService.
+ *
+ * Redis is mocked as unreachable, so these also cover the local fallback store.
+ * Uses Mockito mocks — no Spring context or Redis needed.
+ */
+class IdempotencyServiceTest {
+
+    private IdempotencyService service;
+    private SessionDTO request;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        when(redis.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+        when(redis.delete(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        ObjectMapper mapper = new ObjectMapper();
+        service = new IdempotencyService(new IdempotencyStore(redis, mapper), mapper);
+
+        request = new SessionDTO();
+        request.setChargerId(5L);
+        request.setAmountEntered(new BigDecimal("200.00"));
+        executions = new AtomicInteger();
+    }
+
+    private ResponseEntity<Map<String, Object>> startAction() {
+        executions.incrementAndGet();
+        return ResponseEntity.ok(Map.of("sessionId", 42, "amountDebited", new BigDecimal("200.00")));
+    }
+
+    @Test
+    @DisplayName("Retry with the same key replays the stored response")
+    void sameKey_replaysResponse() {
+        ResponseEntity<Map<String, Object>> first = service.execute("u:start", "k1", request, this::startAction);
+        ResponseEntity<Map<String, Object>> second = service.execute("u:start", "k1", request, this::startAction);
+
+        assertEquals(1, executions.get());
+        assertEquals(200, second.getStatusCode().value());
+        assertEquals("true", second.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(first.getBody().get("sessionId"), second.getBody().get("sessionId"));
+        assertEquals(0, new BigDecimal("200.00").compareTo((BigDecimal) second.getBody().get("amountDebited")));
+    }
+
+    @Test
+    @DisplayName("No header means no deduplication")
+    void noKey_alwaysExecutes() {
+        service.execute("u:start", null, request, this::startAction);
+        service.execute("u:start", null, request, this::startAction);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("Reusing a key with a different body is rejected")
+    void sameKeyDifferentBody_returns422() {
+        service.execute("u:start", "k1", request, this::startAction);
+
+        SessionDTO other = new SessionDTO();
+        other.setChargerId(6L);
+        ResponseEntity<Map<String, Object>> response = service.execute("u:start", "k1", other, this::startAction);
+
+        assertEquals(422, response.getStatusCode().value());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("Server errors release the key so the retry runs again")
+    void serverError_releasesKey() {
+        service.execute("u:start", "k1", request, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.internalServerError().body(Map.of("error", "boom"));
+        });
+        service.execute("u:start", "k1", request, this::startAction);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    @DisplayName("Exceptions release the key so the retry runs again")
+    void exception_releasesKey() {
+        assertThrows(IllegalStateException.class, () -> service.execute("u:start", "k1", request, () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("lock wait timeout");
+        }));
+        ResponseEntity<Map<String, Object>> retry = service.execute("u:start", "k1", request, this::startAction);
+
+        assertEquals(2, executions.get());
+        assertEquals(200, retry.getStatusCode().value());
+        assertNull(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DisplayName("Concurrent duplicate waits for the first request and gets its response")
+    void inFlightDuplicate_waitsForFirst() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ResponseEntity<Map<String, Object>>> first = CompletableFuture.supplyAsync(() ->
+                service.execute("u:start", "k1", request, () -> {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return startAction();
+                }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<ResponseEntity<Map<String, Object>>> second = CompletableFuture.supplyAsync(() ->
+                service.execute("u:start", "k1", request, this::startAction));
+        Thread.sleep(100);
+        assertFalse(second.isDone());
+
+        release.countDown();
+        assertEquals(200, first.get(5, TimeUnit.SECONDS).getStatusCode().value());
+        ResponseEntity<Map<String, Object>> replayed = second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, executions.get());
+        assertEquals("true", replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+}
@@ -0,0 +1,75 @@
+package com.bentork.ev_system.service.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the local fallback of IdempotencyStore: it only holds what Redis
+ * could not take, and it is bounded.
+ */
+class IdempotencyStoreTest {
+
+    private static final Duration TTL = Duration.ofHours(24);
+
+    private ValueOperations<String, String> ops;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redis = mock(StringRedisTemplate.class);
+        ops = mock(ValueOperations.class);
+        when(redis.opsForValue()).thenReturn(ops);
+        store = new IdempotencyStore(redis, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Results written to a healthy Redis are not kept on the heap")
+    void redisUp_keepsNothingLocally() {
+        for (int i = 0; i < 100; i++) {
+            store.put("k" + i, IdempotencyRecord.completed("fp", 200, "{}"), TTL);
+        }
+
+        verify(ops, times(100)).set(anyString(), anyString(), eq(TTL));
+        assertEquals(0, store.localSize());
+    }
+
+    @Test
+    @DisplayName("A failed Redis write keeps the result locally, and reads fall back to it")
+    void redisWriteFails_keepsResultLocally() {
+        doThrow(new RedisConnectionFailureException("down")).when(ops).set(anyString(), anyString(), any(Duration.class));
+        when(ops.get(anyString())).thenReturn(null);
+
+        store.put("k1", IdempotencyRecord.completed("fp", 200, "{}"), TTL);
+
+        assertEquals(1, store.localSize());
+        assertEquals(200, store.get("k1").orElseThrow().getStatus());
+        // Redis is back: the claim still finds the local result instead of running the request again
+        assertTrue(store.putIfAbsent("k1", IdempotencyRecord.inProgress("fp"), TTL).isPresent());
+    }
+
+    @Test
+    @DisplayName("The local fallback stops growing at MAX_LOCAL_ENTRIES")
+    void redisDown_localStoreIsBounded() {
+        when(ops.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        for (int i = 0; i < IdempotencyStore.MAX_LOCAL_ENTRIES + 50; i++) {
+            assertTrue(store.putIfAbsent("k" + i, IdempotencyRecord.inProgress("fp"), TTL).isEmpty());
+        }
+
+        assertEquals(IdempotencyStore.MAX_LOCAL_ENTRIES, store.localSize());
+    }
+}
@@ -0,0 +1,110 @@
+package com.bentork.ev_system.service.outbox;
+
+import com.bentork.ev_system.enums.OutboxEventType;
+import com.bentork.ev_system.enums.OutboxStatus;
+import com.bentork.ev_system.model.OutboxEvent;
+import com.bentork.ev_system.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxRelay.
+ *
+ * Covers lease handling, success marking and retry/park behaviour.
+ * Uses Mockito mocks — no Spring context or database needed.
+ */
+class OutboxRelayTest {
+
+    private OutboxEventRepository repository;
+    private OutboxEventHandler handler;
+    private OutboxRelay relay;
+    private OutboxEvent event;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        handler = mock(OutboxEventHandler.class);
+        when(handler.getEventType()).thenReturn(OutboxEventType.WALLET_REFUND);
+
+        PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        relay = new OutboxRelay(repository, new TransactionTemplate(txManager), new ObjectMapper(), List.of(handler));
+
+        event = new OutboxEvent();
+        event.setId(7L);
+        event.setEventType(OutboxEventType.WALLET_REFUND);
+        event.setPayload("{\"userId\":1,\"amount\":\"12.50\"}");
+        event.setAttempts(1);
+        when(repository.findById(7L)).thenReturn(Optional.of(event));
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.shutdown();
+    }
+
+    @Test
+    @DisplayName("Claimed event is handled and marked dispatched")
+    void dispatch_success_marksDispatched() {
+        when(repository.claim(eq(7L), any(), any())).thenReturn(1);
+
+        relay.dispatch(7L);
+
+        verify(handler).handle(eq(event), any());
+        assertEquals(OutboxStatus.DISPATCHED.getValue(), event.getStatus());
+        assertNotNull(event.getDispatchedAt());
+        assertNull(event.getLastError());
+    }
+
+    @Test
+    @DisplayName("Event leased by another worker is skipped")
+    void dispatch_notClaimed_skipsHandler() {
+        when(repository.claim(eq(7L), any(), any())).thenReturn(0);
+
+        relay.dispatch(7L);
+
+        verify(handler, never()).handle(any(), any());
+    }
+
+    @Test
+    @DisplayName("Handler failure schedules a retry with backoff")
+    void dispatch_failure_backsOff() {
+        when(repository.claim(eq(7L), any(), any())).thenReturn(1);
+        doThrow(new RuntimeException("wallet locked")).when(handler).handle(any(), any());
+
+        relay.dispatch(7L);
+
+        assertEquals(OutboxStatus.PENDING.getValue(), event.getStatus());
+        assertTrue(event.getAvailableAt().isAfter(LocalDateTime.now()));
+        assertTrue(event.getLastError().contains("wallet locked"));
+    }
+
+    @Test
+    @DisplayName("Handler failure on the last attempt parks the event as failed")
+    void dispatch_failureAtMaxAttempts_marksFailed() {
+        event.setAttempts(10);
+        when(repository.claim(eq(7L), any(), any())).thenReturn(1);
+        doThrow(new RuntimeException("user not found")).when(handler).handle(any(), any());
+
+        relay.dispatch(7L);
+
+        assertEquals(OutboxStatus.FAILED.getValue(), event.getStatus());
+    }
+}
@@ -0,0 +1,197 @@
+package com.bentork.ev_system.service.paging;
+
+import com.bentork.ev_system.dto.response.CursorPage;
+import com.bentork.ev_system.model.Charger;
+import com.bentork.ev_system.model.Location;
+import com.bentork.ev_system.model.Session;
+import com.bentork.ev_system.model.Station;
+import com.bentork.ev_system.repository.ChargerRepository;
+import com.bentork.ev_system.repository.LocationRepository;
+import com.bentork.ev_system.repository.SessionRepository;
+import com.bentork.ev_system.repository.StationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for KeysetPager and NdjsonStreams.
+ *
+ * Walks session pages with tied and NULL timestamps, checks filters and the single query
+ * per page, and streams the same rows as NDJSON.
+ * Runs a JPA slice on H2 — no MySQL needed.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:keyset;MODE=MySQL;NON_KEYWORDS=USER,VALUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Import(KeysetPager.class)
+class KeysetPagerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 10, 0);
+    private static final Keyset<Session> KEYSET = Keyset.by(Session.class, "createdAt",
+            Session::getCreatedAt, Session::getId).fetching("user", "charger.station.location");
+
+    @Autowired
+    private KeysetPager keysetPager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private LocationRepository locationRepository;
+    @Autowired
+    private StationRepository stationRepository;
+    @Autowired
+    private ChargerRepository chargerRepository;
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    private List<Session> sessions;
+
+    @BeforeEach
+    void setUp() {
+        Location location = new Location();
+        location.setName("Pune Central");
+        location = locationRepository.save(location);
+
+        Station station = new Station();
+        station.setName("Station A");
+        station.setLocation(location);
+        station.setStatus("active");
+        station = stationRepository.save(station);
+
+        Charger charger = chargerRepository.save(Charger.builder()
+                .station(station).ocppId("CP-1").connectorType("CCS2").chargerType("DC")
+                .rate(18.0).kwOutput(60.0).build());
+
+        // Three rows share a timestamp and two have none
+        LocalDateTime[] createdAt = { T0, T0.plusMinutes(5), T0.plusMinutes(5), T0.plusMinutes(5),
+                T0.plusMinutes(9), null, null };
+        sessions = new ArrayList<>();
+        for (int i = 0; i < createdAt.length; i++) {
+            Session session = new Session();
+            session.setCharger(charger);
+            session.setStatus(i % 2 == 0 ? "COMPLETED" : "FAILED");
+            session.setCreatedAt(createdAt[i]);
+            sessions.add(sessionRepository.save(session));
+        }
+        // Pooled ids defer the inserts to the next flush; keep them out of the measured statements
+        sessionRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Pages walk every row once, newest first, with ties broken by id and NULLs last")
+    void pagesCoverAllRowsInOrder() {
+        List<Long> expected = sessions.stream()
+                .sorted(Comparator.comparing(Session::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(Session::getId)
+                        .reversed())
+                .map(Session::getId)
+                .toList();
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<Long> page = keysetPager.page(KEYSET, null, cursor, 2, Session::getId);
+            walked.addAll(page.getItems());
+            assertEquals(page.isHasMore(), page.getNextCursor() != null);
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, walked);
+        assertEquals(4, pages);
+    }
+
+    @Test
+    @DisplayName("A page with its associations is one statement")
+    void pageIsOneStatement() {
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+        statistics.clear();
+
+        CursorPage<String> page = keysetPager.page(KEYSET, null, null, 10,
+                s -> s.getCharger().getStation().getLocation().getName());
+
+        assertEquals(7, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Filters combine, and a limit above the maximum is capped")
+    void filtersAndLimit() {
+        CursorPage<Long> page = keysetPager.page(KEYSET,
+                Specification.allOf(
+                        KeysetFilters.equal("status", "COMPLETED"),
+                        KeysetFilters.between("createdAt", T0.plusMinutes(1), null),
+                        KeysetFilters.equal("user.id", null)),
+                null, 10_000, Session::getId);
+
+        assertEquals(List.of(sessions.get(4).getId(), sessions.get(2).getId()), page.getItems());
+    }
+
+    @Test
+    @DisplayName("Cursors round-trip and a tampered one is rejected")
+    void cursorEncoding() {
+        KeysetCursor cursor = new KeysetCursor(T0, 42L);
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+        assertEquals(new KeysetCursor(null, 7L), KeysetCursor.decode(new KeysetCursor(null, 7L).encode()));
+        assertNull(KeysetCursor.decode(" "));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> keysetPager.page(KEYSET, null, "%%", 10, Session::getId));
+    }
+
+    @Test
+    @DisplayName("NDJSON stream writes one line per row in keyset order")
+    void ndjsonStream() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        NdjsonStreams streams = new NdjsonStreams(objectMapper, transactionManager);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streams.<Row>of(sink -> keysetPager.forEach(KEYSET, null,
+                s -> sink.accept(new Row(s.getId(), s.getCreatedAt(), s.getCharger().getOcppId()))))
+                .writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(7, lines.length);
+        Row first = objectMapper.readValue(lines[0], Row.class);
+        assertEquals(sessions.get(4).getId(), first.id());
+        assertEquals("CP-1", first.ocppId());
+        assertNull(objectMapper.readValue(lines[6], Row.class).createdAt());
+    }
+
+    record Row(Long id, LocalDateTime createdAt, String ocppId) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.bentork.ev_system.service.warmup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CacheWarmer.
+ *
+ * Covers parallel execution, the time budget and the readiness indicator.
+ * Plain task stubs — no Spring context, database or Redis needed.
+ */
+class CacheWarmerTest {
+
+    @Test
+    @DisplayName("Readiness is out of service until warm-up has run, then reports each task")
+    void readinessFlipsAfterWarmup() {
+        CacheWarmer warmer = new CacheWarmer(List.of(task("stations", () -> 12), task("plans", () -> 4)),
+                Duration.ofSeconds(5), true);
+
+        assertEquals(Status.OUT_OF_SERVICE, warmer.health().getStatus());
+
+        warmer.warm();
+
+        assertEquals(Status.UP, warmer.health().getStatus());
+        assertTrue(warmer.health().getDetails().get("stations").toString().startsWith("12 entries"));
+        assertTrue(warmer.health().getDetails().containsKey("totalMs"));
+    }
+
+    @Test
+    @DisplayName("Tasks run in parallel")
+    void tasksRunInParallel() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        IntSupplier rendezvous = () -> {
+            bothStarted.countDown();
+            try {
+                return bothStarted.await(2, TimeUnit.SECONDS) ? 1 : 0;
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        CacheWarmer warmer = new CacheWarmer(List.of(task("a", rendezvous), task("b", rendezvous)),
+                Duration.ofSeconds(5), true);
+
+        warmer.warm();
+
+        assertTrue(warmer.health().getDetails().get("a").toString().startsWith("1 entries"));
+        assertTrue(warmer.health().getDetails().get("b").toString().startsWith("1 entries"));
+    }
+
+    @Test
+    @DisplayName("A failing or slow task is skipped and does not hold readiness back")
+    void failuresAndOverBudgetDoNotBlock() {
+        CacheWarmer warmer = new CacheWarmer(List.of(
+                task("broken", () -> {
+                    throw new IllegalStateException("db down");
+                }),
+                task("slow", () -> {
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return 1;
+                }),
+                task("plans", () -> 4)), Duration.ofMillis(300), true);
+
+        long started = System.nanoTime();
+        warmer.warm();
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 2_000);
+        assertTrue(warmer.isFinished());
+        assertEquals("failed", warmer.health().getDetails().get("broken"));
+        assertEquals("over budget", warmer.health().getDetails().get("slow"));
+        assertEquals(Status.UP, warmer.health().getStatus());
+    }
+
+    private static CacheWarmupTask task(String name, IntSupplier body) {
+        return new CacheWarmupTask() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int warm() {
+                return body.getAsInt();
+            }
+        };
+    }
+}